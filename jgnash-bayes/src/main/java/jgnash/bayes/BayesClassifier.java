@@ -17,20 +17,26 @@
  */
 package jgnash.bayes;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Pattern;
 
 /**
  * Naive Bayes BayesClassifier.
  * Modeled after classifier presented in "Programming Collective Intelligence" by Toby Segaran
+ * <p>
+ * Features and classes are interned to integer ids and counts are held in primitive arrays, so the classifier can
+ * be trained and untrained incrementally and kept for the life of a file.  Scoring is performed in log space to
+ * prevent underflow with long descriptions.
  *
  * @param <E> the type of mapped value
- * 
+ *
  * @author Craig Cavanaugh
  */
 public class BayesClassifier<E> {
@@ -46,13 +52,45 @@ public class BayesClassifier<E> {
     private static final String WHITE_SPACE_REGEX = "[,\\s]+";
     // private final static String NUMBERS_REGEX = "(?>-?\\d+(?:[\\./]\\d+)?)";
 
-    private final Map<String, Map<E, Integer>> featureCounter = new HashMap<>();
-    private final Map<E, Integer> classCounter = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+
     private final Pattern whiteSpacePattern;
 
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> featureIds = new HashMap<>();
+
+    /**
+     * Total count of each feature across all classes.
+     */
+    private int[] featureTotals = new int[INITIAL_CAPACITY];
+
+    /**
+     * Class ids each feature has been trained with.
+     */
+    private int[][] featureClassIds = new int[INITIAL_CAPACITY][];
+
+    /**
+     * Counts matching {@code featureClassIds}.
+     */
+    private int[][] featureClassCounts = new int[INITIAL_CAPACITY][];
+
+    private int[] featureClassSizes = new int[INITIAL_CAPACITY];
+
+    private final Map<E, Integer> classIds = new HashMap<>();
+
+    private final List<E> classes = new ArrayList<>();
+
+    private int[] classCounts = new int[INITIAL_CAPACITY];
+
+    /**
+     * Number of classes with a count greater than zero.
+     */
+    private int activeClasses = 0;
+
     /**
      * Constructor
-     * 
+     *
      * @param defaultClass the mapped type
      */
     public BayesClassifier(final E defaultClass) {
@@ -60,145 +98,229 @@ public class BayesClassifier<E> {
         whiteSpacePattern = Pattern.compile(WHITE_SPACE_REGEX);
     }
 
-    private void incrementFeature(final String feature, final E classification) {
-        Map<E, Integer> featureMap = featureCounter.get(feature);
+    private int internFeature(final String feature) {
+        Integer id = featureIds.get(feature);
+
+        if (id == null) {
+            id = featureIds.size();
+            featureIds.put(feature, id);
+
+            if (id == featureTotals.length) {
+                final int capacity = id * 2;
 
-        if (featureMap == null) {
-            featureMap = new HashMap<>();
-            featureMap.put(classification, 1);
-            featureCounter.put(feature, featureMap);
-            return;
+                featureTotals = Arrays.copyOf(featureTotals, capacity);
+                featureClassIds = Arrays.copyOf(featureClassIds, capacity);
+                featureClassCounts = Arrays.copyOf(featureClassCounts, capacity);
+                featureClassSizes = Arrays.copyOf(featureClassSizes, capacity);
+            }
+
+            featureClassIds[id] = new int[2];
+            featureClassCounts[id] = new int[2];
         }
 
-        Integer count = featureMap.get(classification);
-        count = (count == null) ? 1 : count + 1;
-        featureMap.put(classification, count);
+        return id;
     }
 
-    /**
-     * Support method to increment a classification
-     *
-     * @param classification classification to increment
-     */
-    private void incrementClass(final E classification) {
-        Integer count = classCounter.get(classification);
-        count = (count == null) ? 1 : count + 1;
-        classCounter.put(classification, count);
-    }
+    private int internClass(final E classification) {
+        Integer id = classIds.get(classification);
 
-    private int getClassCount(final E classification) {
-        Integer count = classCounter.get(classification);
+        if (id == null) {
+            id = classes.size();
+            classIds.put(classification, id);
+            classes.add(classification);
 
-        return (count != null) ? count : 0;
+            if (id == classCounts.length) {
+                classCounts = Arrays.copyOf(classCounts, id * 2);
+            }
+        }
+
+        return id;
     }
 
     /**
-     * Gets the number of times the feature as occurred in the classification
+     * Adjusts the count of a feature for a class.
      *
-     * @param feature        feature to count
-     * @param classification class
-     * @return occurrence count
+     * @param featureId feature
+     * @param classId   class
+     * @param delta     amount to adjust the count by
      */
-    private int getFeatureCount(final String feature, final E classification) {
-        Map<E, Integer> featureMap = featureCounter.get(feature);
+    private void adjustFeature(final int featureId, final int classId, final int delta) {
+        int[] ids = featureClassIds[featureId];
+        final int size = featureClassSizes[featureId];
+
+        featureTotals[featureId] += delta;
+
+        // features are shared by few classes, a linear search is fastest
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == classId) {
+                featureClassCounts[featureId][i] += delta;
+                return;
+            }
+        }
 
-        if (featureMap == null) {
-            return 0;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            featureClassIds[featureId] = ids;
+            featureClassCounts[featureId] = Arrays.copyOf(featureClassCounts[featureId], size * 2);
         }
-        Integer count = featureMap.get(classification);
 
-        return (count != null) ? count : 0;
+        ids[size] = classId;
+        featureClassCounts[featureId][size] = delta;
+        featureClassSizes[featureId] = size + 1;
     }
 
-    private int getFeatureCount(final String feature) {
-        Map<E, Integer> featureMap = featureCounter.get(feature);
-        int count = 0;
+    private void adjustClass(final int classId, final int delta) {
+        final int count = classCounts[classId];
 
-        if (featureMap == null) {
-            return count;
-        }               
-        
-        for (Entry<E, Integer> entry : featureMap.entrySet()) {
-            count += entry.getValue();
-        }                    
+        classCounts[classId] = count + delta;
 
-        return count;
+        if (count == 0 && classCounts[classId] > 0) {
+            activeClasses++;
+        } else if (count > 0 && classCounts[classId] == 0) {
+            activeClasses--;
+        }
     }
 
-    private double getFeatureProbability(final String feature, final E classification) {
-        int count = getClassCount(classification);
-        return (count == 0) ? 0.0 : (double) getFeatureCount(feature, classification) / count;
+    private String[] getFeatures(final String item) {
+        return whiteSpacePattern.split(item.toLowerCase(Locale.getDefault()));
     }
 
-    private double getWeightedProbability(final String feature, final E classification) {
-        double probability = getFeatureProbability(feature, classification);
-        int totals = getFeatureCount(feature);
-        return (WEIGHT * ASSUMED_PROBABILITY + totals * probability) / (WEIGHT + totals);
-    }
+    /**
+     * Trains the classifier
+     *
+     * @param item training string
+     * @param classification object being classified
+     */
+    public void train(final String item, final E classification) {
+        final String[] features = getFeatures(item);
 
-    private double getClassProbability(final String item, final E classification) {
-        double probability = 1;
+        lock.writeLock().lock();
 
-        for (final String feature : whiteSpacePattern.split(item)) {
-            probability *= getWeightedProbability(feature, classification);
-        }
+        try {
+            final int classId = internClass(classification);
 
-        return (double) classCounter.get(classification) / classCounter.size() * probability;
-    }
+            for (final String feature : features) {
+                adjustFeature(internFeature(feature), classId, 1);
+            }
 
-    private void train(final Collection<String> features, final E classification) {
-        for (String feature : features) {
-            incrementFeature(feature, classification);
+            adjustClass(classId, 1);
+        } finally {
+            lock.writeLock().unlock();
         }
-        incrementClass(classification);
     }
 
     /**
-     * Trains the classifier
-     * 
+     * Reverses a previous call to {@link #train(String, Object)}.  Removing an item that was never trained is ignored.
+     *
      * @param item training string
-     * @param classification object being classified
+     * @param classification object that was classified
      */
-    public void train(final String item, final E classification) {
-        train(Arrays.asList(whiteSpacePattern.split(item.toLowerCase(Locale.getDefault()))), classification);
+    public void untrain(final String item, final E classification) {
+        final String[] features = getFeatures(item);
+
+        lock.writeLock().lock();
+
+        try {
+            final Integer classId = classIds.get(classification);
+
+            if (classId == null || classCounts[classId] == 0) {
+                return;
+            }
+
+            for (final String feature : features) {
+                final Integer featureId = featureIds.get(feature);
+
+                if (featureId != null && featureTotals[featureId] > 0) {
+                    adjustFeature(featureId, classId, -1);
+                }
+            }
+
+            adjustClass(classId, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
-     * Returns the best probabilistic match 
-     * 
+     * Returns the best probabilistic match
+     *
      * @param item String data to match
      * @return best possible match
      */
     public E classify(final String item) {
-        E bestClass = defaultClass;
-        double classProb;
-        double bestProbability;
-        double max = 0;
-
-        Map<E, Double> probabilities = new HashMap<>();
-
-        // find the category with the highest probability
-        for (final E classification : classCounter.keySet()) {
-            classProb = getClassProbability(item.toLowerCase(Locale.getDefault()), classification);
-            probabilities.put(classification, classProb);
-            if (classProb > max) {
-                max = classProb;
-                bestClass = classification;
+        final String[] features = getFeatures(item);
+
+        lock.readLock().lock();
+
+        try {
+            if (activeClasses == 0) {
+                return defaultClass;
             }
-        }
-                       
-        // make sure the probability exceeds
-        for (final Entry<E, Double> entry : probabilities.entrySet()) {
-            if (!entry.getKey().equals(bestClass)) {
-                classProb = entry.getValue();
-                bestProbability = probabilities.get(bestClass);
-                
-                if (classProb * THRESHOLD >= bestProbability) {
+
+            final double[] scores = new double[classes.size()];
+
+            // log of the class probability; features without a count for a class are included below
+            double missingFeatures = 0;
+
+            for (final String feature : features) {
+                final Integer featureId = featureIds.get(feature);
+                final int totals = featureId == null ? 0 : featureTotals[featureId];
+
+                missingFeatures += Math.log(WEIGHT * ASSUMED_PROBABILITY / (WEIGHT + totals));
+            }
+
+            final double logClassCount = Math.log(activeClasses);
+
+            for (int c = 0; c < scores.length; c++) {
+                if (classCounts[c] > 0) {
+                    scores[c] = Math.log(classCounts[c]) - logClassCount + missingFeatures;
+                }
+            }
+
+            // replace the weighted probability for each class that has been trained with the feature
+            for (final String feature : features) {
+                final Integer featureId = featureIds.get(feature);
+
+                if (featureId != null) {
+                    final int totals = featureTotals[featureId];
+                    final int[] ids = featureClassIds[featureId];
+                    final int[] counts = featureClassCounts[featureId];
+                    final double missing = Math.log(WEIGHT * ASSUMED_PROBABILITY / (WEIGHT + totals));
+
+                    for (int i = 0; i < featureClassSizes[featureId]; i++) {
+                        final int classId = ids[i];
+
+                        if (counts[i] > 0 && classCounts[classId] > 0) {
+                            final double probability = (double) counts[i] / classCounts[classId];
+
+                            scores[classId] += Math.log((WEIGHT * ASSUMED_PROBABILITY + totals * probability)
+                                    / (WEIGHT + totals)) - missing;
+                        }
+                    }
+                }
+            }
+
+            // find the category with the highest probability
+            int best = -1;
+
+            for (int c = 0; c < scores.length; c++) {
+                if (classCounts[c] > 0 && (best == -1 || scores[c] > scores[best])) {
+                    best = c;
+                }
+            }
+
+            // make sure the probability exceeds
+            final double threshold = Math.log(THRESHOLD);
+
+            for (int c = 0; c < scores.length; c++) {
+                if (c != best && classCounts[c] > 0 && scores[c] + threshold >= scores[best]) {
                     return defaultClass;
                 }
             }
-        }       
 
-        return bestClass;
+            return classes.get(best);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
-}
\ No newline at end of file
+}
@@ -133,6 +133,10 @@ public class CsvExport {
 
             final DateTimeFormatter timestampFormatter = DateUtils.getExcelTimestampFormatter();
 
+            // running balance starting from the balance prior to the first exported transaction
+            BigDecimal runningBalance = transactions.isEmpty() ? BigDecimal.ZERO
+                    : account.getBalanceAt(transactions.get(0)).subtract(transactions.get(0).getAmount(account));
+
             for (final Transaction transaction : transactions) {
                 final String date = dateTimeFormatter.format(transaction.getLocalDate());
 
@@ -144,7 +148,9 @@ public class CsvExport {
                 final String debit = transaction.getAmount(account).compareTo(BigDecimal.ZERO) > 0 ? ""
                                              : transaction.getAmount(account).abs().toPlainString();
 
-                final String balance = account.getBalanceAt(transaction).toPlainString();
+                runningBalance = runningBalance.add(transaction.getAmount(account));
+
+                final String balance = runningBalance.toPlainString();
 
                 final String reconciled = transaction.getReconciled(account) == ReconciledState.NOT_RECONCILED
                                                   ? Boolean.FALSE.toString() : Boolean.TRUE.toString();
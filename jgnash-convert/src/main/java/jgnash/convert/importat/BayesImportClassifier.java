@@ -17,21 +17,57 @@
  */
 package jgnash.convert.importat;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import jgnash.bayes.BayesClassifier;
 import jgnash.engine.Account;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
 import jgnash.engine.Transaction;
 import jgnash.engine.TransactionType;
+import jgnash.engine.message.Message;
+import jgnash.engine.message.MessageBus;
+import jgnash.engine.message.MessageChannel;
+import jgnash.engine.message.MessageListener;
+import jgnash.engine.message.MessageProperty;
 
 /**
  * Bayes classifier import utility methods
+ * <p>
+ * Trained classifiers are kept for each base account and updated as transactions are added and removed, so an
+ * import does not need to retrain over the complete transaction history.  The classifiers are discarded when the
+ * file is closed.
+ * <p>
+ * {@code BayesClassifier} is not thread safe, so the cached classifiers are only trained and queried while holding
+ * the class lock.
  *
  * @author Craig Cavanaugh
  */
 public class BayesImportClassifier {
 
+    /**
+     * Classifiers trained with the transactions of the base account.
+     */
+    private static final Map<Account, TrainedClassifier> accountClassifiers = new HashMap<>();
+
+    /**
+     * Classifiers trained with all transactions.
+     */
+    private static final Map<Account, TrainedClassifier> globalClassifiers = new HashMap<>();
+
+    private static final TransactionListener listener;
+
+    static {
+        listener = new TransactionListener();
+
+        MessageBus.getInstance().registerListener(listener, MessageChannel.TRANSACTION, MessageChannel.SYSTEM);
+    }
+
     /**
      * Utility class, private constructor
      */
@@ -41,7 +77,24 @@ public class BayesImportClassifier {
     public static void classifyTransactions(final List<? extends ImportTransaction> list,
                                             final List<Transaction> transactions, final Account baseAccount) {
 
-        final BayesClassifier<Account> classifier = generateClassifier(transactions, baseAccount);
+        classifyTransactions(list, generateClassifier(transactions, baseAccount));
+    }
+
+    /**
+     * Classifies imported transactions using a classifier that is kept up to date with the engine.
+     *
+     * @param list        imported transactions to classify
+     * @param baseAccount base account of the import
+     * @param global      {@code true} to train with all transactions instead of only the base account's
+     */
+    public static synchronized void classifyTransactions(final List<? extends ImportTransaction> list,
+                                                         final Account baseAccount, final boolean global) {
+
+        classifyTransactions(list, getClassifier(baseAccount, global).classifier);
+    }
+
+    private static void classifyTransactions(final List<? extends ImportTransaction> list,
+                                             final BayesClassifier<Account> classifier) {
 
         for (final ImportTransaction transaction : list) {
             final StringBuilder builder = new StringBuilder();
@@ -59,27 +112,151 @@ public class BayesImportClassifier {
         }
     }
 
-    private static BayesClassifier<Account> generateClassifier(List<Transaction> transactions,
+    private static TrainedClassifier getClassifier(final Account baseAccount, final boolean global) {
+        assert Thread.holdsLock(BayesImportClassifier.class);
+
+        final Map<Account, TrainedClassifier> map = global ? globalClassifiers : accountClassifiers;
+
+        TrainedClassifier trainedClassifier = map.get(baseAccount);
+
+        if (trainedClassifier == null) {
+            final List<Transaction> transactions;
+
+            if (global) {
+                final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
+                Objects.requireNonNull(engine);
+
+                transactions = engine.getTransactions();
+            } else {
+                transactions = baseAccount.getSortedTransactionList();
+            }
+
+            trainedClassifier = new TrainedClassifier(baseAccount);
+
+            for (final Transaction transaction : transactions) {
+                trainedClassifier.train(transaction, true);
+            }
+
+            map.put(baseAccount, trainedClassifier);
+        }
+
+        return trainedClassifier;
+    }
+
+    private static BayesClassifier<Account> generateClassifier(final List<Transaction> transactions,
                                                                final Account baseAccount) {
 
         final BayesClassifier<Account> classifier = new BayesClassifier<>(baseAccount);
 
         for (final Transaction t : transactions) {
-            final Set<Account> accountSet = t.getAccounts();
+            train(classifier, t, baseAccount, true);
+        }
+
+        return classifier;
+    }
+
+    private static void train(final BayesClassifier<Account> classifier, final Transaction t,
+                              final Account baseAccount, final boolean add) {
 
-            accountSet.remove(baseAccount);
+        final Set<Account> accountSet = t.getAccounts();
 
-            for (final Account account : accountSet) {
-                if (!t.getPayee().isEmpty()) {
+        accountSet.remove(baseAccount);
+
+        for (final Account account : accountSet) {
+            if (!t.getPayee().isEmpty()) {
+                if (add) {
                     classifier.train(t.getPayee(), account);
+                } else {
+                    classifier.untrain(t.getPayee(), account);
                 }
+            }
 
-                if (!t.getMemo().isEmpty()) {
+            if (!t.getMemo().isEmpty()) {
+                if (add) {
                     classifier.train(t.getMemo(), account);
+                } else {
+                    classifier.untrain(t.getMemo(), account);
                 }
             }
         }
+    }
 
-        return classifier;
+    /**
+     * A transaction event is posted once for each account of the transaction.  Events may still be in flight for
+     * transactions that were already included when a classifier was built, so each classifier tracks the
+     * transactions it was trained with and ignores repeated events.
+     *
+     * @param account     account of the event
+     * @param transaction transaction of the event
+     * @param add         {@code true} if the transaction was added
+     */
+    private static synchronized void processTransactionEvent(final Account account, final Transaction transaction,
+                                                             final boolean add) {
+
+        final TrainedClassifier accountClassifier = accountClassifiers.get(account);
+
+        if (accountClassifier != null) {
+            accountClassifier.train(transaction, add);
+        }
+
+        for (final TrainedClassifier globalClassifier : globalClassifiers.values()) {
+            globalClassifier.train(transaction, add);
+        }
+    }
+
+    private static synchronized void clear() {
+        accountClassifiers.clear();
+        globalClassifiers.clear();
+    }
+
+    /**
+     * A classifier and the transactions it has been trained with.
+     */
+    private static class TrainedClassifier {
+
+        private final Account baseAccount;
+
+        private final BayesClassifier<Account> classifier;
+
+        private final Set<Transaction> transactions = new HashSet<>();
+
+        TrainedClassifier(final Account baseAccount) {
+            this.baseAccount = baseAccount;
+            classifier = new BayesClassifier<>(baseAccount);
+        }
+
+        /**
+         * Trains or untrains the classifier with a transaction unless that was done already.
+         *
+         * @param transaction transaction to apply
+         * @param add         {@code true} to train, {@code false} to untrain
+         */
+        void train(final Transaction transaction, final boolean add) {
+            if (add ? transactions.add(transaction) : transactions.remove(transaction)) {
+                BayesImportClassifier.train(classifier, transaction, baseAccount, add);
+            }
+        }
+    }
+
+    private static class TransactionListener implements MessageListener {
+
+        @Override
+        public void messagePosted(final Message event) {
+            switch (event.getEvent()) {
+                case TRANSACTION_ADD:
+                    processTransactionEvent(event.getObject(MessageProperty.ACCOUNT),
+                            event.getObject(MessageProperty.TRANSACTION), true);
+                    break;
+                case TRANSACTION_REMOVE:
+                    processTransactionEvent(event.getObject(MessageProperty.ACCOUNT),
+                            event.getObject(MessageProperty.TRANSACTION), false);
+                    break;
+                case FILE_CLOSING:
+                    clear();
+                    break;
+                default:
+                    break;
+            }
+        }
     }
 }
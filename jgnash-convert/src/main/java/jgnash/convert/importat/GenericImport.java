@@ -17,9 +17,16 @@
  */
 package jgnash.convert.importat;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,45 +61,64 @@ public class GenericImport {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
 
+        final List<Transaction> newTransactions = new ArrayList<>();
+
         for (final ImportTransaction tran : transactions) {
             Objects.requireNonNull(tran.getAccount());
 
             if (tran.getState() == ImportState.NEW
                         || tran.getState() == ImportState.NOT_EQUAL) { // do not import matched transactions
+                newTransactions.add(generateTransaction(tran, baseAccount));
+            }
+        }
 
-                Transaction transaction;
-
-                if (tran.isInvestmentTransaction()) {
-                    if (baseAccount.getAccountType().getAccountGroup() == AccountGroup.INVEST) {
-                        System.out.println("Should be creating an investment transaction");
-                    } else { // Signal an error
-                        System.out.println("The base account was not an investment account type");
-                    }
-                }
-
-                if (baseAccount.equals(tran.getAccount())) { // single entry oTran
-                    transaction = TransactionFactory.generateSingleEntryTransaction(baseAccount, tran.getAmount(),
-                            tran.getDatePosted(), tran.getMemo(), tran.getPayee(), tran.getCheckNumber());
-                } else { // double entry
-                    if (tran.getAmount().signum() >= 0) {
-                        transaction = TransactionFactory.generateDoubleEntryTransaction(baseAccount, tran.getAccount(),
-                                tran.getAmount().abs(), tran.getDatePosted(), tran.getMemo(), tran.getPayee(),
-                                tran.getCheckNumber());
-                    } else {
-                        transaction = TransactionFactory.generateDoubleEntryTransaction(tran.getAccount(), baseAccount,
-                                tran.getAmount().abs(), tran.getDatePosted(), tran.getMemo(), tran.getPayee(),
-                                tran.getCheckNumber());
-                    }
-                }
-
-                transaction.setFitid(tran.getFITID());
-                engine.addTransaction(transaction);
+        engine.addTransactions(newTransactions);
+    }
+
+    /**
+     * Generates a single or double entry transaction for an imported transaction.
+     *
+     * @param tran        imported transaction
+     * @param baseAccount account the transaction was imported into
+     * @return new Transaction
+     */
+    static Transaction generateTransaction(@NotNull final ImportTransaction tran, @NotNull final Account baseAccount) {
+        final Transaction transaction;
+
+        if (tran.isInvestmentTransaction()) {
+            if (baseAccount.getAccountType().getAccountGroup() == AccountGroup.INVEST) {
+                System.out.println("Should be creating an investment transaction");
+            } else { // Signal an error
+                System.out.println("The base account was not an investment account type");
+            }
+        }
+
+        if (baseAccount.equals(tran.getAccount())) { // single entry oTran
+            transaction = TransactionFactory.generateSingleEntryTransaction(baseAccount, tran.getAmount(),
+                    tran.getDatePosted(), tran.getMemo(), tran.getPayee(), tran.getCheckNumber());
+        } else { // double entry
+            if (tran.getAmount().signum() >= 0) {
+                transaction = TransactionFactory.generateDoubleEntryTransaction(baseAccount, tran.getAccount(),
+                        tran.getAmount().abs(), tran.getDatePosted(), tran.getMemo(), tran.getPayee(),
+                        tran.getCheckNumber());
+            } else {
+                transaction = TransactionFactory.generateDoubleEntryTransaction(tran.getAccount(), baseAccount,
+                        tran.getAmount().abs(), tran.getDatePosted(), tran.getMemo(), tran.getPayee(),
+                        tran.getCheckNumber());
             }
         }
+
+        transaction.setFitid(tran.getFITID());
+
+        return transaction;
     }
 
     /**
-     * Sets the match state of a list of imported transactions
+     * Sets the match state of a list of imported transactions.
+     * <p>
+     * An imported transaction is considered {@code ImportState.EQUAL} if an existing transaction with the same amount
+     * is found within a date window, or with the same check number or FITID.  The existing transactions are indexed
+     * by amount once so the cost is nearly linear in the size of the import.
      *
      * @param list        list of imported transactions
      * @param baseAccount account to perform match against
@@ -100,53 +126,97 @@ public class GenericImport {
     public static void matchTransactions(final List<? extends ImportTransaction> list, @NotNull final Account baseAccount) {
         Objects.requireNonNull(baseAccount);
 
+        final Map<BigDecimal, MatchIndex> indexMap = new HashMap<>();
+
+        // amount must always match
+        for (final Transaction tran : baseAccount.getSortedTransactionList()) {
+            indexMap.computeIfAbsent(amountKey(tran.getAmount(baseAccount)), k -> new MatchIndex()).add(tran);
+        }
+
         for (final ImportTransaction importTransaction : list) {
+            final MatchIndex index = indexMap.get(amountKey(importTransaction.getAmount()));
+
+            if (index != null && index.matches(importTransaction)) {
+                importTransaction.setState(ImportState.EQUAL);
+            }
+        }
+    }
+
+    /**
+     * Amounts must be comparably the same, the scale is removed to make equal values usable as a key.
+     */
+    private static BigDecimal amountKey(final BigDecimal amount) {
+        return amount.signum() == 0 ? BigDecimal.ZERO : amount.stripTrailingZeros();
+    }
+
+    /**
+     * Dates, check numbers and FITIDs of existing transactions sharing the same amount.
+     */
+    private static class MatchIndex {
+
+        private final List<LocalDate> dates = new ArrayList<>();
+
+        private final Set<String> numbers = new HashSet<>();
+
+        private final Set<String> fitids = new HashSet<>();
+
+        private boolean sorted = true;
+
+        void add(final Transaction transaction) {
+            final LocalDate date = transaction.getLocalDate();
 
-            // amount must always match
-            for (final Transaction tran : baseAccount.getSortedTransactionList()) {
-
-                // amounts must be comparably the same, do not use an equality check
-                if (tran.getAmount(baseAccount).compareTo(importTransaction.getAmount()) == 0) {
-
-                    // check for date match
-                    final LocalDate startDate;
-                    final LocalDate endDate;
-
-                    // we have a user initiated date, use a smaller window
-                    if ((importTransaction.getDateUser() != null)) {
-                        startDate = importTransaction.getDateUser().minusDays(1);
-                        endDate = importTransaction.getDateUser().plusDays(1);
-                    } else { // use the posted date with a larger window
-                        startDate = importTransaction.getDatePosted().minusDays(3);
-                        endDate = importTransaction.getDatePosted().plusDays(3);
-                    }
-
-                    if (DateUtils.after(tran.getLocalDate(), startDate) && DateUtils.before(tran.getLocalDate(), endDate)) {
-                        importTransaction.setState(ImportState.EQUAL);
-                        break;
-                    }
-
-
-                    // check for matching check number
-                    final String checkNumber = importTransaction.getCheckNumber();
-                    if (checkNumber != null && !checkNumber.isEmpty()) {
-                        if (tran.getNumber().equals(checkNumber)) {
-                            importTransaction.setState(ImportState.EQUAL);
-                            break;
-                        }
-                    }
-
-                    // check for matching fitid number
-                    final String id = importTransaction.getFITID();
-                    if (id != null && !id.isEmpty()) {
-                        if (tran.getFitid() != null && tran.getFitid().equals(id)) {
-                            importTransaction.setState(ImportState.EQUAL);
-                            break;
-                        }
-                    }
-
-                }
+            if (!dates.isEmpty() && date.isBefore(dates.get(dates.size() - 1))) {
+                sorted = false;
             }
+
+            dates.add(date);
+            numbers.add(transaction.getNumber());
+
+            if (transaction.getFitid() != null) {
+                fitids.add(transaction.getFitid());
+            }
+        }
+
+        boolean matches(final ImportTransaction importTransaction) {
+
+            // check for date match
+            final LocalDate startDate;
+            final LocalDate endDate;
+
+            // we have a user initiated date, use a smaller window
+            if ((importTransaction.getDateUser() != null)) {
+                startDate = importTransaction.getDateUser().minusDays(1);
+                endDate = importTransaction.getDateUser().plusDays(1);
+            } else { // use the posted date with a larger window
+                startDate = importTransaction.getDatePosted().minusDays(3);
+                endDate = importTransaction.getDatePosted().plusDays(3);
+            }
+
+            if (!sorted) {
+                Collections.sort(dates);
+                sorted = true;
+            }
+
+            // find the first date on or after the start of the window
+            int i = Collections.binarySearch(dates, startDate);
+
+            if (i < 0) {
+                i = -i - 1;
+            }
+
+            if (i < dates.size() && DateUtils.before(dates.get(i), endDate)) {
+                return true;
+            }
+
+            // check for matching check number
+            final String checkNumber = importTransaction.getCheckNumber();
+            if (checkNumber != null && !checkNumber.isEmpty() && numbers.contains(checkNumber)) {
+                return true;
+            }
+
+            // check for matching fitid number
+            final String id = importTransaction.getFITID();
+            return id != null && !id.isEmpty() && fitids.contains(id);
         }
     }
 
@@ -0,0 +1,608 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.convert.importat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jgnash.convert.importat.ofx.OfxBank;
+import jgnash.convert.importat.ofx.OfxImport;
+import jgnash.convert.importat.ofx.OfxV2Parser;
+import jgnash.convert.importat.qif.QifImport;
+import jgnash.convert.importat.qif.QifUtils;
+import jgnash.engine.Account;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.Transaction;
+import jgnash.engine.TransactionType;
+import jgnash.resource.util.ResourceUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
+import jgnash.util.FileMagic;
+import jgnash.util.NotNull;
+import jgnash.util.Nullable;
+
+/**
+ * Imports a set of statement files in three stages:
+ * <ol>
+ *     <li>Files are parsed in parallel</li>
+ *     <li>Statements are grouped by the account they belong to; import filters, duplicate matching and
+ *     classification run concurrently for each account</li>
+ *     <li>New transactions are committed in the order the files were supplied with a single batched commit</li>
+ * </ol>
+ * OFX and bank statement QIF files are supported by default, other formats may be added with
+ * {@link #addParser(Predicate, StatementParser)}.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ImportPipeline {
+
+    private static final Logger logger = Logger.getLogger(ImportPipeline.class.getName());
+
+    /**
+     * Parses a statement file.
+     */
+    @FunctionalInterface
+    public interface StatementParser {
+        ImportBank<? extends ImportTransaction> parse(Path path) throws Exception;
+    }
+
+    public enum Stage {
+        PARSE,
+        PROCESS,
+        COMMIT
+    }
+
+    /**
+     * Receives progress as each file completes a stage.  Each file is counted once per stage.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void progress(Stage stage, Path path, int workDone, int max);
+    }
+
+    private final Map<Predicate<Path>, StatementParser> parsers = new LinkedHashMap<>();
+
+    private final int parallelism;
+
+    private ProgressListener progressListener = (stage, path, workDone, max) -> { };
+
+    private boolean globalClassifier = false;
+
+    public ImportPipeline() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ImportPipeline(final int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+
+        addParser(path -> FileMagic.isOfxV1(path) || FileMagic.isOfxV2(path), OfxV2Parser::parse);
+        addParser(ImportPipeline::isQifStatement, ImportPipeline::parseQif);
+    }
+
+    /**
+     * Adds a parser for an additional file format.  Parsers are tested in the order they were added.
+     *
+     * @param accepts test for files the parser supports
+     * @param parser  statement parser
+     */
+    public void addParser(@NotNull final Predicate<Path> accepts, @NotNull final StatementParser parser) {
+        parsers.put(Objects.requireNonNull(accepts), Objects.requireNonNull(parser));
+    }
+
+    public void setProgressListener(@NotNull final ProgressListener progressListener) {
+        this.progressListener = Objects.requireNonNull(progressListener);
+    }
+
+    /**
+     * Sets the classifier to be trained with all transactions instead of only the transactions of the account.
+     *
+     * @param globalClassifier {@code true} to train with all transactions
+     */
+    public void setGlobalClassifier(final boolean globalClassifier) {
+        this.globalClassifier = globalClassifier;
+    }
+
+    private static boolean isQifStatement(final Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".qif")
+                && !QifUtils.isFullFile(path.toFile());
+    }
+
+    private static ImportBank<? extends ImportTransaction> parseQif(final Path path) throws IOException {
+        final QifImport qifImport = new QifImport();
+
+        if (!qifImport.doPartialParse(path.toFile()) || qifImport.getParser().accountList.isEmpty()) {
+            throw new IOException("Unable to parse the transactions: " + path);
+        }
+
+        return qifImport.getParser().getBank();
+    }
+
+    /**
+     * Imports a list of statement files.
+     *
+     * @param files          statement files
+     * @param defaultAccount account to import into if the statement does not identify a known account, may be null
+     * @return the result for each file in the order supplied
+     */
+    public List<Result> importFiles(@NotNull final List<Path> files, @Nullable final Account defaultAccount) {
+        final List<Statement> statements = new ArrayList<>(files.size());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+                new DefaultDaemonThreadFactory("Import Pipeline Executor"));
+
+        try {
+            // parse in parallel, results are collected in the order of the files
+            final AtomicInteger parsed = new AtomicInteger();
+            final List<Future<Statement>> parseFutures = new ArrayList<>(files.size());
+
+            for (final Path path : files) {
+                parseFutures.add(executorService.submit(() -> {
+                    final Statement statement = parse(path, defaultAccount);
+                    progressListener.progress(Stage.PARSE, path, parsed.incrementAndGet(), files.size());
+                    return statement;
+                }));
+            }
+
+            for (int i = 0; i < parseFutures.size(); i++) {
+                try {
+                    statements.add(parseFutures.get(i).get());
+                } catch (final ExecutionException e) {
+                    final Statement statement = new Statement(files.get(i));
+                    setError(statement, e.getCause());
+                    statements.add(statement);
+                }
+            }
+
+            // process each account concurrently, statements for an account are kept in order
+            final Map<Account, List<Statement>> accountStatements = new LinkedHashMap<>();
+
+            for (final Statement statement : statements) {
+                if (statement.result.account != null) {
+                    accountStatements.computeIfAbsent(statement.result.account, k -> new ArrayList<>()).add(statement);
+                }
+            }
+
+            final AtomicInteger processed = new AtomicInteger();
+            final Map<Future<?>, List<Statement>> processFutures = new LinkedHashMap<>();
+
+            for (final Map.Entry<Account, List<Statement>> entry : accountStatements.entrySet()) {
+                processFutures.put(executorService.submit(() -> {
+                    process(entry.getKey(), entry.getValue());
+
+                    for (final Statement statement : entry.getValue()) {
+                        progressListener.progress(Stage.PROCESS, statement.result.path, processed.incrementAndGet(),
+                                files.size());
+                    }
+                }), entry.getValue());
+            }
+
+            // the statements of an account that failed to process are not committed
+            for (final Map.Entry<Future<?>, List<Statement>> entry : processFutures.entrySet()) {
+                try {
+                    entry.getKey().get();
+                } catch (final ExecutionException e) {
+                    for (final Statement statement : entry.getValue()) {
+                        setError(statement, e.getCause());
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } finally {
+            executorService.shutdown();
+        }
+
+        commit(statements);
+
+        final List<Result> results = new ArrayList<>(statements.size());
+
+        for (final Statement statement : statements) {
+            results.add(statement.result);
+        }
+
+        return results;
+    }
+
+    private Statement parse(final Path path, final Account defaultAccount) {
+        final Statement statement = new Statement(path);
+
+        try {
+            StatementParser parser = null;
+
+            for (final Map.Entry<Predicate<Path>, StatementParser> entry : parsers.entrySet()) {
+                if (entry.getKey().test(path)) {
+                    parser = entry.getValue();
+                    break;
+                }
+            }
+
+            if (parser == null) {
+                throw new IOException("Unsupported file format: " + path);
+            }
+
+            statement.bank = parser.parse(path);
+            statement.result.transactionCount = statement.bank.getTransactions().size();
+
+            Account account = null;
+
+            if (statement.bank instanceof OfxBank) {
+                account = OfxImport.matchAccount((OfxBank) statement.bank);
+            }
+
+            statement.result.account = account != null ? account : defaultAccount;
+
+            if (statement.result.account == null) {
+                throw new IOException("Unable to determine the account for: " + path);
+            }
+        } catch (final Exception e) {
+            setError(statement, e);
+        }
+
+        return statement;
+    }
+
+    /**
+     * Records the failure of a statement.  A statement without an account is not committed.
+     *
+     * @param statement statement that failed
+     * @param cause     cause of the failure
+     */
+    private static void setError(final Statement statement, final Throwable cause) {
+        logger.log(Level.WARNING, cause.getLocalizedMessage(), cause);
+        statement.result.error = cause.getLocalizedMessage();
+        statement.result.account = null;
+    }
+
+    private static void setError(final Statement statement, final String message) {
+        logger.warning(statement.result.path + ": " + message);
+        statement.result.error = message;
+        statement.result.account = null;
+    }
+
+    /**
+     * Prepares the transactions of all statements for an account the same way the import wizard does.  A transaction
+     * repeated in a later statement is marked as a duplicate by its FITID.
+     *
+     * @param baseAccount account the statements are imported into
+     * @param statements  statements for the account
+     */
+    private void process(final Account baseAccount, final List<Statement> statements) {
+
+        // import filters are not thread safe, each account uses its own
+        final List<ImportFilter> importFilterList = ImportFilter.getEnabledImportFilters();
+
+        final List<ImportTransaction> transactions = new ArrayList<>();
+
+        for (final Statement statement : statements) {
+            for (final ImportTransaction t : statement.bank.getTransactions()) {
+
+                // Process transactions with the import filter
+                for (final ImportFilter importFilter : importFilterList) {
+                    importFilter.acceptTransaction(t);
+                    t.setMemo(importFilter.processMemo(t.getMemo()));
+                    t.setPayee(importFilter.processPayee(t.getPayee()));
+                }
+
+                if (t.getTransactionType() != TransactionType.REINVESTDIV) {
+                    t.setAccount(baseAccount);
+                }
+
+                if (t.isInvestmentTransaction()) {
+                    switch (t.getTransactionType()) {
+                        case BUYSHARE:
+                            t.setFeesAccount(baseAccount);
+                            break;
+                        case SELLSHARE:
+                        case REINVESTDIV:
+                            t.setFeesAccount(baseAccount);
+                            t.setGainsAccount(baseAccount);
+                            break;
+                        case DIVIDEND:
+                            t.setGainsAccount(baseAccount);
+                            break;
+                        default:
+                    }
+                }
+
+                t.setState(ImportState.NEW);
+                transactions.add(t);
+            }
+        }
+
+        // match up any pre-existing transactions
+        GenericImport.matchTransactions(transactions, baseAccount);
+
+        // overlapping statements
+        final Set<String> fitids = new HashSet<>();
+
+        for (final ImportTransaction t : transactions) {
+            if (t.getFITID() != null && !t.getFITID().isEmpty() && !fitids.add(t.getFITID())) {
+                t.setState(ImportState.EQUAL);
+            }
+        }
+
+        BayesImportClassifier.classifyTransactions(transactions, baseAccount, globalClassifier);
+
+        // override the classifier if an account has been specified already
+        for (final ImportTransaction t : transactions) {
+            final Account account = ImportUtils.matchAccount(t);
+
+            if (account != null) {
+                t.setAccount(account);
+            }
+        }
+    }
+
+    /**
+     * Commits the statements in order.  Investment statements are imported individually to create securities and
+     * investment transactions, all other transactions are committed together.
+     *
+     * @param statements statements to commit
+     */
+    private void commit(final List<Statement> statements) {
+        final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
+        Objects.requireNonNull(engine);
+
+        final List<Transaction> batch = new ArrayList<>();
+
+        // statements in the batch and their number of new transactions
+        final Map<Statement, Integer> pending = new LinkedHashMap<>();
+
+        int committed = 0;
+
+        for (final Statement statement : statements) {
+            final Account account = statement.result.account;
+
+            if (account != null) {
+                if (statement.bank instanceof OfxBank) {
+                    final OfxBank ofxBank = (OfxBank) statement.bank;
+
+                    /* set the account number if not a match */
+                    if (ofxBank.accountId != null && !ofxBank.accountId.equals(account.getAccountNumber())) {
+                        engine.setAccountNumber(account, ofxBank.accountId);
+                    }
+
+                    if (ofxBank.isInvestmentAccount()) {
+                        addTransactions(engine, batch, pending);   // preserve the order
+
+                        if (!ofxBank.getSecurityList().isEmpty()) {
+                            GenericImport.importSecurities(ofxBank.getSecurityList(), account.getCurrencyNode());
+                        }
+
+                        OfxImport.importTransactions(ofxBank, account);
+                        statement.result.importedCount = countNew(ofxBank.getTransactions());
+                    }
+                }
+
+                if (!statement.bank.isInvestmentAccount()) {
+                    final List<ImportTransaction> transactions = new ArrayList<>(statement.bank.getTransactions());
+                    Collections.sort(transactions);
+
+                    for (final ImportTransaction t : transactions) {
+                        if (t.getState() == ImportState.NEW || t.getState() == ImportState.NOT_EQUAL) {
+                            batch.add(GenericImport.generateTransaction(t, account));
+                        }
+                    }
+
+                    pending.put(statement, countNew(transactions));
+                }
+            }
+
+            progressListener.progress(Stage.COMMIT, statement.result.path, ++committed, statements.size());
+        }
+
+        addTransactions(engine, batch, pending);
+    }
+
+    /**
+     * Commits a batch of transactions.  The imported count of each statement is only set once the batch has been
+     * committed, otherwise an error is reported for each statement in the batch.
+     *
+     * @param engine  engine to add the transactions to
+     * @param batch   transactions to commit, cleared when done
+     * @param pending statements in the batch and their new transaction counts, cleared when done
+     */
+    private static void addTransactions(final Engine engine, final List<Transaction> batch,
+                                        final Map<Statement, Integer> pending) {
+        if (engine.addTransactions(batch)) {
+            pending.forEach((statement, count) -> statement.result.importedCount = count);
+        } else {
+            for (final Statement statement : pending.keySet()) {
+                setError(statement, ResourceUtils.getString("Message.Error.TranAddFail"));
+            }
+        }
+
+        batch.clear();
+        pending.clear();
+    }
+
+    private static int countNew(final List<? extends ImportTransaction> transactions) {
+        int count = 0;
+
+        for (final ImportTransaction t : transactions) {
+            if (t.getState() == ImportState.NEW || t.getState() == ImportState.NOT_EQUAL) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Imports statement files into a jGnash file without a user interface.
+     * <p>
+     * {@code ImportPipeline <data file> [-password <password>] [-account <account name>] [-global] <statement>...}
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ImportPipeline <data file> [-password <password>] [-account <account name>] "
+                    + "[-global] <statement>...");
+            System.exit(1);
+        }
+
+        char[] password = EngineFactory.EMPTY_PASSWORD;
+        String accountName = null;
+        boolean global = false;
+
+        final List<Path> files = new ArrayList<>();
+
+        for (int i = 1; i < args.length; i++) {
+            if ("-password".equals(args[i]) && i + 1 < args.length) {
+                password = args[++i].toCharArray();
+            } else if ("-account".equals(args[i]) && i + 1 < args.length) {
+                accountName = args[++i];
+            } else if ("-global".equals(args[i])) {
+                global = true;
+            } else {
+                final Path path = Paths.get(args[i]);
+
+                if (Files.isReadable(path)) {
+                    files.add(path);
+                } else {
+                    System.err.println("Unable to read: " + path);
+                }
+            }
+        }
+
+        final Engine engine = EngineFactory.bootLocalEngine(args[0], EngineFactory.DEFAULT, password);
+
+        if (engine == null) {
+            System.err.println("Unable to open: " + args[0]);
+            System.exit(1);
+        }
+
+        int status = 0;
+
+        final Account defaultAccount = accountName != null ? engine.getAccountByName(accountName) : null;
+
+        if (accountName != null && defaultAccount == null) {
+            System.err.println("Unknown account: " + accountName);
+            status = 1;
+        } else {
+            final ImportPipeline pipeline = new ImportPipeline();
+            pipeline.setGlobalClassifier(global);
+            pipeline.setProgressListener((stage, path, workDone, max) ->
+                    System.out.println(stage + " " + workDone + "/" + max + " " + path.getFileName()));
+
+            for (final Result result : pipeline.importFiles(files, defaultAccount)) {
+                System.out.println(result);
+
+                if (result.getError() != null) {
+                    status = 1;
+                }
+            }
+        }
+
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+        System.exit(status);
+    }
+
+    private static class Statement {
+
+        final Result result;
+
+        ImportBank<? extends ImportTransaction> bank;
+
+        Statement(final Path path) {
+            result = new Result(path);
+        }
+    }
+
+    /**
+     * The outcome of importing a statement file.
+     */
+    public static class Result {
+
+        private final Path path;
+
+        private volatile Account account;
+
+        private volatile int transactionCount;
+
+        private volatile int importedCount;
+
+        private volatile String error;
+
+        Result(final Path path) {
+            this.path = path;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the account the statement was imported into.
+         *
+         * @return the account, null if the statement could not be imported
+         */
+        public Account getAccount() {
+            return account;
+        }
+
+        public int getTransactionCount() {
+            return transactionCount;
+        }
+
+        /**
+         * Returns the number of new transactions.  Transactions matched to existing or repeated transactions are
+         * not imported.
+         *
+         * @return number of imported transactions
+         */
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            if (error != null) {
+                return path.getFileName() + ": " + error;
+            }
+
+            return path.getFileName() + ": " + account.getName() + ", " + importedCount + " of " + transactionCount
+                    + " transactions imported";
+        }
+    }
+}
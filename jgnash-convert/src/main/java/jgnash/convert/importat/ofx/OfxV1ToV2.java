@@ -22,20 +22,28 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
 import jgnash.util.FileMagic;
 
 import static jgnash.util.LogUtil.logSevere;
-import static jgnash.convert.importat.ofx.Sanitize.sanitize;
 
 /**
  * Utility class to convert OFX version 1 (SGML) to OFX version 2 (XML)
+ * <p>
+ * The SGML is converted as a stream of tokens.  Elements with data are closed when the next tag is found if the
+ * end tag has been omitted.  An element without data is treated as an aggregate if its end tag is found before the
+ * end tag of an enclosing aggregate, otherwise an end tag is created.  Only a bounded number of tokens are held in
+ * memory for look ahead, so large files are converted in linear time.
  *
  * @author Craig Cavanaugh
  */
@@ -43,6 +51,14 @@ class OfxV1ToV2 {
 
     private static final int READ_AHEAD_LIMIT = 2048;
 
+    /**
+     * Maximum number of tokens to look ahead when resolving an element without data.  Unresolved elements are
+     * assumed to be aggregates.
+     */
+    private static final int LOOK_AHEAD_LIMIT = 8192;
+
+    private static final Pattern AMPERSAND_PATTERN = Pattern.compile("&(?!(?:amp);)");
+
     /*
     public static void main(final String[] args) {
         if (args.length == 2) {
@@ -60,58 +76,66 @@ class OfxV1ToV2 {
     }*/
 
     static String convertToXML(final Path path) {
-        String encoding = FileMagic.getOfxV1Encoding(path);
+        final StringWriter writer = new StringWriter();
 
-        Logger.getLogger(OfxV1ToV2.class.getName()).log(Level.INFO, "OFX Version 1 file encoding was {0}", encoding);
+        try (final Reader reader = openXMLReader(path)) {
+            transfer(reader, writer);
+        } catch (final IOException e) {
+            logSevere(OfxV1ToV2.class, e);
+        }
 
-        return convertSgmlToXML(readFile(path, encoding));
+        return writer.toString();
     }
 
     static String convertToXML(final InputStream stream) {
-        return convertSgmlToXML(readFile(stream, System.getProperty("file.encoding")));
-    }
+        if (stream == null) {
+            logSevere(OfxV1ToV2.class, "InputStream was null");
+            return null;
+        }
 
-    private static String convertSgmlToXML(final String sgml) {
-        StringBuilder xml = new StringBuilder(sgml);
+        final StringWriter writer = new StringWriter();
 
-        int readPos = 0;
-        int tagEnd = 0;
+        try (final Reader reader = openXMLReader(stream, System.getProperty("file.encoding"))) {
+            transfer(reader, writer);
+        } catch (final IOException e) {
+            logSevere(OfxV1ToV2.class, e);
+        }
 
-        while (readPos < xml.length() && readPos != -1) {
-            String tag;
+        return writer.toString();
+    }
 
-            readPos = xml.indexOf("<", tagEnd);
+    /**
+     * Opens a {@code Reader} that converts an OFX version 1 file to XML as it is read.
+     *
+     * @param path file to convert
+     * @return {@code Reader} returning XML
+     * @throws IOException thrown if IO error occurs
+     */
+    static Reader openXMLReader(final Path path) throws IOException {
+        final String encoding = FileMagic.getOfxV1Encoding(path);
 
-            if (readPos != -1) {
-                tagEnd = xml.indexOf(">", readPos);
+        Logger.getLogger(OfxV1ToV2.class.getName()).log(Level.INFO, "OFX Version 1 file encoding was {0}", encoding);
 
-                if (tagEnd != -1) {
-                    tag = xml.substring(readPos + 1, tagEnd);
+        return openXMLReader(new BufferedInputStream(Files.newInputStream(path)), encoding);
+    }
 
-                    if (!tag.startsWith("/")) {
-                        if (xml.indexOf("</" + tag + ">", tagEnd) == -1) {
+    private static Reader openXMLReader(final InputStream stream, final String characterSet) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, characterSet));
 
-                            readPos = xml.indexOf("<", tagEnd);
-                            xml.insert(readPos, "</" + tag + ">");
-                        }
-                    }
-                } else {
-                    readPos = -1;
-                }
-            }
-        }
+        // consume the Ofx1 header
+        consumeHeader(reader);
 
-        return sanitize(xml.toString());
+        return new SgmlToXmlReader(reader);
     }
 
-    private static String concat(final Collection<String> strings) {
-        StringBuilder b = new StringBuilder();
+    private static void transfer(final Reader reader, final Writer writer) throws IOException {
+        final char[] buffer = new char[8192];
 
-        for (String s : strings) {
-            b.append(s.trim());
-        }
+        int count;
 
-        return b.toString();
+        while ((count = reader.read(buffer)) != -1) {
+            writer.write(buffer, 0, count);
+        }
     }
 
     /**
@@ -143,52 +167,324 @@ class OfxV1ToV2 {
     }
 
     /**
-     * Reads a file, strips the header and reads the SGML content into one large
-     * string
+     * Removes line breaks and the white space surrounding them.
      *
-     * @param stream input stream
-     * @param characterSet assumed character set for the file being converted
-     * @return a String with the SGML content and header removed
+     * @param raw raw text
+     * @return text with each line trimmed
      */
-    private static String readFile(final InputStream stream, final String characterSet) {
+    private static String trimLines(final CharSequence raw) {
+        if (!containsAny(raw, "\r\n")) {
+            return raw.toString().trim();
+        }
 
-        if (stream == null) {
-            logSevere(OfxV1ToV2.class, "InputStream was null");
-            return null;
+        final StringBuilder builder = new StringBuilder(raw.length());
+
+        int lineStart = 0;
+
+        for (int i = 0; i <= raw.length(); i++) {
+            if (i == raw.length() || raw.charAt(i) == '\n' || raw.charAt(i) == '\r') {
+                builder.append(raw.subSequence(lineStart, i).toString().trim());
+                lineStart = i + 1;
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Replaces illegal XML characters with escaped characters.
+     *
+     * @param text text to escape
+     * @return valid text
+     */
+    private static String escape(final String text) {
+        if (!containsAny(text, "&\"'>")) {
+            return text;
+        }
+
+        String escaped = AMPERSAND_PATTERN.matcher(text).replaceAll("&amp;");
+        escaped = escaped.replace("\"", "&quot;");
+        escaped = escaped.replace("'", "&apos;");
+        escaped = escaped.replace(">", "&gt;");
+
+        return escaped;
+    }
+
+    private static boolean containsAny(final CharSequence text, final String chars) {
+        for (int i = 0; i < text.length(); i++) {
+            if (chars.indexOf(text.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private enum TokenType {
+        START,
+        END,
+        TEXT
+    }
+
+    private static final class Token {
+
+        final TokenType type;
+
+        final String value;
+
+        Token(final TokenType type, final String value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Converts SGML to XML as characters are read.
+     */
+    private static final class SgmlToXmlReader extends Reader {
+
+        private final Reader sgml;
+
+        /**
+         * Tokens read for look ahead that have not been converted.
+         */
+        private final Deque<Token> lookAhead = new ArrayDeque<>();
+
+        /**
+         * Open aggregates.
+         */
+        private final Deque<String> openElements = new ArrayDeque<>();
+
+        /**
+         * Converted XML that has not been read.
+         */
+        private final StringBuilder xml = new StringBuilder();
+
+        private int xmlPosition = 0;
+
+        private int nextChar = -2;
+
+        private final char[] sgmlBuffer = new char[8192];
+
+        private int sgmlPosition = 0;
+
+        private int sgmlLength = 0;
+
+        private boolean complete = false;
+
+        SgmlToXmlReader(final Reader sgml) {
+            this.sgml = sgml;
         }
 
-        List<String> strings = new ArrayList<>();
+        @Override
+        public int read(final char[] buffer, final int offset, final int length) throws IOException {
+            while (xmlPosition == xml.length() && !complete) {
+                xml.setLength(0);
+                xmlPosition = 0;
+                convertNextToken();
+            }
+
+            if (xmlPosition == xml.length()) {
+                return -1;
+            }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, characterSet))) {
-            // consume the Ofx1 header
-            consumeHeader(reader);
+            final int count = Math.min(length, xml.length() - xmlPosition);
+            xml.getChars(xmlPosition, xmlPosition + count, buffer, offset);
+            xmlPosition += count;
 
-            String line = reader.readLine();
+            return count;
+        }
 
-            while (line != null) {
+        @Override
+        public void close() throws IOException {
+            sgml.close();
+        }
 
-                line = line.trim();
+        private void convertNextToken() throws IOException {
+            final Token token = nextToken();
 
-                if (!line.isEmpty()) {
-                    strings.add(line);
+            if (token == null) {    // close any remaining aggregates
+                while (!openElements.isEmpty()) {
+                    appendEndTag(openElements.pop());
                 }
 
-                line = reader.readLine();
+                complete = true;
+                return;
+            }
+
+            switch (token.type) {
+                case START:
+                    convertStartTag(token.value);
+                    break;
+                case END:
+                    if (openElements.contains(token.value)) {
+                        String element;
+
+                        do {    // close aggregates with a missing end tag
+                            element = openElements.pop();
+                            appendEndTag(element);
+                        } while (!element.equals(token.value));
+                    }   // else an end tag without a start tag is dropped
+                    break;
+                case TEXT:
+                    xml.append(escape(token.value));
+                    break;
+                default:
+                    break;
             }
-        } catch (final IOException e) {
-            logSevere(OfxV1ToV2.class, e);
         }
 
-        return concat(strings);
-    }
+        private void convertStartTag(final String tag) throws IOException {
+            xml.append('<').append(tag).append('>');
 
-    private static String readFile(final Path path, final String characterSet) {
-    	try (final InputStream stream = new BufferedInputStream(Files.newInputStream(path))) {
-    		return readFile(stream, characterSet);
-    	} catch (final IOException e) {
-            logSevere(OfxV1ToV2.class, e);
-            return "";
-		}     	    	     
+            final Token next = peekToken();
+
+            if (next == null) {
+                appendEndTag(tag);
+            } else if (next.type == TokenType.TEXT) {    // element with data
+                xml.append(escape(nextToken().value));
+
+                final Token end = peekToken();
+
+                if (end != null && end.type == TokenType.END && end.value.equals(tag)) {
+                    nextToken();
+                }
+
+                appendEndTag(tag);
+            } else if (next.type == TokenType.END && next.value.equals(tag)) {
+                nextToken();
+                appendEndTag(tag);
+            } else if (isAggregate(tag)) {
+                openElements.push(tag);
+            } else {    // element without data
+                appendEndTag(tag);
+            }
+        }
+
+        /**
+         * An element without data is an aggregate if its end tag is found before the end of an open aggregate.
+         */
+        private boolean isAggregate(final String tag) throws IOException {
+            for (final Token token : lookAhead) {
+                if (token.type == TokenType.END) {
+                    if (token.value.equals(tag)) {
+                        return true;
+                    } else if (openElements.contains(token.value)) {
+                        return false;
+                    }
+                }
+            }
+
+            while (lookAhead.size() < LOOK_AHEAD_LIMIT) {
+                final Token token = readToken();
+
+                if (token == null) {
+                    return false;
+                }
+
+                lookAhead.addLast(token);
+
+                if (token.type == TokenType.END) {
+                    if (token.value.equals(tag)) {
+                        return true;
+                    } else if (openElements.contains(token.value)) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+
+        private void appendEndTag(final String tag) {
+            xml.append("</").append(tag).append('>');
+        }
+
+        private Token nextToken() throws IOException {
+            return lookAhead.isEmpty() ? readToken() : lookAhead.removeFirst();
+        }
+
+        private Token peekToken() throws IOException {
+            if (lookAhead.isEmpty()) {
+                final Token token = readToken();
+
+                if (token == null) {
+                    return null;
+                }
+
+                lookAhead.addLast(token);
+            }
+
+            return lookAhead.peekFirst();
+        }
+
+        /**
+         * Reads the next tag or text from the SGML.  Declarations, processing instructions and white space between
+         * tags are skipped.
+         *
+         * @return the next {@code Token} or {@code null} if the end of the SGML has been reached
+         * @throws IOException thrown if IO error occurs
+         */
+        private Token readToken() throws IOException {
+            final StringBuilder builder = new StringBuilder();
+
+            while (true) {
+                int c = readChar();
+
+                if (c == -1) {
+                    final String text = trimLines(builder);
+                    return text.isEmpty() ? null : new Token(TokenType.TEXT, text);
+                }
+
+                if (c != '<') {
+                    builder.append((char) c);
+                    continue;
+                }
+
+                final String text = trimLines(builder);
+
+                if (!text.isEmpty()) {
+                    nextChar = c;   // push back the start of the tag
+                    return new Token(TokenType.TEXT, text);
+                }
+
+                builder.setLength(0);
+
+                while ((c = readChar()) != -1 && c != '>') {
+                    builder.append((char) c);
+                }
+
+                final String tag = trimLines(builder);
+
+                builder.setLength(0);
+
+                if (tag.startsWith("/")) {
+                    return new Token(TokenType.END, tag.substring(1));
+                } else if (!tag.isEmpty() && !tag.startsWith("?") && !tag.startsWith("!")) {
+                    return new Token(TokenType.START, tag);
+                }
+            }
+        }
+
+        private int readChar() throws IOException {
+            if (nextChar != -2) {
+                final int c = nextChar;
+                nextChar = -2;
+                return c;
+            }
+
+            if (sgmlPosition == sgmlLength) {
+                sgmlLength = sgml.read(sgmlBuffer);
+                sgmlPosition = 0;
+
+                if (sgmlLength <= 0) {
+                    sgmlLength = 0;
+                    return -1;
+                }
+            }
+
+            return sgmlBuffer[sgmlPosition++];
+        }
     }
 
     private OfxV1ToV2() {
@@ -23,6 +23,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
@@ -119,7 +120,7 @@ public class OfxV2Parser implements OfxTags {
 
         if (FileMagic.isOfxV1(file)) {
             logger.info("Parsing OFX Version 1 file");
-            parser.parse(OfxV1ToV2.convertToXML(file), FileMagic.getOfxV1Encoding(file));
+            parser.parseOfxV1File(file);
         } else if (FileMagic.isOfxV2(file)) {
             logger.info("Parsing OFX Version 2 file");
             parser.parseFile(file);
@@ -256,12 +257,8 @@ public class OfxV2Parser implements OfxTags {
 
         bank = new OfxBank();
 
-        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
-
         try (final InputStream input = new BufferedInputStream(stream)) {
-            XMLStreamReader reader = inputFactory.createXMLStreamReader(input, encoding);
+            XMLStreamReader reader = createInputFactory().createXMLStreamReader(input, encoding);
             readOfx(reader);
         } catch (IOException | XMLStreamException e) {
             logger.log(Level.SEVERE, e.toString(), e);
@@ -270,6 +267,34 @@ public class OfxV2Parser implements OfxTags {
         logger.exiting(OfxV2Parser.class.getName(), "parse");
     }
 
+    /**
+     * Parses an OFX version 1 file.  The SGML is converted to XML as it is parsed.
+     *
+     * @param path file to parse
+     */
+    private void parseOfxV1File(final Path path) {
+        logger.entering(OfxV2Parser.class.getName(), "parseOfxV1File");
+
+        bank = new OfxBank();
+
+        try (final Reader input = OfxV1ToV2.openXMLReader(path)) {
+            XMLStreamReader reader = createInputFactory().createXMLStreamReader(input);
+            readOfx(reader);
+        } catch (IOException | XMLStreamException e) {
+            logger.log(Level.SEVERE, e.toString(), e);
+        }
+
+        logger.exiting(OfxV2Parser.class.getName(), "parseOfxV1File");
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+
+        return inputFactory;
+    }
+
     private void parseFile(final Path path) {
 
         try (final InputStream stream = new BufferedInputStream(Files.newInputStream(path))) {
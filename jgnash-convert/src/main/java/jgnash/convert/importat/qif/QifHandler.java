@@ -0,0 +1,55 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.convert.importat.qif;
+
+/**
+ * Receives each record as it is parsed by {@link QifParser}.  Records are not retained by the parser, a handler
+ * must keep what it needs.
+ *
+ * @author Craig Cavanaugh
+ */
+interface QifHandler {
+
+    default void category(final QifCategory category) {
+    }
+
+    default void classItem(final QifParser.QifClassItem classItem) {
+    }
+
+    default void security(final QifParser.QifSecurity security) {
+    }
+
+    /**
+     * Called for each account record.  Transactions that follow belong to the last account received.  An account
+     * without a name is generated when transactions are found without a preceding account record.
+     *
+     * @param account account record
+     */
+    default void account(final QifAccount account) {
+    }
+
+    /**
+     * Called for each complete transaction.  Dates of bank transactions are not parsed until the date format
+     * of the account is known.
+     *
+     * @param account     account the transaction belongs to
+     * @param transaction transaction record
+     */
+    default void transaction(final QifAccount account, final QifTransaction transaction) {
+    }
+}
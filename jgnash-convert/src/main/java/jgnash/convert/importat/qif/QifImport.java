@@ -19,11 +19,17 @@ package jgnash.convert.importat.qif;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -47,6 +53,10 @@ import jgnash.engine.TransactionFactory;
  * with each transaction and account to prevent duplication. This import utility is ideal for importing an existing data
  * set, but not for importing monthly bank statements. A more specialized import utility may be useful/required for more
  * advanced in
+ * <p>
+ * A full import reads the file twice.  The first pass collects the categories, the accounts and the date format of
+ * each account.  The second pass streams the transactions into the engine in batches, so the transactions of the
+ * file are never held in memory at once.
  *
  * @author Craig Cavanaugh
  */
@@ -57,8 +67,40 @@ public class QifImport {
      */
     private static final String FITID = "qif";
 
+    /**
+     * Number of transactions committed at once during a full import
+     */
+    private static final int BATCH_SIZE = 500;
+
     private QifParser parser;
 
+    private File file;
+
+    private final List<QifCategory> categories = new ArrayList<>();
+
+    /**
+     * Accounts found in the file by name.  Quicken lists the accounts and then repeats each account before its
+     * transactions
+     */
+    private final Map<String, QifAccount> accounts = new LinkedHashMap<>();
+
+    private final Map<String, DateFormat> dateFormats = new HashMap<>();
+
+    /**
+     * Number of transactions found for each account by name
+     */
+    private final Map<String, Integer> transactionCounts = new HashMap<>();
+
+    /**
+     * Expected mirrors of transfers by the name of the account they will be found in
+     */
+    private final Map<String, List<Mirror>> pendingMirrors = new HashMap<>();
+
+    /**
+     * Names of accounts that have been completely imported.  Mirrors are not tracked for these accounts
+     */
+    private final Set<String> importedAccounts = new HashSet<>();
+
     private final Engine engine;
 
     private final HashMap<String, Account> expenseMap = new HashMap<>();
@@ -81,17 +123,60 @@ public class QifImport {
 
     public void doFullParse(final File file, final DateFormat dateFormat) throws IOException {
         if (file != null) {
+            this.file = file;
+
+            partialImport = false;
+
+            categories.clear();
+            accounts.clear();
+            dateFormats.clear();
+            transactionCounts.clear();
+
             parser = new QifParser(dateFormat);
-            parser.parseFullFile(file);
+
+            final boolean[] accountFound = {true};
+
+            parser.parse(file, new QifHandler() {
+                @Override
+                public void category(final QifCategory category) {
+                    categories.add(category);
+                }
+
+                @Override
+                public void account(final QifAccount account) {
+                    if (account.name == null) {     // QIF from an online statement... assumes the account is known
+                        accountFound[0] = false;
+                    } else {
+                        accounts.putIfAbsent(account.name, account);
+                    }
+                }
+
+                @Override
+                public void transaction(final QifAccount account, final QifTransaction transaction) {
+                    if (account.name != null) {
+                        transactionCounts.merge(account.name, 1, Integer::sum);
+
+                        if (QifTransaction.isEuropeanDate(transaction.oDate)) {
+                            dateFormats.put(account.name, DateFormat.EU);
+                        }
+                    }
+                }
+            });
+
+            if (!accountFound[0]) {
+                throw new IOException("The account was not found");
+            }
+
             logger.info("*** Parsing Complete ***");
         }
     }
 
     public void doFullImport() {
-        if (parser != null) {
+        if (parser != null && file != null) {
 
             importCategories();
             importAccounts();
+            importTransactions();
 
             logger.info("*** Importing Complete ***");
         }
@@ -110,7 +195,18 @@ public class QifImport {
 
     public void dumpStats() {
         if (parser != null) {
-            parser.dumpStats();
+            if (partialImport) {
+                parser.dumpStats();
+            } else {    // transactions are not retained by a full parse
+                System.out.println("Num Categories :" + categories.size());
+                System.out.println("Num Accounts :" + accounts.size());
+
+                int i = 1;
+                for (final String name : accounts.keySet()) {
+                    System.out.println("Account " + i++ + " " + name);
+                    System.out.println("    Num Transactions :" + transactionCounts.getOrDefault(name, 0));
+                }
+            }
         }
     }
 
@@ -128,6 +224,20 @@ public class QifImport {
         addAccounts();
     }
 
+    private void importTransactions() {
+        logger.info("*** Importing Transactions ***");
+
+        final TransactionImporter importer = new TransactionImporter();
+
+        try {
+            parser.parse(file, importer);
+        } catch (final IOException e) {
+            logger.log(Level.SEVERE, null, e);
+        }
+
+        importer.finish();
+    }
+
     private static void loadCategoryMap(final List<Account> list, final Map<String, Account> map) {
         if (list != null) { // protect against a failed load on a new account
             for (Account aList : list) {
@@ -178,73 +288,19 @@ public class QifImport {
 
         logger.info("*** Importing Accounts ***");
 
-        List<QifAccount> list = parser.accountList;
-        // add all of the accounts first
-        for (QifAccount qAcc : list) {
-            Account acc;
+        for (final QifAccount qAcc : accounts.values()) {
             if (!accountMap.containsKey(qAcc.name)) { // add the account if it does not exist
-                acc = generateAccount(qAcc);
+                final Account acc = generateAccount(qAcc);
                 if (acc != null) {
                     engine.addAccount(engine.getRootAccount(), acc);
                     loadAccountMap(acc);
                 }
             }
         }
-
-        logger.info("*** Importing Transactions ***");
-
-        // go back and add the transactions;
-        for (QifAccount qAcc : list) {
-            Account acc = accountMap.get(qAcc.name);
-
-            // try and match the closest
-            if (acc == null) {
-                acc = engine.getAccountByName(qAcc.name);
-            }
-
-            // TODO Correct import of investment transactions
-            if (acc != null && acc.getAccountType() != AccountType.INVEST) {
-                addTransactions(qAcc, acc);
-            } else {
-                if (acc != null) {
-                    logger.severe("Investment transactions not fully supported");
-                } else {
-                    logger.log(Level.SEVERE, "Lost the account: {0}", qAcc.name);
-                }
-            }
-        }
-    }
-
-    private void addTransactions(final QifAccount qAcc, final Account acc) {
-        if (qAcc.getTransactions().isEmpty()) {
-            return;
-        }
-        List<QifTransaction> list = qAcc.getTransactions();
-        for (QifTransaction aList : list) {
-            Transaction tran;
-
-            /*if (acc.getAccountType().equals(AccountType.INVEST)) {
-            //tran = generateInvestmentTransaction(aList, acc);
-            tran = generateTransaction(aList, acc);
-            } else {
-            tran = generateTransaction(aList, acc);
-            }*/
-
-            tran = generateTransaction(aList, acc);
-
-            if (tran != null) {
-                if (partialImport) {
-                    tran.setFitid(FITID);   // importing a bank statement, flag as imported
-                }
-                engine.addTransaction(tran);
-            } else {
-                logger.warning("Null Transaction!");
-            }
-        }
     }
 
     private void addCategories() {
-        List<QifCategory> list = parser.categories;
+        List<QifCategory> list = categories;
         Map<String, Account> map;
         for (QifCategory cat : list) {
             Account acc = generateAccount(cat);
@@ -349,7 +405,7 @@ public class QifImport {
     private void reduceCategories() {
         QifCategory cat;
         String path;
-        List<QifCategory> list = parser.categories;
+        List<QifCategory> list = categories;
         Iterator<QifCategory> i = list.iterator();
         while (i.hasNext()) {
             cat = i.next();
@@ -479,8 +535,9 @@ public class QifImport {
             ReconcileManager.reconcileTransaction(cAcc, tran, reconciled ? ReconciledState.RECONCILED : ReconciledState.NOT_RECONCILED);
             ReconcileManager.reconcileTransaction(acc, tran, reconciled ? ReconciledState.RECONCILED : ReconciledState.NOT_RECONCILED);
 
-            if (isAccount(qTran.category)) {
-                removeMirrorTransaction(qTran, acc); // remove the mirror transaction
+            if (isAccount(qTran.category)) {  // skip the mirror transaction when it is found
+                addMirror(qTran.category, new Mirror(qTran.getAmount().negate(), qTran.getDatePosted(), null,
+                        acc.getName()));
             }
         } else {
             // could not find the account this transaction belongs to
@@ -524,7 +581,7 @@ public class QifImport {
          * entry in another account that needs to be removed
          */
         if (account != null && isAccount(qTran.category)) {
-            removeMirrorSplitTransaction(qTran);
+            addMirror(qTran.category, new Mirror(qTran.amount.negate(), null, qTran.memo, null));
         }
 
         if (account == null) { // unassigned split transaction.... fix it with a default
@@ -562,80 +619,201 @@ public class QifImport {
         return tran;
     }
 
-    /* Cannot check against check number and payee because Quicken allows for the
-     * different payees at each side of the transaction and does not include the
-     * check number on both sides.
+    /**
+     * Records the expected mirror of a transfer.  Mirrors are not tracked for accounts that have already been imported
      *
-     * The date, amount, and account/category is checked to determine if the match is valid
+     * @param category QIF category of the transfer, the account name enclosed in brackets
+     * @param mirror   expected mirror
      */
-    private void removeMirrorTransaction(final QifTransaction qTran, final Account acc) {
-        String name = qTran.category.substring(1, qTran.category.length() - 1);
-        List<QifAccount> list = parser.accountList;
-
-        for (QifAccount qAcc : list) {
-            if (qAcc.name.equals(name)) {
-                List<QifTransaction> items = qAcc.getTransactions();
-                Iterator<QifTransaction> i = items.iterator();
-                QifTransaction tran;
-                while (i.hasNext()) {
-                    tran = i.next();
-                    if (tran.getAmount().compareTo(qTran.getAmount().negate()) == 0 && tran.getDatePosted().equals(qTran.getDatePosted()) && tran.category.contains(acc.getName())) {
-                        i.remove();
-                        logger.finest("Removed mirror transaction");
-
-                        return;
-                    }
-                }
+    private void addMirror(final String category, final Mirror mirror) {
+        final String name = category.substring(1, category.length() - 1);
+
+        if (!importedAccounts.contains(name)) {
+            pendingMirrors.computeIfAbsent(name, k -> new ArrayList<>()).add(mirror);
+        }
+    }
+
+    /**
+     * Determines if a transaction is the mirror of a transfer that has already been imported and removes the matched
+     * mirror.
+     *
+     * Cannot check against check number and payee because Quicken allows for the different payees at each side of the
+     * transaction and does not include the check number on both sides.  The date, amount, and account/category is
+     * checked to determine if the match is valid
+     *
+     * @param name  name of the account the transaction belongs to
+     * @param tran  transaction to check
+     * @return true if the transaction is a mirror
+     */
+    private boolean removeMirror(final String name, final QifTransaction tran) {
+        final List<Mirror> mirrors = pendingMirrors.get(name);
+
+        if (mirrors == null || tran.getAmount() == null) {
+            return false;
+        }
+
+        // mirror of a transaction
+        for (final Iterator<Mirror> i = mirrors.iterator(); i.hasNext(); ) {
+            final Mirror mirror = i.next();
+
+            if (mirror.date != null && mirror.amount.compareTo(tran.getAmount()) == 0
+                    && mirror.date.equals(tran.getDatePosted()) && tran.category != null
+                    && tran.category.contains(mirror.accountName)) {
+                i.remove();
+                logger.finest("Removed mirror transaction");
+                return true;
+            }
+        }
+
+        // mirror of a split transaction
+        for (final Iterator<Mirror> i = mirrors.iterator(); i.hasNext(); ) {
+            final Mirror mirror = i.next();
+
+            if (mirror.date == null && mirror.amount.compareTo(tran.getAmount()) == 0
+                    && Objects.equals(tran.getMemo(), mirror.memo)) {
+                i.remove();
+                logger.finest("Removed mirror split transaction");
+                return true;
             }
         }
+
+        // could be a split into a bank account... is the match an account and the opposite value and does
+        // not have any splits?
+        for (final Iterator<Mirror> i = mirrors.iterator(); i.hasNext(); ) {
+            final Mirror mirror = i.next();
+
+            if (mirror.date == null && mirror.amount.compareTo(tran.getAmount()) == 0
+                    && tran.category != null && isAccount(tran.category) && !tran.hasSplits()) {
+                logger.log(Level.FINE, "Found a match:\n{0}", tran.toString());
+                i.remove();
+                return true;
+            }
+        }
+
+        return false;
     }
 
-    private void removeMirrorSplitTransaction(final QifSplitTransaction qTran) {
-        String name = qTran.category.substring(1, qTran.category.length() - 1);
-        logger.log(Level.FINE, "Category name is: {0}", name);
-        List<QifAccount> list = parser.accountList;
-
-        for (QifAccount qAcc : list) {
-            if (qAcc.name.equals(name)) {
-                List<QifTransaction> items = qAcc.getTransactions();
-                Iterator<QifTransaction> i = items.iterator();
-                QifTransaction tran;
-                while (i.hasNext()) {
-                    tran = i.next();
-                    if (tran != null) {
-                        if (tran.getAmount().compareTo(qTran.amount.negate()) == 0 && tran.getMemo().equals(qTran.memo)) {
-                            i.remove();
-                            logger.finest("Removed mirror split transaction");
-                            return;
-                        }
-                    } else { // should not occur anymore
-                        logger.log(Level.SEVERE, "There was a null QifTransaction in QifAccount: \n{0}", qAcc.toString());
-                    }
+    /**
+     * The expected mirror of a transfer in the other account.  Only the values needed to match are retained.
+     */
+    private static class Mirror {
+
+        final BigDecimal amount;
+
+        /**
+         * Date of a transaction, null for a split transaction
+         */
+        final LocalDate date;
+
+        final String memo;
+
+        /**
+         * Name of the account the transfer was imported into
+         */
+        final String accountName;
+
+        Mirror(final BigDecimal amount, final LocalDate date, final String memo, final String accountName) {
+            this.amount = amount;
+            this.date = date;
+            this.memo = memo;
+            this.accountName = accountName;
+        }
+
+        @Override
+        public String toString() {
+            return "Memo: " + memo + '\n' + "Amount:" + amount + '\n';
+        }
+    }
+
+    /**
+     * Streams transactions into the engine as they are parsed and commits them in batches.
+     */
+    private class TransactionImporter implements QifHandler {
+
+        private final List<Transaction> batch = new ArrayList<>(BATCH_SIZE);
+
+        private String name;
+
+        private Account account;
+
+        private DateFormat dateFormat;
+
+        @Override
+        public void transaction(final QifAccount qAcc, final QifTransaction qTran) {
+            if (!Objects.equals(qAcc.name, name)) {
+                finishAccount();
+                startAccount(qAcc);
+            }
+
+            // TODO Correct import of investment transactions
+            if (account == null || account.getAccountType() == AccountType.INVEST) {
+                return;
+            }
+
+            qTran.setDatePosted(QifTransaction.parseDate(qTran.oDate, dateFormat));
+
+            if (removeMirror(name, qTran)) {
+                return;
+            }
+
+            final Transaction tran = generateTransaction(qTran, account);
+
+            if (tran != null) {
+                if (partialImport) {
+                    tran.setFitid(FITID);   // importing a bank statement, flag as imported
                 }
+                batch.add(tran);
+
+                if (batch.size() >= BATCH_SIZE) {
+                    commit();
+                }
+            } else {
+                logger.warning("Null Transaction!");
             }
         }
 
-        // could be a split into a bank account... look a level higher
-        // TODO add check against the base account... should point at each other..
-        // qTran's category same as tran category?
-        for (QifAccount qAcc : list) {
-            if (qAcc.name.equals(name)) {
-                List<QifTransaction> items = qAcc.getTransactions();
-                Iterator<QifTransaction> i = items.iterator();
-                QifTransaction tran;
-                while (i.hasNext()) {
-                    tran = i.next();
-                    // is the match an account and the opposite value and does not have any splits?
-                    // is this a valid method?                                                           
-                    if (tran.getAmount().compareTo(qTran.amount.negate()) == 0 && isAccount(tran.category) && !tran.hasSplits()) {
-                        logger.log(Level.FINE, "Found a match:\n{0}", tran.toString());
-                        i.remove();
-                        return;
-                    }
+        private void startAccount(final QifAccount qAcc) {
+            name = qAcc.name;
+            dateFormat = dateFormats.getOrDefault(name, DateFormat.US);
+
+            account = accountMap.get(name);
+
+            // try and match the closest
+            if (account == null) {
+                account = engine.getAccountByName(name);
+            }
+
+            if (account == null) {
+                logger.log(Level.SEVERE, "Lost the account: {0}", name);
+            } else if (account.getAccountType() == AccountType.INVEST) {
+                logger.severe("Investment transactions not fully supported");
+            }
+        }
+
+        private void finishAccount() {
+            if (name != null) {
+                importedAccounts.add(name);
+
+                final List<Mirror> mirrors = pendingMirrors.remove(name);
+
+                if (mirrors != null) {
+                    mirrors.stream().filter(mirror -> mirror.date == null).forEach(mirror ->
+                            logger.log(Level.WARNING, "Did not find matching mirror:" + "\n{0}", mirror.toString()));
                 }
             }
         }
 
-        logger.log(Level.WARNING, "Did not find matching mirror:" + "\n{0}", qTran.toString());
+        private void commit() {
+            if (!batch.isEmpty()) {
+                engine.addTransactions(batch);
+                batch.clear();
+            }
+        }
+
+        void finish() {
+            commit();
+            finishAccount();
+            pendingMirrors.clear();
+        }
     }
 }
@@ -20,9 +20,9 @@ package jgnash.convert.importat.qif;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.logging.Level;
@@ -38,17 +38,14 @@ import jgnash.util.NotNull;
  * add even more confusion. To make matters worse, the format has changed over
  * time with no indication of what "version" the QIF file is.
  * <p>
- * This parses through the QIF file using brute force, no fancy parser or
- * tricks. The QIF file is broken enough that it's easier to find problems with
- * the parser when it's easy to step through the code.
+ * The file is read once, line by line, and each record is handed to a {@link QifHandler} as soon as the
+ * terminating {@code ^} is found.  A header line ({@code !...}) switches the section being parsed, so no look
+ * ahead is required and the memory used is independent of the size of the file.
  * <p>
  * The !Option:AutoSwitch and !Clear:AutoSwitch headers do not appear to be used
  * correctly, even by the "creator" of the QIF file format. There seems to be
  * confusion as to it's purpose. The best thing to do is ignore AutoSwitch
  * completely and make an educated guess about the data.
- * <p>
- * I'm not very happy with this code, but I'm not sure there is a clean solution
- * to parsing QIF files
  *
  * @author Craig Cavanaugh
  */
@@ -56,16 +53,22 @@ public final class QifParser {
 
     private DateFormat dateFormat = DateFormat.US;
 
-    final ArrayList<QifCategory> categories = new ArrayList<>();
-
-    private final ArrayList<QifClassItem> classes = new ArrayList<>();
-
     public final ArrayList<QifAccount> accountList = new ArrayList<>();
 
-    private final ArrayList<QifSecurity> securities = new ArrayList<>();
-
     private static final Logger logger = Logger.getLogger(QifParser.class.getName());
 
+    private enum Section {
+        NONE,
+        ACCOUNT,
+        CATEGORY,
+        CLASS,
+        MEMORIZED,
+        SECURITY,
+        PRICES,
+        BANK,
+        INVESTMENT
+    }
+
     QifParser(final DateFormat dateFormat) {
         setDateFormat(dateFormat);
     }
@@ -91,623 +94,361 @@ public final class QifParser {
         this.dateFormat = dateFormat;
     }
 
-    void parseFullFile(final File file) throws IOException {
-        parseFullFile(file.getAbsolutePath());
-    }
-
+    /**
+     * Parses a bank statement QIF file.  The transactions for the first account are retained in
+     * {@link #accountList}.  All transactions are parsed as bank transactions, including those following a
+     * {@code !Type:Invst} header.
+     *
+     * @param file file to parse
+     * @return true if the file was a bank statement
+     */
     boolean parsePartialFile(final File file) {
-        return parsePartialFile(file.getAbsolutePath());
-    }
-
-    private void parseFullFile(final String fileName) throws IOException {
-
-        boolean accountFound = true;
-
-        final Charset charset = FileMagic.detectCharset(fileName);
-
-        try (final QifReader in = new QifReader(Files.newBufferedReader(Paths.get(fileName), charset))) {
-
-            String line = in.readLine();
+        final QifHandler handler = new QifHandler() {
+            @Override
+            public void account(final QifAccount account) {
+                if (accountList.isEmpty() && account.name == null) {   // only look for transactions for one account
+                    accountList.add(account);
+                }
+            }
 
-            while (line != null) {
-                if (startsWith(line, "!Type:Class")) {
-                    parseClassList(in);
-                } else if (startsWith(line, "!Type:Cat")) {
-                    parseCategoryList(in);
-                } else if (startsWith(line, "!Account")) {
-                    parseAccount(in);
-                } else if (startsWith(line, "!Type:Memorized")) {
-                    parseMemorizedTransactions(in);
-                } else if (startsWith(line, "!Type:Security")) {
-                    parseSecurity(in);
-                } else if (startsWith(line, "!Type:Prices")) {
-                    parsePrice(in);
-                } else if (startsWith(line, "!Type:Bank")) { // QIF from an online bank statement... assumes the account is known                  
-                    accountFound = false;
-                    break;
-                } else if (startsWith(line, "!Type:CCard")) { // QIF from an online credit card statement
-                    accountFound = false;
-                    break;
-                } else if (startsWith(line, "!Type:Oth")) { // QIF from an online credit card statement
-                    accountFound = false;
-                    break;
-                } else if (startsWith(line, "!Type:Cash")) { // Partial QIF export
-                    accountFound = false;
-                    break;
-                } else if (startsWith(line, "!Option:AutoSwitch")) {
-                    logger.info("Consuming !Option:AutoSwitch");
-                } else if (startsWith(line, "!Clear:AutoSwitch")) {
-                    logger.info("Consuming !Clear:AutoSwitch");
-                } else {
-                    System.out.println("Error: " + line);
+            @Override
+            public void transaction(final QifAccount account, final QifTransaction transaction) {
+                if (!accountList.isEmpty() && account == accountList.get(0)) {
+                    account.addTransaction(transaction);
                 }
-                line = in.readLine();
             }
-        } catch (final FileNotFoundException e) {
-            logger.log(Level.WARNING, "Could not find file: {0}", fileName);
-        } catch (final IOException e) {
-            logger.log(Level.SEVERE, null, e);
+        };
+
+        try {
+            parse(file, handler, false);
+        } catch (final FileNotFoundException fne) {
+            logger.log(Level.WARNING, "Could not find file: {0}", file.getAbsolutePath());
+        } catch (final IOException ioe) {
+            logger.log(Level.SEVERE, null, ioe);
         }
 
-        if (!accountFound) {
-            throw new IOException("The account was not found");
+        if (accountList.isEmpty()) {
+            return false;
         }
 
         // re-parse the dates
-        for (final QifAccount account : accountList) {
-            account.reparseDates(QifTransaction.determineDateFormat(account.getTransactions()));
-        }
+        final QifAccount acc = accountList.get(0);
+        acc.reparseDates(QifTransaction.determineDateFormat(acc.getTransactions()));
+
+        return true;
     }
 
-    private boolean parsePartialFile(final String fileName) {
+    /**
+     * Parses a QIF file and passes each record to the handler as it is read.
+     *
+     * @param file    file to parse
+     * @param handler handler for the parsed records
+     * @throws IOException thrown if the file could not be read
+     */
+    void parse(final File file, final QifHandler handler) throws IOException {
+        parse(file, handler, true);
+    }
 
-        final Charset charset = FileMagic.detectCharset(fileName);
+    private void parse(final File file, final QifHandler handler, final boolean investments) throws IOException {
+        final Charset charset = FileMagic.detectCharset(file.getAbsolutePath());
 
-        try (QifReader in = new QifReader(Files.newBufferedReader(Paths.get(fileName), charset))) {
-            String peek = in.peekLine();
-            if (startsWith(peek, "!Type:")) {
-                final QifAccount acc = new QifAccount(); // "unknown" holding account
-                if (parseAccountTransactions(in, acc)) {
-                    accountList.add(acc);
+        try (final Reader reader = Files.newBufferedReader(file.toPath(), charset)) {
+            parse(reader, handler, investments);
+        }
+    }
 
-                    logger.finest("*** Added account ***");
+    /**
+     * Parses QIF formatted data and passes each record to the handler as it is read.
+     *
+     * @param reader  reader for the QIF data
+     * @param handler handler for the parsed records
+     * @throws IOException thrown if the data could not be read
+     */
+    void parse(final Reader reader, final QifHandler handler) throws IOException {
+        parse(reader, handler, true);
+    }
 
-                    // re-parse the dates
-                    acc.reparseDates(QifTransaction.determineDateFormat(acc.getTransactions()));
+    /**
+     * Parses QIF formatted data and passes each record to the handler as it is read.
+     *
+     * @param reader      reader for the QIF data
+     * @param handler     handler for the parsed records
+     * @param investments {@code true} if transactions following a {@code !Type:Invst} header should be parsed as
+     *                    investment transactions
+     * @throws IOException thrown if the data could not be read
+     */
+    private void parse(final Reader reader, final QifHandler handler, final boolean investments) throws IOException {
+        final QifReader in = new QifReader(reader);
 
-                    return true; // only look for transactions for one account
-                }
-                System.err.println("parseAccountTransactions: error");
-            }
+        Section section = Section.NONE;
 
-        } catch (final FileNotFoundException fne) {
-            logger.log(Level.WARNING, "Could not find file: {0}", fileName);
-        } catch (final IOException ioe) {
-            logger.log(Level.SEVERE, null, ioe);
-        }
-        return false;
-    }
+        QifAccount account = null;
+        QifAccount currentAccount = null; // account the transactions belong to
 
-    private void parseAccount(final QifReader in) throws IOException {
-        logger.entering(this.getClass().getName(), "parseAccount", in);
+        QifCategory category = null;
+        QifClassItem classItem = null;
+        QifSecurity security = null;
+        QifTransaction transaction = null;
+        SplitBuilder splits = null;
 
-        String line;
-        QifAccount acc = new QifAccount();
+        String typeDescription = null;
 
-        boolean result = false;
+        String line = in.readLine();
 
-        line = in.readLine();
         while (line != null) {
-            if (line.startsWith("N")) {
-                acc.name = line.substring(1);
-            } else if (line.startsWith("T")) {
-                acc.type = line.substring(1);
-            } else if (line.startsWith("D")) {
-                acc.description = line.substring(1);
-            } else if (line.startsWith("L")) {
-                logger.finest("Ignoring credit limit");
-            } else if (line.startsWith("/")) {
-                logger.finest("statement balance date");
-            } else if (line.startsWith("$")) {
-                logger.finest("Ignoring statement balance");
-            } else if (line.startsWith("X")) {
-                // must be GnuCashToQIF... not sure what it is??? ignore it.
-                logger.warning("Ignoring 'X' attribute");
-            } else if (line.startsWith("^")) {
-                String peek = in.peekLine();
-                if (peek == null) { // end of the file in empty account list
-                    accountList.add(acc);
-                    result = true;
-                    break;
+            if (line.charAt(0) == '!') {
+                if (transaction != null) {
+                    logger.log(Level.WARNING, "Discarding an incomplete transaction at line {0}", in.getLineNumber());
+                    transaction = null;
                 }
-                if (startsWith(peek, "!Account")) {
-                    // must be in an account list, no transaction data here
-                    accountList.add(acc);
-                    acc = new QifAccount();
-                    in.readLine(); // eat the line since we only peeked at it
-                } else if (startsWith(peek, "!Type:Memor")) {
-                    accountList.add(acc);
-                    result = true;
-                    break;
-                } else if (startsWith(peek, "!Type:Invst")) { // investment transactions follow
-                    logger.fine("Found investment transactions");
-                    /* Search for a duplicate account generated by the account list and
-                     * use it if possible.  Qif out will output a list of empty accounts
-                     * and then follow up with the same account and it's transactions
-                     */
-                    QifAccount dup = searchForDuplicate(acc);
-                    if (dup != null) {
-                        acc = dup; // trade for the duplicate already existing in the list
-                    }
 
-                    if (parseInvestmentAccountTransactions(in, acc)) {
-                        if (dup == null) {
-                            accountList.add(acc); // only add if not a duplicate
-                        }
-                        logger.finest("Added Qif Account");
-                        result = true;
-                        break; // exit here, the outer loop will catch the next account if it exists
-                    }
-                    acc = new QifAccount();
-                } else if (startsWith(peek, "!Type:Prices")) { // security prices, jump out
-                    logger.fine("Found commodity price; jump out");
-                    result = true;
-                    break;
-                } else if (startsWith(peek, "!Type:")) {
-                    // must be transactions that follow
-                    logger.fine("Found bank transactions");
-
-                    /* Search for a duplicate account generated by the account list and
-                     * use it if possible.  Qif out will output a list of empty accounts
-                     * and then follow up with the same account and it's transactions
-                     */
-                    QifAccount dup = searchForDuplicate(acc);
-                    if (dup != null) {
-                        acc = dup; // trade for the duplicate already existing in the list
-                    }
-
-                    if (parseAccountTransactions(in, acc)) {
-                        if (dup == null) {
-                            accountList.add(acc); // only add if not a duplicate
-                        }
-                        logger.finest("Added Qif Account");
-                        result = true;
-                        break; // exit here, the outer loop will catch the next account if it exists
+                if (startsWith(line, "!Type:Class")) {
+                    section = Section.CLASS;
+                } else if (startsWith(line, "!Type:Cat")) {
+                    section = Section.CATEGORY;
+                } else if (startsWith(line, "!Account")) {
+                    section = Section.ACCOUNT;
+                } else if (startsWith(line, "!Type:Memor")) {
+                    section = Section.MEMORIZED;
+                } else if (startsWith(line, "!Type:Security")) {
+                    section = Section.SECURITY;
+                } else if (startsWith(line, "!Type:Prices")) {   // Price data in QIF file is not very informative.... ignore it for now
+                    section = Section.PRICES;
+                } else if (startsWith(line, "!Type:")) {    // transactions for the current account follow
+                    section = investments && startsWith(line, "!Type:Invst") ? Section.INVESTMENT : Section.BANK;
+                    typeDescription = line.substring(1);
+
+                    if (currentAccount == null) {   // QIF from an online statement... "unknown" holding account
+                        currentAccount = new QifAccount();
+                        handler.account(currentAccount);
                     }
-                    acc = new QifAccount();
-                } else if (startsWith(peek, "!Clear:Auto")) {
-                    in.readLine(); // the broken AutoSwitch.... eat the line
-                    accountList.add(acc);
-                    result = true;
-                    break;
-                } else if (startsWith(peek, "!")) {
-                    // something weird, assume in empty account list
-                    accountList.add(acc);
-                    result = true;
-                    break;
+                } else if (startsWith(line, "!Option:AutoSwitch")) {
+                    logger.info("Consuming !Option:AutoSwitch");
+                    section = Section.NONE;
+                } else if (startsWith(line, "!Clear:AutoSwitch")) {
+                    logger.info("Consuming !Clear:AutoSwitch");
+                    section = Section.NONE;
                 } else {
-                    // must be in an account list using AutoSwitch
-                    accountList.add(acc);
-                    acc = new QifAccount();
+                    logger.log(Level.WARNING, "Unknown header: {0}", line);
+                    section = Section.NONE;
                 }
-            } else {
-                break;
-            }
-
-            line = in.readLine();
-        }
-
-        logger.exiting(this.getClass().getName(), "parseAccount", result);
-    }
-
-    private QifAccount searchForDuplicate(final QifAccount acc) {
-        String name = acc.name;
-        String type = acc.type;
-        String description = acc.description; // assume non-null description
 
-        Objects.requireNonNull(description);
-
-        if (name == null || type == null) {
-            logger.log(Level.SEVERE, "Invalid account: \n{0}", acc.toString());
-            return null;
-        }
-
-        /* Investment account types are not consistent in Quicken export.... buggy software.
-         * A Type of "Invst" is used as a generic when listing the transactions in the
-         * investment account.
-         * TODO "Port" is only one type.... need to discover other types
-         */
-        if (type.equals("Invst") || type.equals("Port")) {
-            for (QifAccount a : accountList) {
-                if (a.name.equals(name) && a.description.equals(description)) {
-                    logger.fine("Matched a duplicate account");
-                    return a;
-                }
-            }
-        } else {
-            for (QifAccount a : accountList) {
-                if (a.name.equals(name) && a.type.equals(type) && a.description.equals(description)) {
-                    logger.fine("Matched a duplicate account");
-                    return a;
+                // transactions only belong to the account record immediately before them
+                if (section != Section.BANK && section != Section.INVESTMENT) {
+                    currentAccount = null;
                 }
+
+                line = in.readLine();
+                continue;
             }
-        }
-        return null;
-    }
 
-    // TODO strip out investment account transaction checks
-    private static boolean parseAccountTransactions(final QifReader in, final QifAccount acc) {
+            switch (section) {
+                case ACCOUNT:
+                    if (account == null) {
+                        account = new QifAccount();
+                    }
 
-        String line;
-        QifTransaction tran = new QifTransaction();
-        try {
-            line = in.readLine();
-            while (line != null) {
-                if (startsWith(line, "!Type:")) {
-                    if (startsWith(line, "!Type:Invst")) {
-                        tran.setTransactionTypeDescription(line.substring(1));
-                        tran.setTransactionTypeDescription(line.substring(1));
-                    } else if (startsWith(line, "!Type:Memor")) {
-                        in.reset();
-                        return true;
+                    if (line.startsWith("N")) {
+                        account.name = line.substring(1);
+                    } else if (line.startsWith("T")) {
+                        account.type = line.substring(1);
+                    } else if (line.startsWith("D")) {
+                        account.description = line.substring(1);
+                    } else if (line.startsWith("L")) {
+                        logger.finest("Ignoring credit limit");
+                    } else if (line.startsWith("/")) {
+                        logger.finest("statement balance date");
+                    } else if (line.startsWith("$")) {
+                        logger.finest("Ignoring statement balance");
+                    } else if (line.startsWith("X")) {
+                        // must be GnuCashToQIF... not sure what it is??? ignore it.
+                        logger.warning("Ignoring 'X' attribute");
+                    } else if (line.startsWith("^")) {
+                        handler.account(account);
+                        currentAccount = account;
+                        account = null;
                     } else {
-                        tran.setTransactionTypeDescription(line.substring(1));
+                        logger.log(Level.SEVERE, "Unknown field: {0}", line);
                     }
-                } else if (line.startsWith("D")) {
-                    /* Preserve the original unparsed date so that it may be
-                     * reevaluated at a later time. */
-                    tran.oDate = line.substring(1);
-                    //tran.datePosted = QifTransaction.parseDate(tran.oDate, dateFormat);
-                } else if (line.startsWith("U")) {
-                    logger.finest("Ignoring U");
-                } else if (line.startsWith("T")) {
-                    tran.setAmount(QifUtils.parseMoney(line.substring(1)));
-                } else if (line.startsWith("C")) {
-                    tran.status = line.substring(1);
-                } else if (line.startsWith("P")) {
-                    tran.setPayee(line.substring(1));
-                } else if (line.startsWith("L")) {
-                    tran.category = line.substring(1);
-                } else if (line.startsWith("N")) {
-                    tran.setCheckNumber(line.substring(1));
-                } else if (line.startsWith("M")) {
-                    tran.setMemo(line.substring(1));
-                } else if (line.startsWith("A")) {
-                    logger.log(Level.INFO, "Ignored address line: {0}", line.substring(1));
-                } else if (line.startsWith("I")) {
-                    tran.price = line.substring(1);
-                } else if (line.startsWith("^")) {
-                    acc.addTransaction(tran);
-                    logger.finest("*** Added a Transaction ***");
-                    tran = new QifTransaction();
-                } else if (startsWith(line, "!Account")) {
-                    in.reset();
-                    return true;
-                } else if (startsWith(line, "!Type:Prices")) { // fund prices... jump out
-                    in.reset();
-                    return true;
-                } else if (line.charAt(0) == 'S' || line.charAt(0) == 'E' || line.charAt(0) == '$'
-                                   || line.charAt(0) == '%') {
-                    // doing a split transaction
-                    in.reset();
-                    QifSplitTransaction split = parseSplitTransaction(in);
-                    if (split != null) {
-                        tran.addSplit(split);
-                        logger.finest("*** Added a Split Transaction ***");
+                    break;
+                case CATEGORY:
+                    if (category == null) {
+                        category = new QifCategory();
                     }
-                } else {
-                    logger.log(Level.SEVERE, "Unknown field: {0}", line);
-                }
-                in.mark();
-                line = in.readLine();
-            }
-        } catch (IOException e) {
-            return false;
-        }
-        return true;
-    }
-
-    private boolean parseInvestmentAccountTransactions(final QifReader in, final QifAccount acc) {
 
-        boolean result = true;
-
-        logger.entering(this.getClass().getName(), "parseInvestmentAccountTransactions", acc);
-        String line;
-        QifTransaction tran = new QifTransaction();
-        try {
-            line = in.readLine();
-            while (line != null) {
-                if (startsWith(line, "!Type:Invst")) { // TODO Bogus check?
-                    tran.setTransactionTypeDescription(line.substring(1));
-                } else if (startsWith(line, "!Type:Memor")) {
-                    in.reset();
-                    result = true;
-                    break;
-                } else if (startsWith(line, "!Type:Prices")) { // fund prices... jump out
-                    logger.fine("Found commodity prices; jumping out");
-                    in.reset();
-                    result = true;
-                    break;
-                } else if (line.startsWith("D")) {
-                    /* Preserve the original unparsed date so that it may be
-                     * reevaluated at a later time. */
-                    tran.oDate = line.substring(1);
-                    tran.setDatePosted(QifTransaction.parseDate(tran.oDate, dateFormat));
-                } else if (line.startsWith("U")) {
-                    //tran.U = line.substring(1);
-                    logger.finest("Ignoring U");
-                } else if (line.startsWith("T")) {
-                    tran.setAmount(QifUtils.parseMoney(line.substring(1)));
-                } else if (line.startsWith("C")) {
-                    tran.status = line.substring(1);
-                } else if (line.startsWith("P")) {
-                    tran.setPayee(line.substring(1));
-                } else if (line.startsWith("L")) {
-                    tran.category = line.substring(1);
-                } else if (line.startsWith("N")) { // trans type for inv accounts
-                    tran.setCheckNumber(line.substring(1));
-                } else if (line.startsWith("M")) {
-                    tran.setMemo(line.substring(1));
-                } else if (line.startsWith("A")) {
-                    logger.log(Level.INFO, "Ignored address line: {0}", line.substring(1));
-                } else if (line.startsWith("Y")) {
-                    tran.security = line.substring(1);
-                } else if (line.startsWith("I")) {
-                    tran.price = line.substring(1);
-                } else if (line.startsWith("Q")) {
-                    tran.quantity = line.substring(1);
-                } else if (line.charAt(0) == '$') { // must check before split trans checks... Does Quicken allow for split investment transactions?
-                    tran.amountTrans = line.substring(1);
-                } else if (line.startsWith("^")) {
-                    acc.addTransaction(tran);
-                    logger.finest("*** Added an investment transaction ***");
-                    tran = new QifTransaction();
-                } else if (startsWith(line, "!Account")) {
-                    in.reset();
-                    result = true;
+                    if (line.startsWith("N")) {
+                        category.name = line.substring(1);
+                    } else if (line.startsWith("D")) {
+                        category.description = line.substring(1);
+                    } else if (line.startsWith("T")) {
+                        logger.finest("Ignoring tax related flag");
+                    } else if (line.startsWith("I")) {
+                        category.type = "I";
+                    } else if (line.startsWith("E")) {
+                        category.type = "E";
+                    } else if (line.startsWith("B")) {
+                        logger.finest("Ignoring budget amount");
+                    } else if (line.startsWith("R")) {
+                        logger.finest("Ignoring tax schedule");
+                    } else if (line.startsWith("^")) { // a complete category item
+                        handler.category(category);
+                        category = null;
+                    } else {
+                        logger.log(Level.SEVERE, "Unknown field: {0}", line);
+                    }
                     break;
-                } else if (line.charAt(0) == 'S' || line.charAt(0) == 'E' || line.charAt(0) == '$'
-                                   || line.charAt(0) == '%') {
-                    // doing a split transaction
-                    in.reset();
-                    QifSplitTransaction split = parseSplitTransaction(in);
-                    if (split != null) {
-                        tran.addSplit(split);
-                        logger.fine("*** Added a Split Transaction ***");
+                case CLASS:
+                    if (classItem == null) {
+                        classItem = new QifClassItem();
                     }
-                } else {
-                    logger.log(Level.SEVERE, "Unknown field: {0}", line);
-                }
-                in.mark();
-                line = in.readLine();
-            }
-        } catch (IOException e) {
-            result = false;
-        }
-
-        logger.exiting(this.getClass().getName(), "parseInvestmentAccountTransactions", result);
-        return result;
-    }
 
-    private static QifSplitTransaction parseSplitTransaction(final QifReader in) {
-        boolean category = false;
-        boolean memo = false;
-        boolean amount = false;
-        boolean percentage = false;
-        String line;
-        QifSplitTransaction split = new QifSplitTransaction();
-        try {
-            line = in.readLine();
-            while (line != null) {
-                if (line.startsWith("S")) {
-                    if (category) {
-                        in.reset();
-                        return split;
+                    if (line.startsWith("N")) {
+                        classItem.name = line.substring(1);
+                    } else if (line.startsWith("D")) {
+                        classItem.description = line.substring(1);
+                    } else if (line.startsWith("^")) { // end of a class item
+                        handler.classItem(classItem);
+                        classItem = null;
+                    } else {
+                        logger.log(Level.SEVERE, "Unknown field: {0}", line);
                     }
-                    category = true;
-                    split.category = line.substring(1);
-                } else if (line.startsWith("E")) {
-                    if (memo) {
-                        in.reset();
-                        return split;
+                    break;
+                case SECURITY:
+                    if (security == null) {
+                        security = new QifSecurity();
                     }
-                    memo = true;
-                    split.memo = line.substring(1);
-                } else if (line.startsWith("$")) {
-                    if (amount) {
-                        in.reset();
-                        return split;
+
+                    if (line.startsWith("N")) {
+                        security.name = line.substring(1);
+                    } else if (line.startsWith("D")) {
+                        security.description = line.substring(1);
+                    } else if (line.startsWith("T")) {
+                        security.type = line.substring(1);
+                    } else if (line.startsWith("S")) {
+                        security.symbol = line.substring(1);
+                    } else if (line.startsWith("^")) {
+                        handler.security(security);
+                        security = null;
+                    } else {
+                        logger.log(Level.SEVERE, "Unknown field: {0}", line);
                     }
-                    amount = true;
-                    split.amount = QifUtils.parseMoney(line.substring(1));
-                } else if (line.startsWith("%")) {
-                    if (percentage) {
-                        in.reset();
-                        return split;
+                    break;
+                case BANK:
+                case INVESTMENT:
+                    if (transaction == null) {
+                        transaction = new QifTransaction();
+                        splits = new SplitBuilder();
+
+                        if (typeDescription != null) {  // only the first transaction after the header is flagged
+                            transaction.setTransactionTypeDescription(typeDescription);
+                            typeDescription = null;
+                        }
                     }
-                    percentage = true;
-                    // split.percentage = line.substring(1);
-                } else if (line.startsWith("^")) {
-                    in.reset();
-                    return split;
-                } else {
-                    in.reset();
-                    return null;
-                }
-                in.mark();
-                line = in.readLine();
-            }
-            return null;
-        } catch (IOException e) {
-            return null;
-        }
-    }
-
-    /**
-     * Just eats the memorized transaction data.  Will not try to convert to jGnash entities
-     *
-     * @param in {@code QifReader}
-     */
-    private static void parseMemorizedTransactions(final QifReader in) throws IOException {
-        logger.finest("*** Start: parseMemorizedTransactions ***");
 
-        String line = in.readLine();
-
-        while (line != null) {
-            if (line.startsWith("K")) {
-                // munch until all of them are gone
-                line = in.readLine();
-                if (line != null && line.charAt(0) == '^') {
-                    String peek = in.peekLine();
-                    if (peek == null) {
-                        return;
-                    } else if (!peek.startsWith("K")) {
-                        break;
+                    if (line.startsWith("^")) {
+                        splits.finish(transaction);
+                        handler.transaction(currentAccount, transaction);
+                        transaction = null;
+                    } else if (section == Section.INVESTMENT) {
+                        parseInvestmentField(line, transaction, splits);
+                    } else {
+                        parseBankField(line, transaction, splits);
                     }
-                }
-
-            } else {
-                in.reset();
-                return;
+                    break;
+                case MEMORIZED:     // memorized transactions are not converted to jGnash entities
+                case PRICES:
+                    break;
+                default:
+                    logger.log(Level.WARNING, "Ignoring: {0}", line);
             }
-            in.mark();
-            line = in.readLine();
-        }
-    }
-
-    private void parseCategoryList(final QifReader in) throws IOException {
-        boolean result = false;
-
-        QifCategory cat = new QifCategory();
-
-        String line = in.readLine();
 
-        while (line != null) {
-            if (line.startsWith("N")) {
-                cat.name = line.substring(1);
-            } else if (line.startsWith("D")) {
-                cat.description = line.substring(1);
-            } else if (line.startsWith("T")) {
-                logger.finest("Ignoring tax related flag");
-            } else if (line.startsWith("I")) {
-                cat.type = "I";
-            } else if (line.startsWith("E")) {
-                cat.type = "E";
-            } else if (line.startsWith("B")) {
-                logger.finest("Ignoring budget amount");
-            } else if (line.startsWith("R")) {
-                logger.finest("Ignoring tax schedule");
-            } else if (line.startsWith("^")) { // a complete category item
-                categories.add(cat); // add it to the list
-                cat = new QifCategory(); // start a new one
-                in.mark(); // next line might be end of list
-            } else if (line.startsWith("!")) { // done with category list
-                in.reset(); // give the line back
-                result = true; // a good return
-                break;
-            } else {
-                System.out.println("Error: " + line);
-                result = false;
-            }
             line = in.readLine();
         }
-
-        logger.exiting(this.getClass().getName(), "parseCategoryList", result);
     }
 
-    private void parseClassList(final QifReader in) throws IOException {
-
-        QifClassItem classItem = new QifClassItem();
+    private static void parseBankField(final String line, final QifTransaction tran, final SplitBuilder splits) {
+        final char field = line.charAt(0);
 
-        String line = in.readLine();
-
-        while (line != null) {
-            if (line.startsWith("N")) {
-                classItem.name = line.substring(1);
-            } else if (line.startsWith("D")) {
-                classItem.description = line.substring(1);
-            } else if (line.startsWith("^")) { // end of a class item
-                classes.add(classItem); // add it to the list
-                classItem = new QifClassItem(); // start a new one
-                in.mark(); // next line might be end of the list
-            } else if (line.startsWith("!")) { // done with the class list
-                in.reset(); // give the line back
-                return;
-            } else {
-                throw new IOException("Error: " + line);
-            }
-            line = in.readLine();
+        if (field == 'S' || field == 'E' || field == '$' || field == '%') {  // doing a split transaction
+            splits.add(line, tran);
+            return;
         }
 
-    }
-
-    /**
-     * So far, I haven't see a security as part of a list, but it is supported
-     * just in case there is another "variation" of the format
-     *
-     * @param in {@code QifReader}
-     */
-    private void parseSecurity(final QifReader in) throws IOException {
-        boolean result = false;
-
-        QifSecurity sec = new QifSecurity();
-
-        String line = in.readLine();
-
-        while (line != null) {
-            if (line.startsWith("N")) {
-                sec.name = line.substring(1);
-            } else if (line.startsWith("D")) {
-                sec.description = line.substring(1);
-            } else if (line.startsWith("T")) {
-                sec.type = line.substring(1);
-            } else if (line.startsWith("S")) {
-                sec.symbol = line.substring(1);
-            } else if (line.startsWith("^")) {
-                securities.add(sec);
-                sec = new QifSecurity();
-                in.mark();
-            } else if (line.startsWith("!")) {  // end of securities
-                in.reset();
-                result = true;
-                break;
-            } else {
-                System.out.println("Error: " + line);
-                break;
-            }
-            line = in.readLine();
+        splits.finish(tran);
+
+        if (field == 'D') {
+            /* Preserve the original unparsed date so that it may be
+             * reevaluated once the date format of the account is known. */
+            tran.oDate = line.substring(1);
+        } else if (field == 'U') {
+            logger.finest("Ignoring U");
+        } else if (field == 'T') {
+            tran.setAmount(QifUtils.parseMoney(line.substring(1)));
+        } else if (field == 'C') {
+            tran.status = line.substring(1);
+        } else if (field == 'P') {
+            tran.setPayee(line.substring(1));
+        } else if (field == 'L') {
+            tran.category = line.substring(1);
+        } else if (field == 'N') {
+            tran.setCheckNumber(line.substring(1));
+        } else if (field == 'M') {
+            tran.setMemo(line.substring(1));
+        } else if (field == 'A') {
+            logger.log(Level.INFO, "Ignored address line: {0}", line.substring(1));
+        } else if (field == 'I') {
+            tran.price = line.substring(1);
+        } else {
+            logger.log(Level.SEVERE, "Unknown field: {0}", line);
         }
-
-        logger.exiting(this.getClass().getName(), "parseSecurity", result);
     }
 
-    /**
-     * Price data in QIF file is not very informative.... ignore it for now
-     *
-     * @param in {@code QifReader}
-     */
-    private void parsePrice(final QifReader in) throws IOException {
-        logger.entering(this.getClass().getName(), "parsePrice");
-
-        boolean result = false;
-
-        String line = in.readLine();
+    private void parseInvestmentField(final String line, final QifTransaction tran, final SplitBuilder splits) {
+        final char field = line.charAt(0);
 
-        while (line != null) {
-            if (line.startsWith("^")) {
-                result = true;
-                break;
-            }
-            line = in.readLine();
+        // '$' must be checked before split trans checks... Does Quicken allow for split investment transactions?
+        if (field == 'S' || field == 'E' || field == '%') {
+            splits.add(line, tran);
+            return;
         }
 
-        logger.exiting(this.getClass().getName(), "parsePrice", result);
+        splits.finish(tran);
+
+        if (field == 'D') {
+            /* Preserve the original unparsed date so that it may be
+             * reevaluated at a later time. */
+            tran.oDate = line.substring(1);
+            tran.setDatePosted(QifTransaction.parseDate(tran.oDate, dateFormat));
+        } else if (field == 'U') {
+            logger.finest("Ignoring U");
+        } else if (field == 'T') {
+            tran.setAmount(QifUtils.parseMoney(line.substring(1)));
+        } else if (field == 'C') {
+            tran.status = line.substring(1);
+        } else if (field == 'P') {
+            tran.setPayee(line.substring(1));
+        } else if (field == 'L') {
+            tran.category = line.substring(1);
+        } else if (field == 'N') { // trans type for inv accounts
+            tran.setCheckNumber(line.substring(1));
+        } else if (field == 'M') {
+            tran.setMemo(line.substring(1));
+        } else if (field == 'A') {
+            logger.log(Level.INFO, "Ignored address line: {0}", line.substring(1));
+        } else if (field == 'Y') {
+            tran.security = line.substring(1);
+        } else if (field == 'I') {
+            tran.price = line.substring(1);
+        } else if (field == 'Q') {
+            tran.quantity = line.substring(1);
+        } else if (field == '$') {
+            tran.amountTrans = line.substring(1);
+        } else {
+            logger.log(Level.SEVERE, "Unknown field: {0}", line);
+        }
     }
 
     void dumpStats() {
-        System.out.println("Num Classes :" + classes.size());
-        System.out.println("Num Categories :" + categories.size());
-        System.out.println("Num Securities :" + securities.size());
         System.out.println("Num Accounts :" + accountList.size());
 
         int count = accountList.size();
@@ -727,6 +468,67 @@ public final class QifParser {
         }
     }
 
+    /**
+     * Collects the split lines of a transaction.  A split is complete when one of its fields repeats or a
+     * non-split field is found.
+     */
+    private static class SplitBuilder {
+
+        private QifSplitTransaction split;
+
+        private boolean category;
+
+        private boolean memo;
+
+        private boolean amount;
+
+        private boolean percentage;
+
+        void add(final String line, final QifTransaction tran) {
+            final char field = line.charAt(0);
+
+            if (split != null && (field == 'S' && category || field == 'E' && memo || field == '$' && amount
+                    || field == '%' && percentage)) {
+                finish(tran);
+            }
+
+            if (split == null) {
+                split = new QifSplitTransaction();
+            }
+
+            switch (field) {
+                case 'S':
+                    category = true;
+                    split.category = line.substring(1);
+                    break;
+                case 'E':
+                    memo = true;
+                    split.memo = line.substring(1);
+                    break;
+                case '$':
+                    amount = true;
+                    split.amount = QifUtils.parseMoney(line.substring(1));
+                    break;
+                default:
+                    percentage = true;
+                    // split.percentage = line.substring(1);
+            }
+        }
+
+        void finish(final QifTransaction tran) {
+            if (split != null) {
+                tran.addSplit(split);
+                logger.finest("*** Added a Split Transaction ***");
+
+                split = null;
+                category = false;
+                memo = false;
+                amount = false;
+                percentage = false;
+            }
+        }
+    }
+
     static class QifSecurity {
 
         String name;
@@ -23,7 +23,7 @@ import java.io.Reader;
 
 /**
  * An extended LineNumberReader to help ease the pain of parsing
- * a QIF file
+ * a QIF file.  Lines are trimmed and empty lines are skipped.
  *
  * @author Craig Cavanaugh
  */
@@ -35,62 +35,23 @@ class QifReader extends LineNumberReader {
         super(in, 8192);
     }
 
-    void mark() throws IOException {
-        super.mark(256);
-    }
-
     @Override
-    public void reset() throws IOException {
-        super.reset();
-        if (debug) {
-            System.out.println("Reset");
-        }
-    }
-
-    /**
-     * Takes a peek at the next line and eats and empty line if found
-     *
-     * @return next readable line, null if at the end of the file
-     * @throws IOException IO exception
-     */
-    String peekLine() throws IOException {
-        String peek;
+    public String readLine() throws IOException {
         while (true) {
-            mark();
-            peek = readLine();
-            if (peek != null) {
-                peek = peek.trim();
-                reset();
-                if (peek.isEmpty()) {
-                    readLine(); // eat the empty line
-                    if (debug) {
-                        System.out.println("*EMPTY LINE*");
-                    }
-                } else {
-                    return peek.trim();
-                }
-            } else {
+            final String rawLine = super.readLine();
+
+            if (rawLine == null) {
                 return null;
             }
-        }
-    }
 
-    @Override
-    public String readLine() throws IOException {
-        while (true) {
-            try {
-                String line = super.readLine().trim();
-                if (debug) {
-                    System.out.println("Line " + getLineNumber() + ": " + line);
-                }
-                if (!line.isEmpty()) {
-                    return line;
-                }
-                if (debug) {
-                    System.out.println("*EMPTY LINE*");
-                }
-            } catch (NullPointerException e) {
-                return null;
+            final String line = rawLine.trim();
+
+            if (debug) {
+                System.out.println("Line " + getLineNumber() + ": " + line);
+            }
+
+            if (!line.isEmpty()) {
+                return line;
             }
         }
     }
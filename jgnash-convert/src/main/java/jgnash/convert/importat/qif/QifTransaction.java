@@ -80,27 +80,34 @@ public class QifTransaction extends ImportTransaction {
         DateFormat dateFormat = DateFormat.US;   // US date is assumed
 
         for (final QifTransaction transaction : transactions) {
+            if (isEuropeanDate(transaction.oDate)) {
+                dateFormat = DateFormat.EU;
+                break;
+            }
+        }
 
-            // protect against a transaction missing a date Github issue #30
-            if (transaction.oDate != null) {
-                int zero;
-                int one;
-                //int two;
+        return dateFormat;
+    }
 
-                final String[] chunks = QifTransaction.DATE_DELIMITER_PATTERN.split(transaction.oDate);
+    /**
+     * Determines if an unparsed date can only be a European date
+     *
+     * @param date unparsed date, may be null
+     * @return true if the date must be in the EU format
+     */
+    static boolean isEuropeanDate(final String date) {
 
-                zero = Integer.parseInt(chunks[0].trim());
-                one = Integer.parseInt(chunks[1].trim());
-                //two = Integer.parseInt(chunks[2].trim());
+        // protect against a transaction missing a date Github issue #30
+        if (date != null) {
+            final String[] chunks = QifTransaction.DATE_DELIMITER_PATTERN.split(date);
 
-                if (zero > 12 && one <= 12) {   // must have a EU date format
-                    dateFormat = DateFormat.EU;
-                    break;
-                }
-            }
+            final int zero = Integer.parseInt(chunks[0].trim());
+            final int one = Integer.parseInt(chunks[1].trim());
+
+            return zero > 12 && one <= 12;  // must have a EU date format
         }
 
-        return dateFormat;
+        return false;
     }
 
     /**
@@ -183,6 +183,12 @@ public class Account extends StoredObject implements Comparable<Account> {
     @Transient
     private transient BigDecimal reconciledBalance;
 
+    /**
+     * Rolled up balances of this account and its children.
+     */
+    @Transient
+    private transient TreeBalanceCache treeBalanceCache;
+
     /**
      * User definable account number.
      */
@@ -232,6 +238,8 @@ public class Account extends StoredObject implements Comparable<Account> {
 
         // CopyOnWrite is used as an alternative to defensive copies
         cachedSortedChildren = new ArrayList<>();
+
+        treeBalanceCache = new TreeBalanceCache();
     }
 
     public Account(@NotNull final AccountType type, @NotNull final CurrencyNode node) {
@@ -264,13 +272,31 @@ public class Account extends StoredObject implements Comparable<Account> {
     }
 
     /**
-     * Clear cached account balances so they will be recalculated.
+     * Clear cached account balances so they will be recalculated.  The cached tree balances of this account and its
+     * ancestors are cleared as well.
      */
     void clearCachedBalances() {
+        clearCachedAccountBalances();
+        clearCachedTreeBalances();
+    }
+
+    private void clearCachedAccountBalances() {
         accountBalance = null;
         reconciledBalance = null;
     }
 
+    /**
+     * Clears the cached tree balances of this account and its ancestors.  Must not be called while holding a lock of
+     * this account as the ancestors are locked while walking up the tree.
+     */
+    private void clearCachedTreeBalances() {
+        for (final Account account : getAncestors()) {
+            if (account.treeBalanceCache != null) {   // null until loaded
+                account.treeBalanceCache.clear();
+            }
+        }
+    }
+
     /**
      * Adds account transaction in chronological order.
      *
@@ -284,11 +310,11 @@ public class Account extends StoredObject implements Comparable<Account> {
             return false;
         }
 
+        boolean result = false;
+
         transactionLock.writeLock().lock();
 
         try {
-            boolean result = false;
-
             if (!contains(tran)) {
 
                 transactions.add(tran);
@@ -299,18 +325,22 @@ public class Account extends StoredObject implements Comparable<Account> {
                     Collections.sort(getCachedSortedTransactionList());
                 }
 
-                clearCachedBalances();
+                clearCachedAccountBalances();
 
                 result = true;
             } else {
                 logger.log(Level.SEVERE, "Account: {0}({1}){2}Already have transaction ID: {3}", new Object[]{getName(),
                         hashCode(), System.lineSeparator(), tran.hashCode()});
             }
-
-            return result;
         } finally {
             transactionLock.writeLock().unlock();
         }
+
+        if (result) {
+            clearCachedTreeBalances();
+        }
+
+        return result;
     }
 
     /**
@@ -321,25 +351,29 @@ public class Account extends StoredObject implements Comparable<Account> {
      * within this account
      */
     boolean removeTransaction(final Transaction tran) {
+        boolean result = false;
+
         transactionLock.writeLock().lock();
 
         try {
-            boolean result = false;
-
             if (contains(tran)) {
                 transactions.remove(tran);
                 getCachedSortedTransactionList().remove(tran);
-                clearCachedBalances();
+                clearCachedAccountBalances();
 
                 result = true;
             } else {
                 Logger.getLogger(Account.class.toString()).log(Level.SEVERE, "Account: {0}({1}){2}Did not contain transaction ID: {3}", new Object[]{getName(), getUuid(), System.lineSeparator(), tran.getUuid()});
             }
-
-            return result;
         } finally {
             transactionLock.writeLock().unlock();
         }
+
+        if (result) {
+            clearCachedTreeBalances();
+        }
+
+        return result;
     }
 
     /**
@@ -464,11 +498,11 @@ public class Account extends StoredObject implements Comparable<Account> {
      * @return {@code true} if the account was added successfully, {@code false} otherwise.
      */
     boolean addChild(final Account child) {
+        boolean result = false;
+
         childLock.writeLock().lock();
 
         try {
-            boolean result = false;
-
             if (!children.contains(child) && child != this) {
                 if (child.setParent(this)) {
                     children.add(child);
@@ -478,11 +512,15 @@ public class Account extends StoredObject implements Comparable<Account> {
                     Collections.sort(cachedSortedChildren);
                 }
             }
-
-            return result;
         } finally {
             childLock.writeLock().unlock();
         }
+
+        if (result) {
+            clearCachedTreeBalances();
+        }
+
+        return result;
     }
 
     /**
@@ -492,20 +530,25 @@ public class Account extends StoredObject implements Comparable<Account> {
      * @return {@code true} if the specific account was account child of this account, {@code false} otherwise.
      */
     boolean removeChild(final Account child) {
+        boolean result = false;
+
         childLock.writeLock().lock();
 
         try {
-            boolean result = false;
-
             if (children.remove(child)) {
                 result = true;
 
                 cachedSortedChildren.remove(child);
             }
-            return result;
         } finally {
             childLock.writeLock().unlock();
         }
+
+        if (result) {
+            clearCachedTreeBalances();
+        }
+
+        return result;
     }
 
     /**
@@ -772,27 +815,14 @@ public class Account extends StoredObject implements Comparable<Account> {
     }
 
     /**
-     * Returns the balance of the account plus any child accounts.
+     * Returns the balance of the account plus any child accounts.  Tree balances are cached until a balance within
+     * the tree or an exchange rate changes.
      *
      * @return the balance of this account including the balance of any child
      * accounts.
      */
     public BigDecimal getTreeBalance() {
-        transactionLock.readLock().lock();
-        childLock.readLock().lock();
-
-        try {
-            BigDecimal balance = getBalance();
-
-            for (final Account child : cachedSortedChildren) {
-                balance = balance.add(child.getTreeBalance(getCurrencyNode()));
-            }
-
-            return balance;
-        } finally {
-            transactionLock.readLock().unlock();
-            childLock.readLock().unlock();
-        }
+        return getTreeBalance(getCurrencyNode());
     }
 
     /**
@@ -805,21 +835,30 @@ public class Account extends StoredObject implements Comparable<Account> {
      * accounts.
      */
     public BigDecimal getTreeBalance(final LocalDate endDate, final CurrencyNode node) {
-        transactionLock.readLock().lock();
-        childLock.readLock().lock();
+        final TreeBalanceCache.Key key = TreeBalanceCache.balanceKey(endDate, node);
+        final long version = treeBalanceCache.getVersion();
 
-        try {
-            BigDecimal balance = getBalance(endDate, node);
+        BigDecimal balance = treeBalanceCache.get(key);
 
-            for (final Account child : cachedSortedChildren) {
-                balance = balance.add(child.getTreeBalance(endDate, node));
+        if (balance == null) {
+            transactionLock.readLock().lock();
+            childLock.readLock().lock();
+
+            try {
+                balance = getBalance(endDate, node);
+
+                for (final Account child : cachedSortedChildren) {
+                    balance = balance.add(child.getTreeBalance(endDate, node));
+                }
+            } finally {
+                transactionLock.readLock().unlock();
+                childLock.readLock().unlock();
             }
 
-            return balance;
-        } finally {
-            transactionLock.readLock().unlock();
-            childLock.readLock().unlock();
+            treeBalanceCache.put(version, key, balance);
         }
+
+        return balance;
     }
 
     /**
@@ -832,20 +871,30 @@ public class Account extends StoredObject implements Comparable<Account> {
      * accounts.
      */
     private BigDecimal getTreeBalance(final CurrencyNode node) {
-        transactionLock.readLock().lock();
-        childLock.readLock().lock();
+        final TreeBalanceCache.Key key = TreeBalanceCache.balanceKey(node);
+        final long version = treeBalanceCache.getVersion();
 
-        try {
-            BigDecimal balance = getBalance(node);
+        BigDecimal balance = treeBalanceCache.get(key);
 
-            for (final Account child : cachedSortedChildren) {
-                balance = balance.add(child.getTreeBalance(node));
+        if (balance == null) {
+            transactionLock.readLock().lock();
+            childLock.readLock().lock();
+
+            try {
+                balance = getBalance(node);
+
+                for (final Account child : cachedSortedChildren) {
+                    balance = balance.add(child.getTreeBalance(node));
+                }
+            } finally {
+                transactionLock.readLock().unlock();
+                childLock.readLock().unlock();
             }
-            return balance;
-        } finally {
-            transactionLock.readLock().unlock();
-            childLock.readLock().unlock();
+
+            treeBalanceCache.put(version, key, balance);
         }
+
+        return balance;
     }
 
     /**
@@ -858,20 +907,30 @@ public class Account extends StoredObject implements Comparable<Account> {
      * accounts.
      */
     private BigDecimal getReconciledTreeBalance(final CurrencyNode node) {
-        transactionLock.readLock().lock();
-        childLock.readLock().lock();
+        final TreeBalanceCache.Key key = TreeBalanceCache.reconciledBalanceKey(node);
+        final long version = treeBalanceCache.getVersion();
 
-        try {
-            BigDecimal balance = getReconciledBalance(node);
+        BigDecimal balance = treeBalanceCache.get(key);
 
-            for (final Account child : cachedSortedChildren) {
-                balance = balance.add(child.getReconciledTreeBalance(node));
+        if (balance == null) {
+            transactionLock.readLock().lock();
+            childLock.readLock().lock();
+
+            try {
+                balance = getReconciledBalance(node);
+
+                for (final Account child : cachedSortedChildren) {
+                    balance = balance.add(child.getReconciledTreeBalance(node));
+                }
+            } finally {
+                transactionLock.readLock().unlock();
+                childLock.readLock().unlock();
             }
-            return balance;
-        } finally {
-            transactionLock.readLock().unlock();
-            childLock.readLock().unlock();
+
+            treeBalanceCache.put(version, key, balance);
         }
+
+        return balance;
     }
 
     /**
@@ -881,20 +940,7 @@ public class Account extends StoredObject implements Comparable<Account> {
      * accounts.
      */
     public BigDecimal getReconciledTreeBalance() {
-        transactionLock.readLock().lock();
-        childLock.readLock().lock();
-
-        try {
-            BigDecimal balance = getReconciledBalance();
-
-            for (final Account child : cachedSortedChildren) {
-                balance = balance.add(child.getReconciledTreeBalance(getCurrencyNode()));
-            }
-            return balance;
-        } finally {
-            transactionLock.readLock().unlock();
-            childLock.readLock().unlock();
-        }
+        return getReconciledTreeBalance(getCurrencyNode());
     }
 
     /**
@@ -1020,6 +1066,39 @@ public class Account extends StoredObject implements Comparable<Account> {
         }
     }
 
+    /**
+     * Returns the balances of this account for a series of periods.  The balances are calculated with a single
+     * pass over the transactions and converted to the specified commodity.
+     *
+     * @param startDates inclusive start dates of the periods
+     * @param endDates   inclusive end dates of the periods, periods must be in ascending order and may not overlap
+     * @param node       The commodity to convert balances to
+     * @return the period balances
+     */
+    public PeriodBalances getPeriodBalances(@NotNull final List<LocalDate> startDates,
+                                            @NotNull final List<LocalDate> endDates, @NotNull final CurrencyNode node) {
+        Objects.requireNonNull(node);
+
+        if (startDates.size() != endDates.size()) {
+            throw new IllegalArgumentException("The number of start and end dates must match");
+        }
+
+        transactionLock.readLock().lock();
+
+        try {
+            final PeriodBalances balances = getProxy().getPeriodBalances(startDates, endDates);
+
+            if (node.equals(getCurrencyNode())) { // same commodity type
+                return balances;
+            }
+
+            // the account has a different currency, use the last known exchange rate
+            return balances.multiply(getCurrencyNode().getExchangeRate(node));
+        } finally {
+            transactionLock.readLock().unlock();
+        }
+    }
+
     /**
      * Returns a {@code List} of {@code Transaction} that occur during the specified period.
      * The specified dates are inclusive.
@@ -1491,6 +1570,8 @@ public class Account extends StoredObject implements Comparable<Account> {
 
         cachedSortedChildren = new ArrayList<>(children);
         Collections.sort(cachedSortedChildren); // JPA will be naturally sorted, but XML files will not
+
+        treeBalanceCache = new TreeBalanceCache();
     }
 
     /**
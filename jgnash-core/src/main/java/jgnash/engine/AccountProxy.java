@@ -19,6 +19,7 @@ package jgnash.engine;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 
@@ -135,6 +136,81 @@ class AccountProxy {
         }
     }
 
+    /**
+     * Returns the balances of the account for a series of periods with a single pass over the transactions.
+     *
+     * @param startDates inclusive start dates of the periods
+     * @param endDates   inclusive end dates of the periods, periods must be in ascending order and may not overlap
+     * @return the period balances
+     */
+    public PeriodBalances getPeriodBalances(final List<LocalDate> startDates, final List<LocalDate> endDates) {
+        final Lock l = account.getTransactionLock().readLock();
+        l.lock();
+
+        try {
+            final int count = startDates.size();
+
+            // dates a running balance is needed for in ascending order
+            final LocalDate[] dates = new LocalDate[count * 2];
+
+            for (int i = 0; i < count; i++) {
+                dates[i * 2] = startDates.get(i);
+                dates[i * 2 + 1] = endDates.get(i);
+            }
+
+            Arrays.sort(dates);
+
+            final BigDecimal[] runningBalances = new BigDecimal[dates.length];
+            final BigDecimal[] periodBalances = new BigDecimal[count];
+
+            Arrays.fill(periodBalances, BigDecimal.ZERO);
+
+            final List<Transaction> transactions = account.getSortedTransactionList();
+
+            BigDecimal balance = BigDecimal.ZERO;
+            BigDecimal total = BigDecimal.ZERO;
+
+            int index = 0;  // next transaction
+            int period = 0; // first period that has not ended
+
+            for (int d = 0; d < dates.length; d++) {
+                while (index < transactions.size() && DateUtils.before(transactions.get(index).getLocalDate(), dates[d])) {
+                    final Transaction transaction = transactions.get(index++);
+                    final LocalDate date = transaction.getLocalDate();
+                    final BigDecimal amount = transaction.getAmount(account);
+
+                    balance = balance.add(amount);
+
+                    while (period < count && endDates.get(period).isBefore(date)) {
+                        period++;
+                    }
+
+                    if (period < count && DateUtils.after(date, startDates.get(period))) {
+                        periodBalances[period] = periodBalances[period].add(amount);
+                    }
+
+                    if (DateUtils.after(date, startDates.get(0)) && DateUtils.before(date, endDates.get(count - 1))) {
+                        total = total.add(amount);
+                    }
+                }
+
+                runningBalances[d] = balance;
+            }
+
+            final BigDecimal[] startBalances = new BigDecimal[count];
+            final BigDecimal[] endBalances = new BigDecimal[count];
+
+            for (int i = 0; i < count; i++) {
+                startBalances[i] = runningBalances[Arrays.binarySearch(dates, startDates.get(i))];
+                endBalances[i] = runningBalances[Arrays.binarySearch(dates, endDates.get(i))];
+            }
+
+            return new PeriodBalances(startBalances, endBalances, periodBalances, total);
+        } finally {
+            l.unlock();
+        }
+    }
+
     /**
      * Returns the cash balance of this account.
      *
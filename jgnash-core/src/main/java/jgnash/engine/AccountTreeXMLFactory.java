@@ -124,6 +124,7 @@ public class AccountTreeXMLFactory {
         xstream.omitField(Account.class, "amortizeObject");
 
         xstream.omitField(SecurityNode.class, "historyNodes");
+        xstream.omitField(SecurityNode.class, "historySeries");
         xstream.omitField(SecurityNode.class, "securityHistoryEvents");
 
         // Filters out the hibernate
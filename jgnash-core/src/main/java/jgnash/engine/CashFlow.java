@@ -19,18 +19,20 @@ package jgnash.engine;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static java.lang.Math.abs;
-import static java.time.temporal.ChronoUnit.DAYS;
 
 /**
  * Stores a history of cash flow items and calculates their internal rate of
- * return. It assumes 365 days per year (Actual/365 Fixed day count convention)
- * and uses a simple iterative solver.
+ * return. It assumes 365 days per year (Actual/365 Fixed day count convention).
+ * <p>
+ * Cash flows are packed into primitive arrays of epoch days and amounts as they are added so the solver does not
+ * need to convert dates or {@code BigDecimal} values while iterating.  The rate is found with Newton's method using
+ * the analytic derivative of the net present value, falling back to Brent's method over a bracketed interval if
+ * Newton's method fails to converge.
  *
  * @author t-pa
  * @author Craig Cavanaugh
@@ -38,27 +40,29 @@ import static java.time.temporal.ChronoUnit.DAYS;
 public class CashFlow {
 
     private static final double DAYS_PER_YEAR = 365;
-    private static final int MAX_ITERATIONS = 1000;
+    private static final int MAX_ITERATIONS = 100;
     private static final double CONVERGENCE = 1.e-5;
 
-    private static final Logger logger = Logger.getLogger(CashFlow.class.getName());
+    /**
+     * Lowest rate considered, a rate of -100% is a singularity.
+     */
+    private static final double MIN_RATE = -0.999999;
 
-    private static class CashFlowItem {
-        final LocalDate date;
-        final BigDecimal amount;
+    /**
+     * Trial rates used to bracket a root when Newton's method fails.
+     */
+    private static final double[] BRACKET_RATES = {MIN_RATE, -0.99, -0.9, -0.75, -0.5, -0.25, -0.1, 0, 0.1, 0.25,
+            0.5, 1, 2, 5, 10, 100, 1000};
 
-        CashFlowItem(final LocalDate date, final BigDecimal amount) {
-            this.date = date;
-            this.amount = amount;
-        }
+    private static final int INITIAL_CAPACITY = 16;
 
-        @Override
-        public String toString() {
-            return String.format("[%s, %f]", date.toString(), amount);
-        }
-    }
+    private static final Logger logger = Logger.getLogger(CashFlow.class.getName());
+
+    private long[] epochDays = new long[INITIAL_CAPACITY];
+
+    private double[] amounts = new double[INITIAL_CAPACITY];
 
-    private final List<CashFlowItem> cashFlows = new ArrayList<>();
+    private int size = 0;
 
     /**
      * Add an item to the history of cash flows.
@@ -67,75 +71,253 @@ public class CashFlow {
      * @param amount the amount; negative for an investment, positive for a payout
      */
     public void add(final LocalDate date, final BigDecimal amount) {
-        cashFlows.add(new CashFlowItem(date, amount));
+        ensureCapacity(size + 1);
+
+        epochDays[size] = date.toEpochDay();
+        amounts[size] = amount.doubleValue();
+        size++;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > epochDays.length) {
+            final int newCapacity = Math.max(capacity, epochDays.length * 2);
+
+            epochDays = Arrays.copyOf(epochDays, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+        }
     }
 
     /**
-     * Calculate the internal rate of return of the cash flow. If the iterative
-     * solution does not converge, NaN is returned.
+     * Calculate the internal rate of return of the cash flow. If the solution
+     * does not converge or does not exist, NaN is returned.
      *
      * @return an approximation of the (annualized) internal rate of return
      */
     public double internalRateOfReturn() {
-        if (cashFlows.isEmpty()) {
+        if (size == 0) {
             return 0.0;
         }
 
         // the reference date is arbitrary, but for better numerical accuracy,
         // use one of the actual dates in the cash flow history
-        LocalDate referenceDate = cashFlows.get(0).date;
+        final long referenceDay = epochDays[0];
+
+        final double[] years = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            years[i] = (epochDays[i] - referenceDay) / DAYS_PER_YEAR;
+        }
+
+        final double npvAtZero = netPresentValue(years, 0);
+
+        double rate = newton(years, (npvAtZero > 0) ? 0.05 : -0.05);
 
-        double lastRate = 0.0;
-        double lastNPV = netPresentValue(referenceDate, lastRate);
+        if (Double.isNaN(rate)) {
+            rate = brent(years);
+        }
 
-        double rate = (lastNPV > 0) ? 0.05 : -0.05;
+        if (Double.isNaN(rate)) {
+            logger.log(Level.INFO, "IRR calculation did not converge. Data: {0}", this);
+        }
 
-        // iteratively calculate the IRR with the secant method
-        int i = 0;
-        boolean hasConverged = false;
+        return rate;
+    }
 
-        do {
-            double npv = netPresentValue(referenceDate, rate);
-            double newRate = rate - npv * (rate - lastRate) / (npv - lastNPV);
+    /**
+     * Newton's method with the analytic derivative of the net present value.
+     *
+     * @param years time of each cash flow in years relative to the reference date
+     * @param initialRate starting guess
+     * @return the rate or NaN if the method did not converge
+     */
+    private double newton(final double[] years, final double initialRate) {
+        double rate = initialRate;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            final double logBase = Math.log1p(rate);
+
+            double npv = 0;
+            double derivative = 0;
+
+            for (int j = 0; j < size; j++) {
+                final double discounted = amounts[j] * Math.exp(-years[j] * logBase);
+
+                npv += discounted;
+                derivative -= years[j] * discounted;
+            }
+
+            derivative /= (1 + rate);
+
+            if (derivative == 0 || Double.isNaN(derivative) || Double.isInfinite(derivative)) {
+                return Double.NaN;
+            }
+
+            final double newRate = rate - npv / derivative;
+
+            if (Double.isNaN(newRate) || newRate <= MIN_RATE) {
+                return Double.NaN;
+            }
+
+            if (hasConverged(newRate, rate)) {
+                return newRate;
+            }
 
-            lastRate = rate;
-            lastNPV = npv;
             rate = newRate;
+        }
 
-            i++;
+        return Double.NaN;
+    }
+
+    /**
+     * Brent's method over the first interval of trial rates where the net present value changes sign.  A trial rate
+     * is returned directly if the net present value is zero there but not at a neighbouring rate.
+     *
+     * @param years time of each cash flow in years relative to the reference date
+     * @return the rate or NaN if a root could not be bracketed or the method did not converge
+     */
+    private double brent(final double[] years) {
+        double a = Double.NaN;
+        double b = Double.NaN;
+        double fa = Double.NaN;
+        double fb = Double.NaN;
+
+        final double[] npvs = new double[BRACKET_RATES.length];
 
-            if (Double.isNaN(rate)) {   // check for failure to converge
+        for (int i = 0; i < BRACKET_RATES.length; i++) {
+            npvs[i] = netPresentValue(years, BRACKET_RATES[i]);
+        }
+
+        for (int i = 1; i < BRACKET_RATES.length; i++) {
+            // a net present value of zero at the neighbouring rates as well is not a root, e.g. a flat cash flow
+            if (npvs[i] == 0 && i < BRACKET_RATES.length - 1 && (npvs[i - 1] != 0 || npvs[i + 1] != 0)) {
+                return BRACKET_RATES[i];
+            }
+
+            if (npvs[i - 1] * npvs[i] < 0) {
+                a = BRACKET_RATES[i - 1];
+                b = BRACKET_RATES[i];
+                fa = npvs[i - 1];
+                fb = npvs[i];
                 break;
-            } else if (rate != 0 || lastRate != 0) {
-                hasConverged = abs(rate - lastRate) / (abs(rate) + abs(lastRate)) < CONVERGENCE;
-            } else {
-                hasConverged = true;
             }
-        } while (!hasConverged && i < MAX_ITERATIONS);
+        }
 
-        if (!hasConverged) {
-            rate = Double.NaN;
-            logger.log(Level.INFO, "IRR calculation did not converge. Data: {0}", cashFlows);
+        if (Double.isNaN(a)) {
+            return Double.NaN;
         }
 
-        return rate;
+        double c = a;
+        double fc = fa;
+        double d = b - a;
+        double e = d;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if (Math.signum(fb) == Math.signum(fc)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+
+            if (abs(fc) < abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+
+            final double tolerance = CONVERGENCE * abs(b) / 2 + Math.ulp(1.0);
+            final double m = (c - b) / 2;
+
+            if (abs(m) <= tolerance || fb == 0) {
+                return b;
+            }
+
+            if (abs(e) >= tolerance && abs(fa) > abs(fb)) {   // attempt interpolation
+                final double s = fb / fa;
+                double p;
+                double q;
+
+                if (a == c) {   // linear interpolation
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {        // inverse quadratic interpolation
+                    final double r = fb / fc;
+                    final double t = fa / fc;
+
+                    p = s * (2 * m * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+
+                if (2 * p < Math.min(3 * m * q - abs(tolerance * q), abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {        // interpolation failed, use bisection
+                    d = m;
+                    e = d;
+                }
+            } else {            // bounds decreasing too slowly, use bisection
+                d = m;
+                e = d;
+            }
+
+            a = b;
+            fa = fb;
+
+            b += abs(d) > tolerance ? d : Math.copySign(tolerance, m);
+            fb = netPresentValue(years, b);
+        }
+
+        return Double.NaN;
+    }
+
+    private static boolean hasConverged(final double rate, final double lastRate) {
+        if (rate != 0 || lastRate != 0) {
+            return abs(rate - lastRate) / (abs(rate) + abs(lastRate)) < CONVERGENCE;
+        }
+
+        return true;
     }
 
     /**
      * Calculate the net present value of the cash flow.
      *
-     * @param referenceDate the NPV is relative to this date
-     * @param rate          the discount rate
+     * @param years time of each cash flow in years relative to the reference date
+     * @param rate  the discount rate
      * @return the net present value
      */
-    private double netPresentValue(final LocalDate referenceDate, final double rate) {
+    private double netPresentValue(final double[] years, final double rate) {
+        final double logBase = Math.log1p(rate);
+
         double npv = 0;
 
-        for (final CashFlowItem item : cashFlows) {
-            double timeDifference = referenceDate.until(item.date, DAYS) / DAYS_PER_YEAR;
-            npv += item.amount.doubleValue() / StrictMath.pow(1 + rate, timeDifference);
+        for (int i = 0; i < size; i++) {
+            npv += amounts[i] * Math.exp(-years[i] * logBase);
         }
 
         return npv;
     }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+
+            builder.append(String.format("[%s, %f]", LocalDate.ofEpochDay(epochDays[i]).toString(), amounts[i]));
+        }
+
+        return builder.append(']').toString();
+    }
 }
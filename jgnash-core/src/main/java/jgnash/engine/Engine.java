@@ -28,19 +28,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -74,6 +72,7 @@ import jgnash.engine.recurring.PendingReminder;
 import jgnash.engine.recurring.RecurringIterator;
 import jgnash.engine.recurring.Reminder;
 import jgnash.net.currency.CurrencyUpdateFactory;
+import jgnash.net.security.QuoteUpdateScheduler;
 import jgnash.net.security.UpdateFactory;
 import jgnash.resource.util.ResourceUtils;
 import jgnash.time.DateUtils;
@@ -98,7 +97,7 @@ public class Engine {
      */
     public static final int CURRENT_MAJOR_VERSION = 3;
 
-    public static final int CURRENT_MINOR_VERSION = 6;
+    public static final int CURRENT_MINOR_VERSION = 7;
 
     // Lock name
     private static final String BIG_LOCK = "bigLock";
@@ -107,11 +106,6 @@ public class Engine {
 
     private static final long MAXIMUM_TRASH_AGE = 2L * 60L * 1000L; // 2 minutes
 
-    /**
-     * The maximum number of network errors before scheduled tasks are stopped.
-     */
-    private static final short MAX_ERRORS = 2;
-
     /**
      * Time in seconds to delay start of background updates.
      */
@@ -157,6 +151,11 @@ public class Engine {
      */
     private final ScheduledThreadPoolExecutor backgroundExecutorService;
 
+    /**
+     * Concurrent scheduler for currency / security updates
+     */
+    private final QuoteUpdateScheduler quoteUpdateScheduler = new QuoteUpdateScheduler();
+
     /**
      * All engine instances will share the same message bus.
      */
@@ -373,8 +372,8 @@ public class Engine {
      * @param delay delay in seconds
      */
     public void startExchangeRateUpdate(final int delay) {
-        backgroundExecutorService.schedule(new BackgroundCallable(new CurrencyUpdateFactory.UpdateExchangeRatesCallable()), delay,
-                TimeUnit.SECONDS);
+        backgroundExecutorService.schedule(new BackgroundCallable(() -> quoteUpdateScheduler.updateExchangeRates(this)),
+                delay, TimeUnit.SECONDS);
     }
 
     /**
@@ -383,17 +382,14 @@ public class Engine {
      * @param delay delay in seconds
      */
     public void startSecuritiesUpdate(final int delay) {
-        final List<BackgroundCallable> callables = new ArrayList<>();
+        // failure will occur if source is not defined
+        final List<SecurityNode> securities = getSecurities().stream()
+                .filter(securityNode -> securityNode.getQuoteSource() != QuoteSource.NONE)
+                .collect(Collectors.toList());
 
-        getSecurities().stream().filter(securityNode ->
-                                                securityNode.getQuoteSource() != QuoteSource.NONE).forEach(securityNode -> { // failure will occur if source is not defined
-
-            callables.add(new BackgroundCallable(new UpdateFactory.UpdateSecurityNodeCallable(securityNode)));
-            callables.add(new BackgroundCallable(new UpdateFactory.UpdateSecurityNodeEventsCallable(securityNode)));
-        });
-
-        // Cleanup thread that monitors for excess network connection failures
-        new SecuritiesUpdateRunnable(callables, delay).start();
+        // securities are fetched concurrently by the scheduler, excess network failures will stop the update
+        backgroundExecutorService.schedule(new BackgroundCallable(()
+                -> quoteUpdateScheduler.updateSecurities(this, securities)), delay, TimeUnit.SECONDS);
 
         // Save the last update
         config.setLastSecuritiesUpdateTimestamp(LocalDateTime.now());
@@ -490,6 +486,14 @@ public class Engine {
                 ListUtils.partition(getTransactions(), 200).forEach(eDAO::bulkUpdate);
             }
 
+            // Security history was moved into a compact blob for file version 3.7
+            for (final SecurityNode node : getSecurities()) {
+                if (node.migrateHistoryNodes()) {
+                    getCommodityDAO().updateCommodityNode(node);
+                    logInfo("Migrated security history for " + node.getSymbol());
+                }
+            }
+
             // update the file version if it is not current
             if (getConfig().getMajorFileFormatVersion() != CURRENT_MAJOR_VERSION
                         || getConfig().getMinorFileFormatVersion() != CURRENT_MINOR_VERSION) {
@@ -525,6 +529,7 @@ public class Engine {
     void stopBackgroundServices() {
         logInfo("Controlled engine shutdown initiated");
 
+        quoteUpdateScheduler.shutdown();
         shutDownAndWait(backgroundExecutorService);
 
         logInfo("Background services have been stopped");
@@ -939,20 +944,50 @@ public class Engine {
         dataLock.writeLock().lock();
 
         try {
-            // Remove old history of the same date if it exists
-            if (node.contains(hNode.getLocalDate())) {
-                if (!removeSecurityHistory(node, hNode.getLocalDate())) {
-                    logSevere(ResourceUtils.getString("Message.Error.HistRemoval", hNode.getLocalDate(), node.getSymbol()));
-                    return false;
-                }
-            }
+            node.addHistoryNode(hNode);   // replaces old history of the same date if it exists
 
-            boolean status = node.addHistoryNode(hNode);
+            final boolean status = getCommodityDAO().addSecurityHistory(node, hNode);
+
+            Message message;
 
             if (status) {
-                status = getCommodityDAO().addSecurityHistory(node, hNode);
+                clearCachedAccountBalance(node);
+                message = new Message(MessageChannel.COMMODITY, ChannelEvent.SECURITY_HISTORY_ADD, this);
+            } else {
+                message = new Message(MessageChannel.COMMODITY, ChannelEvent.SECURITY_HISTORY_ADD_FAILED, this);
             }
 
+            message.setObject(MessageProperty.COMMODITY, node);
+            messageBus.fireEvent(message);
+
+            return status;
+        } finally {
+            dataLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a collection of SecurityHistoryNodes to a SecurityNode.  Existing SecurityHistoryNodes with a matching
+     * date are replaced.  The history is merged in a single pass, persisted with a single commit and a single
+     * message is fired.
+     *
+     * @param node   SecurityNode to add to
+     * @param hNodes SecurityHistoryNodes to add
+     * @return <tt>true</tt> if successful
+     */
+    public boolean addSecurityHistory(@NotNull final SecurityNode node,
+                                      @NotNull final Collection<SecurityHistoryNode> hNodes) {
+        if (hNodes.isEmpty()) {
+            return true;
+        }
+
+        dataLock.writeLock().lock();
+
+        try {
+            node.addHistoryNodes(hNodes);
+
+            final boolean status = getCommodityDAO().addSecurityHistory(node, hNodes);
+
             Message message;
 
             if (status) {
@@ -1263,15 +1298,7 @@ public class Engine {
             if (isCommodityNodeUsed(node)) {
                 status = false;
             } else {
-                // Remove all history nodes first so they are not left behind
-
-                // A copy is made to prevent a concurrent modification error to the underlying list, Bug #208
-                final List<SecurityHistoryNode> hNodes = new ArrayList<>(node.getHistoryNodes());
-
-                hNodes.stream()
-                        .filter(hNode -> !removeSecurityHistory(node, hNode.getLocalDate()))
-                        .forEach(hNode -> logSevere(ResourceUtils.getString("Message.Error.HistRemoval",
-                                hNode.getLocalDate(), node.getSymbol())));
+                // history is stored with the SecurityNode and is removed with it
                 moveObjectToTrash(node);
             }
 
@@ -1310,7 +1337,6 @@ public class Engine {
                 status = node.removeHistoryNode(date);
 
                 if (status) {   // removal was a success, make sure we cleanup properly
-                    moveObjectToTrash(optional.get());
                     status = getCommodityDAO().removeSecurityHistory(node, optional.get());
 
                     logInfo(ResourceUtils.getString("Message.RemovingSecurityHistory", date, node.getSymbol()));
@@ -1726,6 +1752,10 @@ public class Engine {
 
     public void refresh(final StoredObject object) {
         eDAO.refresh(object);
+
+        if (object instanceof ExchangeRate) {   // cached conversions may be stale
+            ExchangeRate.fireModified();
+        }
     }
 
     /**
@@ -2518,22 +2548,7 @@ public class Engine {
 
                 /* If successful, extract and enter a default exchange rate for the transaction date if a rate has not been set */
                 if (result) {
-                    // no rate for the date has been set
-                    transaction.getTransactionEntries().stream()
-                            .filter(TransactionEntry::isMultiCurrency)
-                            .forEach(entry -> {
-                                final ExchangeRate rate = getExchangeRate(entry.getDebitAccount().getCurrencyNode(),
-                                        entry.getCreditAccount().getCurrencyNode());
-
-                                if (rate.getRate(transaction.getLocalDate()).compareTo(BigDecimal.ZERO) == 0) { // no rate for the date has been set
-                                    final BigDecimal exchangeRate = entry.getDebitAmount().abs()
-                                                                            .divide(entry.getCreditAmount().abs(),
-                                                                                    MathConstants.mathContext);
-
-                                    setExchangeRate(entry.getCreditAccount().getCurrencyNode(),
-                                            entry.getDebitAccount().getCurrencyNode(), exchangeRate, transaction.getLocalDate());
-                                }
-                            });
+                    addDefaultExchangeRates(transaction);
                 }
             }
 
@@ -2545,6 +2560,84 @@ public class Engine {
         }
     }
 
+    /**
+     * Adds a collection of transactions and persists them with a single commit.  Invalid transactions are skipped
+     * and a failure message is posted for each of them.
+     *
+     * @param transactions transactions to add
+     * @return {@code true} if all of the transactions were added
+     */
+    public boolean addTransactions(@NotNull final Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return true;
+        }
+
+        dataLock.writeLock().lock();
+
+        try {
+            final List<Transaction> validTransactions = new ArrayList<>(transactions.size());
+
+            boolean result = true;
+
+            for (final Transaction transaction : transactions) {
+                if (isTransactionValid(transaction)) {
+                    /* Add the transaction to each account */
+                    transaction.getAccounts().stream()
+                            .filter(account -> !account.addTransaction(transaction))
+                            .forEach(account -> logSevere("Failed to add the Transaction"));
+
+                    validTransactions.add(transaction);
+                } else {
+                    postTransactionAdd(transaction, false);
+                    result = false;
+                }
+            }
+
+            if (!validTransactions.isEmpty()) {
+                final boolean status = getTransactionDAO().addTransactions(validTransactions);
+
+                logInfo(rb.getString("Message.TransactionAdd"));
+
+                for (final Transaction transaction : validTransactions) {
+                    if (status) {
+                        addDefaultExchangeRates(transaction);
+                    }
+
+                    postTransactionAdd(transaction, status);
+                }
+
+                result = result && status;
+            }
+
+            return result;
+        } finally {
+            dataLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Enters a default exchange rate for the transaction date of each multi-currency entry if a rate has not been set
+     *
+     * @param transaction new transaction
+     */
+    private void addDefaultExchangeRates(final Transaction transaction) {
+        transaction.getTransactionEntries().stream()
+                .filter(TransactionEntry::isMultiCurrency)
+                .forEach(entry -> {
+                    final ExchangeRate rate = getExchangeRate(entry.getDebitAccount().getCurrencyNode(),
+                            entry.getCreditAccount().getCurrencyNode());
+
+                    if (rate.getRate(transaction.getLocalDate()).compareTo(BigDecimal.ZERO) == 0) { // no rate for the date has been set
+                        final BigDecimal exchangeRate = entry.getDebitAmount().abs()
+                                                                .divide(entry.getCreditAmount().abs(),
+                                                                        MathConstants.mathContext);
+
+                        setExchangeRate(entry.getCreditAccount().getCurrencyNode(),
+                                entry.getDebitAccount().getCurrencyNode(), exchangeRate, transaction.getLocalDate());
+                    }
+                });
+    }
+
     public boolean removeTransaction(final Transaction transaction) {
 
         dataLock.writeLock().lock();
@@ -2580,30 +2673,132 @@ public class Engine {
     }
 
     /**
-     * Changes the reconciled state of a transaction.
+     * Changes the reconciled state of a transaction in place.  The transaction is persisted and a
+     * {@code TRANSACTION_MODIFY} message is posted for each of its accounts.
      *
      * @param transaction transaction to change
      * @param account     account to change state for
      * @param state       new reconciled state
+     * @return {@code true} if successful, {@code false} if an account is locked or the transaction could not be
+     * persisted
      */
-    public void setTransactionReconciled(final Transaction transaction, final Account account, final ReconciledState state) {
-        dataLock.writeLock().lock(); // hold a write lock to ensure nothing slips in between the remove and add
+    public boolean setTransactionReconciled(final Transaction transaction, final Account account,
+                                            final ReconciledState state) {
+        dataLock.writeLock().lock();
 
         try {
-            final Transaction newTransaction = (Transaction) transaction.clone();
+            for (final Account a : transaction.getAccounts()) {
+                if (a.isLocked()) {
+                    logWarning(rb.getString("Message.TransactionModifyLocked"));
+                    return false;
+                }
+            }
 
-            ReconcileManager.reconcileTransaction(account, newTransaction, state);
+            final List<Transaction> transactions = Collections.singletonList(transaction);
+            final Map<TransactionEntry, ReconciledState[]> priorStates = getReconciledStates(transactions);
 
-            if (removeTransaction(transaction)) {
-                addTransaction(newTransaction);
+            ReconcileManager.reconcileTransaction(account, transaction, state);
+
+            final boolean result = getTransactionDAO().updateTransactions(transactions);
+
+            if (!result) {  // keep memory consistent with the database
+                restoreReconciledStates(priorStates);
             }
-        } catch (final CloneNotSupportedException e) {
-            logger.log(Level.SEVERE, "Failed to reconcile the Transaction", e);
+
+            // reconciled balances are cached
+            transaction.getAccounts().forEach(Account::clearCachedBalances);
+
+            for (final Account a : transaction.getAccounts()) {
+                postTransactionModify(a, transactions, result);
+            }
+
+            return result;
+        } finally {
+            dataLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the reconciled state of a collection of transactions in place.  The changes are persisted with a single
+     * commit and one message is posted for each affected account instead of one per transaction.
+     *
+     * @param account account to change state for
+     * @param states  new reconciled state of each transaction
+     * @return {@code true} if successful
+     */
+    public boolean setTransactionsReconciled(@NotNull final Account account,
+                                             @NotNull final Map<Transaction, ReconciledState> states) {
+        if (states.isEmpty()) {
+            return true;
+        }
+
+        dataLock.writeLock().lock();
+
+        try {
+            final Set<Account> accounts = new HashSet<>();
+
+            for (final Transaction transaction : states.keySet()) {
+                accounts.addAll(transaction.getAccounts());
+            }
+
+            for (final Account a : accounts) {
+                if (a.isLocked()) {
+                    logWarning(rb.getString("Message.TransactionModifyLocked"));
+                    return false;
+                }
+            }
+
+            final Map<TransactionEntry, ReconciledState[]> priorStates = getReconciledStates(states.keySet());
+
+            states.forEach((transaction, state) -> ReconcileManager.reconcileTransaction(account, transaction, state));
+
+            final boolean result = getTransactionDAO().updateTransactions(states.keySet());
+
+            if (!result) {  // keep memory consistent with the database
+                restoreReconciledStates(priorStates);
+            }
+
+            // reconciled balances are cached
+            accounts.forEach(Account::clearCachedBalances);
+
+            for (final Account a : accounts) {
+                final List<Transaction> modified = states.keySet().stream()
+                        .filter(transaction -> transaction.getAccounts().contains(a)).collect(Collectors.toList());
+
+                postTransactionModify(a, modified, result);
+            }
+
+            return result;
         } finally {
             dataLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Records the reconciled state of every entry so an unsuccessful change can be reverted.
+     *
+     * @param transactions transactions to record
+     * @return the credit and debit reconciled state of each entry
+     */
+    private static Map<TransactionEntry, ReconciledState[]> getReconciledStates(final Collection<Transaction> transactions) {
+        final Map<TransactionEntry, ReconciledState[]> states = new IdentityHashMap<>();
+
+        for (final Transaction transaction : transactions) {
+            for (final TransactionEntry entry : transaction.getTransactionEntries()) {
+                states.put(entry, new ReconciledState[]{entry.getCreditReconciled(), entry.getDebitReconciled()});
+            }
+        }
+
+        return states;
+    }
+
+    private static void restoreReconciledStates(final Map<TransactionEntry, ReconciledState[]> states) {
+        states.forEach((entry, state) -> {
+            entry.setCreditReconciled(state[0]);
+            entry.setDebitReconciled(state[1]);
+        });
+    }
+
     public List<String> getTransactionNumberList() {
         dataLock.readLock().lock();
 
@@ -2671,6 +2866,29 @@ public class Engine {
         }
     }
 
+    /**
+     * Posts a message for an account with modified transactions.  The transaction is included if only one was
+     * modified, otherwise the UUIDs of the modified transactions are included.
+     *
+     * @param account      account with modified transactions
+     * @param transactions the modified transactions of the account
+     * @param result       {@code true} if the modification was successful
+     */
+    private void postTransactionModify(final Account account, final List<Transaction> transactions,
+                                       final boolean result) {
+        final Message message = new Message(MessageChannel.TRANSACTION, result ? ChannelEvent.TRANSACTION_MODIFY
+                                                                               : ChannelEvent.TRANSACTION_MODIFY_FAILED, this);
+        message.setObject(MessageProperty.ACCOUNT, account);
+
+        if (transactions.size() == 1) {
+            message.setObject(MessageProperty.TRANSACTION, transactions.get(0));
+        } else {
+            message.setUuids(transactions);
+        }
+
+        messageBus.fireEvent(message);
+    }
+
     private void postTransactionRemove(final Transaction transaction, final boolean result) {
 
         for (Account a : transaction.getAccounts()) {
@@ -2958,67 +3176,6 @@ public class Engine {
         thread.start();
     }
 
-    /**
-     * Thread to monitor background update of securities and terminate is network errors are occurring
-     */
-    private class SecuritiesUpdateRunnable extends Thread {
-
-        private final List<BackgroundCallable> backgroundCallables;
-        private final int delay;
-
-        SecuritiesUpdateRunnable(final List<BackgroundCallable> callables, final int delay) {
-            this.backgroundCallables = callables;
-            this.delay = delay;
-        }
-
-        @Override
-        public void run() {
-
-            try {
-                TimeUnit.SECONDS.sleep(delay);  // for controlled delay at startup
-            } catch (final InterruptedException ignored) {
-                return;
-            }
-
-            int errors = 0;
-
-            final CompletionService<Boolean> completionService = new ExecutorCompletionService<>(backgroundExecutorService);
-
-            // submit the callables
-            for (final BackgroundCallable backgroundCallable : backgroundCallables) {
-                try {
-                    completionService.submit(backgroundCallable);
-                } catch (final RejectedExecutionException ignored) {
-                    // ignore, race to shut down the executor was won
-                }
-            }
-
-            // poll until complete or there have been too many errors
-            while (errors < MAX_ERRORS && !Thread.currentThread().isInterrupted()) {
-                try {
-                    final Future<Boolean> future = completionService.poll(1, TimeUnit.MINUTES);
-
-                    if (future == null) {   // all done, no issues
-                        break;
-                    }
-
-                    errors += future.get() ? 0 : 1;
-
-                } catch (final InterruptedException | ExecutionException e) {
-                    errors = Integer.MAX_VALUE;
-                    logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
-                }
-            }
-
-            // if there are too many errors, force cancellation
-            if (errors > MAX_ERRORS || Thread.currentThread().isInterrupted()) {
-                for (final BackgroundCallable backgroundCallable : backgroundCallables) {
-                    backgroundCallable.cancel = true;   // stop all other callables
-                }
-            }
-        }
-    }
-
     /**
      * Decorates a Callable to indicate background engine activity is occurring.
      */
@@ -3026,31 +3183,25 @@ public class Engine {
 
         private final Callable<Boolean> callable;
 
-        volatile boolean cancel = false;    // may be set to true to interrupt operation
-
         BackgroundCallable(@NotNull final Callable<Boolean> callable) {
             this.callable = callable;
         }
 
         @Override
         public Boolean call() throws Exception {
+            if (backGroundCounter.incrementAndGet() == 1) {
+                messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STARTED,
+                        Engine.this));
+            }
 
-            if (!cancel) {
-                if (backGroundCounter.incrementAndGet() == 1) {
-                    messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STARTED,
+            try {
+                return callable.call();
+            } finally {
+                if (backGroundCounter.decrementAndGet() == 0) {
+                    messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STOPPED,
                             Engine.this));
                 }
-
-                try {
-                    return callable.call();
-                } finally {
-                    if (backGroundCounter.decrementAndGet() == 0) {
-                        messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STOPPED,
-                                Engine.this));
-                    }
-                }
             }
-            return false;
         }
     }
 }
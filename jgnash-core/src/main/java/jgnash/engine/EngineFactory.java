@@ -36,6 +36,7 @@ import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.Preferences;
+import java.util.stream.Stream;
 
 import jgnash.engine.jpa.JpaNetworkServer;
 import jgnash.engine.jpa.SqlUtils;
@@ -91,6 +92,11 @@ public class EngineFactory {
 
     private static final Map<String, DataStore> dataStoreMap = new HashMap<>();
 
+    /**
+     * Temporary directories holding the private database copies of read only engines.
+     */
+    private static final Map<String, Path> readOnlyCopyMap = new HashMap<>();
+
     private EngineFactory() {
     }
 
@@ -227,6 +233,16 @@ public class EngineFactory {
             engineMap.remove(engineName);
             dataStoreMap.remove(engineName);
         }
+
+        final Path readOnlyCopy = readOnlyCopyMap.remove(engineName);
+
+        if (readOnlyCopy != null) {
+            try {
+                FileUtils.deletePathAndContents(readOnlyCopy);
+            } catch (final IOException e) {
+                logger.log(Level.WARNING, "Unable to delete the directory: {0}", readOnlyCopy);
+            }
+        }
     }
 
     /**
@@ -268,6 +284,58 @@ public class EngineFactory {
      */
     public static synchronized Engine bootLocalEngine(final String fileName, final String engineName,
                                                       final char[] password, final DataStoreType type) {
+        return bootLocalEngine(fileName, engineName, password, type, true);
+    }
+
+    /**
+     * Boots a local Engine for a preexisting file without modifying it. The engine is started against a private copy
+     * of the file that is discarded when the engine is closed, and the last database preferences are left unchanged.
+     * This allows reports to be generated from a file that is in use or must not be altered.
+     *
+     * @param fileName   filename to load
+     * @param engineName engine identifier
+     * @param password   connection password
+     * @return new {@code Engine} instance if successful, null otherwise
+     * @throws IOException thrown if the file could not be copied
+     * @see #closeEngine(String)
+     */
+    public static synchronized Engine bootLocalEngineReadOnly(final String fileName, final String engineName,
+                                                              final char[] password) throws IOException {
+        final DataStoreType type = getDataStoreByType(fileName);
+
+        if (type == null) {
+            return null;
+        }
+
+        final Path source = Paths.get(fileName).toAbsolutePath();
+        final String baseName = FileUtils.stripFileExtension(source.getFileName().toString()) + ".";
+        final Path directory = Files.createTempDirectory("jgnash-");
+
+        // relational databases may be split across several files sharing the base name
+        try (final Stream<Path> stream = Files.list(source.getParent())) {
+            for (final Path path : (Iterable<Path>) stream::iterator) {
+                final String name = path.getFileName().toString();
+
+                if (Files.isRegularFile(path) && name.startsWith(baseName) && !FileUtils.isLockFile(name)) {
+                    Files.copy(path, directory.resolve(name));
+                }
+            }
+        }
+
+        final Engine engine = bootLocalEngine(directory.resolve(source.getFileName()).toString(), engineName, password,
+                type, false);
+
+        if (engine != null) {
+            readOnlyCopyMap.put(engineName, directory);
+        } else {
+            FileUtils.deletePathAndContents(directory);
+        }
+
+        return engine;
+    }
+
+    private static Engine bootLocalEngine(final String fileName, final String engineName, final char[] password,
+                                          final DataStoreType type, final boolean savePreferences) {
 
         Instant start = Instant.now();
 
@@ -285,7 +353,7 @@ public class EngineFactory {
             Message message = new Message(MessageChannel.SYSTEM, ChannelEvent.FILE_LOAD_SUCCESS, engine);
             MessageBus.getInstance(engineName).fireEvent(message);
 
-            if (engineName.equals(EngineFactory.DEFAULT)) {
+            if (savePreferences && engineName.equals(EngineFactory.DEFAULT)) {
                 Preferences pref = Preferences.userNodeForPackage(EngineFactory.class);
 
                 pref.putBoolean(USED_PASSWORD, password.length > 0);
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
@@ -51,6 +52,11 @@ public class ExchangeRate extends StoredObject {
     @OneToMany(cascade = {CascadeType.ALL})
     private final Set<ExchangeRateHistoryNode> historyNodes = new HashSet<>();
 
+    /**
+     * Incremented whenever the history of any exchange rate changes so cached conversions can be discarded.
+     */
+    private static final AtomicLong modificationCount = new AtomicLong();
+
     /**
      * Cache the last exchange rate.
      */
@@ -127,6 +133,7 @@ public class ExchangeRate extends StoredObject {
             historyNodes.add(node);
 
             lastRate = null; // force an update
+            modificationCount.incrementAndGet();
 
             result = true;
         } catch (final Exception ex) {
@@ -167,6 +174,7 @@ public class ExchangeRate extends StoredObject {
 
             if (result) {
                 lastRate = null; // force an update
+                modificationCount.incrementAndGet();
             }
 
             return result;
@@ -175,6 +183,23 @@ public class ExchangeRate extends StoredObject {
         }
     }
 
+    /**
+     * Returns a count that changes whenever the history of any exchange rate is modified.
+     *
+     * @return modification count
+     */
+    static long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Signals that an exchange rate has been modified outside of this instance, such as a refresh from a remote
+     * server.
+     */
+    static void fireModified() {
+        modificationCount.incrementAndGet();
+    }
+
     public String getRateId() {
         return rateId;
     }
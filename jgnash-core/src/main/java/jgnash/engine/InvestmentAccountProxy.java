@@ -54,6 +54,35 @@ class InvestmentAccountProxy extends AccountProxy {
         return getCashBalance(date).add(getMarketValue(date));
     }
 
+    /**
+     * Market values do not accumulate by transaction, so each balance is calculated independently.
+     */
+    @Override
+    public PeriodBalances getPeriodBalances(final List<LocalDate> startDates, final List<LocalDate> endDates) {
+        final Lock l = account.getTransactionLock().readLock();
+        l.lock();
+
+        try {
+            final int count = startDates.size();
+
+            final BigDecimal[] startBalances = new BigDecimal[count];
+            final BigDecimal[] endBalances = new BigDecimal[count];
+            final BigDecimal[] periodBalances = new BigDecimal[count];
+
+            for (int i = 0; i < count; i++) {
+                startBalances[i] = getBalance(startDates.get(i));
+                endBalances[i] = getBalance(endDates.get(i));
+                periodBalances[i] = getBalance(startDates.get(i), endDates.get(i));
+            }
+
+            final BigDecimal total = count > 0 ? getBalance(startDates.get(0), endDates.get(count - 1)) : BigDecimal.ZERO;
+
+            return new PeriodBalances(startBalances, endBalances, periodBalances, total);
+        } finally {
+            l.unlock();
+        }
+    }
+
     /**
      * Returns the cash balance of this account.  Cash balance may be referred to as the "sweep" account where
      * the money market fund (cash) does not have it's own account number and the user see's it as a cash balance
@@ -22,11 +22,13 @@ import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -140,106 +142,133 @@ public class InvestmentPerformanceSummary {
     }
 
     /**
-     * Calculates the cost basis of a given security which is the average cost including fees.
-     * 
-     * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to calculate cost basis against
+     * Partitions the transactions by security in a single pass.  The sorted order of the transactions is preserved.
+     *
+     * @param transactions sorted transactions to partition
+     * @return map of sorted investment transactions per security
      */
-    private void calculateCostBasis(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
-
-        BigDecimal totalShares = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
+    private static Map<SecurityNode, List<InvestmentTransaction>> partitionBySecurity(final List<Transaction> transactions) {
+        final Map<SecurityNode, List<InvestmentTransaction>> partitions = new HashMap<>();
 
-        for (Transaction transaction : transactions) {
+        for (final Transaction transaction : transactions) {
             if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-
-                    BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
-
-                    BigDecimal fees = t.getFees().multiply(rate);
-                    BigDecimal quantity = t.getQuantity();
-                    BigDecimal price = t.getPrice().multiply(rate);
-
-                    switch (t.getTransactionType()) {
-                        case BUYSHARE:
-                        case REINVESTDIV:
-                            totalShares = totalShares.add(quantity);
-                            totalCost = totalCost.add(price.multiply(quantity).add(fees));
-                            break;
-                        case SPLITSHARE:
-                            totalShares = totalShares.add(quantity);
-                            break;
-                        case MERGESHARE:
-                            totalShares = totalShares.subtract(quantity);
-                            break;
-                        case DIVIDEND:
-                            // do nothing, no fees, no shares added.
-                            break;
-                        default:
-                            break;
-                    }
-                }
+                final InvestmentTransaction t = (InvestmentTransaction) transaction;
+
+                partitions.computeIfAbsent(t.getSecurityNode(), k -> new ArrayList<>()).add(t);
             }
         }
 
-        if (totalShares.compareTo(BigDecimal.ZERO) != 0) {
-            data.setCostBasisShares(totalShares);
-            data.setCostBasisPerShare(totalCost.divide(totalShares, MathConstants.mathContext));
-        }
+        return partitions;
     }
 
     /**
-     * Calculates the realized gains of a given Security.
-     * 
+     * Calculates the shares held, cost basis, realized gains and the cash flow for the internal rate of return of a
+     * given security in a single pass over its transactions.
+     * <p>
+     * The cost basis is the average cost including fees.
+     *
      * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to calculate the realized gains
+     * @param transactions sorted transactions for the security
      */
-    private void calculateRealizedGains(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
+    private void calculatePerformance(final SecurityPerformanceData data, final List<InvestmentTransaction> transactions) {
+
+        // exchange rates are cached per currency because the lookup is synchronized and expensive
+        final Map<CurrencyNode, BigDecimal> rateCache = new HashMap<>();
+
+        BigDecimal shares = BigDecimal.ZERO;
+
+        BigDecimal costBasisShares = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
 
         BigDecimal totalSharesSold = BigDecimal.ZERO;
         BigDecimal totalSales = BigDecimal.ZERO;
 
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-
-                    BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
-
-                    BigDecimal fees = t.getFees().multiply(rate);
-                    BigDecimal quantity = t.getQuantity();
-                    BigDecimal price = t.getPrice().multiply(rate);
-
-                    switch (t.getTransactionType()) {
-                        case SELLSHARE:
-                            totalSharesSold = totalSharesSold.add(quantity);
-                            totalSales = totalSales.add(price.multiply(quantity).subtract(fees));
-                            break;
-                        case DIVIDEND:
-                            totalSales = totalSales.add(t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
-                            break;
-                        case REINVESTDIV:
-                            totalSales = totalSales.add(t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate)).subtract(fees);
-                            break;
-                        default:
-                            break;
-                    }
+        final CashFlow cashFlow = new CashFlow();
+
+        for (final InvestmentTransaction t : transactions) {
+            final BigDecimal rate = rateCache.computeIfAbsent(t.getInvestmentAccount().getCurrencyNode(),
+                    baseCurrency::getExchangeRate);
+
+            final BigDecimal fees = t.getFees().multiply(rate);
+            final BigDecimal quantity = t.getQuantity();
+            final BigDecimal price = t.getPrice().multiply(rate);
+
+            switch (t.getTransactionType()) {
+                case BUYSHARE:
+                    shares = shares.add(quantity);
+                    costBasisShares = costBasisShares.add(quantity);
+                    totalCost = totalCost.add(price.multiply(quantity).add(fees));
+                    cashFlow.add(t.getLocalDate(), price.multiply(quantity).add(fees).negate());
+                    break;
+                case REINVESTDIV: {
+                    final BigDecimal total = t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate);
+
+                    shares = shares.add(quantity);
+                    costBasisShares = costBasisShares.add(quantity);
+                    totalCost = totalCost.add(price.multiply(quantity).add(fees));
+                    totalSales = totalSales.add(total).subtract(fees);
+                    cashFlow.add(t.getLocalDate(), total);
+                    break;
+                }
+                case SELLSHARE:
+                    shares = shares.subtract(quantity);
+                    totalSharesSold = totalSharesSold.add(quantity);
+                    totalSales = totalSales.add(price.multiply(quantity).subtract(fees));
+                    cashFlow.add(t.getLocalDate(), price.multiply(quantity).subtract(fees));
+                    break;
+                case SPLITSHARE:
+                    shares = shares.add(quantity);
+                    costBasisShares = costBasisShares.add(quantity);
+                    break;
+                case MERGESHARE:
+                    shares = shares.subtract(quantity);
+                    costBasisShares = costBasisShares.subtract(quantity);
+                    break;
+                case ADDSHARE:
+                    shares = shares.add(quantity);
+                    break;
+                case REMOVESHARE:
+                    shares = shares.subtract(quantity);
+                    break;
+                case DIVIDEND: {
+                    final BigDecimal total = t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate);
+
+                    totalSales = totalSales.add(total);
+                    cashFlow.add(t.getLocalDate(), total);
+                    break;
                 }
+                case RETURNOFCAPITAL:
+                    cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
+                    break;
+                default:
+                    break;
             }
         }
 
+        // shares held
+        data.setSharesHeld(data.getSharesHeld().add(shares).setScale(MathConstants.SECURITY_QUANTITY_ACCURACY, MathConstants.roundingMode));
+
+        // cost basis
+        if (costBasisShares.compareTo(BigDecimal.ZERO) != 0) {
+            data.setCostBasisShares(costBasisShares);
+            data.setCostBasisPerShare(totalCost.divide(costBasisShares, MathConstants.mathContext));
+        }
+
+        // realized gains
         if (totalSharesSold.compareTo(BigDecimal.ZERO) != 0) {
             data.setAvgSalePrice(totalSales.divide(totalSharesSold, MathConstants.mathContext));
             data.setRealizedGains(data.getAvgSalePrice().subtract(data.getCostBasisPerShare()).multiply(totalSharesSold));
-
         } else if (totalSales.compareTo(BigDecimal.ZERO) != 0) { // pure dividends and no share purchased or sold
             data.setRealizedGains(totalSales);
         }
+
+        calculateUnrealizedGains(data);
+        calculateTotalGains(data);
+
+        // internal rate of return, unrealized gains are valued at the market price
+        cashFlow.add(getEndDate(), shares.multiply(data.getPrice()));
+
+        data.setInternalRateOfReturn(cashFlow.internalRateOfReturn());
     }
 
     private static void calculateUnrealizedGains(final SecurityPerformanceData data) {
@@ -256,44 +285,6 @@ public class InvestmentPerformanceSummary {
         }
     }
 
-    /**
-     * Sums the number of given security shares.
-     * 
-     * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to count shares against
-     */
-    private static void calculateShares(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
-
-        BigDecimal shares = BigDecimal.ZERO;
-
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-                    switch (t.getTransactionType()) {
-                        case ADDSHARE:
-                        case BUYSHARE:
-                        case REINVESTDIV:
-                        case SPLITSHARE:
-                            shares = shares.add(t.getQuantity());
-                            break;
-                        case REMOVESHARE:
-                        case SELLSHARE:
-                        case MERGESHARE:
-                            shares = shares.subtract(t.getQuantity());
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
-
-        data.setSharesHeld(data.getSharesHeld().add(shares).setScale(MathConstants.SECURITY_QUANTITY_ACCURACY, MathConstants.roundingMode));
-    }
-
     private void calculatePercentPortfolio() {
         BigDecimal marketValue = BigDecimal.ZERO;
 
@@ -310,69 +301,6 @@ public class InvestmentPerformanceSummary {
         }
     }
 
-    /**
-     * Calculates the internal rate of return of a given security.
-     * 
-     * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to obtain the cash flow
-     */
-    private void calculateInternalRateOfReturn(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
-
-        CashFlow cashFlow = new CashFlow();
-        
-        BigDecimal totalShares = BigDecimal.ZERO;
-
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-
-                    BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
-
-                    BigDecimal fees = t.getFees().multiply(rate);
-                    BigDecimal quantity = t.getQuantity();
-                    BigDecimal price = t.getPrice().multiply(rate);
-
-                    switch (t.getTransactionType()) {
-                        case BUYSHARE:
-                            totalShares = totalShares.add(quantity);
-                            cashFlow.add(t.getLocalDate(), price.multiply(quantity).add(fees).negate());
-                            break;
-                        case SELLSHARE:
-                            totalShares = totalShares.subtract(quantity);
-                            cashFlow.add(t.getLocalDate(), price.multiply(quantity).subtract(fees));
-                            break;
-                        case SPLITSHARE:
-                        case ADDSHARE:
-                            totalShares = totalShares.add(quantity);
-                            break;
-                        case MERGESHARE:
-                        case REMOVESHARE:
-                            totalShares = totalShares.subtract(quantity);
-                            break;
-                        case DIVIDEND:
-                        case RETURNOFCAPITAL:
-                            cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
-                            break;
-                        case REINVESTDIV:
-                            totalShares = totalShares.add(quantity);
-                            cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
-
-        // unrealized gains
-        cashFlow.add(getEndDate(), totalShares.multiply(getMarketPrice(node, getEndDate())));
-        
-        data.setInternalRateOfReturn(cashFlow.internalRateOfReturn());
-    }
-
     public void runCalculations() {
 
         Set<SecurityNode> nodes = account.getSecurities();
@@ -381,29 +309,32 @@ public class InvestmentPerformanceSummary {
             collectSubAccountSecurities(account, nodes);
         }
 
-        for (final SecurityNode node : nodes) {
-            SecurityPerformanceData data = new SecurityPerformanceData(node);
+        final Map<SecurityNode, List<InvestmentTransaction>> partitions = partitionBySecurity(transactions);
+
+        // each security is independent of the others, calculate them concurrently
+        final List<SecurityPerformanceData> results = nodes.parallelStream().map(node -> {
+            final List<InvestmentTransaction> securityTransactions
+                    = partitions.getOrDefault(node, Collections.emptyList());
 
-            data.setPrice(getMarketPrice(node, getEndDate()));
+            final SecurityPerformanceData data = new SecurityPerformanceData(node);
 
-            performanceData.put(node, data);
+            data.setPrice(getMarketPrice(securityTransactions, node, getEndDate()));
 
-            calculateShares(data, transactions);
-            calculateCostBasis(data, transactions);
+            calculatePerformance(data, securityTransactions);
 
-            calculateRealizedGains(data, transactions);
-            calculateUnrealizedGains(data);
+            return data;
+        }).collect(Collectors.toList());
 
-            calculateTotalGains(data);
-            
-            calculateInternalRateOfReturn(data, transactions);
+        for (final SecurityPerformanceData data : results) {
+            performanceData.put(data.getNode(), data);
         }
 
         calculatePercentPortfolio();
     }
 
-    private BigDecimal getMarketPrice(final SecurityNode node, final LocalDate date) {
-        return Engine.getMarketPrice(transactions, node, baseCurrency, date);
+    private BigDecimal getMarketPrice(final List<InvestmentTransaction> securityTransactions, final SecurityNode node,
+                                      final LocalDate date) {
+        return Engine.getMarketPrice(Collections.unmodifiableList(securityTransactions), node, baseCurrency, date);
     }
 
     @Override
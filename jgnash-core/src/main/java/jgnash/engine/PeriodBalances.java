@@ -0,0 +1,209 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Balances of an {@code Account} for a series of reporting periods.
+ *
+ * @author Craig Cavanaugh
+ * @see Account#getPeriodBalances(java.util.List, java.util.List, CurrencyNode)
+ */
+public final class PeriodBalances {
+
+    private final BigDecimal[] startBalances;
+
+    private final BigDecimal[] endBalances;
+
+    private final BigDecimal[] periodBalances;
+
+    private final BigDecimal total;
+
+    PeriodBalances(final BigDecimal[] startBalances, final BigDecimal[] endBalances, final BigDecimal[] periodBalances,
+                   final BigDecimal total) {
+        this.startBalances = startBalances;
+        this.endBalances = endBalances;
+        this.periodBalances = periodBalances;
+        this.total = total;
+    }
+
+    /**
+     * Returns the number of periods.
+     *
+     * @return period count
+     */
+    public int getPeriodCount() {
+        return periodBalances.length;
+    }
+
+    /**
+     * Returns the account balance up to and inclusive of the start date of a period.
+     *
+     * @param period period index
+     * @return the balance
+     */
+    public BigDecimal getStartBalance(final int period) {
+        return startBalances[period];
+    }
+
+    /**
+     * Returns the account balance up to and inclusive of the end date of a period.
+     *
+     * @param period period index
+     * @return the balance
+     */
+    public BigDecimal getEndBalance(final int period) {
+        return endBalances[period];
+    }
+
+    /**
+     * Returns the balance of the transactions inclusive of the start and end dates of a period.
+     *
+     * @param period period index
+     * @return the balance
+     */
+    public BigDecimal getPeriodBalance(final int period) {
+        return periodBalances[period];
+    }
+
+    /**
+     * Returns the balance of the transactions inclusive of the start date of the first period and the end date of
+     * the last period.
+     *
+     * @return the balance
+     */
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the balances of a single period.
+     *
+     * @param period period index
+     * @return balances with one period
+     */
+    public PeriodBalances getPeriod(final int period) {
+        return new PeriodBalances(new BigDecimal[]{startBalances[period]}, new BigDecimal[]{endBalances[period]},
+                new BigDecimal[]{periodBalances[period]}, periodBalances[period]);
+    }
+
+    /**
+     * Combines the balances of consecutive periods into a single series.
+     *
+     * @param periods balances of the periods in ascending order
+     * @param total   balance of the transactions from the start of the first period to the end of the last period
+     * @return combined balances
+     */
+    public static PeriodBalances concat(final List<PeriodBalances> periods, final BigDecimal total) {
+        int count = 0;
+
+        for (final PeriodBalances balances : periods) {
+            count += balances.getPeriodCount();
+        }
+
+        final BigDecimal[] startBalances = new BigDecimal[count];
+        final BigDecimal[] endBalances = new BigDecimal[count];
+        final BigDecimal[] periodBalances = new BigDecimal[count];
+
+        int index = 0;
+
+        for (final PeriodBalances balances : periods) {
+            final int length = balances.getPeriodCount();
+
+            System.arraycopy(balances.startBalances, 0, startBalances, index, length);
+            System.arraycopy(balances.endBalances, 0, endBalances, index, length);
+            System.arraycopy(balances.periodBalances, 0, periodBalances, index, length);
+
+            index += length;
+        }
+
+        return new PeriodBalances(startBalances, endBalances, periodBalances, total);
+    }
+
+    /**
+     * Returns true if all balances are zero.
+     *
+     * @param runningTotal {@code true} to test the start and end balances, {@code false} to test the period balances
+     * @return {@code true} if all of the tested balances are zero
+     */
+    public boolean isZero(final boolean runningTotal) {
+        if (runningTotal) {
+            return isZero(startBalances) && isZero(endBalances);
+        }
+
+        return isZero(periodBalances);
+    }
+
+    private static boolean isZero(final BigDecimal[] balances) {
+        for (final BigDecimal balance : balances) {
+            if (balance.signum() != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a copy with every balance multiplied by an exchange rate.
+     *
+     * @param rate exchange rate
+     * @return converted balances
+     */
+    PeriodBalances multiply(final BigDecimal rate) {
+        return new PeriodBalances(multiply(startBalances, rate), multiply(endBalances, rate),
+                multiply(periodBalances, rate), total.multiply(rate));
+    }
+
+    /**
+     * Returns the sum of these balances and the balances of another series with the same periods.
+     *
+     * @param balances balances to add
+     * @return combined balances
+     */
+    public PeriodBalances add(final PeriodBalances balances) {
+        if (balances.getPeriodCount() != getPeriodCount()) {
+            throw new IllegalArgumentException("The number of periods must match");
+        }
+
+        return new PeriodBalances(add(startBalances, balances.startBalances), add(endBalances, balances.endBalances),
+                add(periodBalances, balances.periodBalances), total.add(balances.total));
+    }
+
+    private static BigDecimal[] add(final BigDecimal[] balances, final BigDecimal[] augends) {
+        final BigDecimal[] result = new BigDecimal[balances.length];
+
+        for (int i = 0; i < balances.length; i++) {
+            result[i] = balances[i].add(augends[i]);
+        }
+
+        return result;
+    }
+
+    private static BigDecimal[] multiply(final BigDecimal[] balances, final BigDecimal rate) {
+        final BigDecimal[] result = new BigDecimal[balances.length];
+
+        for (int i = 0; i < balances.length; i++) {
+            result[i] = balances[i].multiply(rate);
+        }
+
+        return result;
+    }
+}
@@ -20,7 +20,9 @@ package jgnash.engine;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -161,25 +163,35 @@ public class ReconcileManager {
         }
     }
 
+    /**
+     * Commits the reconciled state of a list of transactions.  Transactions marked as reconciled or cleared are set to
+     * the requested state, and all changes are committed as a single batch.
+     *
+     * @param account         account being reconciled
+     * @param list            transactions and their selected reconciled state
+     * @param reconciledState state for the transactions marked as reconciled or cleared
+     */
     public static void reconcileTransactions(final Account account, final List<RecTransaction> list,
                                              final ReconciledState reconciledState) {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
 
+        final Map<Transaction, ReconciledState> states = new HashMap<>();
+
         // create a copy of the list to prevent concurrent modification errors
-        final List<RecTransaction> transactions = new ArrayList<>(list);
+        for (final RecTransaction recTransaction : new ArrayList<>(list)) {
 
-        // Set to the requested reconcile state, ignore if no change is detected
-        transactions.parallelStream().filter(transaction -> transaction.getReconciledState()
-                != transaction.getTransaction().getReconciled(account)).forEach(recTransaction -> {
+            // cleared transactions are included in the reconciled balance, so they take the requested state too
+            final ReconciledState state = recTransaction.getReconciledState() != ReconciledState.NOT_RECONCILED
+                    ? reconciledState : ReconciledState.NOT_RECONCILED;
 
-            // Set to the requested reconcile state
-            if (recTransaction.getReconciledState() != ReconciledState.NOT_RECONCILED) {
-                engine.setTransactionReconciled(recTransaction.getTransaction(), account, reconciledState);
-            } else { // must have been reconciled or cleared
-                engine.setTransactionReconciled(recTransaction.getTransaction(), account, recTransaction.getReconciledState());
+            // ignore if no change is detected
+            if (state != recTransaction.getTransaction().getReconciled(account)) {
+                states.put(recTransaction.getTransaction(), state);
             }
-        });
+        }
+
+        engine.setTransactionsReconciled(account, states);
     }
 
     /**
@@ -0,0 +1,455 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import jgnash.util.NotNull;
+
+/**
+ * Columnar, memory compact storage for the price history of a {@code SecurityNode}.
+ * <p>
+ * Dates are stored as epoch days and decimal values as an unscaled {@code long} with a scale, so the original
+ * {@code BigDecimal} values are restored exactly.  {@code SecurityHistoryNode} instances are only created when
+ * requested.  The series is kept sorted by date and a date may only occur once.
+ * <p>
+ * The series can be encoded into a single compressed blob for persistence.  Each column is written as zigzag
+ * encoded variable length deltas which keeps daily price history small.
+ *
+ * @author Craig Cavanaugh
+ */
+final class SecurityHistorySeries {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size = 0;
+
+    private int[] days;
+
+    private long[] prices;
+
+    private byte[] priceScales;
+
+    private long[] highs;
+
+    private byte[] highScales;
+
+    private long[] lows;
+
+    private byte[] lowScales;
+
+    private long[] volumes;
+
+    SecurityHistorySeries() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private SecurityHistorySeries(final int capacity) {
+        days = new int[capacity];
+        prices = new long[capacity];
+        priceScales = new byte[capacity];
+        highs = new long[capacity];
+        highScales = new byte[capacity];
+        lows = new long[capacity];
+        lowScales = new byte[capacity];
+        volumes = new long[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    LocalDate getLocalDate(final int index) {
+        return LocalDate.ofEpochDay(days[index]);
+    }
+
+    BigDecimal getPrice(final int index) {
+        return BigDecimal.valueOf(prices[index], priceScales[index]);
+    }
+
+    /**
+     * Creates a {@code SecurityHistoryNode} for the given index.
+     *
+     * @param index index of the history
+     * @return a new {@code SecurityHistoryNode}
+     */
+    SecurityHistoryNode getNode(final int index) {
+        return new SecurityHistoryNode(getLocalDate(index), getPrice(index), volumes[index],
+                BigDecimal.valueOf(highs[index], highScales[index]), BigDecimal.valueOf(lows[index], lowScales[index]));
+    }
+
+    /**
+     * Creates {@code SecurityHistoryNode} instances for the complete series.
+     *
+     * @return a new list of {@code SecurityHistoryNode} sorted by date
+     */
+    List<SecurityHistoryNode> getNodes() {
+        final List<SecurityHistoryNode> nodes = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            nodes.add(getNode(i));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Returns the index of an exact date match.
+     *
+     * @param date date to search for
+     * @return index of the date or -1 if not found
+     */
+    int indexOf(final LocalDate date) {
+        final int index = Arrays.binarySearch(days, 0, size, toDay(date));
+
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Returns the index of the closest date without exceeding the requested date.
+     *
+     * @param date date to search for
+     * @return index of the closest date or -1 if all dates are after the requested date
+     */
+    int floorIndex(final LocalDate date) {
+        final int index = Arrays.binarySearch(days, 0, size, toDay(date));
+
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Adds a history node, replacing any existing value with the same date.
+     *
+     * @param node {@code SecurityHistoryNode} to add
+     */
+    void put(@NotNull final SecurityHistoryNode node) {
+        int index = Arrays.binarySearch(days, 0, size, toDay(node.getLocalDate()));
+
+        if (index >= 0) {
+            set(index, node);
+        } else {
+            index = -index - 1;
+
+            ensureCapacity(size + 1);
+            copy(this, index, this, index + 1, size - index);
+            set(index, node);
+            size++;
+        }
+    }
+
+    /**
+     * Merges a collection of history nodes into the series in a single pass.  Values with a matching date are
+     * replaced.  If the collection contains more than one node for a date, the last one is used.
+     *
+     * @param nodes {@code SecurityHistoryNode}s to merge
+     */
+    void merge(@NotNull final Collection<SecurityHistoryNode> nodes) {
+        final List<SecurityHistoryNode> additions = new ArrayList<>(nodes);
+        additions.sort(null);   // stable sort, the last node for a date is kept below
+
+        final SecurityHistorySeries merged = new SecurityHistorySeries(Math.max(INITIAL_CAPACITY,
+                size + additions.size()));
+
+        int i = 0;
+        int j = 0;
+
+        while (j < additions.size()) {
+            // skip to the last addition for a date
+            while (j + 1 < additions.size() && additions.get(j + 1).compareTo(additions.get(j)) == 0) {
+                j++;
+            }
+
+            final SecurityHistoryNode addition = additions.get(j);
+            final int day = toDay(addition.getLocalDate());
+
+            while (i < size && days[i] < day) {
+                copy(this, i++, merged, merged.size++, 1);
+            }
+
+            if (i < size && days[i] == day) {
+                i++;    // replaced
+            }
+
+            merged.set(merged.size++, addition);
+            j++;
+        }
+
+        copy(this, i, merged, merged.size, size - i);
+        merged.size += size - i;
+
+        adopt(merged);
+    }
+
+    /**
+     * Removes the value for a date.
+     *
+     * @param date date to remove
+     * @return {@code true} if the date was found and removed
+     */
+    boolean remove(final LocalDate date) {
+        final int index = indexOf(date);
+
+        if (index >= 0) {
+            copy(this, index + 1, this, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Encodes the series into a compressed blob.
+     *
+     * @return encoded series
+     */
+    byte[] encode() {
+        final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (final DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(byteStream))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(size);
+
+            long lastDay = 0;
+            long lastVolume = 0;
+
+            for (int i = 0; i < size; i++) {
+                writeVarLong(out, days[i] - lastDay);
+                writeVarLong(out, volumes[i] - lastVolume);
+
+                lastDay = days[i];
+                lastVolume = volumes[i];
+            }
+
+            writeDecimalColumn(out, prices, priceScales, size);
+            writeDecimalColumn(out, highs, highScales, size);
+            writeDecimalColumn(out, lows, lowScales, size);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return byteStream.toByteArray();
+    }
+
+    /**
+     * Decodes a series from a compressed blob.
+     *
+     * @param bytes encoded series, may be {@code null}
+     * @return the decoded series, empty if {@code bytes} is {@code null} or empty
+     */
+    static SecurityHistorySeries decode(final byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return new SecurityHistorySeries();
+        }
+
+        try (final DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            final int version = in.readInt();
+
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported security history format: " + version);
+            }
+
+            final int size = in.readInt();
+
+            final SecurityHistorySeries series = new SecurityHistorySeries(Math.max(INITIAL_CAPACITY, size));
+            series.size = size;
+
+            long lastDay = 0;
+            long lastVolume = 0;
+
+            for (int i = 0; i < size; i++) {
+                lastDay += readVarLong(in);
+                lastVolume += readVarLong(in);
+
+                series.days[i] = (int) lastDay;
+                series.volumes[i] = lastVolume;
+            }
+
+            readDecimalColumn(in, series.prices, series.priceScales, size);
+            readDecimalColumn(in, series.highs, series.highScales, size);
+            readDecimalColumn(in, series.lows, series.lowScales, size);
+
+            return series;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void set(final int index, final SecurityHistoryNode node) {
+        days[index] = toDay(node.getLocalDate());
+        volumes[index] = node.getVolume();
+
+        BigDecimal value = normalize(node.getPrice());
+        prices[index] = value.unscaledValue().longValue();
+        priceScales[index] = (byte) value.scale();
+
+        value = normalize(node.getHigh());
+        highs[index] = value.unscaledValue().longValue();
+        highScales[index] = (byte) value.scale();
+
+        value = normalize(node.getLow());
+        lows[index] = value.unscaledValue().longValue();
+        lowScales[index] = (byte) value.scale();
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > days.length) {
+            final int newCapacity = Math.max(capacity, days.length + (days.length >> 1));
+
+            days = Arrays.copyOf(days, newCapacity);
+            prices = Arrays.copyOf(prices, newCapacity);
+            priceScales = Arrays.copyOf(priceScales, newCapacity);
+            highs = Arrays.copyOf(highs, newCapacity);
+            highScales = Arrays.copyOf(highScales, newCapacity);
+            lows = Arrays.copyOf(lows, newCapacity);
+            lowScales = Arrays.copyOf(lowScales, newCapacity);
+            volumes = Arrays.copyOf(volumes, newCapacity);
+        }
+    }
+
+    private void adopt(final SecurityHistorySeries series) {
+        size = series.size;
+        days = series.days;
+        prices = series.prices;
+        priceScales = series.priceScales;
+        highs = series.highs;
+        highScales = series.highScales;
+        lows = series.lows;
+        lowScales = series.lowScales;
+        volumes = series.volumes;
+    }
+
+    private static void copy(final SecurityHistorySeries src, final int srcPos, final SecurityHistorySeries dest,
+                             final int destPos, final int length) {
+        if (length > 0) {
+            System.arraycopy(src.days, srcPos, dest.days, destPos, length);
+            System.arraycopy(src.prices, srcPos, dest.prices, destPos, length);
+            System.arraycopy(src.priceScales, srcPos, dest.priceScales, destPos, length);
+            System.arraycopy(src.highs, srcPos, dest.highs, destPos, length);
+            System.arraycopy(src.highScales, srcPos, dest.highScales, destPos, length);
+            System.arraycopy(src.lows, srcPos, dest.lows, destPos, length);
+            System.arraycopy(src.lowScales, srcPos, dest.lowScales, destPos, length);
+            System.arraycopy(src.volumes, srcPos, dest.volumes, destPos, length);
+        }
+    }
+
+    private static int toDay(final LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Reduces a decimal so the unscaled value fits within a {@code long} and the scale within a {@code byte}.
+     * Prices are well within these limits, so the value is normally returned unchanged.
+     */
+    private static BigDecimal normalize(final BigDecimal value) {
+        BigDecimal result = value;
+
+        if (result.unscaledValue().bitLength() > 63) {
+            result = result.stripTrailingZeros();
+        }
+
+        if (result.unscaledValue().bitLength() > 63) {
+            result = result.round(MathContext.DECIMAL64);
+        }
+
+        if (result.scale() > Byte.MAX_VALUE) {
+            result = result.setScale(Byte.MAX_VALUE, RoundingMode.HALF_EVEN);
+        }
+
+        return result;
+    }
+
+    private static void writeDecimalColumn(final DataOutput out, final long[] values, final byte[] scales,
+                                           final int size) throws IOException {
+        long lastValue = 0;
+        long lastScale = 0;
+
+        for (int i = 0; i < size; i++) {
+            writeVarLong(out, values[i] - lastValue);
+            writeVarLong(out, scales[i] - lastScale);
+
+            lastValue = values[i];
+            lastScale = scales[i];
+        }
+    }
+
+    private static void readDecimalColumn(final DataInput in, final long[] values, final byte[] scales,
+                                          final int size) throws IOException {
+        long lastValue = 0;
+        long lastScale = 0;
+
+        for (int i = 0; i < size; i++) {
+            lastValue += readVarLong(in);
+            lastScale += readVarLong(in);
+
+            values[i] = lastValue;
+            scales[i] = (byte) lastScale;
+        }
+    }
+
+    /**
+     * Writes a zigzag encoded variable length long.
+     */
+    private static void writeVarLong(final DataOutput out, final long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+
+        out.writeByte((int) zigzag);
+    }
+
+    private static long readVarLong(final DataInput in) throws IOException {
+        long zigzag = 0;
+        int shift = 0;
+        int b;
+
+        do {
+            b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
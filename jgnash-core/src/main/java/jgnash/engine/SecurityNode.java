@@ -17,9 +17,11 @@
  */
 package jgnash.engine;
 
+import java.lang.ref.SoftReference;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -31,11 +33,13 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.FetchType;
 import javax.persistence.JoinTable;
+import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.PostLoad;
@@ -65,17 +69,38 @@ public class SecurityNode extends CommodityNode {
      */
     private String isin;
 
+    /**
+     * History saved by older file formats.  History is now stored in {@code historySeries} and this is only
+     * used for migration.
+     */
     @JoinTable
-    @OneToMany(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
+    @OneToMany(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER, orphanRemoval = true)
     private Set<SecurityHistoryNode> historyNodes = new HashSet<>();
 
+    /**
+     * Encoded {@code SecurityHistorySeries}.
+     */
+    @Lob
+    @Column(columnDefinition = "BLOB")
+    private byte[] historySeries;
+
     @JoinTable
     @OneToMany(cascade = {CascadeType.ALL}, fetch = FetchType.EAGER)
     private final Set<SecurityHistoryEvent> securityHistoryEvents = new HashSet<>();
 
     private transient ReadWriteLock lock;
 
-    private transient List<SecurityHistoryNode> sortedHistoryNodeCache = new ArrayList<>();
+    private transient SecurityHistorySeries series = new SecurityHistorySeries();
+
+    /**
+     * {@code true} if the series has changed since it was last encoded into {@code historySeries}.
+     */
+    private transient boolean historyModified;
+
+    /**
+     * Materialized history nodes, released under memory pressure.
+     */
+    private transient volatile SoftReference<List<SecurityHistoryNode>> historyNodeCache;
 
     public SecurityNode() {
         lock = new ReentrantReadWriteLock(true);
@@ -161,15 +186,35 @@ public class SecurityNode extends CommodityNode {
         return reportedCurrency;
     }
 
-    boolean addHistoryNode(final SecurityHistoryNode node) {
-
+    /**
+     * Adds a history node.  Existing history with a matching date is replaced.
+     *
+     * @param node history node to add
+     */
+    void addHistoryNode(final SecurityHistoryNode node) {
         lock.writeLock().lock();
 
         try {
-            sortedHistoryNodeCache.add(node);
-            Collections.sort(sortedHistoryNodeCache);
+            series.put(node);
+            historyChanged();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
 
-            return historyNodes.add(node);
+    /**
+     * Adds a collection of history nodes by merging them with the history in a single pass.  Existing
+     * history with a matching date is replaced.  If the collection contains more than one node for a date,
+     * the last one is used.
+     *
+     * @param nodes history nodes to add
+     */
+    void addHistoryNodes(final Collection<SecurityHistoryNode> nodes) {
+        lock.writeLock().lock();
+
+        try {
+            series.merge(nodes);
+            historyChanged();
         } finally {
             lock.writeLock().unlock();
         }
@@ -179,10 +224,10 @@ public class SecurityNode extends CommodityNode {
         lock.writeLock().lock();
 
         try {
-            final boolean result = historyNodes.removeIf(node -> node.getLocalDate().compareTo(date) == 0);
+            final boolean result = series.remove(date);
 
             if (result) {
-                sortedHistoryNodeCache.removeIf(node -> node.getLocalDate().compareTo(date) == 0);
+                historyChanged();
             }
 
             return result;
@@ -191,10 +236,62 @@ public class SecurityNode extends CommodityNode {
         }
     }
 
+    /**
+     * Moves history stored as individual {@code SecurityHistoryNode} entities by older file formats into the
+     * compact history blob.
+     *
+     * @return {@code true} if history was migrated and the {@code SecurityNode} needs to be persisted
+     */
+    boolean migrateHistoryNodes() {
+        lock.writeLock().lock();
+
+        try {
+            if (historyNodes.isEmpty()) {
+                return false;
+            }
+
+            series.merge(historyNodes);
+            historyNodes.clear();
+            historyChanged();
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flags the series for encoding and drops the materialized history.  Encoding is deferred until the node is
+     * persisted so a sequence of history changes does not encode the complete series each time.
+     */
+    private void historyChanged() {
+        historyModified = true;
+        historyNodeCache = null;
+    }
+
+    /**
+     * Encodes the history series if it has changed.  Must be called by the persistence layer before the node is
+     * stored.
+     */
+    public void encodeHistory() {
+        lock.writeLock().lock();
+
+        try {
+            if (historyModified) {
+                historySeries = series.encode();
+                historyModified = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     boolean addSecurityHistoryEvent(final SecurityHistoryEvent securityHistoryEvent) {
         lock.writeLock().lock();
 
         try {
+            historyNodeCache = null;    // adjusted prices may change
+
             return securityHistoryEvents.add(securityHistoryEvent);
         } finally {
             lock.writeLock().unlock();
@@ -211,6 +308,7 @@ public class SecurityNode extends CommodityNode {
             for (final SecurityHistoryEvent historyEvent : securityHistoryEvents) {
                 if (historyEvent.equals(securityHistoryEvent)) {
                     result = securityHistoryEvents.remove(historyEvent);
+                    historyNodeCache = null;    // adjusted prices may change
                     break;  // break to prevent concurrent modification error
                 }
             }
@@ -229,22 +327,13 @@ public class SecurityNode extends CommodityNode {
      * @return <tt>true</tt> if this SecurityNode contains a SecurityHistoryNode with the specified date
      */
     public boolean contains(final LocalDate date) {
-        boolean result = false;
-
         lock.readLock().lock();
 
         try {
-            for (final SecurityHistoryNode node : historyNodes) {
-                if (node.getLocalDate().compareTo(date) == 0) {
-                    result = true;
-                    break;
-                }
-            }
+            return series.indexOf(date) >= 0;
         } finally {
             lock.readLock().unlock();
         }
-
-        return result;
     }
 
     /**
@@ -259,6 +348,24 @@ public class SecurityNode extends CommodityNode {
         lock.readLock().lock();
 
         try {
+            return getCachedHistoryNodes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the materialized history nodes, creating them from the series if they have been released.
+     * Must be called with the read or write lock held.
+     */
+    private List<SecurityHistoryNode> getCachedHistoryNodes() {
+        final SoftReference<List<SecurityHistoryNode>> reference = historyNodeCache;
+
+        List<SecurityHistoryNode> nodes = reference != null ? reference.get() : null;
+
+        if (nodes == null) {
+            nodes = series.getNodes();
+
             final List<SecurityHistoryEvent> splits = getSplitEvents();
 
             if (!splits.isEmpty()) {
@@ -270,22 +377,23 @@ public class SecurityNode extends CommodityNode {
                 historyEventIterator.next();    // reset back to the tail
 
                 // work backwards
-                for (int i = sortedHistoryNodeCache.size() - 1; i >= 0; i--) {
-                    if (DateUtils.after(eventDate, sortedHistoryNodeCache.get(i).getLocalDate())
+                for (int i = nodes.size() - 1; i >= 0; i--) {
+                    if (DateUtils.after(eventDate, nodes.get(i).getLocalDate())
                             && historyEventIterator.hasPrevious()) {
                         final SecurityHistoryEvent historyEvent = historyEventIterator.previous();
                         eventDate = historyEvent.getDate();
                         scalar = scalar.divide(historyEvent.getValue(), MathConstants.mathContext);
                     }
 
-                    sortedHistoryNodeCache.get(i).setAdjustmentMultiplier(scalar);
+                    nodes.get(i).setAdjustmentMultiplier(scalar);
                 }
             }
 
-            return Collections.unmodifiableList(sortedHistoryNodeCache);
-        } finally {
-            lock.readLock().unlock();
+            nodes = Collections.unmodifiableList(nodes);
+            historyNodeCache = new SoftReference<>(nodes);
         }
+
+        return nodes;
     }
 
     /**
@@ -297,10 +405,9 @@ public class SecurityNode extends CommodityNode {
         lock.readLock().lock();
 
         try {
-            if (sortedHistoryNodeCache.size() > 1) {
+            if (series.size() > 1) {
                 return Optional.of(new LocalDate[]{
-                        sortedHistoryNodeCache.get(0).getLocalDate(),
-                        sortedHistoryNodeCache.get(sortedHistoryNodeCache.size() - 1).getLocalDate()
+                        series.getLocalDate(0), series.getLocalDate(series.size() - 1)
                 });
             }
             return Optional.empty();
@@ -389,19 +496,7 @@ public class SecurityNode extends CommodityNode {
         lock.readLock().lock();
 
         try {
-            SecurityHistoryNode hNode = null;
-
-            // Work backwards through the list as the newest date is requested the most
-            for (int i = sortedHistoryNodeCache.size() - 1; i >= 0; i--) {
-                final SecurityHistoryNode node = sortedHistoryNodeCache.get(i);
-
-                if (date.compareTo(node.getLocalDate()) == 0) {
-                    hNode = node;
-                    break;
-                }
-            }
-
-            return Optional.ofNullable(hNode);
+            return getHistoryNode(series.indexOf(date));
         } finally {
             lock.readLock().unlock();
         }
@@ -414,39 +509,40 @@ public class SecurityNode extends CommodityNode {
      * @return {@code Optional} containing a {@code SecurityHistoryNode} if a match is found
      */
     public Optional<SecurityHistoryNode> getClosestHistoryNode(final LocalDate date) {
-        final long epochDay = date.toEpochDay();
-
         lock.readLock().lock();
 
         try {
-            SecurityHistoryNode hNode = null;
-
-            // Work backwards through the list as the newest date is requested the most
-            for (int i = sortedHistoryNodeCache.size() - 1; i >= 0; i--) {
-                final SecurityHistoryNode node = sortedHistoryNodeCache.get(i);
-
-                if (node.getLocalDate().toEpochDay() <= epochDay) {
-                    hNode = node;
-                    break;
-                }
-            }
-
-            return Optional.ofNullable(hNode);
+            return getHistoryNode(series.floorIndex(date));
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    /**
+     * Returns the history node at an index of the series.  Materialized history is reused if available to avoid
+     * creating a new instance.  Must be called with the read or write lock held.
+     */
+    private Optional<SecurityHistoryNode> getHistoryNode(final int index) {
+        if (index < 0) {
+            return Optional.empty();
+        }
+
+        final SoftReference<List<SecurityHistoryNode>> reference = historyNodeCache;
+        final List<SecurityHistoryNode> nodes = reference != null ? reference.get() : null;
+
+        return Optional.of(nodes != null ? nodes.get(index) : series.getNode(index));
+    }
+
     private BigDecimal getMarketPrice(final LocalDate date) {
-        BigDecimal marketPrice = BigDecimal.ZERO;
+        lock.readLock().lock();
 
-        final Optional<SecurityHistoryNode> optional = getClosestHistoryNode(date);
+        try {
+            final int index = series.floorIndex(date);
 
-        if (optional.isPresent()) {
-            marketPrice = optional.get().getPrice();
+            return index >= 0 ? series.getPrice(index) : BigDecimal.ZERO;
+        } finally {
+            lock.readLock().unlock();
         }
-
-        return marketPrice;
     }
 
     /**
@@ -473,6 +569,8 @@ public class SecurityNode extends CommodityNode {
         try {
             SecurityNode node = (SecurityNode) super.clone();
             node.historyNodes = new HashSet<>();
+            node.historySeries = null;
+            node.historyNodeCache = null;
             node.postLoad();
 
             return node;
@@ -492,12 +590,27 @@ public class SecurityNode extends CommodityNode {
         return this;
     }
 
+    /**
+     * Required by XStream to encode pending history changes before the node is written.
+     *
+     * @return this SecurityNode
+     */
+    protected Object writeReplace() {
+        encodeHistory();
+        return this;
+    }
+
     @PostLoad
     private void postLoad() {
         lock = new ReentrantReadWriteLock(true);
 
-        // load the cache list
-        sortedHistoryNodeCache = new ArrayList<>(historyNodes);
-        Collections.sort(sortedHistoryNodeCache);   // JPA will be naturally sorted, but XML files will not
+        series = SecurityHistorySeries.decode(historySeries);
+        historyModified = false;
+        historyNodeCache = null;
+
+        // merge history saved by older file formats until migrated by the engine
+        if (!historyNodes.isEmpty()) {
+            series.merge(historyNodes);
+        }
     }
 }
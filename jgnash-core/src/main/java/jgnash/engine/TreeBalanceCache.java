@@ -0,0 +1,138 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of the rolled up balances of an {@code Account} and its children.
+ * <p>
+ * Balances are cached by currency and are cleared along the chain of ancestors when a balance within the tree
+ * changes.  Conversions use the last known exchange rate, so all entries are dropped when any exchange rate changes.
+ * A version is taken before a balance is calculated and the result is discarded if the cache was cleared in the
+ * meantime.
+ *
+ * @author Craig Cavanaugh
+ */
+final class TreeBalanceCache {
+
+    /**
+     * Limits the number of dated balances retained, reports may request many dates.
+     */
+    private static final int MAX_ENTRIES = 128;
+
+    private final Map<Key, BigDecimal> balances = new HashMap<>();
+
+    private long version;
+
+    private long exchangeRateVersion = ExchangeRate.getModificationCount();
+
+    synchronized long getVersion() {
+        validate();
+        return version;
+    }
+
+    synchronized BigDecimal get(final Key key) {
+        validate();
+        return balances.get(key);
+    }
+
+    /**
+     * Caches a balance if the cache has not been cleared since the version was taken.
+     *
+     * @param version version taken before the balance was calculated
+     * @param key     balance key
+     * @param balance calculated balance
+     */
+    synchronized void put(final long version, final Key key, final BigDecimal balance) {
+        validate();
+
+        if (this.version == version) {
+            if (balances.size() >= MAX_ENTRIES) {
+                balances.clear();
+            }
+
+            balances.put(key, balance);
+        }
+    }
+
+    synchronized void clear() {
+        version++;
+        balances.clear();
+    }
+
+    private void validate() {
+        final long count = ExchangeRate.getModificationCount();
+
+        if (count != exchangeRateVersion) {
+            exchangeRateVersion = count;
+            clear();
+        }
+    }
+
+    static Key balanceKey(final CurrencyNode node) {
+        return new Key(false, null, node);
+    }
+
+    static Key reconciledBalanceKey(final CurrencyNode node) {
+        return new Key(true, null, node);
+    }
+
+    static Key balanceKey(final LocalDate date, final CurrencyNode node) {
+        return new Key(false, Objects.requireNonNull(date), node);
+    }
+
+    static final class Key {
+
+        private final boolean reconciled;
+
+        private final LocalDate date;
+
+        private final CurrencyNode node;
+
+        private Key(final boolean reconciled, final LocalDate date, final CurrencyNode node) {
+            this.reconciled = reconciled;
+            this.date = date;
+            this.node = Objects.requireNonNull(node);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+
+            return reconciled == key.reconciled && Objects.equals(date, key.date) && node.equals(key.node);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(reconciled, date, node);
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package jgnash.engine.budget;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -29,6 +30,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import jgnash.engine.Account;
@@ -38,6 +40,7 @@ import jgnash.engine.Comparators;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.engine.PeriodBalances;
 import jgnash.engine.RootAccount;
 import jgnash.engine.Transaction;
 import jgnash.engine.message.Message;
@@ -64,6 +67,12 @@ public class BudgetResultsModel implements MessageListener {
 
     private final List<BudgetPeriodDescriptor> descriptorList;
 
+    private final Map<BudgetPeriodDescriptor, Integer> descriptorIndexMap = new HashMap<>();
+
+    private final List<LocalDate> startDates = new ArrayList<>();
+
+    private final List<LocalDate> endDates = new ArrayList<>();
+
     private final ReentrantReadWriteLock accountLock = new ReentrantReadWriteLock();
 
     private final ReentrantLock cacheLock = new ReentrantLock();
@@ -76,6 +85,17 @@ public class BudgetResultsModel implements MessageListener {
 
     private final Map<BudgetPeriodDescriptor, Map<AccountGroup, BudgetPeriodResults>> descriptorAccountGroupResultsCache;
 
+    /**
+     * Change of each account for every period, excluding child accounts.  Calculated with one pass over the
+     * transactions of the account.
+     */
+    private final Map<Account, BigDecimal[]> accountChangeCache = new HashMap<>();
+
+    /**
+     * Incremented when cached results are cleared so results calculated concurrently are not cached.
+     */
+    private long cacheVersion;
+
     private final boolean useRunningTotals;
 
     /**
@@ -87,6 +107,12 @@ public class BudgetResultsModel implements MessageListener {
         this.budget = budget;
         this.descriptorList = BudgetPeriodDescriptorFactory.getDescriptors(year, budget.getStartMonth(), budget.getBudgetPeriod());
 
+        for (int i = 0; i < descriptorList.size(); i++) {
+            descriptorIndexMap.put(descriptorList.get(i), i);
+            startDates.add(descriptorList.get(i).getStartDate());
+            endDates.add(descriptorList.get(i).getEndDate());
+        }
+
         this.baseCurrency = baseCurrency;
         this.useRunningTotals = useRunningTotals;
 
@@ -324,6 +350,9 @@ public class BudgetResultsModel implements MessageListener {
         cacheLock.lock();
 
         try {
+            cacheVersion++;
+
+            accountChangeCache.clear();
             accountResultsCache.clear();
             accountGroupResultsCache.clear();
             descriptorAccountResultsCache.clear();
@@ -341,16 +370,8 @@ public class BudgetResultsModel implements MessageListener {
      * @return cached or newly created BudgetPeriodResults
      */
     public BudgetPeriodResults getResults(final BudgetPeriodDescriptor descriptor, final Account account) {
-        cacheLock.lock();
-
-        try {
-            final Map<Account, BudgetPeriodResults> resultsMap
-                    = descriptorAccountResultsCache.computeIfAbsent(descriptor, k -> new HashMap<>());
-
-            return resultsMap.computeIfAbsent(account, k -> buildAccountResults(descriptor, account, true));
-        } finally {
-            cacheLock.unlock();
-        }
+        return getResults(() -> descriptorAccountResultsCache.computeIfAbsent(descriptor, k -> new HashMap<>()),
+                account, () -> buildAccountResults(descriptor, account, true));
     }
 
     /**
@@ -362,16 +383,8 @@ public class BudgetResultsModel implements MessageListener {
      * @return summary results
      */
     public BudgetPeriodResults getResults(final BudgetPeriodDescriptor descriptor, final AccountGroup group) {
-        cacheLock.lock();
-
-        try {
-            final Map<AccountGroup, BudgetPeriodResults> resultsMap = descriptorAccountGroupResultsCache
-                    .computeIfAbsent(descriptor, k -> new EnumMap<>(AccountGroup.class));
-
-            return resultsMap.computeIfAbsent(group, k -> buildResults(descriptor, group));
-        } finally {
-            cacheLock.unlock();
-        }
+        return getResults(() -> descriptorAccountGroupResultsCache.computeIfAbsent(descriptor,
+                k -> new EnumMap<>(AccountGroup.class)), group, () -> buildResults(descriptor, group));
     }
 
     /**
@@ -381,31 +394,104 @@ public class BudgetResultsModel implements MessageListener {
      * @return summary results
      */
     public BudgetPeriodResults getResults(final Account account) {
+        return getResults(() -> accountResultsCache, account, () -> buildResults(account));
+    }
+
+    /**
+     * Gets summary result by account group (corner summary).
+     *
+     * @param accountGroup AccountGroup for summary
+     * @return summary results
+     */
+    public BudgetPeriodResults getResults(final AccountGroup accountGroup) {
+        return getResults(() -> accountGroupResultsCache, accountGroup, () -> buildResults(accountGroup));
+    }
+
+    /**
+     * Returns cached results or builds and caches them.  Results are built without holding the cache lock so cached
+     * results remain available to other threads while results are calculated in the background.
+     *
+     * @param cache   supplies the cache, called while holding the cache lock
+     * @param key     results key
+     * @param builder builds the results if not cached
+     * @param <K>     key type
+     * @return cached or newly created BudgetPeriodResults
+     */
+    private <K> BudgetPeriodResults getResults(final Supplier<Map<K, BudgetPeriodResults>> cache, final K key,
+                                               final Supplier<BudgetPeriodResults> builder) {
+        final long version;
+
         cacheLock.lock();
 
         try {
-            return accountResultsCache.computeIfAbsent(account, k -> buildResults(account));
+            final BudgetPeriodResults results = cache.get().get(key);
+
+            if (results != null) {
+                return results;
+            }
+
+            version = cacheVersion;
         } finally {
             cacheLock.unlock();
         }
+
+        final BudgetPeriodResults results = builder.get();
+
+        cacheLock.lock();
+
+        try {
+            if (version == cacheVersion) {  // do not cache if cleared while building
+                cache.get().put(key, results);
+            }
+        } finally {
+            cacheLock.unlock();
+        }
+
+        return results;
     }
 
     /**
-     * Gets summary result by account group (corner summary).
+     * Returns the change of an account for every period excluding any child accounts.
      *
-     * @param accountGroup AccountGroup for summary
-     * @return summary results
+     * @param account Account
+     * @return period changes in the currency of the account
      */
-    public BudgetPeriodResults getResults(final AccountGroup accountGroup) {
+    private BigDecimal[] getPeriodChanges(final Account account) {
+        final long version;
+
         cacheLock.lock();
 
         try {
-            return accountGroupResultsCache.computeIfAbsent(accountGroup, k -> buildResults(accountGroup));
+            final BigDecimal[] changes = accountChangeCache.get(account);
+
+            if (changes != null) {
+                return changes;
+            }
+
+            version = cacheVersion;
+        } finally {
+            cacheLock.unlock();
+        }
+
+        final PeriodBalances balances = account.getPeriodBalances(startDates, endDates, account.getCurrencyNode());
+        final BigDecimal[] changes = new BigDecimal[balances.getPeriodCount()];
+
+        for (int i = 0; i < changes.length; i++) {
+            changes[i] = balances.getPeriodBalance(i);
+        }
+
+        cacheLock.lock();
+
+        try {
+            if (version == cacheVersion) {
+                accountChangeCache.put(account, changes);
+            }
         } finally {
             cacheLock.unlock();
         }
-    }
 
+        return changes;
+    }
 
     private BudgetPeriodResults buildAccountResults(final BudgetPeriodDescriptor descriptor, final Account account,
                                                     final boolean includeBaseAccountResults) {
@@ -421,17 +507,18 @@ public class BudgetResultsModel implements MessageListener {
                 results.setBudgeted(goal.getGoal(descriptor.getStartPeriod(), descriptor.getEndPeriod(),
                         descriptor.getStartDate().isLeapYear()));
 
+                final int index = descriptorIndexMap.get(descriptor);
+                final BigDecimal change = getPeriodChanges(account)[index];
+
                 // calculate the change and remaining amount for the budget
                 if (account.getAccountType() == AccountType.INCOME) {
-                    results.setChange(account.getBalance(descriptor.getStartDate(), descriptor.getEndDate()).negate());
+                    results.setChange(change.negate());
                     results.setRemaining(results.getChange().subtract(results.getBudgeted()));
                 } else {
-                    results.setChange(account.getBalance(descriptor.getStartDate(), descriptor.getEndDate()));
+                    results.setChange(change);
                     results.setRemaining(results.getBudgeted().subtract(results.getChange()));
                 }
 
-                final int index = descriptorList.indexOf(descriptor);
-
                 // per account running total
                 if (useRunningTotals && index > 0 && includeBaseAccountResults) {
                     final BudgetPeriodResults priorResults = getResults(descriptorList.get(index - 1), account);
@@ -503,7 +590,7 @@ public class BudgetResultsModel implements MessageListener {
         final BudgetPeriodResults results = new BudgetPeriodResults();
 
         if (useRunningTotals) {
-            final int index = descriptorList.indexOf(descriptor);
+            final int index = descriptorIndexMap.get(descriptor);
             if (index > 0) {
                 final BudgetPeriodResults priorResults = getResults(descriptorList.get(index - 1), group);
 
@@ -603,6 +690,10 @@ public class BudgetResultsModel implements MessageListener {
             cacheLock.lock();
 
             try {
+                cacheVersion++;
+
+                accountChangeCache.remove(account);
+
                 // clear cached results
                 // could be mixed group tree
                 account.getAncestors().stream().filter(accounts::contains).forEach(ancestor -> {
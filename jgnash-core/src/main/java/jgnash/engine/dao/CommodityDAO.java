@@ -17,6 +17,7 @@
  */
 package jgnash.engine.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -57,6 +58,16 @@ public interface CommodityDAO extends DAO {
      */
     boolean addSecurityHistory(final SecurityNode node, final SecurityHistoryNode historyNode);
 
+    /**
+     * Call after a collection of {@code SecurityHistoryNode} has been added.  This pushes the update
+     * to the underlying database with a single commit
+     * @param node {@code SecurityNode} to update
+     * @param historyNodes {@code SecurityHistoryNode}s to add
+     *
+     * @return true if successful
+     */
+    boolean addSecurityHistory(final SecurityNode node, final Collection<SecurityHistoryNode> historyNodes);
+
     /**
      * Call after a {@code SecurityHistoryEvent} has been added.  This pushes the update
      * to the underlying database
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,10 +39,26 @@ public interface TransactionDAO extends DAO {
 
     boolean addTransaction(Transaction transaction);
 
+    /**
+     * Adds a collection of transactions with a single commit.
+     *
+     * @param transactions transactions to add
+     * @return true if successful
+     */
+    boolean addTransactions(Collection<Transaction> transactions);
+
     Transaction getTransactionByUuid(final UUID uuid);
 
     boolean removeTransaction(Transaction transaction);
 
+    /**
+     * Persists changes made in place to a collection of transactions with a single commit.
+     *
+     * @param transactions transactions to update
+     * @return true if successful
+     */
+    boolean updateTransactions(Collection<Transaction> transactions);
+
     /**
      * Returns a list of transactions with external links.
      *
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.jpa;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -59,12 +60,20 @@ class JpaCommodityDAO extends AbstractJpaDAO implements CommodityDAO {
      */
     @Override
     public boolean addCommodity(final CommodityNode node) {
+        encodeHistory(node);
         return persist(node);
     }
 
     @Override
     public boolean addSecurityHistory(final SecurityNode node, final SecurityHistoryNode historyNode) {
-        return persist(historyNode, node);
+        node.encodeHistory();
+        return persist(node);   // history is stored within the SecurityNode
+    }
+
+    @Override
+    public boolean addSecurityHistory(final SecurityNode node, final Collection<SecurityHistoryNode> historyNodes) {
+        node.encodeHistory();
+        return persist(node);
     }
 
     @Override
@@ -75,7 +84,8 @@ class JpaCommodityDAO extends AbstractJpaDAO implements CommodityDAO {
 
     @Override
     public boolean removeSecurityHistory(final SecurityNode node, final SecurityHistoryNode historyNode) {
-        return persist(node, historyNode);
+        node.encodeHistory();
+        return persist(node);
     }
 
     @Override
@@ -160,9 +170,21 @@ class JpaCommodityDAO extends AbstractJpaDAO implements CommodityDAO {
      */
     @Override
     public boolean updateCommodityNode(final CommodityNode node) {
+        encodeHistory(node);
         return merge(node) != null;
     }
 
+    /**
+     * Security history is encoded lazily and must be encoded before the node is stored.
+     *
+     * @param node node that will be stored
+     */
+    private static void encodeHistory(final CommodityNode node) {
+        if (node instanceof SecurityNode) {
+            ((SecurityNode) node).encodeHistory();
+        }
+    }
+
     /*
      * @see jgnash.engine.CommodityDAOInterface#getActiveAccountCommodities()
      */
@@ -18,8 +18,11 @@
 package jgnash.engine.jpa;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -29,6 +32,7 @@ import java.util.logging.Logger;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
+import jgnash.engine.Account;
 import jgnash.engine.Transaction;
 import jgnash.engine.dao.TransactionDAO;
 
@@ -89,6 +93,44 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
         return result;
     }
 
+    @Override
+    public synchronized boolean addTransactions(final Collection<Transaction> transactions) {
+        boolean result = false;
+
+        try {
+            final Future<Boolean> future = executorService.submit(() -> {
+                emLock.lock();
+
+                try {
+                    em.getTransaction().begin();
+
+                    final Set<Account> accounts = new HashSet<>();
+
+                    for (final Transaction transaction : transactions) {
+                        em.persist(transaction);
+                        accounts.addAll(transaction.getAccounts());
+                    }
+
+                    accounts.forEach(em::persist);
+
+                    em.getTransaction().commit();
+
+                    dirtyFlag.set(true);
+
+                    return true;
+                } finally {
+                    emLock.unlock();
+                }
+            });
+
+            result = future.get();  // block and return
+        } catch (final InterruptedException | ExecutionException e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+
+        return result;
+    }
+
     @Override
     public Transaction getTransactionByUuid(final UUID uuid) {
         return getObjectByUuid(Transaction.class, uuid);
@@ -130,6 +172,37 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
         return result;
     }
 
+    @Override
+    public synchronized boolean updateTransactions(final Collection<Transaction> transactions) {
+        boolean result = false;
+
+        try {
+            final Future<Boolean> future = executorService.submit(() -> {
+                emLock.lock();
+
+                try {
+                    em.getTransaction().begin();
+
+                    transactions.forEach(em::merge);
+
+                    em.getTransaction().commit();
+
+                    dirtyFlag.set(true);
+
+                    return true;
+                } finally {
+                    emLock.unlock();
+                }
+            });
+
+            result = future.get();  // block and return
+        } catch (final InterruptedException | ExecutionException e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+
+        return result;
+    }
+
     @Override
     public List<Transaction> getTransactionsWithAttachments() {
         List<Transaction> transactionList = Collections.emptyList();
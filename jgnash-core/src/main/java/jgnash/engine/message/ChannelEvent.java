@@ -78,6 +78,8 @@ public enum ChannelEvent {
     SECURITY_HISTORY_EVENT_REMOVE_FAILED,
     TRANSACTION_ADD,
     TRANSACTION_ADD_FAILED,
+    TRANSACTION_MODIFY,
+    TRANSACTION_MODIFY_FAILED,
     TRANSACTION_REMOVE,
     TRANSACTION_REMOVE_FAILED,
     TAG_ADD,
@@ -26,9 +26,14 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Message object.
@@ -45,6 +50,11 @@ public class Message implements Serializable, Cloneable {
 
     private transient EnumMap<MessageProperty, StoredObject> properties = new EnumMap<>(MessageProperty.class);
 
+    /**
+     * Comma separated UUIDs of the objects changed by a batch operation, {@code null} if not set.
+     */
+    private String uuids;
+
     /**
      * Used to flag message sent remotely.
      */
@@ -100,6 +110,35 @@ public class Message implements Serializable, Cloneable {
         return (T) properties.get(key);
     }
 
+    /**
+     * Sets the UUIDs of the objects changed by a batch operation so receivers only need to refresh those objects.
+     *
+     * @param objects changed objects
+     */
+    public void setUuids(@NotNull final Collection<? extends StoredObject> objects) {
+        uuids = objects.stream().map(object -> object.getUuid().toString()).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Returns the UUIDs of the objects changed by a batch operation.
+     *
+     * @return list of UUIDs, empty if not set
+     */
+    @NotNull
+    public List<UUID> getUuids() {
+        if (uuids == null || uuids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<UUID> list = new ArrayList<>();
+
+        for (final String uuid : uuids.split(",")) {
+            list.add(UUID.fromString(uuid));
+        }
+
+        return list;
+    }
+
     public String getSource() {
         return source;
     }
@@ -37,6 +37,7 @@ import io.netty.util.ReferenceCountUtil;
 
 import java.io.CharArrayWriter;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.locks.ReentrantLock;
@@ -394,6 +395,28 @@ class MessageBusClient {
                     engine.refresh(account);
                     message.setObject(MessageProperty.ACCOUNT, engine.getAccountByUuid(account.getUuid()));
                     break;
+                case TRANSACTION_MODIFY:
+                    final Account modifiedAccount = message.getObject(MessageProperty.ACCOUNT);
+                    final Transaction modifiedTransaction = message.getObject(MessageProperty.TRANSACTION);
+
+                    // a batch modification identifies the transactions by UUID
+                    if (modifiedTransaction != null) {
+                        engine.refresh(modifiedTransaction);
+                        message.setObject(MessageProperty.TRANSACTION,
+                                engine.getTransactionByUuid(modifiedTransaction.getUuid()));
+                    } else {
+                        for (final UUID uuid : message.getUuids()) {
+                            final Transaction batchTransaction = engine.getTransactionByUuid(uuid);
+
+                            if (batchTransaction != null) {
+                                engine.refresh(batchTransaction);
+                            }
+                        }
+                    }
+
+                    engine.refresh(modifiedAccount);
+                    message.setObject(MessageProperty.ACCOUNT, engine.getAccountByUuid(modifiedAccount.getUuid()));
+                    break;
                 default:
                     break;
             }
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.xstream;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -48,6 +49,14 @@ class XStreamTransactionDAO extends AbstractXStreamDAO implements TransactionDAO
         return true;
     }
 
+    @Override
+    public boolean addTransactions(final Collection<Transaction> transactions) {
+        transactions.forEach(container::set);
+        commit();
+
+        return true;
+    }
+
     @Override
     public Transaction getTransactionByUuid(final UUID uuid) {
         return getObjectByUuid(Transaction.class, uuid);
@@ -59,6 +68,12 @@ class XStreamTransactionDAO extends AbstractXStreamDAO implements TransactionDAO
         return true;
     }
 
+    @Override
+    public boolean updateTransactions(final Collection<Transaction> transactions) {
+        commit();
+        return true;
+    }
+
     @Override
     public List<Transaction> getTransactionsWithAttachments() {
         return container.query(Transaction.class).parallelStream()
@@ -18,9 +18,7 @@
 package jgnash.net.currency;
 
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Callable;
 
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
@@ -73,32 +71,4 @@ public class CurrencyUpdateFactory {
 
         return optional;
     }
-
-    public static class UpdateExchangeRatesCallable implements Callable<Boolean> {
-
-        @Override
-        public Boolean call() {
-
-            boolean result = false;
-
-            final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
-
-            if (engine != null) {
-                final List<CurrencyNode> list = engine.getCurrencies();
-
-                for (final CurrencyNode source : list) {
-                    list.stream().filter(target -> !source.equals(target)
-                            && source.getSymbol().compareToIgnoreCase(target.getSymbol()) > 0).forEach(target -> {
-
-                        final Optional<BigDecimal> rate = CurrencyUpdateFactory.getExchangeRate(source, target);
-
-                        rate.ifPresent(value -> engine.setExchangeRate(source, target, value));
-                    });
-                }
-                result = true;
-            }
-
-            return result;
-        }
-    }
 }
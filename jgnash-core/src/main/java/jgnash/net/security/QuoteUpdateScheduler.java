@@ -0,0 +1,426 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.net.security;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.Engine;
+import jgnash.engine.QuoteSource;
+import jgnash.engine.SecurityHistoryEvent;
+import jgnash.engine.SecurityHistoryNode;
+import jgnash.engine.SecurityNode;
+import jgnash.net.currency.CurrencyUpdateFactory;
+import jgnash.net.security.iex.IEXParser;
+import jgnash.resource.util.ResourceUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
+import jgnash.util.LogUtil;
+import jgnash.util.NotNull;
+
+/**
+ * Concurrent, rate limited scheduler for security quote and exchange rate updates.
+ * <p>
+ * Securities are grouped by {@code QuoteSource} and each source is serviced by a limited number of workers.  Requests
+ * to a source are additionally spaced by a minimum interval, and failed requests are retried with an exponential
+ * backoff.  All history retrieved for a security is written to the engine as a single batch once the download for
+ * that security has completed.
+ * <p>
+ * The {@code SecurityParser} used for a {@code QuoteSource} is supplied by a factory function so alternative
+ * parsers may be used for testing.
+ *
+ * @author Craig Cavanaugh
+ */
+public class QuoteUpdateScheduler {
+
+    /**
+     * Default number of concurrent requests per quote source.
+     */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /**
+     * Default minimum interval between requests to a quote source in milliseconds.
+     */
+    public static final long DEFAULT_REQUEST_INTERVAL = 100;
+
+    /**
+     * Default number of retries after a failed request.
+     */
+    public static final int DEFAULT_RETRIES = 2;
+
+    /**
+     * Initial retry delay in milliseconds, doubled for each successive retry.
+     */
+    private static final long BACKOFF_DELAY = 500;
+
+    /**
+     * Number of securities that may fail before the remaining updates are abandoned.
+     */
+    private static final int MAX_ERRORS = 3;
+
+    /**
+     * Key used to rate limit exchange rate requests.
+     */
+    private static final String CURRENCY_SOURCE = "currency";
+
+    private static final Logger logger = Logger.getLogger(QuoteUpdateScheduler.class.getName());
+
+    private final Function<QuoteSource, SecurityParser> parserFactory;
+
+    private final int concurrency;
+
+    private final long requestInterval;
+
+    private final int retries;
+
+    private final Map<Object, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private final ExecutorService executorService =
+            Executors.newCachedThreadPool(new DefaultDaemonThreadFactory("Quote Update Scheduler"));
+
+    public QuoteUpdateScheduler() {
+        this(QuoteSource::getParser, DEFAULT_CONCURRENCY, DEFAULT_REQUEST_INTERVAL, DEFAULT_RETRIES);
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param parserFactory   function returning the {@code SecurityParser} for a {@code QuoteSource}
+     * @param concurrency     maximum number of concurrent requests per quote source
+     * @param requestInterval minimum interval between requests to a quote source in milliseconds
+     * @param retries         number of retries after a failed request
+     */
+    public QuoteUpdateScheduler(@NotNull final Function<QuoteSource, SecurityParser> parserFactory,
+                                final int concurrency, final long requestInterval, final int retries) {
+        if (concurrency < 1 || requestInterval < 0 || retries < 0) {
+            throw new IllegalArgumentException("Invalid scheduler configuration");
+        }
+
+        this.parserFactory = parserFactory;
+        this.concurrency = concurrency;
+        this.requestInterval = requestInterval;
+        this.retries = retries;
+    }
+
+    /**
+     * Updates the latest price history and the history events of the supplied securities.  The call blocks until
+     * all securities have been processed, the update is abandoned because of excessive errors, or the calling
+     * thread is interrupted.
+     *
+     * @param engine     {@code Engine} to save history to
+     * @param securities securities to update
+     * @return {@code true} if all securities were updated without error
+     */
+    public boolean updateSecurities(@NotNull final Engine engine, @NotNull final Collection<SecurityNode> securities) {
+        final Map<QuoteSource, Queue<SecurityNode>> queues = new EnumMap<>(QuoteSource.class);
+
+        for (final SecurityNode securityNode : securities) {
+            if (securityNode.getQuoteSource() != QuoteSource.NONE) {
+                queues.computeIfAbsent(securityNode.getQuoteSource(), k -> new ConcurrentLinkedQueue<>())
+                        .add(securityNode);
+            }
+        }
+
+        final AtomicInteger errors = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        for (final Map.Entry<QuoteSource, Queue<SecurityNode>> entry : queues.entrySet()) {
+            final SecurityParser parser = parserFactory.apply(entry.getKey());
+
+            if (parser == null) {
+                errors.addAndGet(entry.getValue().size());
+                continue;
+            }
+
+            parser.setTokenSupplier(() -> getToken(engine, parser));
+
+            final RateLimiter rateLimiter = getRateLimiter(entry.getKey());
+            final Queue<SecurityNode> queue = entry.getValue();
+
+            // each worker drains the shared queue which bounds the concurrency per source
+            for (int i = 0; i < Math.min(concurrency, queue.size()); i++) {
+                futures.add(executorService.submit(() -> {
+                    SecurityNode securityNode;
+
+                    while (errors.get() < MAX_ERRORS && !Thread.currentThread().isInterrupted()
+                            && (securityNode = queue.poll()) != null) {
+
+                        // prices are kept even if the events can not be retrieved
+                        if (!updatePrices(engine, parser, rateLimiter, securityNode)) {
+                            errors.incrementAndGet();
+                        }
+
+                        if (!Thread.currentThread().isInterrupted()
+                                && !updateEvents(engine, parser, rateLimiter, securityNode)) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+        }
+
+        waitForCompletion(futures);
+
+        if (errors.get() >= MAX_ERRORS) {
+            logger.warning("Security update was abandoned because of excessive errors");
+        }
+
+        return errors.get() == 0;
+    }
+
+    /**
+     * Updates the exchange rates between all currencies concurrently.
+     *
+     * @param engine {@code Engine} to save the exchange rates to
+     * @return {@code true} if all exchange rates were updated without error
+     */
+    public boolean updateExchangeRates(@NotNull final Engine engine) {
+        final List<CurrencyNode> currencies = engine.getCurrencies();
+        final RateLimiter rateLimiter = getRateLimiter(CURRENCY_SOURCE);
+
+        final AtomicInteger errors = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+
+        final Queue<CurrencyNode[]> queue = new ConcurrentLinkedQueue<>();
+
+        for (final CurrencyNode source : currencies) {
+            for (final CurrencyNode target : currencies) {
+                if (!source.equals(target) && source.getSymbol().compareToIgnoreCase(target.getSymbol()) > 0) {
+                    queue.add(new CurrencyNode[]{source, target});
+                }
+            }
+        }
+
+        for (int i = 0; i < Math.min(concurrency, queue.size()); i++) {
+            futures.add(executorService.submit(() -> {
+                CurrencyNode[] pair;
+
+                while (!Thread.currentThread().isInterrupted() && (pair = queue.poll()) != null) {
+                    final CurrencyNode source = pair[0];
+                    final CurrencyNode target = pair[1];
+
+                    try {
+                        final Optional<BigDecimal> rate = callWithRetry(rateLimiter,
+                                () -> CurrencyUpdateFactory.getExchangeRate(source, target));
+
+                        rate.ifPresent(value -> engine.setExchangeRate(source, target, value));
+                    } catch (final IOException | IllegalArgumentException e) {
+                        errors.incrementAndGet();
+                        LogUtil.logSevere(QuoteUpdateScheduler.class, e);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+
+        waitForCompletion(futures);
+
+        return errors.get() == 0;
+    }
+
+    /**
+     * Stops the scheduler.  Running updates are interrupted.
+     */
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    private boolean updatePrices(final Engine engine, final SecurityParser parser, final RateLimiter rateLimiter,
+                                 final SecurityNode securityNode) {
+        try {
+            final List<SecurityHistoryNode> historyNodes = callWithRetry(rateLimiter,
+                    () -> parser.retrieveHistoricalPrice(securityNode, LocalDate.now().minusDays(1), LocalDate.now()));
+
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            saveHistory(engine, securityNode, historyNodes);
+
+            return true;
+        } catch (final IOException | IllegalArgumentException e) {
+            LogUtil.logSevere(QuoteUpdateScheduler.class, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    private boolean updateEvents(final Engine engine, final SecurityParser parser, final RateLimiter rateLimiter,
+                                 final SecurityNode securityNode) {
+        try {
+            final Set<SecurityHistoryEvent> historyEvents = callWithRetry(rateLimiter,
+                    () -> parser.retrieveHistoricalEvents(securityNode, LocalDate.now()));
+
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            saveHistoryEvents(engine, securityNode, historyEvents);
+
+            return true;
+        } catch (final IOException | IllegalArgumentException e) {
+            LogUtil.logSevere(QuoteUpdateScheduler.class, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    /**
+     * Writes all history retrieved for a security as one batch.
+     */
+    private static void saveHistory(final Engine engine, final SecurityNode securityNode,
+                                    final List<SecurityHistoryNode> historyNodes) {
+        if (!historyNodes.isEmpty() && engine.addSecurityHistory(securityNode, historyNodes)) {
+            logger.info(ResourceUtils.getString("Message.UpdatedPrice", securityNode.getSymbol()));
+        }
+    }
+
+    private static void saveHistoryEvents(final Engine engine, final SecurityNode securityNode,
+                                          final Set<SecurityHistoryEvent> historyEvents) {
+
+        final List<SecurityHistoryNode> history = securityNode.getHistoryNodes();
+
+        if (history.isEmpty()) {   // events are only tracked after the first known price
+            return;
+        }
+
+        final LocalDate oldest = history.get(0).getLocalDate();
+        final Set<SecurityHistoryEvent> oldHistoryEvents = new HashSet<>(securityNode.getHistoryEvents());
+
+        for (final SecurityHistoryEvent historyEvent : historyEvents) {
+            if (!historyEvent.getDate().isBefore(oldest) && !oldHistoryEvents.contains(historyEvent)) {
+                if (engine.addSecurityHistoryEvent(securityNode, historyEvent)) {
+                    logger.info(ResourceUtils.getString("Message.UpdatedSecurityEvent", securityNode.getSymbol()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a request within the rate limit of its source, retrying with an exponential backoff if an
+     * {@code IOException} occurs.
+     */
+    private <T> T callWithRetry(final RateLimiter rateLimiter, final Callable<T> callable)
+            throws IOException, InterruptedException {
+
+        IOException exception = null;
+
+        for (int attempt = 0; attempt <= retries; attempt++) {
+            if (attempt > 0) {
+                TimeUnit.MILLISECONDS.sleep(BACKOFF_DELAY << (attempt - 1));
+            }
+
+            rateLimiter.acquire();
+
+            try {
+                return callable.call();
+            } catch (final IOException e) {
+                exception = e;
+                logger.log(Level.FINE, "Request failed, attempt " + (attempt + 1), e);
+            } catch (final IllegalArgumentException | InterruptedException e) {
+                throw e;    // not recoverable
+            } catch (final Exception e) {
+                throw new IOException(e);
+            }
+        }
+
+        throw exception;
+    }
+
+    private static void waitForCompletion(final List<Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                LogUtil.logSevere(QuoteUpdateScheduler.class, e);
+            }
+        }
+    }
+
+    private RateLimiter getRateLimiter(final Object source) {
+        return rateLimiters.computeIfAbsent(source, k -> new RateLimiter(requestInterval));
+    }
+
+    private static String getToken(final Engine engine, final SecurityParser parser) {
+        if (parser instanceof IEXParser) {
+            return engine.getPreference(IEXParser.IEX_SECRET_KEY);
+        }
+
+        return "";
+    }
+
+    /**
+     * Spaces requests to a source by a minimum interval.
+     */
+    private static class RateLimiter {
+
+        private final long interval;
+
+        private long nextSlot = 0;
+
+        RateLimiter(final long interval) {
+            this.interval = TimeUnit.MILLISECONDS.toNanos(interval);
+        }
+
+        void acquire() throws InterruptedException {
+            final long slot;
+
+            synchronized (this) {
+                slot = Math.max(System.nanoTime(), nextSlot);
+                nextSlot = slot + interval;
+            }
+
+            final long wait = slot - System.nanoTime();
+
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+}
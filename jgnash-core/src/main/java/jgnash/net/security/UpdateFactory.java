@@ -49,6 +49,7 @@ import jgnash.engine.SecurityHistoryNode;
 import jgnash.engine.SecurityNode;
 import jgnash.net.security.iex.IEXParser;
 import jgnash.resource.util.ResourceUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.LogUtil;
 import jgnash.util.NotNull;
 
@@ -66,6 +67,12 @@ public class UpdateFactory {
 
     private static final int TIMEOUT = 1;   // default timeout in minutes
 
+    /**
+     * Shared executor for single security updates
+     */
+    private static final ExecutorService executorService =
+            Executors.newCachedThreadPool(new DefaultDaemonThreadFactory("Update Factory Executor"));
+
     /**
      * Registers a {@code Handler} with the class logger.
      *
@@ -159,15 +166,14 @@ public class UpdateFactory {
     private static boolean waitForCallable(final Callable<Boolean> callable) {
         boolean result = false;
 
-        final ExecutorService service = Executors.newSingleThreadExecutor();
-        final Future<Boolean> future = service.submit(callable);
+        final Future<Boolean> future = executorService.submit(callable);
 
         try {
             result = future.get(TIMEOUT, TimeUnit.MINUTES);
-            service.shutdown();
         } catch (final InterruptedException | ExecutionException e) { // intentionally interrupted
             logger.log(Level.FINEST, e.getLocalizedMessage(), e);
         } catch (final TimeoutException e) {
+            future.cancel(true);
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
         }
 
@@ -238,11 +244,9 @@ public class UpdateFactory {
                         final List<SecurityHistoryNode> nodes = securityParser.retrieveHistoricalPrice(securityNode,
                                 LocalDate.now().minusDays(1), LocalDate.now());
 
-                        for (final SecurityHistoryNode node : nodes) {
-                            if (!Thread.currentThread().isInterrupted()) { // check for thread interruption
-                                if (e.addSecurityHistory(securityNode, node)) {
-                                    logger.info(ResourceUtils.getString("Message.UpdatedPrice", securityNode.getSymbol()));
-                                }
+                        if (!nodes.isEmpty() && !Thread.currentThread().isInterrupted()) { // check for thread interruption
+                            if (e.addSecurityHistory(securityNode, nodes)) {
+                                logger.info(ResourceUtils.getString("Message.UpdatedPrice", securityNode.getSymbol()));
                             }
                         }
                     } catch (final IOException | IllegalArgumentException ex) {
@@ -0,0 +1,422 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import jgnash.engine.Account;
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.PeriodBalances;
+import jgnash.engine.Transaction;
+import jgnash.engine.message.Message;
+import jgnash.engine.message.MessageBus;
+import jgnash.engine.message.MessageChannel;
+import jgnash.engine.message.MessageListener;
+import jgnash.engine.message.MessageProperty;
+import jgnash.time.DateUtils;
+import jgnash.util.NotNull;
+
+/**
+ * Calculates and caches the data series displayed by charts.
+ * <p>
+ * Series are calculated for a single account with one pass over its transactions and cached for each period by account,
+ * period dates and currency.  Payee totals are cached for each calendar month of the requested range.  A changed date
+ * range therefore only calculates the periods that are not already cached.  Series that include sub-accounts are
+ * combined from the cached series of each account in the tree, so a new transaction only requires the series of the
+ * affected account to be calculated again.  Methods may be called
+ * from any thread and should be called from a background thread if the series may not be cached.
+ *
+ * @author Craig Cavanaugh
+ */
+public final class ChartDataService implements MessageListener {
+
+    /**
+     * Maximum number of cached periods of each type.
+     */
+    private static final int MAX_ENTRIES = 16384;
+
+    private static ChartDataService instance;
+
+    private final Map<Key, PeriodBalances> balanceCache = new LruMap<>();
+
+    private final Map<Key, Map<String, BigDecimal>> payeeCache = new LruMap<>();
+
+    /**
+     * Incremented when cached values are invalidated so results calculated concurrently are not cached.
+     */
+    private long version;
+
+    private ChartDataService() {
+        MessageBus.getInstance().registerListener(this, MessageChannel.SYSTEM, MessageChannel.ACCOUNT,
+                MessageChannel.COMMODITY, MessageChannel.TRANSACTION);
+    }
+
+    public static synchronized ChartDataService getInstance() {
+        if (instance == null) {
+            instance = new ChartDataService();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns the balances of an account for a series of reporting periods.
+     *
+     * @param account            account to return the balances for
+     * @param descriptors        reporting periods in ascending order
+     * @param node               commodity to report the balances in
+     * @param includeSubAccounts {@code true} to include the balances of all sub-accounts
+     * @return the period balances
+     */
+    public PeriodBalances getPeriodBalances(@NotNull final Account account,
+                                            @NotNull final List<ReportPeriodUtils.Descriptor> descriptors,
+                                            @NotNull final CurrencyNode node, final boolean includeSubAccounts) {
+        Objects.requireNonNull(node);
+
+        final List<LocalDate> startDates = new ArrayList<>(descriptors.size());
+        final List<LocalDate> endDates = new ArrayList<>(descriptors.size());
+
+        for (final ReportPeriodUtils.Descriptor descriptor : descriptors) {
+            startDates.add(descriptor.getStartDate());
+            endDates.add(descriptor.getEndDate());
+        }
+
+        PeriodBalances balances = getPeriodBalances(account, startDates, endDates, node);
+
+        if (includeSubAccounts) {
+            for (final Account child : getDescendants(account)) {
+                balances = balances.add(getPeriodBalances(child, startDates, endDates, node));
+            }
+        }
+
+        return balances;
+    }
+
+    /**
+     * Returns the balances of a single account.  Each period and the span of all periods are cached separately.
+     */
+    private PeriodBalances getPeriodBalances(final Account account, final List<LocalDate> startDates,
+                                             final List<LocalDate> endDates, final CurrencyNode node) {
+        final int count = startDates.size();
+
+        if (count == 0) {
+            return account.getPeriodBalances(startDates, endDates, node);
+        }
+
+        final List<Key> keys = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            keys.add(new Key(account, startDates.get(i), endDates.get(i), node));
+        }
+
+        final Key totalKey = new Key(account, startDates.get(0), endDates.get(count - 1), node);
+
+        final PeriodBalances[] periods = new PeriodBalances[count];
+        PeriodBalances total;
+
+        final long version;
+
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                periods[i] = balanceCache.get(keys.get(i));
+            }
+
+            total = balanceCache.get(totalKey);
+            version = this.version;
+        }
+
+        // the missing periods are calculated with one pass over the transactions
+        final List<Integer> missing = new ArrayList<>();
+        final List<LocalDate> missingStartDates = new ArrayList<>();
+        final List<LocalDate> missingEndDates = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            if (periods[i] == null) {
+                missing.add(i);
+                missingStartDates.add(startDates.get(i));
+                missingEndDates.add(endDates.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            final PeriodBalances balances = account.getPeriodBalances(missingStartDates, missingEndDates, node);
+
+            for (int i = 0; i < missing.size(); i++) {
+                periods[missing.get(i)] = balances.getPeriod(i);
+            }
+        }
+
+        final boolean totalMissing = total == null;
+
+        if (totalMissing) {
+            total = count == 1 ? periods[0] : account.getPeriodBalances(List.of(totalKey.startDate),
+                    List.of(totalKey.endDate), node);
+        }
+
+        synchronized (this) {
+            if (version == this.version) {
+                for (final int i : missing) {
+                    balanceCache.put(keys.get(i), periods[i]);
+                }
+
+                if (totalMissing) {
+                    balanceCache.put(totalKey, total);
+                }
+            }
+        }
+
+        return PeriodBalances.concat(Arrays.asList(periods), total.getTotal());
+    }
+
+    /**
+     * Returns the total amount of the transactions of an account and all of its sub-accounts for each payee.
+     *
+     * @param account   account to return the totals for
+     * @param startDate inclusive start date
+     * @param endDate   inclusive end date
+     * @param node      commodity to report the totals in
+     * @return map of payees to the total amount of their transactions
+     */
+    public Map<String, BigDecimal> getPayeeTotals(@NotNull final Account account, @NotNull final LocalDate startDate,
+                                                  @NotNull final LocalDate endDate, @NotNull final CurrencyNode node) {
+        Objects.requireNonNull(node);
+
+        final List<LocalDate> startDates = new ArrayList<>();
+        final List<LocalDate> endDates = new ArrayList<>();
+
+        // months in the middle of the range are shared with other ranges
+        LocalDate start = startDate;
+
+        while (!start.isAfter(endDate)) {
+            final LocalDate end = DateUtils.getLastDayOfTheMonth(start);
+
+            startDates.add(start);
+            endDates.add(end.isBefore(endDate) ? end : endDate);
+
+            start = end.plusDays(1);
+        }
+
+        final Map<String, BigDecimal> totals = new HashMap<>();
+
+        final List<Account> accounts = new ArrayList<>();
+        accounts.add(account);
+        accounts.addAll(getDescendants(account));
+
+        for (final Account a : accounts) {
+            for (final Map<String, BigDecimal> monthTotals : getPayeeTotals(a, startDates, endDates, node)) {
+                monthTotals.forEach((payee, amount) -> totals.merge(payee, amount, BigDecimal::add));
+            }
+        }
+
+        return totals;
+    }
+
+    /**
+     * Returns the payee totals of a single account for each period.
+     */
+    private List<Map<String, BigDecimal>> getPayeeTotals(final Account account, final List<LocalDate> startDates,
+                                                         final List<LocalDate> endDates, final CurrencyNode node) {
+        final int count = startDates.size();
+
+        final List<Key> keys = new ArrayList<>(count);
+        final List<Map<String, BigDecimal>> totals = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            keys.add(new Key(account, startDates.get(i), endDates.get(i), node));
+        }
+
+        final long version;
+
+        synchronized (this) {
+            for (final Key key : keys) {
+                totals.add(payeeCache.get(key));
+            }
+
+            version = this.version;
+        }
+
+        final Map<Integer, Map<String, BigDecimal>> missing = new HashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            if (totals.get(i) == null) {
+                missing.put(i, new HashMap<>());
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return totals;
+        }
+
+        // the missing periods are calculated with one pass over the transactions
+        final int first = Collections.min(missing.keySet());
+        final int last = Collections.max(missing.keySet());
+
+        int period = first;
+
+        for (final Transaction transaction : account.getTransactions(startDates.get(first), endDates.get(last))) {
+            while (period < last && transaction.getLocalDate().isAfter(endDates.get(period))) {
+                period++;
+            }
+
+            final Map<String, BigDecimal> periodTotals = missing.get(period);
+
+            if (periodTotals != null) {
+                periodTotals.merge(transaction.getPayee(), transaction.getAmount(account), BigDecimal::add);
+            }
+        }
+
+        final BigDecimal rate = node.equals(account.getCurrencyNode()) ? null
+                : account.getCurrencyNode().getExchangeRate(node);
+
+        for (final Map.Entry<Integer, Map<String, BigDecimal>> entry : missing.entrySet()) {
+            if (rate != null) {
+                entry.getValue().replaceAll((payee, amount) -> amount.multiply(rate));
+            }
+
+            totals.set(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+
+        synchronized (this) {
+            if (version == this.version) {
+                for (final int i : missing.keySet()) {
+                    payeeCache.put(keys.get(i), totals.get(i));
+                }
+            }
+        }
+
+        return totals;
+    }
+
+    private static List<Account> getDescendants(final Account account) {
+        final List<Account> descendants = new ArrayList<>();
+
+        for (final Account child : account.getChildren()) {
+            descendants.add(child);
+            descendants.addAll(getDescendants(child));
+        }
+
+        return descendants;
+    }
+
+    /**
+     * Discards the cached series of an account.
+     *
+     * @param account account to invalidate
+     */
+    private synchronized void invalidate(final Account account) {
+        version++;
+
+        balanceCache.keySet().removeIf(key -> key.account.equals(account));
+        payeeCache.keySet().removeIf(key -> key.account.equals(account));
+    }
+
+    /**
+     * Discards all cached series.
+     */
+    public synchronized void clear() {
+        version++;
+
+        balanceCache.clear();
+        payeeCache.clear();
+    }
+
+    @Override
+    public void messagePosted(final Message message) {
+        switch (message.getEvent()) {
+            case TRANSACTION_ADD:
+            case TRANSACTION_REMOVE:
+            case ACCOUNT_MODIFY:
+            case ACCOUNT_REMOVE:
+                invalidate(message.getObject(MessageProperty.ACCOUNT));
+                break;
+            case EXCHANGE_RATE_ADD:
+            case EXCHANGE_RATE_REMOVE:
+            case SECURITY_HISTORY_ADD:
+            case SECURITY_HISTORY_REMOVE:
+            case FILE_CLOSING:
+                clear();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static final class Key {
+
+        private final Account account;
+
+        private final LocalDate startDate;
+
+        private final LocalDate endDate;
+
+        private final CurrencyNode node;
+
+        private final int hash;
+
+        Key(final Account account, final LocalDate startDate, final LocalDate endDate, final CurrencyNode node) {
+            this.account = account;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.node = node;
+
+            hash = Objects.hash(account, startDate, endDate, node);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+
+            return account.equals(key.account) && startDate.equals(key.startDate) && endDate.equals(key.endDate)
+                    && node.equals(key.node);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class LruMap<V> extends LinkedHashMap<Key, V> {
+
+        LruMap() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, V> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    }
+}
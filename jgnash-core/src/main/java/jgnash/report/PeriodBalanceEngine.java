@@ -0,0 +1,66 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received account copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jgnash.engine.Account;
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.PeriodBalances;
+import jgnash.util.NotNull;
+
+/**
+ * Calculates the period balances of accounts for reports.
+ * <p>
+ * The balances for all periods of an account are computed with one pass over its transactions and accounts are
+ * processed in parallel.  Reports should share the results between filtering, sorting and the report values instead
+ * of querying each account balance separately.
+ *
+ * @author Craig Cavanaugh
+ */
+public class PeriodBalanceEngine {
+
+    private PeriodBalanceEngine() {
+        // utility class
+    }
+
+    /**
+     * Calculates the period balances of accounts.
+     *
+     * @param accounts   accounts to calculate
+     * @param startDates inclusive start dates of the periods
+     * @param endDates   inclusive end dates of the periods, periods must be in ascending order and may not overlap
+     * @param node       commodity to report balances in
+     * @return map of accounts to their period balances
+     */
+    public static Map<Account, PeriodBalances> calculate(@NotNull final Collection<Account> accounts,
+                                                         @NotNull final List<LocalDate> startDates,
+                                                         @NotNull final List<LocalDate> endDates,
+                                                         @NotNull final CurrencyNode node) {
+        Objects.requireNonNull(node);
+
+        return accounts.parallelStream().distinct().collect(Collectors.toConcurrentMap(Function.identity(),
+                account -> account.getPeriodBalances(startDates, endDates, node)));
+    }
+}
@@ -43,6 +43,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
@@ -117,6 +118,22 @@ public final class FileUtils {
         }
     }
 
+    /**
+     * Determines if a file name is a database lock file.
+     *
+     * @param fileName file name to check
+     * @return true if the file name has a known lock file extension
+     */
+    public static boolean isLockFile(final String fileName) {
+        for (final String extension : FILE_LOCK_EXTENSIONS) {
+            if (fileName.toLowerCase(Locale.ROOT).endsWith(extension)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Determines if a file has been locked for use. A lock file check is performed
      * at the filesystem level and the actual file is checked for a locked state at the OS level.
@@ -50,11 +50,21 @@ public class PayeePredicate implements Predicate<Transaction> {
 
     @Override
     public boolean test(final Transaction transaction) {
+        return test(transaction.getPayee());
+    }
+
+    /**
+     * Tests a payee against the filter.
+     *
+     * @param payee payee to test
+     * @return {@code true} if the payee passes the filter
+     */
+    public boolean test(final String payee) {
         if (pattern != null) {
-            final Matcher matcher = pattern.matcher(transaction.getPayee());
+            final Matcher matcher = pattern.matcher(payee);
             return matcher.matches();
         } else if (filter != null && !filter.isEmpty()) {
-            return transaction.getPayee().toLowerCase(Locale.getDefault()).contains(filter);
+            return payee.toLowerCase(Locale.getDefault()).contains(filter);
         }
 
         return true;
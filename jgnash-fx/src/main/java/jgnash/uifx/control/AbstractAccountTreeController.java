@@ -29,15 +29,15 @@ import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 
 import jgnash.engine.Account;
-import jgnash.engine.Comparators;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
 import jgnash.engine.message.Message;
 import jgnash.engine.message.MessageBus;
 import jgnash.engine.message.MessageChannel;
 import jgnash.engine.message.MessageListener;
+import jgnash.engine.message.MessageProperty;
+import jgnash.uifx.util.AccountTreeItemModel;
 import jgnash.uifx.util.JavaFXUtils;
-import jgnash.uifx.util.TreeSearch;
 import jgnash.util.Nullable;
 
 /**
@@ -63,6 +63,9 @@ public abstract class AbstractAccountTreeController implements MessageListener {
 
     private final ObservableSet<Account> filteredAccounts = FXCollections.observableSet(new TreeSet<>());
 
+    private final AccountTreeItemModel treeItemModel =
+            new AccountTreeItemModel(account -> !filteredAccounts.contains(account) && isAccountVisible(account));
+
     /**
      * Adds accounts to be excluded from the list of selectable accounts.
      *
@@ -103,11 +106,13 @@ public abstract class AbstractAccountTreeController implements MessageListener {
     }
 
     public void setSelectedAccount(final Account account) {
-        final TreeItem<Account> treeItem = TreeSearch.findTreeItem(getTreeView().getRoot(), account);
+        JavaFXUtils.runLater(() -> {
+            final TreeItem<Account> treeItem = treeItemModel.getTreeItem(account);
 
-        if (treeItem != null) {
-            JavaFXUtils.runLater(() -> getTreeView().getSelectionModel().select(treeItem));
-        }
+            if (treeItem != null) {
+                getTreeView().getSelectionModel().select(treeItem);
+            }
+        });
     }
 
     public void reload() {
@@ -117,31 +122,7 @@ public abstract class AbstractAccountTreeController implements MessageListener {
     private void loadAccountTree() {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
 
-        if (engine != null) {
-            final TreeItem<Account> root = new TreeItem<>(engine.getRootAccount());
-            root.setExpanded(true);
-
-            getTreeView().setRoot(root);
-            loadChildren(root);
-        } else {
-            getTreeView().setRoot(null);
-        }
-    }
-
-    private synchronized void loadChildren(final TreeItem<Account> parentItem) {
-        final Account parent = parentItem.getValue();
-
-        parent.getChildren(Comparators.getAccountByCode()).stream().filter(child ->
-                !filteredAccounts.contains(child) && isAccountVisible(child)).forEach(child ->
-        {
-            final TreeItem<Account> childItem = new TreeItem<>(child);
-            childItem.setExpanded(true);
-            parentItem.getChildren().add(childItem);
-
-            if (child.getChildCount() > 0) {
-                loadChildren(childItem);
-            }
-        });
+        getTreeView().setRoot(treeItemModel.load(engine != null ? engine.getRootAccount() : null));
     }
 
     @Override
@@ -149,11 +130,15 @@ public abstract class AbstractAccountTreeController implements MessageListener {
         switch (event.getEvent()) {
             case ACCOUNT_ADD:
             case ACCOUNT_MODIFY:
+                final Account account = event.getObject(MessageProperty.ACCOUNT);
+                JavaFXUtils.runLater(() -> treeItemModel.update(account));
+                break;
             case ACCOUNT_REMOVE:
-                reload();
+                final Account removed = event.getObject(MessageProperty.ACCOUNT);
+                JavaFXUtils.runLater(() -> treeItemModel.remove(removed));
                 break;
             case FILE_CLOSING:
-                JavaFXUtils.runLater(() -> getTreeView().setRoot(null));   // dump account references immediately
+                JavaFXUtils.runLater(() -> getTreeView().setRoot(treeItemModel.load(null)));   // dump account references immediately
                 MessageBus.getInstance().unregisterListener(this, MessageChannel.SYSTEM, MessageChannel.ACCOUNT);
                 break;
             default:
@@ -19,9 +19,9 @@ package jgnash.uifx.control.autocomplete;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javafx.beans.property.SimpleBooleanProperty;
 
@@ -30,6 +30,9 @@ import jgnash.util.Nullable;
 
 /**
  * Default model for auto complete search.
+ * <p>
+ * Strings are indexed by a case sensitive and a case insensitive {@code PrefixTree} so a look ahead does not depend
+ * on the number of remembered strings.
  * 
  * @author Craig Cavanaugh
  * @author Don Brown
@@ -37,7 +40,11 @@ import jgnash.util.Nullable;
  */
 abstract class DefaultAutoCompleteModel<E> implements AutoCompleteModel<E> {
 
-    private final List<String> list = new LinkedList<>();
+    private final PrefixTree tree = new PrefixTree(false);
+
+    private final PrefixTree ignoreCaseTree = new PrefixTree(true);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     private final SimpleBooleanProperty autoCompleteEnabled = new SimpleBooleanProperty(true);
 
@@ -68,7 +75,8 @@ abstract class DefaultAutoCompleteModel<E> implements AutoCompleteModel<E> {
     }
 
     /**
-     * Perform a brute force linear search top down for the best match.
+     * Search for the best match.  The first match in sorted order is used unless fuzzy matching is enabled, in which
+     * case the most frequently and recently used match is returned.
      *
      * @param content content to search for
      * @param ignoreCase true is search is case insensitive
@@ -76,23 +84,20 @@ abstract class DefaultAutoCompleteModel<E> implements AutoCompleteModel<E> {
      */
     private @Nullable String doLookAhead(final String content, final boolean ignoreCase) {
         if (!content.isEmpty()) {
-            synchronized (list) {
-                for (final String s : list) {
-
-                    if (ignoreCase) {
-                        if (s.equalsIgnoreCase(content)) {
-                            break;
-                        }
-                    } else {
-                        if (s.equals(content)) {
-                            break;
-                        }
-                    }
-
-                    if (startsWith(s, content, ignoreCase)) {
-                        return s;
-                    }
-                }
+            final PrefixTree prefixTree = ignoreCase ? ignoreCaseTree : tree;
+            final String match;
+
+            lock.readLock().lock();
+
+            try {
+                match = fuzzyMatchEnabled.get() ? prefixTree.best(content) : prefixTree.first(content);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            // nothing to complete if the best match has already been entered
+            if (match != null && !(ignoreCase ? match.equalsIgnoreCase(content) : match.equals(content))) {
+                return match;
             }
         }
         return null;
@@ -100,17 +105,13 @@ abstract class DefaultAutoCompleteModel<E> implements AutoCompleteModel<E> {
 
     void addString(final String content) {
         if (content != null && !content.isEmpty()) {
-            synchronized (list) {
-                if (fuzzyMatchEnabled.get()) {
-                    list.remove(content);       // remove old instance
-                    list.add(0, content); // push it to the top of the search list
-                } else {
-                    int index = Collections.binarySearch(list, content);
-
-                    if (index < 0) {
-                        list.add(-index - 1, content);
-                    }
-                }
+            lock.writeLock().lock();
+
+            try {
+                tree.add(content);
+                ignoreCaseTree.add(content);
+            } finally {
+                lock.writeLock().unlock();
             }
         }
     }
@@ -119,8 +120,13 @@ abstract class DefaultAutoCompleteModel<E> implements AutoCompleteModel<E> {
      * Removes all of the strings that have been remembered.
      */
     void purge() {
-        synchronized (list) {
-            list.clear();
+        lock.writeLock().lock();
+
+        try {
+            tree.clear();
+            ignoreCaseTree.clear();
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -145,17 +151,4 @@ abstract class DefaultAutoCompleteModel<E> implements AutoCompleteModel<E> {
     public Collection<E> getAllExtraInfo(final String key) {
         return Collections.emptyList();
     }
-
-    /**
-     * Tests if the source string starts with the prefix string. Case is
-     * ignored.
-     * 
-     * @param source the source String.
-     * @param prefix the prefix String.
-     * @param ignoreCase true if case should be ignored
-     * @return true, if the source starts with the prefix string.
-     */
-    private static boolean startsWith(final String source, final String prefix, final boolean ignoreCase) {
-        return prefix.length() <= source.length() && source.regionMatches(ignoreCase, 0, prefix, 0, prefix.length());
-    }
 }
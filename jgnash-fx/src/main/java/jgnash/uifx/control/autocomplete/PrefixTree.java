@@ -0,0 +1,293 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.uifx.control.autocomplete;
+
+import java.util.Arrays;
+
+import jgnash.util.Nullable;
+
+/**
+ * Radix tree of strings for auto complete look ahead.
+ * <p>
+ * Each node caches the highest ranked string below it, so both the first string in sorted order and the highest
+ * ranked string for a prefix are found in time proportional to the length of the prefix.  Strings are ranked by
+ * a combination of use frequency and recency.  A rank only increases when a string is used again, which keeps the
+ * cached rankings valid without rescanning the tree.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Craig Cavanaugh
+ */
+final class PrefixTree {
+
+    /**
+     * Each prior use of a string is worth this many newer entries when ranking.
+     */
+    private static final long FREQUENCY_WEIGHT = 64;
+
+    private static final Node[] EMPTY = new Node[0];
+
+    private final boolean ignoreCase;
+
+    private Node root = new Node("");
+
+    private long clock;
+
+    /**
+     * Constructor.
+     *
+     * @param ignoreCase {@code true} if searches ignore case
+     */
+    PrefixTree(final boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Adds a string or records another use of an existing string.
+     *
+     * @param value string to add
+     */
+    void add(final String value) {
+        final String key = fold(value);
+
+        clock++;
+
+        Node node = root;
+        int index = 0;
+
+        while (index < key.length()) {
+            final int position = node.indexOf(key.charAt(index));
+
+            if (position < 0) {
+                final Node leaf = new Node(key.substring(index));
+                node.insert(-position - 1, leaf);
+                node = leaf;
+                break;
+            }
+
+            Node child = node.children[position];
+            final int common = commonLength(child.label, key, index);
+
+            if (common < child.label.length()) {  // split the edge
+                final Node split = new Node(child.label.substring(0, common));
+                split.best = child.best;
+
+                child.label = child.label.substring(common);
+                split.children = new Node[]{child};
+                node.children[position] = split;
+                child = split;
+            }
+
+            node = child;
+            index += common;
+        }
+
+        if (node.entry == null) {
+            node.entry = new Entry(value);
+        }
+
+        final Entry entry = node.entry;
+
+        entry.value = value;    // a folded key remembers the most recently used variant
+        entry.frequency++;
+        entry.lastUsed = clock;
+
+        // ranks only increase, so the path from the root is the only part of the tree affected
+        node = root;
+        index = 0;
+
+        while (true) {
+            if (node.best == null || node.best.rank() < entry.rank()) {
+                node.best = entry;
+            }
+
+            if (index == key.length()) {
+                break;
+            }
+
+            node = node.children[node.indexOf(key.charAt(index))];
+            index += node.label.length();
+        }
+    }
+
+    /**
+     * Returns the first string in sorted order that starts with a prefix.
+     *
+     * @param prefix prefix to search for
+     * @return the matching string or {@code null} if not found
+     */
+    @Nullable
+    String first(final String prefix) {
+        Node node = find(fold(prefix));
+
+        if (node != null) {
+            while (node.entry == null) {    // a node without an entry always has children
+                node = node.children[0];
+            }
+
+            return node.entry.value;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the most frequently and recently used string that starts with a prefix.
+     *
+     * @param prefix prefix to search for
+     * @return the matching string or {@code null} if not found
+     */
+    @Nullable
+    String best(final String prefix) {
+        final Node node = find(fold(prefix));
+
+        if (node != null && node.best != null) {
+            return node.best.value;
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes all strings.
+     */
+    void clear() {
+        root = new Node("");
+        clock = 0;
+    }
+
+    /**
+     * Finds the node containing all strings starting with the key.
+     */
+    @Nullable
+    private Node find(final String key) {
+        Node node = root;
+        int index = 0;
+
+        while (index < key.length()) {
+            final int position = node.indexOf(key.charAt(index));
+
+            if (position < 0) {
+                return null;
+            }
+
+            final Node child = node.children[position];
+            final int common = commonLength(child.label, key, index);
+
+            if (common < child.label.length() && index + common < key.length()) {
+                return null;    // mismatch within the edge
+            }
+
+            node = child;
+            index += common;
+        }
+
+        return node;
+    }
+
+    private String fold(final String value) {
+        if (!ignoreCase) {
+            return value;
+        }
+
+        // same per character comparison used by String.regionMatches
+        final char[] chars = value.toCharArray();
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+
+        return new String(chars);
+    }
+
+    private static int commonLength(final String label, final String key, final int offset) {
+        final int max = Math.min(label.length(), key.length() - offset);
+
+        int i = 0;
+
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static final class Node {
+
+        String label;
+
+        /**
+         * Sorted by the first character of the label.
+         */
+        Node[] children = EMPTY;
+
+        Entry entry;
+
+        Entry best;
+
+        Node(final String label) {
+            this.label = label;
+        }
+
+        int indexOf(final char c) {
+            int low = 0;
+            int high = children.length - 1;
+
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char midChar = children[mid].label.charAt(0);
+
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -(low + 1);
+        }
+
+        void insert(final int position, final Node node) {
+            final Node[] array = Arrays.copyOf(children, children.length + 1);
+
+            System.arraycopy(array, position, array, position + 1, children.length - position);
+            array[position] = node;
+
+            children = array;
+        }
+    }
+
+    private static final class Entry {
+
+        String value;
+
+        long frequency;
+
+        long lastUsed;
+
+        Entry(final String value) {
+            this.value = value;
+        }
+
+        long rank() {
+            return lastUsed + FREQUENCY_WEIGHT * frequency;
+        }
+    }
+}
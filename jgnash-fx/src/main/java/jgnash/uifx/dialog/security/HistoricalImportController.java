@@ -192,17 +192,16 @@ public class HistoricalImportController {
                 // need to track the total processed count
                 long processedHistory = 0;
 
+                // history is added as a single batch per security
                 for (final Map.Entry<SecurityNode, List<SecurityHistoryNode>> entry : historyMap.entrySet()) {
-                    if (!requestCancel) {
-                        for (final SecurityHistoryNode historyNode : entry.getValue()) {
-                            if (!requestCancel) {
-                                engine.addSecurityHistory(entry.getKey(), historyNode);
-                                updateProgress(++processedHistory, historyCount);
-
-                                updateMessage(ResourceUtils.getString("Message.UpdatedPriceDate", entry.getKey().getSymbol(),
-                                        dateTimeFormatter.format(historyNode.getLocalDate())));
-                            }
-                        }
+                    if (!requestCancel && !entry.getValue().isEmpty()) {
+                        engine.addSecurityHistory(entry.getKey(), entry.getValue());
+
+                        processedHistory += entry.getValue().size();
+                        updateProgress(processedHistory, historyCount);
+
+                        updateMessage(ResourceUtils.getString("Message.UpdatedPriceDate", entry.getKey().getSymbol(),
+                                dateTimeFormatter.format(entry.getValue().get(entry.getValue().size() - 1).getLocalDate())));
                     }
                 }
 
@@ -26,6 +26,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 
@@ -49,6 +52,8 @@ import jgnash.engine.AccountType;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.engine.PeriodBalances;
+import jgnash.report.ChartDataService;
 import jgnash.report.ReportPeriod;
 import jgnash.report.ReportPeriodUtils;
 import jgnash.text.NumericFormats;
@@ -58,6 +63,7 @@ import jgnash.uifx.control.AccountComboBox;
 import jgnash.uifx.control.DatePickerEx;
 import jgnash.uifx.util.InjectFXML;
 import jgnash.uifx.util.JavaFXUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.EncodeDecode;
 import jgnash.util.Nullable;
 
@@ -84,6 +90,12 @@ public class AccountBalanceChartController {
 
     private static final int CATEGORY_GAP = 20;
 
+    /**
+     * Calculates chart balances off the application thread.
+     */
+    private static final ExecutorService chartExecutor
+            = Executors.newSingleThreadExecutor(new DefaultDaemonThreadFactory("Account Balance Chart Executor"));
+
     private final Preferences preferences = Preferences.userNodeForPackage(AccountBalanceChartController.class)
             .node("AccountBalanceChart");
 
@@ -132,6 +144,11 @@ public class AccountBalanceChartController {
 
     private final Account NOP_ACCOUNT = new Account();
 
+    /**
+     * Identifies the most recent chart update.
+     */
+    private final AtomicLong chartRequest = new AtomicLong();
+
     // List to retain auxiliary AccountComboBoxes
     private final List<AccountComboBox> auxAccountComboBoxList = new ArrayList<>();
 
@@ -318,7 +335,7 @@ public class AccountBalanceChartController {
     }
 
     private void updateChart() {
-        barChart.getData().clear();
+        final long request = chartRequest.incrementAndGet();
 
         final List<ReportPeriodUtils.Descriptor> descriptors = ReportPeriodUtils.getDescriptors(
                 periodComboBox.getValue(), startDatePicker.getValue(), endDatePicker.getValue());
@@ -326,34 +343,52 @@ public class AccountBalanceChartController {
         // Create a set of accounts to display
         final Collection<Account> selectedAccounts = getSelectedAccounts();
 
+        final boolean subAccounts = includeSubAccounts.isSelected();
+        final boolean runningBalance = runningBalanceRadioButton.isSelected();
+
+        // balances are calculated off the platform thread, and cached balances are returned immediately
+        chartExecutor.execute(() -> {
+            final List<PeriodBalances> balances = new ArrayList<>();
+
+            for (final Account account : selectedAccounts) {
+                balances.add(ChartDataService.getInstance().getPeriodBalances(account, descriptors,
+                        account.getCurrencyNode(), subAccounts));
+            }
+
+            JavaFXUtils.runLater(() -> {
+                if (request == chartRequest.get()) {    // discard if the chart has changed again
+                    updateChart(descriptors, selectedAccounts, balances, runningBalance);
+                }
+            });
+        });
+    }
+
+    private void updateChart(final List<ReportPeriodUtils.Descriptor> descriptors,
+                             final Collection<Account> selectedAccounts, final List<PeriodBalances> balances,
+                             final boolean runningBalance) {
+        barChart.getData().clear();
+
         barChart.setLegendVisible(selectedAccounts.size() > 1);
 
+        int index = 0;
+
         for (final Account account : selectedAccounts) {
+            final PeriodBalances periodBalances = balances.get(index++);
 
             final XYChart.Series<String, Number> series = new XYChart.Series<>();
             series.setName(account.getName());
             barChart.getData().add(series);
 
-            for (final ReportPeriodUtils.Descriptor descriptor : descriptors) {
+            for (int i = 0; i < descriptors.size(); i++) {
                 final BigDecimal income;
 
-                if (!includeSubAccounts.isSelected()) {
-
-                    if (runningBalanceRadioButton.isSelected()) {
-                        income = account.getBalance(descriptor.getEndDate());
-                    } else {    // ending balance
-                        income = account.getBalance(descriptor.getStartDate(), descriptor.getEndDate());
-                    }
-                } else {
-                    if (runningBalanceRadioButton.isSelected()) {
-                        income = account.getTreeBalance(descriptor.getEndDate(), account.getCurrencyNode());
-                    } else {    // ending balance
-                        income = account.getTreeBalance(descriptor.getStartDate(), descriptor.getEndDate(),
-                                account.getCurrencyNode());
-                    }
+                if (runningBalance) {
+                    income = periodBalances.getEndBalance(i);
+                } else {    // ending balance
+                    income = periodBalances.getPeriodBalance(i);
                 }
 
-                series.getData().add(new XYChart.Data<>(descriptor.getLabel(),
+                series.getData().add(new XYChart.Data<>(descriptors.get(i).getLabel(),
                         invertBalance(income, account.getAccountType())));
             }
 
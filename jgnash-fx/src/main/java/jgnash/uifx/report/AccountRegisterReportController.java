@@ -31,6 +31,7 @@ import javafx.scene.control.TextField;
 import jgnash.engine.Account;
 import jgnash.engine.AccountGroup;
 import jgnash.report.pdf.Report;
+import jgnash.report.reports.AccountRegisterReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.uifx.Options;
 import jgnash.uifx.control.AccountComboBox;
@@ -73,6 +74,11 @@ public class AccountRegisterReportController implements ReportController {
 
     private final Report report = new AccountRegisterReport();
 
+    /**
+     * Model for the next streaming write of the report.
+     */
+    private volatile AbstractReportTableModel reportModel;
+
     private Runnable refreshRunnable = null;
 
     @SuppressWarnings("FieldCanBeLocal")
@@ -160,7 +166,9 @@ public class AccountRegisterReportController implements ReportController {
         preferences.putBoolean(SHOW_TIMESTAMP, showTimestampCheckBox.isSelected());
 
         if (accountComboBox.getValue() != null) {
-            addTable();
+
+            // the model is created here, the report viewer writes the report in the background
+            reportModel = createReportModel();
 
             // send notification the report has been updated
             if (refreshRunnable != null) {
@@ -169,16 +177,15 @@ public class AccountRegisterReportController implements ReportController {
         }
     }
 
-    private void addTable() {
-        final AbstractReportTableModel model = createReportModel();
+    @Override
+    public void writeReport() throws IOException {
+        final AbstractReportTableModel model = reportModel;
 
         report.clearReport();
 
-        try {
+        if (model != null) {
             report.addTable(model);
             report.addFooter();
-        } catch (final IOException e) {
-            e.printStackTrace();
         }
     }
 
@@ -192,7 +199,7 @@ public class AccountRegisterReportController implements ReportController {
 
         return AccountRegisterReport.createReportModel(account, startDatePicker.getValue(), endDatePicker.getValue(),
                 showSplitsCheckBox.isSelected(), memoFilterTextField.getText(), payeeFilterTextField.getText(),
-                showTimestampCheckBox.isSelected());
+                showTimestampCheckBox.isSelected(), Options.useAccountingTermsProperty().get());
     }
 
     @FXML
@@ -28,7 +28,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.UUID;
-import java.util.function.Predicate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 
@@ -50,11 +52,9 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import jgnash.engine.Account;
-import jgnash.engine.Comparators;
-import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
-import jgnash.engine.Transaction;
+import jgnash.report.ChartDataService;
 import jgnash.text.NumericFormats;
 import jgnash.uifx.Options;
 import jgnash.uifx.control.AccountComboBox;
@@ -63,6 +63,7 @@ import jgnash.uifx.control.DoughnutChart;
 import jgnash.uifx.util.InjectFXML;
 import jgnash.uifx.util.JavaFXUtils;
 import jgnash.util.CollectionUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.EncodeDecode;
 import jgnash.util.NotNull;
 import jgnash.util.function.PayeePredicate;
@@ -89,6 +90,17 @@ public class IncomeExpensePayeePieChartDialogController {
 
     private static final String ELLIPSIS = "…";
 
+    /**
+     * Calculates payee totals off the application thread.
+     */
+    private static final ExecutorService chartExecutor
+            = Executors.newSingleThreadExecutor(new DefaultDaemonThreadFactory("Payee Pie Chart Executor"));
+
+    /**
+     * Identifies the most recent chart update.
+     */
+    private final AtomicLong chartRequest = new AtomicLong();
+
     private final Preferences preferences
             = Preferences.userNodeForPackage(IncomeExpensePayeePieChartDialogController.class)
             .node("IncomeExpensePayeePieChart");
@@ -265,38 +277,31 @@ public class IncomeExpensePayeePieChartDialogController {
     }
 
     private void updateCharts() {
+        final long request = chartRequest.incrementAndGet();
+
         final Account account = accountComboBox.getValue();
 
         if (account != null) {
-            final ObservableList<PieChart.Data>[] chartData = createPieDataSet(account);
-
-            creditPieChart.setData(chartData[CREDIT]);
-            debitPieChart.setData(chartData[DEBIT]);
-
-            final NumberFormat numberFormat = NumericFormats.getFullCommodityFormat(account.getCurrencyNode());
-
-            // Calculate the totals for percentage value
-            final double creditTotal = chartData[CREDIT].parallelStream().mapToDouble(PieChart.Data::getPieValue).sum();
-            final double debitTotal = chartData[DEBIT].parallelStream().mapToDouble(PieChart.Data::getPieValue).sum();
-
-            final NumberFormat percentFormat = NumberFormat.getPercentInstance();
-            percentFormat.setMaximumFractionDigits(1);
-            percentFormat.setMinimumFractionDigits(1);
-
-            // Install tooltips on the data after it has been added to the chart
-            creditPieChart.getData().forEach(data ->
-                    Tooltip.install(data.getNode(), new Tooltip((data.getNode().getUserData()
-                            + "\n" + numberFormat.format(data.getPieValue()) + "(" +
-                            percentFormat.format(data.getPieValue() / creditTotal)) + ")")));
-
-            // Install tooltips on the data after it has been added to the chart
-            debitPieChart.getData().forEach(data ->
-                    Tooltip.install(data.getNode(), new Tooltip(((data.getNode().getUserData())
-                            + "\n" + numberFormat.format(data.getPieValue()) + "(" +
-                            percentFormat.format(data.getPieValue() / debitTotal)) + ")")));
-
-            creditPieChart.centerSubTitleProperty().set(numberFormat.format(creditTotal));
-            debitPieChart.centerSubTitleProperty().set(numberFormat.format(debitTotal));
+            final LocalDate startDate = startDatePicker.getValue();
+            final LocalDate endDate = endDatePicker.getValue();
+
+            // Create a list of predicates
+            final List<PayeePredicate> predicates = getPayeeTextFields().stream()
+                    .filter(textField -> !textField.getText().isEmpty())
+                    .map(textField -> new PayeePredicate(textField.getText(), Options.regexForFiltersProperty().get()))
+                    .collect(Collectors.toList());
+
+            // totals are calculated off the platform thread, and cached totals are returned immediately
+            chartExecutor.execute(() -> {
+                final Map<String, BigDecimal> names = ChartDataService.getInstance().getPayeeTotals(account,
+                        startDate, endDate, account.getCurrencyNode());
+
+                JavaFXUtils.runLater(() -> {
+                    if (request == chartRequest.get()) {    // discard if the chart has changed again
+                        updateCharts(account, createPieDataSet(names, predicates));
+                    }
+                });
+            });
         } else {
             creditPieChart.setData(FXCollections.emptyObservableList());
             creditPieChart.setTitle("No Data");
@@ -306,42 +311,56 @@ public class IncomeExpensePayeePieChartDialogController {
         }
     }
 
+    private void updateCharts(final Account account, final ObservableList<PieChart.Data>[] chartData) {
+        creditPieChart.setData(chartData[CREDIT]);
+        debitPieChart.setData(chartData[DEBIT]);
 
-    private ObservableList<PieChart.Data>[] createPieDataSet(@NotNull final Account account) {
+        final NumberFormat numberFormat = NumericFormats.getFullCommodityFormat(account.getCurrencyNode());
 
-        @SuppressWarnings("unchecked")
-        final ObservableList<PieChart.Data>[] chartData = new ObservableList[2];
+        // Calculate the totals for percentage value
+        final double creditTotal = chartData[CREDIT].parallelStream().mapToDouble(PieChart.Data::getPieValue).sum();
+        final double debitTotal = chartData[DEBIT].parallelStream().mapToDouble(PieChart.Data::getPieValue).sum();
 
-        chartData[CREDIT] = FXCollections.observableArrayList();
-        chartData[DEBIT] = FXCollections.observableArrayList();
+        final NumberFormat percentFormat = NumberFormat.getPercentInstance();
+        percentFormat.setMaximumFractionDigits(1);
+        percentFormat.setMinimumFractionDigits(1);
 
-        final Map<String, BigDecimal> names = new HashMap<>();
+        // Install tooltips on the data after it has been added to the chart
+        creditPieChart.getData().forEach(data ->
+                Tooltip.install(data.getNode(), new Tooltip((data.getNode().getUserData()
+                        + "\n" + numberFormat.format(data.getPieValue()) + "(" +
+                        percentFormat.format(data.getPieValue() / creditTotal)) + ")")));
 
-        final List<TranTuple> list = getTransactions(account, new ArrayList<>(), startDatePicker.getValue(),
-                endDatePicker.getValue());
+        // Install tooltips on the data after it has been added to the chart
+        debitPieChart.getData().forEach(data ->
+                Tooltip.install(data.getNode(), new Tooltip(((data.getNode().getUserData())
+                        + "\n" + numberFormat.format(data.getPieValue()) + "(" +
+                        percentFormat.format(data.getPieValue() / debitTotal)) + ")")));
 
-        final CurrencyNode currency = account.getCurrencyNode();
+        creditPieChart.centerSubTitleProperty().set(numberFormat.format(creditTotal));
+        debitPieChart.centerSubTitleProperty().set(numberFormat.format(debitTotal));
+    }
 
-        // Create a list of predicates
-        final List<Predicate<Transaction>> predicates = getPayeeTextFields().stream()
-                .filter(textField -> !textField.getText().isEmpty())
-                .map(textField -> new PayeePredicate(textField.getText(), Options.regexForFiltersProperty().get()))
-                .collect(Collectors.toList());
+    private static ObservableList<PieChart.Data>[] createPieDataSet(@NotNull final Map<String, BigDecimal> payeeTotals,
+                                                                    @NotNull final List<PayeePredicate> predicates) {
+
+        @SuppressWarnings("unchecked")
+        final ObservableList<PieChart.Data>[] chartData = new ObservableList[2];
 
-        // Iterate through the list and add up filtered payees
-        for (final TranTuple tranTuple : list) {
-            final String payee = tranTuple.transaction.getPayee();
-            BigDecimal sum = tranTuple.transaction.getAmount(tranTuple.account);
+        chartData[CREDIT] = FXCollections.observableArrayList();
+        chartData[DEBIT] = FXCollections.observableArrayList();
 
-            sum = sum.multiply(tranTuple.account.getCurrencyNode().getExchangeRate(currency));
+        final Map<String, BigDecimal> names = new HashMap<>();
 
+        // The filters only test the payee, so each payee total is tested once instead of every transaction
+        for (final Map.Entry<String, BigDecimal> entry : payeeTotals.entrySet()) {
             boolean keep = false;
 
             if (predicates.isEmpty()) {
                 keep = true;
             } else {
-                for (final Predicate<Transaction> predicate : predicates) {
-                    if (predicate.test(tranTuple.transaction)) {
+                for (final PayeePredicate predicate : predicates) {
+                    if (predicate.test(entry.getKey())) {
                         keep = true;
                         break;
                     }
@@ -349,11 +368,7 @@ public class IncomeExpensePayeePieChartDialogController {
             }
 
             if (keep) {
-                if (names.containsKey(payee)) {
-                    sum = sum.add(names.get(payee));
-                }
-
-                names.put(payee, sum);
+                names.put(entry.getKey(), entry.getValue());
             }
         }
 
@@ -384,34 +399,6 @@ public class IncomeExpensePayeePieChartDialogController {
 		return string.substring(0, MAX_NAME_LENGTH - 1) + ELLIPSIS;
     }
 
-    private static class TranTuple {
-
-        final Account account;
-
-        final Transaction transaction;
-
-        TranTuple(Account account, Transaction transaction) {
-            this.account = account;
-            this.transaction = transaction;
-        }
-    }
-
-    private List<TranTuple> getTransactions(final Account account, final List<TranTuple> transactions,
-                                            final LocalDate startDate, final LocalDate endDate) {
-
-        for (final Transaction transaction : account.getTransactions(startDate, endDate)) {
-            TranTuple tuple = new TranTuple(account, transaction);
-            transactions.add(tuple);
-        }
-
-        for (final Account child : account.getChildren(Comparators.getAccountByCode())) {
-            getTransactions(child, transactions, startDate, endDate);
-        }
-
-        return transactions;
-    }
-
-
     @FXML
     private void handleSaveAction() {
         ChartUtilities.saveChart(chartPane);
@@ -26,6 +26,7 @@ import javafx.fxml.FXML;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
 import jgnash.report.pdf.Report;
+import jgnash.report.reports.ListOfAccountsReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.uifx.report.pdf.ReportController;
 import jgnash.uifx.util.JavaFXUtils;
@@ -27,6 +27,7 @@ import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 
 import jgnash.report.pdf.Report;
+import jgnash.report.reports.NetWorthReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.resource.util.ResourceUtils;
 import jgnash.time.DateUtils;
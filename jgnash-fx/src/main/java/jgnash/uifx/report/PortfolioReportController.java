@@ -34,6 +34,7 @@ import jgnash.engine.AccountType;
 import jgnash.engine.EngineFactory;
 import jgnash.engine.InvestmentPerformanceSummary;
 import jgnash.report.pdf.Report;
+import jgnash.report.reports.PortfolioReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.uifx.Options;
 import jgnash.uifx.control.AccountComboBox;
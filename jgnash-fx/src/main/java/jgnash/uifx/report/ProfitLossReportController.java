@@ -29,6 +29,7 @@ import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 
 import jgnash.report.pdf.Report;
+import jgnash.report.reports.ProfitLossReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.report.table.SortOrder;
 import jgnash.resource.util.ResourceUtils;
@@ -20,6 +20,7 @@ package jgnash.uifx.report.pdf;
 import jgnash.report.pdf.Report;
 import jgnash.report.table.AbstractReportTableModel;
 
+import java.io.IOException;
 import java.util.function.Consumer;
 import java.util.prefs.Preferences;
 
@@ -59,6 +60,15 @@ public interface ReportController {
      */
     void refreshReport();
 
+    /**
+     * Writes a streaming report.  Controllers of a streaming {@link Report} do not write the report when refreshed;
+     * the report viewer calls this method from a background thread and displays the pages as they are completed.
+     *
+     * @throws IOException IO exception
+     */
+    default void writeReport() throws IOException {
+    }
+
     /**
      * Generated and returns the {@code AbstractReportTableModel} used for report generation
      *
@@ -25,9 +25,13 @@ import java.text.DecimalFormat;
 import java.text.MessageFormat;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -41,6 +45,7 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -56,7 +61,9 @@ import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
@@ -64,6 +71,7 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 import jgnash.report.pdf.Report;
 import jgnash.report.poi.Workbook;
@@ -79,6 +87,7 @@ import jgnash.uifx.util.StageUtils;
 import jgnash.uifx.views.main.MainView;
 import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.FileUtils;
+import jgnash.util.LogUtil;
 
 import org.apache.commons.math3.util.Precision;
 
@@ -109,6 +118,16 @@ public class ReportViewerDialogController {
 
     private static final double ZOOM_EPSILON = .001;
 
+    /**
+     * Number of rendered pages kept on either side of the current page of a streaming report.
+     */
+    private static final int STREAMING_PAGE_WINDOW = 3;
+
+    /**
+     * Place holder for pages of a streaming report that are not rendered.
+     */
+    private static final Image BLANK_PAGE = new WritableImage(1, 1);
+
     private final DoubleProperty zoomProperty = new SimpleDoubleProperty(1.0);
 
     private final DecimalFormat zoomDecimalFormat = new DecimalFormat("#.#");
@@ -194,12 +213,35 @@ public class ReportViewerDialogController {
     private final ScheduledThreadPoolExecutor reportExecutor = new ScheduledThreadPoolExecutor(1,
             new DefaultDaemonThreadFactory("Report View Executor"), new ThreadPoolExecutor.DiscardPolicy());
 
+    /**
+     * Serializes report generation and page rendering so the document is never read while it is written.
+     */
+    private final ExecutorService renderExecutor =
+            Executors.newSingleThreadExecutor(new DefaultDaemonThreadFactory("Report Render Executor"));
+
+    /**
+     * Number of report generation tasks that are queued or running.  The report can not be saved until they complete.
+     * Only accessed from the application thread.
+     */
+    private final IntegerProperty pendingRenders = new SimpleIntegerProperty();
+
+    /**
+     * Pages of a streaming report that are rendered or queued for rendering.  Only accessed from the application
+     * thread.
+     */
+    private final Set<Integer> renderedPages = new HashSet<>();
+
+    /**
+     * Incremented each time the report is refreshed to discard pages rendered for a previous refresh.
+     */
+    private volatile int refreshCount = 0;
+
     @FXML
     private void initialize() {
         busyPane = new BusyPane();
         stackPane.getChildren().add(busyPane);
 
-        saveButton.disableProperty().bind(report.isNull());
+        saveButton.disableProperty().bind(report.isNull().or(pendingRenders.greaterThan(0)));
         reportFormatButton.disableProperty().bind(report.isNull());
         fontSizeSpinner.disableProperty().bind(report.isNull());
 
@@ -258,6 +300,9 @@ public class ReportViewerDialogController {
             }
         });
 
+        // keep the pages around the current page of a streaming report rendered
+        pageIndex.addListener((observable, oldValue, newValue) -> loadPageWindow());
+
         pagePane.setSpacing(PAGE_BORDER);
         pagePane.setPadding(new Insets(PAGE_BORDER));
         pagePane.setAlignment(Pos.CENTER);
@@ -314,16 +359,31 @@ public class ReportViewerDialogController {
         parent.addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
                 parent.get().getWindow().setOnCloseRequest(event -> {
+                    shutdown();
+
                     try {
                         report.get().close();
                     } catch (IOException e) {
                         e.printStackTrace();
                     }
                 });
+
+                // the dialog may be closed without a close request
+                parent.get().getWindow().addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> shutdown());
             }
         });
     }
 
+    /**
+     * Stops report generation and releases the executor threads.
+     */
+    private void shutdown() {
+        refreshCount++;     // discard any pages still being rendered
+
+        reportExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
     private void refreshReport() {
         System.out.println("Report was Refreshed!!!!!");
         refresh();
@@ -392,8 +452,11 @@ public class ReportViewerDialogController {
     private void refresh() {
         final List<Node> children = pagePane.getChildren();
         children.clear();
+        renderedPages.clear();
         pageCount.set(0);
 
+        final int refreshId = ++refreshCount;
+
         reportExecutor.schedule(() -> {
             if (reportExecutor.getQueue().size() < 1) {   // ignore if we already have one waiting in the queue
 
@@ -403,12 +466,43 @@ public class ReportViewerDialogController {
                         updateMessage(resources.getString("Message.CompilingReport"));
                         updateProgress(-1, Long.MAX_VALUE);
 
-                        if (report.get() != null) {
+                        final Report pdfReport = report.get();
 
-                            for (int i = 0; i < report.get().getPageCount(); i++) {
+                        if (pdfReport != null && pdfReport.isStreaming()) {
+
+                            // pages are displayed as they are completed
+                            pdfReport.setPageListener((index, count) -> {
+                                if (index == 0) {
+                                    JavaFXUtils.runLater(() -> addPlaceHolders(refreshId, count));
+                                }
+
+                                if (index <= STREAMING_PAGE_WINDOW * 2) {
+                                    final BufferedImage bufferedImage
+                                            = pdfReport.renderImage(index, REPORT_RESOLUTION * UP_SCALING);
+
+                                    JavaFXUtils.runLater(() -> setPageImage(refreshId, index, bufferedImage));
+                                }
+
+                                updateProgress(index + 1, count);
+                            });
+
+                            try {
+                                reportController.writeReport();
+                            } catch (final IOException e) {
+                                LogUtil.logSevere(ReportViewerDialogController.class, e);
+                            } finally {
+                                pdfReport.setPageListener(null);
+                            }
+
+                            // render the pages the user may have scrolled to while the report was written
+                            JavaFXUtils.runLater(ReportViewerDialogController.this::loadPageWindow);
+
+                        } else if (pdfReport != null) {
+
+                            for (int i = 0; i < pdfReport.getPageCount(); i++) {
 
                                 // report resolution is fixed and the ImageView width and height are adjusted to the zoom value
-                                final BufferedImage bufferedImage = report.get().renderImage(i, REPORT_RESOLUTION * UP_SCALING);
+                                final BufferedImage bufferedImage = pdfReport.renderImage(i, REPORT_RESOLUTION * UP_SCALING);
 
                                 JavaFXUtils.runLater(() -> {
 
@@ -434,14 +528,110 @@ public class ReportViewerDialogController {
                 };
 
                 JavaFXUtils.runLater(() -> {
-                    busyPane.setTask(task);
-                    new Thread(task).start();
+                    if (!renderExecutor.isShutdown()) {
+                        pendingRenders.set(pendingRenders.get() + 1);
+
+                        task.addEventHandler(WorkerStateEvent.WORKER_STATE_SUCCEEDED, event -> renderFinished());
+                        task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED, event -> renderFinished());
+                        task.addEventHandler(WorkerStateEvent.WORKER_STATE_FAILED, event -> renderFinished());
+
+                        busyPane.setTask(task);
+                        renderExecutor.execute(task);
+                    }
                 });
 
             }
         }, UPDATE_PERIOD, TimeUnit.MILLISECONDS);
     }
 
+    private void renderFinished() {
+        pendingRenders.set(pendingRenders.get() - 1);
+    }
+
+    /**
+     * Adds a blank page for each page of a streaming report.
+     *
+     * @param refreshId refresh the pages belong to
+     * @param count     number of pages
+     */
+    private void addPlaceHolders(final int refreshId, final int count) {
+        if (refreshId == refreshCount) {
+            final PageFormat pageFormat = report.get().getPageFormat();
+
+            final List<Node> children = pagePane.getChildren();
+            children.clear();
+
+            for (int i = 0; i < count; i++) {
+                final ImageView imageView = new ImageView(BLANK_PAGE);
+
+                imageView.setEffect(dropShadow);
+
+                // the report resolution matches the page format units
+                imageView.fitWidthProperty().bind(zoomProperty.multiply(pageFormat.getWidth()));
+                imageView.fitHeightProperty().bind(zoomProperty.multiply(pageFormat.getHeight()));
+
+                children.add(imageView);
+            }
+
+            pageCount.set(count);
+        }
+    }
+
+    private void setPageImage(final int refreshId, final int index, final BufferedImage bufferedImage) {
+        final List<Node> children = pagePane.getChildren();
+
+        if (refreshId == refreshCount && index < children.size()) {
+            ((ImageView) children.get(index)).setImage(SwingFXUtils.toFXImage(bufferedImage, null));
+            renderedPages.add(index);
+        }
+    }
+
+    /**
+     * Renders the pages of a streaming report that are near the current page and releases the others to bound the
+     * memory used by large reports.
+     */
+    private void loadPageWindow() {
+        final Report pdfReport = report.get();
+
+        if (pdfReport == null || !pdfReport.isStreaming() || pageCount.get() == 0) {
+            return;
+        }
+
+        final List<Node> children = pagePane.getChildren();
+
+        final int first = Math.max(0, pageIndex.get() - STREAMING_PAGE_WINDOW);
+        final int last = Math.min(children.size() - 1, pageIndex.get() + STREAMING_PAGE_WINDOW);
+
+        renderedPages.removeIf(index -> {
+            if (index < first || index > last) {
+                ((ImageView) children.get(index)).setImage(BLANK_PAGE);
+                return true;
+            }
+            return false;
+        });
+
+        final int refreshId = refreshCount;
+
+        for (int i = first; i <= last; i++) {
+            if (renderedPages.add(i)) {
+                final int index = i;
+
+                // queued behind the report generation
+                if (renderExecutor.isShutdown()) {
+                    return;
+                }
+
+                renderExecutor.execute(() -> {
+                    if (refreshId == refreshCount) {
+                        final BufferedImage bufferedImage = pdfReport.renderImage(index, REPORT_RESOLUTION * UP_SCALING);
+
+                        JavaFXUtils.runLater(() -> setPageImage(refreshId, index, bufferedImage));
+                    }
+                });
+            }
+        }
+    }
+
     private void updateStatus(final String status) {
         JavaFXUtils.runLater(() -> statusLabel.setText(status));
     }
@@ -475,11 +665,16 @@ public class ReportViewerDialogController {
 
             switch (extension) {
                 case "pdf":
-                    try {
-                        report.get().saveToFile(file.toPath());
-                    } catch (final IOException ex) {
-                        StaticUIMethods.displayException(ex);
-                    }
+                    final Report pdfReport = report.get();
+
+                    // queued behind page rendering so the document is not read concurrently
+                    renderExecutor.execute(() -> {
+                        try {
+                            pdfReport.saveToFile(file.toPath());
+                        } catch (final IOException ex) {
+                            JavaFXUtils.runLater(() -> StaticUIMethods.displayException(ex));
+                        }
+                    });
                     break;
                 case "xls":
                 case "xlsx":
@@ -541,7 +736,7 @@ public class ReportViewerDialogController {
 
     @FXML
     private void handleLastAction() {
-        setPage(report.get().getPageCount() - 1);
+        setPage(pageCount.get() - 1);
     }
 
     private int getZoomRatio() {
@@ -0,0 +1,263 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.uifx.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import javafx.event.Event;
+import javafx.scene.control.TreeItem;
+
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.Comparators;
+import jgnash.util.Nullable;
+
+/**
+ * Maintains a hierarchy of {@code TreeItem}s for the account tree.
+ * <p>
+ * Tree items are indexed by account so changes to an account only add, move or remove the affected items instead of
+ * rebuilding the tree, which preserves expansion and selection state.  Must be used on the application thread.
+ *
+ * @author Craig Cavanaugh
+ */
+public class AccountTreeItemModel {
+
+    private final Map<UUID, TreeItem<Account>> items = new HashMap<>();
+
+    private final Comparator<Account> comparator = Comparators.getAccountByCode();
+
+    private final Predicate<Account> visiblePredicate;
+
+    private TreeItem<Account> root;
+
+    /**
+     * Constructor.
+     *
+     * @param visiblePredicate {@code Predicate} that determines if an account and its children are displayed
+     */
+    public AccountTreeItemModel(final Predicate<Account> visiblePredicate) {
+        this.visiblePredicate = visiblePredicate;
+    }
+
+    /**
+     * Builds the tree items for an account hierarchy, replacing any prior tree.
+     *
+     * @param rootAccount root of the account hierarchy
+     * @return the root {@code TreeItem} or {@code null} if {@code rootAccount} is {@code null}
+     */
+    @Nullable
+    public TreeItem<Account> load(@Nullable final Account rootAccount) {
+        items.clear();
+        root = null;
+
+        if (rootAccount != null) {
+            root = createItem(rootAccount);
+        }
+
+        return root;
+    }
+
+    /**
+     * Returns the {@code TreeItem} displaying an account.
+     *
+     * @param account {@code Account} to search for
+     * @return the {@code TreeItem} or {@code null} if the account is not displayed
+     */
+    @Nullable
+    public TreeItem<Account> getTreeItem(@Nullable final Account account) {
+        return account != null ? items.get(account.getUuid()) : null;
+    }
+
+    /**
+     * Updates the tree to match the current state of an account.  The account is added, moved, reordered or removed
+     * as needed, and the same is done for its direct children.
+     *
+     * @param account {@code Account} that was added or modified
+     */
+    public void update(final Account account) {
+        if (root == null) {
+            return;
+        }
+
+        if (account.getAccountType() == AccountType.ROOT) {
+            updateChildren(root);
+            refresh(account);
+            return;
+        }
+
+        final TreeItem<Account> parentItem = getTreeItem(account.getParent());
+        TreeItem<Account> item = items.get(account.getUuid());
+
+        if (parentItem == null || !visiblePredicate.test(account)) {
+            if (item != null) {
+                removeItem(item);
+            }
+            return;
+        }
+
+        if (item == null) {
+            insertItem(parentItem, createItem(account));
+        } else {
+            if (item.getParent() != parentItem || !isOrdered(item)) {
+                item.getParent().getChildren().remove(item);
+                insertItem(parentItem, item);
+            }
+
+            updateChildren(item);
+        }
+
+        refresh(account);
+    }
+
+    /**
+     * Removes an account and its children from the tree.
+     *
+     * @param account {@code Account} that was removed
+     */
+    public void remove(final Account account) {
+        final TreeItem<Account> item = items.get(account.getUuid());
+
+        if (item != null && item != root) {
+            removeItem(item);
+        }
+    }
+
+    /**
+     * Signals that the displayed values of an account have changed.  Only the nearest displayed item on the path to
+     * the root is notified, and nothing happens if the account is not displayed.
+     *
+     * @param account {@code Account} with changed values
+     */
+    public void refresh(@Nullable final Account account) {
+        Account node = account;
+
+        while (node != null) {
+            final TreeItem<Account> item = items.get(node.getUuid());
+
+            if (item != null) {
+                Event.fireEvent(item, new TreeItem.TreeModificationEvent<>(TreeItem.valueChangedEvent(), item,
+                        item.getValue()));
+                return;
+            }
+
+            node = node.getParent();
+        }
+    }
+
+    private TreeItem<Account> createItem(final Account account) {
+        final TreeItem<Account> item = new TreeItem<>(account);
+        item.setExpanded(true);
+
+        items.put(account.getUuid(), item);
+
+        for (final Account child : account.getChildren(comparator)) {
+            if (visiblePredicate.test(child)) {
+                item.getChildren().add(createItem(child));
+            }
+        }
+
+        return item;
+    }
+
+    private void removeItem(final TreeItem<Account> item) {
+        if (item.getParent() != null) {
+            item.getParent().getChildren().remove(item);
+        }
+
+        unIndex(item);
+    }
+
+    private void unIndex(final TreeItem<Account> item) {
+        items.remove(item.getValue().getUuid());
+
+        for (final TreeItem<Account> child : item.getChildren()) {
+            unIndex(child);
+        }
+    }
+
+    /**
+     * Synchronizes the children of an item with the children of its account.
+     */
+    private void updateChildren(final TreeItem<Account> item) {
+        final Account account = item.getValue();
+
+        // remove or relocate items for accounts that have moved or been hidden
+        for (final TreeItem<Account> childItem : new ArrayList<>(item.getChildren())) {
+            final Account child = childItem.getValue();
+
+            if (child.getParent() != account) {
+                update(child);
+            } else if (!visiblePredicate.test(child)) {
+                removeItem(childItem);
+            }
+        }
+
+        // add accounts that are not displayed yet or that moved here
+        for (final Account child : account.getChildren(comparator)) {
+            if (visiblePredicate.test(child)) {
+                final TreeItem<Account> childItem = items.get(child.getUuid());
+
+                if (childItem == null) {
+                    insertItem(item, createItem(child));
+                } else if (childItem.getParent() != item) {
+                    if (childItem.getParent() != null) {
+                        childItem.getParent().getChildren().remove(childItem);
+                    }
+                    insertItem(item, childItem);
+                } else if (!isOrdered(childItem)) {
+                    item.getChildren().remove(childItem);
+                    insertItem(item, childItem);
+                }
+            }
+        }
+    }
+
+    private boolean isOrdered(final TreeItem<Account> item) {
+        final List<TreeItem<Account>> siblings = item.getParent().getChildren();
+        final int index = siblings.indexOf(item);
+
+        return (index == 0 || comparator.compare(siblings.get(index - 1).getValue(), item.getValue()) <= 0)
+                && (index == siblings.size() - 1
+                || comparator.compare(item.getValue(), siblings.get(index + 1).getValue()) <= 0);
+    }
+
+    private void insertItem(final TreeItem<Account> parentItem, final TreeItem<Account> item) {
+        final List<TreeItem<Account>> children = parentItem.getChildren();
+
+        int low = 0;
+        int high = children.size();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (comparator.compare(children.get(mid).getValue(), item.getValue()) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        children.add(low, item);
+    }
+}
@@ -19,12 +19,15 @@ package jgnash.uifx.util;
 
 import java.text.Format;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.OptionalDouble;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -39,11 +42,14 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableColumnBase;
 import javafx.scene.control.TableView;
 import javafx.util.Callback;
 
+import jgnash.uifx.skin.ThemeManager;
 import jgnash.util.EncodeDecode;
 import jgnash.util.NotNull;
 
@@ -78,6 +84,11 @@ public class TableViewManager<S> {
      */
     private static final int MAX_WIDTH = 4000;
 
+    /**
+     * Number of text widths measured per visit to the application thread
+     */
+    private static final int MEASURE_BATCH_SIZE = 256;
+
     @NotNull
     private final TableView<S> tableView;
 
@@ -93,6 +104,18 @@ public class TableViewManager<S> {
 
     private final ObjectProperty<Supplier<String>> preferenceKeyFactory = new SimpleObjectProperty<>();
 
+    private final ObjectProperty<Callback<TableColumnBase<S, ?>, Boolean>> incrementalColumnFactory
+            = new SimpleObjectProperty<>();
+
+    private final ColumnValueModel columnValueModel = new ColumnValueModel();
+
+    /**
+     * Measured text widths by style and text.  Widths are only valid for the font scale they were measured at.
+     */
+    private final Map<String, Map<String, Double>> textWidthCache = new ConcurrentHashMap<>();
+
+    private volatile double textWidthFontScale;
+
     private final ColumnVisibilityListener visibilityListener = new ColumnVisibilityListener();
 
     private final ColumnWidthListener columnWidthListener = new ColumnWidthListener();
@@ -153,6 +176,23 @@ public class TableViewManager<S> {
                 packTable();
             }
         });
+
+        // track row changes so the widest column values are known without reading every row
+        tableView.getItems().addListener(columnValueModel);
+
+        tableView.itemsProperty().addListener((observable, oldValue, newValue) -> {
+            if (oldValue != null) {
+                oldValue.removeListener(columnValueModel);
+            }
+
+            if (newValue != null) {
+                newValue.addListener(columnValueModel);
+            }
+
+            columnValueModel.invalidate();
+        });
+
+        tableView.getColumns().addListener((ListChangeListener<TableColumn<S, ?>>) c -> columnValueModel.invalidate());
     }
 
     public void restoreLayout() {
@@ -187,29 +227,38 @@ public class TableViewManager<S> {
      * @return preferred width
      */
     private double getCalculatedColumnWidth(final TableColumnBase<S, ?> column) {
-        double maxWidth = 0;
+        final int index = tableView.getColumns().indexOf(column);
 
-        /* Collect all the unique cell items and remove null*/
-        final Set<Object> cellItems = new HashSet<>();
+        Collection<Object> cellItems = null;
 
-        for (int i = 0; i < tableView.getItems().size(); i++) {
-            cellItems.add(column.getCellData(i));
+        if (columnValueModel.isTracked(column)) {
+            if (!columnValueModel.isValid()) {
+                JavaFXUtils.runAndWait(columnValueModel::rebuild);
+            }
+
+            cellItems = columnValueModel.getValues(index);
         }
-        cellItems.remove(null);
 
-        if (cellItems.size() > 0) { // don't try if there is no data or the stream function will throw an error
+        if (cellItems == null) {    // collect all the unique cell items
+            cellItems = new HashSet<>();
 
-            final OptionalDouble max = cellItems.parallelStream().filter(Objects::nonNull).mapToDouble(o -> {
-                final Format format = columnFormatFactory.get().call(column);   // thread local format per thread
-                return JavaFXUtils.getDisplayedTextWidth(format != null ? format.format(o) : o.toString(), column.getStyle());
-            }).max();
+            for (int i = 0; i < tableView.getItems().size(); i++) {
+                cellItems.add(column.getCellData(i));
+            }
+        }
+
+        cellItems.remove(null);
 
-            maxWidth = max.isPresent() ? max.getAsDouble() : 0;
+        final Format format = columnFormatFactory.get().call(column);
+        final Set<String> cellText = new HashSet<>();
+
+        for (final Object o : cellItems) {
+            cellText.add(format != null ? format.format(o) : o.toString());
         }
 
-        //noinspection SuspiciousMethodCalls
-        maxWidth = Math.max(maxWidth, Math.max(column.getMinWidth(), minimumColumnWidthFactory
-                .get().call(tableView.getColumns().indexOf(column))));
+        double maxWidth = getMaxTextWidth(cellText, column.getStyle());
+
+        maxWidth = Math.max(maxWidth, Math.max(column.getMinWidth(), minimumColumnWidthFactory.get().call(index)));
 
         // header text width
         maxWidth = Math.max(maxWidth,
@@ -218,6 +267,56 @@ public class TableViewManager<S> {
         return Math.ceil(maxWidth + COLUMN_PADDING);
     }
 
+    /**
+     * Returns the width of the widest text.  Only text that has not been measured before is measured, and it is
+     * measured in batches to limit the number of round trips to the application thread.
+     *
+     * @param text  text to measure
+     * @param style style for the text
+     * @return maximum width
+     */
+    private double getMaxTextWidth(final Collection<String> text, final String style) {
+        final double fontScale = ThemeManager.fontScaleProperty().get();
+
+        if (fontScale != textWidthFontScale) {
+            textWidthCache.clear();
+            textWidthFontScale = fontScale;
+        }
+
+        final Map<String, Double> widths = textWidthCache.computeIfAbsent(style != null ? style : "",
+                key -> new ConcurrentHashMap<>());
+
+        final List<String> unmeasured = new ArrayList<>();
+
+        double maxWidth = 0;
+
+        for (final String string : text) {
+            final Double width = widths.get(string);
+
+            if (width != null) {
+                maxWidth = Math.max(maxWidth, width);
+            } else {
+                unmeasured.add(string);
+            }
+        }
+
+        for (int i = 0; i < unmeasured.size(); i += MEASURE_BATCH_SIZE) {
+            final List<String> batch = unmeasured.subList(i, Math.min(unmeasured.size(), i + MEASURE_BATCH_SIZE));
+
+            JavaFXUtils.runAndWait(() -> {
+                for (final String string : batch) {
+                    widths.put(string, JavaFXUtils.getDisplayedTextWidth(string, style));
+                }
+            });
+        }
+
+        for (final String string : unmeasured) {
+            maxWidth = Math.max(maxWidth, widths.getOrDefault(string, 0.0));
+        }
+
+        return maxWidth;
+    }
+
     private void saveColumnWidths() {
         JavaFXUtils.runLater(() -> {
             if (preferenceKeyFactory.get() != null) {
@@ -504,6 +603,18 @@ public class TableViewManager<S> {
         this.preferenceKeyFactory.set(keyFactory);
     }
 
+    /**
+     * Identifies fixed width columns whose values depend only on the row and change only when the row is added or
+     * removed.  The values of these columns are tracked as rows change so a pack does not need to read every row.
+     * Columns derived from other rows, such as a running balance, must not be identified.
+     *
+     * @param incrementalFactory Callback returning {@code true} if a column may be tracked
+     */
+    public void setIncrementalColumnFactory(final Callback<TableColumnBase<S, ?>, Boolean> incrementalFactory) {
+        this.incrementalColumnFactory.set(incrementalFactory);
+        columnValueModel.invalidate();
+    }
+
     private final class ColumnVisibilityListener implements ChangeListener<Boolean> {
         @Override
         public void changed(final ObservableValue<? extends Boolean> observable, final Boolean oldValue,
@@ -513,6 +624,126 @@ public class TableViewManager<S> {
         }
     }
 
+    /**
+     * Distinct cell values of the tracked columns, maintained as rows are added and removed.  Only modified on the
+     * application thread.
+     */
+    private final class ColumnValueModel implements ListChangeListener<S> {
+
+        private final Map<S, Object[]> rowValues = new IdentityHashMap<>();
+
+        /**
+         * Number of rows containing each value, indexed by column.  A {@code null} map is an untracked column.
+         */
+        private final List<Map<Object, Integer>> valueCounts = new ArrayList<>();
+
+        private boolean valid;
+
+        boolean isTracked(final TableColumnBase<S, ?> column) {
+            final int index = tableView.getColumns().indexOf(column);
+
+            return incrementalColumnFactory.get() != null && index >= 0
+                    && columnWeightFactory.get().call(index) == 0
+                    && incrementalColumnFactory.get().call(column);
+        }
+
+        synchronized boolean isValid() {
+            return valid;
+        }
+
+        synchronized void invalidate() {
+            valid = false;
+            rowValues.clear();
+            valueCounts.clear();
+        }
+
+        synchronized void rebuild() {
+            invalidate();
+
+            for (final TableColumn<S, ?> column : tableView.getColumns()) {
+                valueCounts.add(isTracked(column) ? new HashMap<>() : null);
+            }
+
+            for (final S item : tableView.getItems()) {
+                addRow(item);
+            }
+
+            valid = true;
+        }
+
+        /**
+         * Returns a copy of the distinct values for a column.
+         *
+         * @param index column index
+         * @return values or {@code null} if the column is not tracked
+         */
+        synchronized Collection<Object> getValues(final int index) {
+            if (valid && index >= 0 && index < valueCounts.size() && valueCounts.get(index) != null) {
+                return new HashSet<>(valueCounts.get(index).keySet());
+            }
+
+            return null;
+        }
+
+        private void addRow(final S item) {
+            final Object[] values = new Object[valueCounts.size()];
+
+            for (int i = 0; i < values.length; i++) {
+                if (valueCounts.get(i) != null) {
+                    values[i] = tableView.getColumns().get(i).getCellData(item);
+
+                    if (values[i] != null) {
+                        valueCounts.get(i).merge(values[i], 1, Integer::sum);
+                    }
+                }
+            }
+
+            rowValues.put(item, values);
+        }
+
+        private void removeRow(final S item) {
+            final Object[] values = rowValues.remove(item);
+
+            if (values != null) {
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) {
+                        valueCounts.get(i).computeIfPresent(values[i], (key, count) -> count > 1 ? count - 1 : null);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onChanged(final Change<? extends S> c) {
+            if (!valid) {
+                return;
+            }
+
+            final ObservableList<? extends S> list = c.getList();
+
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    continue;   // values are not changed by sorting
+                }
+
+                if (c.wasUpdated()) {
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        removeRow(list.get(i));
+                        addRow(list.get(i));
+                    }
+                } else {
+                    for (final S item : c.getRemoved()) {
+                        removeRow(item);
+                    }
+
+                    for (final S item : c.getAddedSubList()) {
+                        addRow(item);
+                    }
+                }
+            }
+        }
+    }
+
     private final class ColumnWidthListener implements ChangeListener<Number> {
 
         private static final int RATE_LIMIT_MILLIS = 175;
@@ -33,24 +33,23 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.SeparatorMenuItem;
-import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTableRow;
 import javafx.scene.control.TreeTableView;
 import javafx.scene.input.MouseButton;
 
 import jgnash.engine.Account;
-import jgnash.engine.Comparators;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
-import jgnash.engine.RootAccount;
 import jgnash.engine.message.Message;
 import jgnash.engine.message.MessageBus;
 import jgnash.engine.message.MessageChannel;
 import jgnash.engine.message.MessageListener;
+import jgnash.engine.message.MessageProperty;
 import jgnash.uifx.StaticUIMethods;
 import jgnash.uifx.control.IntegerTreeTableCell;
 import jgnash.uifx.skin.StyleClass;
+import jgnash.uifx.util.AccountTreeItemModel;
 import jgnash.uifx.util.AccountTypeFilter;
 import jgnash.uifx.util.JavaFXUtils;
 import jgnash.uifx.views.AccountBalanceDisplayManager;
@@ -72,6 +71,8 @@ public class AccountsViewController implements MessageListener {
 
     private final AccountTypeFilter typeFilter = new AccountTypeFilter(preferences);
 
+    private final AccountTreeItemModel treeItemModel = new AccountTreeItemModel(typeFilter::isAccountVisible);
+
     private final SimpleObjectProperty<Account> selectedAccount = new SimpleObjectProperty<>();
 
     @FXML
@@ -335,30 +336,7 @@ public class AccountsViewController implements MessageListener {
     private void loadAccountTree() {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
 
-        if (engine != null) {
-            final RootAccount r = engine.getRootAccount();
-
-            final TreeItem<Account> root = new TreeItem<>(r);
-            root.setExpanded(true);
-
-            treeTableView.setRoot(root);
-            loadChildren(root);
-        } else {
-            treeTableView.setRoot(null);
-        }
-    }
-
-    private synchronized void loadChildren(final TreeItem<Account> parentItem) {
-        parentItem.getValue().getChildren(Comparators.getAccountByCode()).stream().filter(typeFilter::isAccountVisible).forEach(child -> {
-            TreeItem<Account> childItem = new TreeItem<>(child);
-            childItem.setExpanded(true);
-
-            parentItem.getChildren().add(childItem);
-
-            if (child.getChildCount() > 0) {
-                loadChildren(childItem);
-            }
-        });
+        treeTableView.setRoot(treeItemModel.load(engine != null ? engine.getRootAccount() : null));
     }
 
     private synchronized void reload() {
@@ -371,16 +349,28 @@ public class AccountsViewController implements MessageListener {
         switch (event.getEvent()) {
             case ACCOUNT_ADD:
             case ACCOUNT_MODIFY:
-            case ACCOUNT_REMOVE:
             case ACCOUNT_VISIBILITY_CHANGE:
-                reload();
+                final Account account = event.getObject(MessageProperty.ACCOUNT);
+                JavaFXUtils.runLater(() -> {
+                    treeItemModel.update(account);
+                    updateButtonStates();
+                });
+                break;
+            case ACCOUNT_REMOVE:
+                final Account removed = event.getObject(MessageProperty.ACCOUNT);
+                JavaFXUtils.runLater(() -> treeItemModel.remove(removed));
                 break;
             case TRANSACTION_ADD:
+            case TRANSACTION_MODIFY:
             case TRANSACTION_REMOVE:
-                JavaFXUtils.runLater(() -> treeTableView.refresh());
+                final Account changed = event.getObject(MessageProperty.ACCOUNT);
+                JavaFXUtils.runLater(() -> {
+                    treeItemModel.refresh(changed);
+                    updateButtonStates();
+                });
                 break;
             case FILE_CLOSING:
-                JavaFXUtils.runLater(() -> treeTableView.setRoot(null));
+                JavaFXUtils.runLater(() -> treeTableView.setRoot(treeItemModel.load(null)));
                 MessageBus.getInstance().unregisterListener(this, MessageChannel.SYSTEM, MessageChannel.ACCOUNT,
                         MessageChannel.TRANSACTION);
                 break;
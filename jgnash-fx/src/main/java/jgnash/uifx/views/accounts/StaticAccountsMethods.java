@@ -37,10 +37,10 @@ import jgnash.engine.AccountGroup;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
 import jgnash.report.poi.Workbook;
+import jgnash.report.reports.ListOfAccountsReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.resource.util.ResourceUtils;
 import jgnash.uifx.StaticUIMethods;
-import jgnash.uifx.report.ListOfAccountsReport;
 import jgnash.uifx.skin.ThemeManager;
 import jgnash.uifx.util.AccountTypeFilter;
 import jgnash.uifx.util.FXMLUtils;
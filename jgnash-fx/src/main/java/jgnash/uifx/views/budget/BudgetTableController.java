@@ -25,9 +25,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
@@ -245,6 +247,26 @@ public class BudgetTableController implements MessageListener {
      */
     private static final int UPDATE_PERIOD = 350;
 
+    /**
+     * Calculates summaries and prefetches period results off the application thread.
+     */
+    private ThreadPoolExecutor backgroundExecutor;
+
+    /**
+     * Identifies the most recent prefetch request.  Older requests are skipped.
+     */
+    private final AtomicLong prefetchRequest = new AtomicLong();
+
+    /**
+     * Identifies the most recent summary request.  Results of older requests are discarded.
+     */
+    private final AtomicLong summaryRequest = new AtomicLong();
+
+    /**
+     * Identifies the budget, year and running totals state the minimum column width was calculated for.
+     */
+    private String columnWidthKey;
+
     /**
      * Used to alter timing for rate limiting the first boot for a better visual effect
      */
@@ -267,6 +289,10 @@ public class BudgetTableController implements MessageListener {
                 new DefaultDaemonThreadFactory("Budget View Rate Limit Executor"),
                 new ThreadPoolExecutor.DiscardPolicy());
 
+        backgroundExecutor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new DefaultDaemonThreadFactory("Budget View Background Executor"));
+        backgroundExecutor.allowCoreThreadTimeOut(true);
+
         tableWidthChangeListener = (observable, oldValue, newValue) -> {
             if (newValue != null && !oldValue.equals(newValue)) {
                 optimizeColumnWidths();
@@ -372,6 +398,13 @@ public class BudgetTableController implements MessageListener {
                                     handleShiftLeft();
                                 }
                             }
+
+                            // widen the columns if the newly visible periods require it and prefetch the neighbours
+                            if (updateMinColumnWidth()) {
+                                optimizeColumnWidths();
+                            }
+
+                            prefetchResults();
                         }
                     }
                 }
@@ -544,11 +577,14 @@ public class BudgetTableController implements MessageListener {
                 budgetResultsModel = new BudgetResultsModel(budget.get(), yearSpinner.getValue(),
                         engine.getDefaultCurrency(), runningTotalsButton.isSelected());
 
-                // model has changed, calculate the minimum column width for the summary columns
-                minSummaryColumnWidth.set(calculateMinSummaryWidthColumnWidth());
+                // the minimum column width only grows until the budget, year, or running totals state changes
+                final String key = budget.get().getUuid() + ":" + yearSpinner.getValue() + ":"
+                        + runningTotalsButton.isSelected();
 
-                // model has changed, calculate the minimum column width the data model needs
-                minColumnWidth = calculateMinPeriodColumnWidth();
+                if (!key.equals(columnWidthKey)) {
+                    columnWidthKey = key;
+                    minColumnWidth = INITIAL_WIDTH;
+                }
 
                 // register the listener with the new model
                 budgetResultsModel.addMessageListener(this);    // register with the new model
@@ -593,14 +629,19 @@ public class BudgetTableController implements MessageListener {
 
             accountGroupList.setAll(budgetResultsModel.getAccountGroupList());
 
+            updateExpandedAccountList();
+
+            // model has changed, calculate the minimum column width the visible periods need
+            updateMinColumnWidth();
+
             optimizeColumnWidths();
 
             buildPeriodTable();
             buildPeriodSummaryTable();
 
-            updateExpandedAccountList();
+            updateSummaries();
 
-            updateSparkLines();
+            prefetchResults();
 
             JavaFXUtils.runLater(this::bindScrollBars);
 
@@ -1045,94 +1086,124 @@ public class BudgetTableController implements MessageListener {
         accountGroupPeriodSummaryTable.getColumns().add(headerColumn);
     }
 
-    private double calculateMinColumnWidth(final BudgetPeriodResults budgetPeriodResults) {
-        double max = 0;
-        double min = 0;
-
-        max = Math.max(max, budgetPeriodResults.getBudgeted().doubleValue());
-        max = Math.max(max, budgetPeriodResults.getChange().doubleValue());
-        max = Math.max(max, budgetPeriodResults.getRemaining().doubleValue());
-
-        min = Math.min(min, budgetPeriodResults.getBudgeted().doubleValue());
-        min = Math.min(min, budgetPeriodResults.getChange().doubleValue());
-        min = Math.min(min, budgetPeriodResults.getRemaining().doubleValue());
-
+    /**
+     * Calculates the width needed to display the largest and smallest values of a range.
+     *
+     * @param range the maximum and minimum values
+     * @return column width
+     */
+    private double calculateMinColumnWidth(final double[] range) {
         return Math.max(JavaFXUtils.getDisplayedTextWidth(
-                NumericFormats.getFullCommodityFormat(budgetResultsModel.getBaseCurrency()).format(max) +
+                NumericFormats.getFullCommodityFormat(budgetResultsModel.getBaseCurrency()).format(range[0]) +
                         BORDER_MARGIN, null), JavaFXUtils.getDisplayedTextWidth(
-                NumericFormats.getFullCommodityFormat(budgetResultsModel.getBaseCurrency()).format(min) +
+                NumericFormats.getFullCommodityFormat(budgetResultsModel.getBaseCurrency()).format(range[1]) +
                         BORDER_MARGIN, null));
     }
 
-    private double calculateMinColumnWidth(final BudgetPeriodDescriptor descriptor, final Account account) {
-        return calculateMinColumnWidth(budgetResultsModel.getResults(descriptor, account));
-    }
-
-    private double calculateMinColumnWidth(final Account account) {
-        return calculateMinColumnWidth(budgetResultsModel.getResults(account));
+    /**
+     * Expands a range of values to include the values of a result.
+     *
+     * @param range               the maximum and minimum values
+     * @param budgetPeriodResults results to include
+     */
+    private static void updateRange(final double[] range, final BudgetPeriodResults budgetPeriodResults) {
+        range[0] = Math.max(range[0], budgetPeriodResults.getBudgeted().doubleValue());
+        range[0] = Math.max(range[0], budgetPeriodResults.getChange().doubleValue());
+        range[0] = Math.max(range[0], budgetPeriodResults.getRemaining().doubleValue());
+
+        range[1] = Math.min(range[1], budgetPeriodResults.getBudgeted().doubleValue());
+        range[1] = Math.min(range[1], budgetPeriodResults.getChange().doubleValue());
+        range[1] = Math.min(range[1], budgetPeriodResults.getRemaining().doubleValue());
     }
 
-    private double calculateMinColumnWidth(final BudgetPeriodDescriptor descriptor) {
+    private double getMinHeaderWidth() {
         double max = 0;
-        double min = 0;
 
-        for (final AccountGroup accountGroup : accountGroupList) {
-            BudgetPeriodResults budgetPeriodResults = budgetResultsModel.getResults(descriptor, accountGroup);
-            max = Math.max(max, budgetPeriodResults.getBudgeted().doubleValue());
-            max = Math.max(max, budgetPeriodResults.getChange().doubleValue());
-            max = Math.max(max, budgetPeriodResults.getRemaining().doubleValue());
-
-            min = Math.min(min, budgetPeriodResults.getBudgeted().doubleValue());
-            min = Math.min(min, budgetPeriodResults.getChange().doubleValue());
-            min = Math.min(min, budgetPeriodResults.getRemaining().doubleValue());
-        }
+        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Budgeted")
+                + BORDER_MARGIN, null));
+        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Actual")
+                + BORDER_MARGIN, null));
+        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Remaining")
+                + BORDER_MARGIN, null));
 
-        return Math.max(JavaFXUtils.getDisplayedTextWidth(
-                NumericFormats.getFullCommodityFormat(budgetResultsModel.getBaseCurrency()).format(max) +
-                        BORDER_MARGIN, null),
-                JavaFXUtils.getDisplayedTextWidth(
-                        NumericFormats.getFullCommodityFormat(budgetResultsModel.getBaseCurrency()).format(min) +
-                                BORDER_MARGIN, null));
+        return max;
     }
 
-    private double calculateMinPeriodColumnWidth() {
-        double max = 0;
+    /**
+     * Calculates the minimum column width needed by the visible periods.  Only the visible periods are calculated so
+     * large budgets are displayed quickly, and the width only increases as other periods are scrolled into view
+     * to keep the layout stable.
+     *
+     * @return {@code true} if the minimum column width increased
+     */
+    private boolean updateMinColumnWidth() {
+        final List<BudgetPeriodDescriptor> descriptors = budgetResultsModel.getDescriptorList();
+
+        final int start = Math.max(0, Math.min(index, descriptors.size() - visibleColumnCount.get()));
+        final int end = Math.min(descriptors.size(), start + Math.max(visibleColumnCount.get(), 1));
 
-        for (final BudgetPeriodDescriptor descriptor : budgetResultsModel.getDescriptorList()) {
+        final double[] range = new double[2];
+
+        for (final BudgetPeriodDescriptor descriptor : descriptors.subList(start, end)) {
             for (final Account account : expandedAccountList) {
-                max = Math.max(max, calculateMinColumnWidth(descriptor, account));
+                updateRange(range, budgetResultsModel.getResults(descriptor, account));
             }
         }
 
-        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Budgeted")
-                + BORDER_MARGIN, null));
-        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Actual")
-                + BORDER_MARGIN, null));
-        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Remaining")
-                + BORDER_MARGIN, null));
+        final double max = Math.ceil(Math.max(calculateMinColumnWidth(range), getMinHeaderWidth()));
+
+        if (max > minColumnWidth) {
+            minColumnWidth = max;
+            return true;
+        }
 
-        return Math.ceil(max);
+        return false;
     }
 
-    private double calculateMinSummaryWidthColumnWidth() {
-        double max = 0;
+    /**
+     * Calculates the results of the periods neighbouring the visible periods in the background so they are cached
+     * before being scrolled into view.
+     */
+    private void prefetchResults() {
+        final long request = prefetchRequest.incrementAndGet();
 
-        for (final BudgetPeriodDescriptor descriptor : budgetResultsModel.getDescriptorList()) {
-            max = Math.max(max, calculateMinColumnWidth(descriptor));
+        final BudgetResultsModel model = budgetResultsModel;
+        final List<Account> accounts = new ArrayList<>(expandedAccountList);
+        final List<AccountGroup> groups = new ArrayList<>(accountGroupList);
+
+        final int size = model.getDescriptorList().size();
+        final int visible = Math.max(visibleColumnCount.get(), 1);
+
+        final int first = Math.max(0, Math.min(index, size));
+        final int start = Math.max(0, first - visible);
+        final int end = Math.min(size, first + visible * 2);
+
+        // visible periods first, then the following and preceding periods
+        final List<BudgetPeriodDescriptor> descriptors = new ArrayList<>();
+
+        for (int i = first; i < end; i++) {
+            descriptors.add(model.getDescriptorList().get(i));
         }
 
-        for (final Account account : expandedAccountList) {
-            max = Math.max(max, calculateMinColumnWidth(account));
+        for (int i = first - 1; i >= start; i--) {
+            descriptors.add(model.getDescriptorList().get(i));
         }
 
-        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Budgeted")
-                + BORDER_MARGIN, null));
-        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Actual")
-                + BORDER_MARGIN, null));
-        max = Math.max(max, JavaFXUtils.getDisplayedTextWidth(resources.getString("Column.Remaining")
-                + BORDER_MARGIN, null));
+        backgroundExecutor.execute(() -> {
+            for (final BudgetPeriodDescriptor descriptor : descriptors) {
+                for (final Account account : accounts) {
+                    if (request != prefetchRequest.get()) {
+                        return; // a newer request has replaced this one
+                    }
 
-        return Math.ceil(max);
+                    model.getResults(descriptor, account);
+                }
+
+                for (final AccountGroup group : groups) {
+                    model.getResults(descriptor, group);
+                }
+            }
+        });
     }
 
     private void handleBudgetUpdate() {
@@ -1151,22 +1222,59 @@ public class BudgetTableController implements MessageListener {
 
             optimizeColumnWidths();
 
-            updateSparkLines();
+            updateSummaries();
         });
     }
 
-    private void updateSparkLines() {
-        sparkLinePane.getChildren().clear();
+    /**
+     * Calculates the summary column width and the spark lines in the background because they require the results
+     * of every period.  The display is updated when complete.
+     */
+    private void updateSummaries() {
+        final long request = summaryRequest.incrementAndGet();
+
+        final BudgetResultsModel model = budgetResultsModel;
+        final List<Account> accounts = new ArrayList<>(expandedAccountList);
+        final List<AccountGroup> groups = new ArrayList<>(accountGroupList);
 
-        for (final AccountGroup group : accountGroupList) {
-            List<BigDecimal> remaining = budgetResultsModel.getDescriptorList().parallelStream().map(descriptor ->
-                    budgetResultsModel.getResults(descriptor, group).getRemaining()).collect(Collectors.toList());
+        backgroundExecutor.execute(() -> {
+            final List<List<BigDecimal>> remainingList = new ArrayList<>();
 
-            final HBox hBox = new HBox(new Label(group.toString()), new BudgetSparkLine(remaining));
-            hBox.setAlignment(Pos.CENTER_LEFT);
+            for (final AccountGroup group : groups) {
+                remainingList.add(model.getDescriptorList().stream().map(descriptor ->
+                        model.getResults(descriptor, group).getRemaining()).collect(Collectors.toList()));
+            }
 
-            sparkLinePane.getChildren().add(hBox);
-        }
+            // range of the summary values, text widths are measured on the application thread
+            final double[] range = new double[2];
+
+            for (final BudgetPeriodDescriptor descriptor : model.getDescriptorList()) {
+                for (final AccountGroup group : groups) {
+                    updateRange(range, model.getResults(descriptor, group));
+                }
+            }
+
+            for (final Account account : accounts) {
+                updateRange(range, model.getResults(account));
+            }
+
+            JavaFXUtils.runLater(() -> {
+                if (request == summaryRequest.get()) {  // discard if the model has changed again
+                    minSummaryColumnWidth.set(Math.ceil(Math.max(calculateMinColumnWidth(range),
+                            getMinHeaderWidth())));
+
+                    sparkLinePane.getChildren().clear();
+
+                    for (int i = 0; i < groups.size(); i++) {
+                        final HBox hBox = new HBox(new Label(groups.get(i).toString()),
+                                new BudgetSparkLine(remainingList.get(i)));
+                        hBox.setAlignment(Pos.CENTER_LEFT);
+
+                        sparkLinePane.getChildren().add(hBox);
+                    }
+                }
+            });
+        });
     }
 
     private void handleEditAccountGoals(@NotNull final Account account) {
@@ -52,6 +52,8 @@ public class BasicRegisterTableController extends RegisterTableController {
 
     private static final boolean[] DEFAULT_COLUMN_VISIBILITY = {true, false, true, true, true, true, true, true, true, true};
 
+    private final RunningBalance runningBalance = new RunningBalance(sortedList, account);
+
     @FXML
     @Override
     void initialize() {
@@ -155,21 +157,13 @@ public class BasicRegisterTableController extends RegisterTableController {
 
             return null;
         });
+
+        // the running balance depends on the preceding rows and must be read in full
+        tableViewManager.setIncrementalColumnFactory(param -> param != balanceColumn);
     }
 
     private BigDecimal getBalanceAt(final Transaction transaction) {
-        BigDecimal balance = BigDecimal.ZERO;
-
-        final Account account = this.account.get();
-
-        if (account != null) {
-            final int index = sortedList.indexOf(transaction);
-
-            for (int i = 0; i <= index; i++) {
-                balance = balance.add(sortedList.get(i).getAmount(account));
-            }
-        }
-        return balance;
+        return runningBalance.getBalanceAt(transaction);
     }
 
     private class AccountNameWrapper extends SimpleStringProperty {
@@ -146,6 +146,8 @@ public class InvestmentRegisterTableController extends RegisterTableController {
 
             return null;
         });
+
+        tableViewManager.setIncrementalColumnFactory(param -> true);
     }
 
     private Format getQuantityColumnFormat() {
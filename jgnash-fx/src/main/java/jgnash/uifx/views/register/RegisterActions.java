@@ -39,11 +39,11 @@ import jgnash.engine.InvestmentTransaction;
 import jgnash.engine.ReconciledState;
 import jgnash.engine.Transaction;
 import jgnash.report.poi.Workbook;
+import jgnash.report.reports.AccountRegisterReport;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.resource.util.ResourceUtils;
 import jgnash.uifx.Options;
 import jgnash.uifx.StaticUIMethods;
-import jgnash.uifx.report.AccountRegisterReport;
 import jgnash.uifx.util.FXMLUtils;
 import jgnash.uifx.views.main.MainView;
 import jgnash.uifx.views.register.reconcile.ReconcileSettingsDialogController;
@@ -201,7 +201,7 @@ public final class RegisterActions {
                         export.exportAccount();
                     } else if (FileUtils.getFileExtension(exportFile.getName()).contains(XLS)) {
                         final AbstractReportTableModel reportTableModel = AccountRegisterReport.createReportModel(account,
-                                startDate, endDate, false, "", "", true);
+                                startDate, endDate, false, "", "", true, Options.useAccountingTermsProperty().get());
 
                         Workbook.export(reportTableModel, exportFile);
                     } else {
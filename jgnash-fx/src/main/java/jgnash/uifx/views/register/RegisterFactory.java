@@ -21,6 +21,7 @@ import java.util.ResourceBundle;
 
 import jgnash.engine.AccountGroup;
 import jgnash.engine.AccountType;
+import jgnash.report.reports.RegisterColumnNames;
 import jgnash.uifx.Options;
 import jgnash.util.NotNull;
 import jgnash.resource.util.ResourceUtils;
@@ -33,9 +34,6 @@ import jgnash.resource.util.ResourceUtils;
 public class RegisterFactory {
     private static final ResourceBundle rb = ResourceUtils.getBundle();
 
-    private static final String COLUMN_DATE = "Column.Date";
-    private static final String COLUMN_NUM = "Column.Num";
-    private static final String COLUMN_PAYEE = "Column.Payee";
     private static final String COLUMN_MEMO = "Column.Memo";
     private static final String COLUMN_ACCOUNT = "Column.Account";
     private static final String COLUMN_CLR = "Column.Clr";
@@ -53,61 +51,9 @@ public class RegisterFactory {
     private static final String COLUMN_RECEIVE = "Column.Receive";
     private static final String COLUMN_SPEND = "Column.Spend";
     private static final String COLUMN_PAYMENT = "Column.Payment";
-    private static final String COLUMN_ACTION = "Column.Action";
-    private static final String COLUMN_INVESTMENT = "Column.Investment";
-    private static final String COLUMN_PRICE = "Column.Price";
-    private static final String COLUMN_TIMESTAMP = "Column.Timestamp";
-    private static final String COLUMN_TOTAL = "Column.Total";
-    private static final String COLUMN_QUANTITY = "Column.Quantity";
     private static final String COLUMN_GAIN = "Column.Gain";
     private static final String COLUMN_LOSS = "Column.Loss";
 
-    private static final String[] BANK_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP),
-            rb.getString(COLUMN_NUM), rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO),
-            rb.getString(COLUMN_ACCOUNT), rb.getString(COLUMN_CLR), rb.getString(COLUMN_DEPOSIT),
-            rb.getString(COLUMN_WITHDRAWAL), rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] GENERIC_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_INCREASE), rb.getString(COLUMN_DECREASE),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] CASH_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_RECEIVE), rb.getString(COLUMN_SPEND),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] EXPENSE_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_EXPENSE), rb.getString(COLUMN_REBATE),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] INCOME_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_CHARGE), rb.getString(COLUMN_INCOME),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] CREDIT_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_PAYMENT), rb.getString(COLUMN_CHARGE),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] EQUITY_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_DECREASE), rb.getString(COLUMN_INCREASE),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] LIABILITY_NAMES = EQUITY_NAMES;
-
-    private static final String[] ACCOUNTING_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
-            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
-            rb.getString(COLUMN_CLR), rb.getString(COLUMN_DEBIT), rb.getString(COLUMN_CREDIT),
-            rb.getString(COLUMN_BALANCE) };
-
-    private static final String[] INVESTMENT_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_ACTION),
-            rb.getString(COLUMN_INVESTMENT), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_CLR),
-            rb.getString(COLUMN_QUANTITY), rb.getString(COLUMN_PRICE), rb.getString(COLUMN_TOTAL) };
-
     private static final String[] SPLIT_ACCOUNTING_NAMES = { rb.getString(COLUMN_ACCOUNT), rb.getString(COLUMN_CLR),
             rb.getString(COLUMN_MEMO), rb.getString(COLUMN_DEBIT), rb.getString(COLUMN_CREDIT),
             rb.getString(COLUMN_BALANCE) };
@@ -192,33 +138,7 @@ public class RegisterFactory {
     }
 
     public static String[] getColumnNames(@NotNull final AccountType accountType) {
-        String[] names; // reference to the correct column names
-
-        if (Options.useAccountingTermsProperty().get()) {
-            names = ACCOUNTING_NAMES;
-        } else {
-            if (accountType == AccountType.CREDIT) {
-                names = CREDIT_NAMES;
-            } else if (accountType == AccountType.EXPENSE) {
-                names = EXPENSE_NAMES;
-            } else if (accountType == AccountType.INCOME) {
-                names = INCOME_NAMES;
-            } else if (accountType == AccountType.CASH) {
-                names = CASH_NAMES;
-            } else if (accountType == AccountType.EQUITY) {
-                names = EQUITY_NAMES;
-            } else if (accountType == AccountType.LIABILITY) {
-                names = LIABILITY_NAMES;
-            } else if (accountType.getAccountGroup() == AccountGroup.ASSET) {
-                names = BANK_NAMES;
-            } else if (accountType.getAccountGroup() == AccountGroup.INVEST) {
-                names = INVESTMENT_NAMES;
-            } else {
-                names = GENERIC_NAMES;
-            }
-        }
-
-        return names;
+        return RegisterColumnNames.getColumnNames(accountType, Options.useAccountingTermsProperty().get());
     }
 
     /**
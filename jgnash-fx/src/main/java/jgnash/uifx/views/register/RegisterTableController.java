@@ -29,8 +29,11 @@ import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import javafx.beans.binding.Bindings;
@@ -48,11 +51,12 @@ import javafx.collections.ObservableList;
 import javafx.collections.SetChangeListener;
 import javafx.collections.WeakListChangeListener;
 import javafx.collections.WeakSetChangeListener;
-import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.IndexedCell;
 import javafx.scene.control.Label;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuItem;
@@ -61,6 +65,7 @@ import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import javafx.util.Callback;
@@ -91,6 +96,7 @@ import jgnash.uifx.util.TableViewManager;
 import jgnash.uifx.views.AccountBalanceDisplayManager;
 import jgnash.uifx.views.AccountBalanceDisplayMode;
 import jgnash.uifx.views.recurring.RecurringEntryDialog;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.function.MemoPredicate;
 import jgnash.util.function.PayeePredicate;
 import jgnash.util.function.ReconciledPredicate;
@@ -106,6 +112,22 @@ abstract class RegisterTableController {
 
     private static final String PREF_NODE_USER_ROOT = "/jgnash/uifx/views/register";
 
+    /**
+     * Number of the most recent transactions displayed before the remainder of the register is loaded.
+     */
+    private static final int FIRST_PAGE_SIZE = 250;
+
+    /**
+     * Number of older transactions added to the register at a time.
+     */
+    private static final int CHUNK_SIZE = 5000;
+
+    /**
+     * Loads and filters transactions off the application thread.
+     */
+    private static final ExecutorService loadExecutor
+            = Executors.newSingleThreadExecutor(new DefaultDaemonThreadFactory("Register Load Executor"));
+
     /**
      * Active account for the pane.
      */
@@ -114,20 +136,29 @@ abstract class RegisterTableController {
     private final ReadOnlyObjectWrapper<Transaction> selectedTransaction = new ReadOnlyObjectWrapper<>();
 
     /**
-     * This is the master list of transactions.
+     * This is the master list of transactions that pass the filter, in chronological order.
      */
     private final ObservableList<Transaction> observableTransactions = FXCollections.observableArrayList();
 
     /**
-     * Filters may be applied to this list.
+     * Sorted list of transactions.
      */
-    private final FilteredList<Transaction> filteredTransactionList = new FilteredList<>(observableTransactions,
-            transaction -> true);
+    final SortedList<Transaction> sortedList = new SortedList<>(observableTransactions);
 
     /**
-     * Sorted list of transactions.
+     * Filter applied to the transactions.  Evaluated off the application thread while loading.
+     */
+    private volatile Predicate<Transaction> filterPredicate = transaction -> true;
+
+    /**
+     * Incremented for each load so a superseded load will stop.
+     */
+    private final AtomicLong loadCounter = new AtomicLong();
+
+    /**
+     * True while transactions are being loaded.  Only accessed on the application thread.
      */
-    final SortedList<Transaction> sortedList = new SortedList<>(filteredTransactionList);
+    private boolean loading;
 
     private final MessageBusHandler messageBusHandler = new MessageBusHandler();
 
@@ -324,7 +355,9 @@ abstract class RegisterTableController {
 
         predicate = predicate.and(new TagPredicate(tagPane.getSelectedTags()));
 
-        filteredTransactionList.setPredicate(predicate);
+        filterPredicate = predicate;
+
+        loadTable();    // reload using the new filter
     }
 
     private void loadAccount() {
@@ -395,24 +428,96 @@ abstract class RegisterTableController {
 
     protected abstract void buildTable();
 
+    /**
+     * Loads the transactions in the background.  The most recent transactions are displayed first and older
+     * transactions are added in chunks.
+     */
     private void loadTable() {
+        final long load = loadCounter.incrementAndGet();
+        final Account account = this.account.get();
+        final Predicate<Transaction> predicate = filterPredicate;
+
         observableTransactions.clear();
+        loading = account != null;
 
-        if (account.get() != null) {
-            observableTransactions.addAll(account.get().getSortedTransactionList());
+        if (account != null) {
+            loadExecutor.execute(() -> {
+                final List<Transaction> transactions = account.getSortedTransactionList();
 
-            JavaFXUtils.runLater(() -> { // table view many not be ready, push to end of the Platform thread
-                tableViewManager.restoreLayout(); // required for table view manager to work
-                tableView.scrollTo(observableTransactions.size()); // scroll to the end of the table
+                int index = transactions.size();
+                int chunkSize = FIRST_PAGE_SIZE;
 
-                // formats have changed, force a full recalculation
-                if (Options.getLastFormatChange() >= tableViewManager.getTimeStamp()) {
-                    tableViewManager.packTable();
-                }
+                do {
+                    final List<Transaction> chunk = new ArrayList<>();
+
+                    // walk backwards so the most recent transactions are loaded first
+                    while (index > 0 && chunk.size() < chunkSize) {
+                        final Transaction transaction = transactions.get(--index);
+
+                        if (predicate.test(transaction)) {
+                            chunk.add(transaction);
+                        }
+                    }
+
+                    Collections.reverse(chunk);
+
+                    final boolean firstChunk = chunkSize == FIRST_PAGE_SIZE;
+                    final boolean lastChunk = index == 0;
+
+                    JavaFXUtils.runLater(() -> addChunk(load, chunk, firstChunk, lastChunk));
+
+                    chunkSize = CHUNK_SIZE;
+                } while (index > 0 && loadCounter.get() == load);
             });
         }
     }
 
+    private void addChunk(final long load, final List<Transaction> chunk, final boolean firstChunk,
+                          final boolean lastChunk) {
+        if (loadCounter.get() != load) {
+            return; // a newer load has started
+        }
+
+        if (firstChunk) {
+            observableTransactions.setAll(chunk);
+
+            tableViewManager.restoreLayout(); // required for table view manager to work
+            tableView.scrollTo(observableTransactions.size()); // scroll to the end of the table
+        } else {
+            // older transactions are inserted ahead of the visible rows, keep the view from moving
+            final Transaction firstVisible = getFirstVisibleTransaction();
+
+            observableTransactions.addAll(0, chunk);
+
+            if (firstVisible != null) {
+                tableView.scrollTo(firstVisible);
+            }
+        }
+
+        if (lastChunk) {
+            loading = false;
+
+            // formats have changed or older transactions were added, force a full recalculation
+            if (!firstChunk || Options.getLastFormatChange() >= tableViewManager.getTimeStamp()) {
+                tableViewManager.packTable();
+            }
+        }
+    }
+
+    private Transaction getFirstVisibleTransaction() {
+        final Node node = tableView.lookup(".virtual-flow");
+
+        if (node instanceof VirtualFlow) {
+            final IndexedCell<?> cell = ((VirtualFlow<?>) node).getFirstVisibleCell();
+
+            if (cell != null && cell.getIndex() >= 0 && cell.getIndex() < tableView.getItems().size()) {
+                return tableView.getItems().get(cell.getIndex());
+            }
+        }
+
+        return null;
+    }
+
     void manuallyPackTable() {
         tableViewManager.packTable();
     }
@@ -705,7 +810,13 @@ abstract class RegisterTableController {
                          * push removal to the end of the application thread to ensure the table
                          * selection is cleared first to prevent an IndexOfOutBoundsException
                          */
-                        JavaFXUtils.runLater(() -> observableTransactions.remove(removedTransaction));
+                        JavaFXUtils.runLater(() -> {
+                            if (loading) {  // the transaction may be in a pending chunk
+                                loadTable();
+                            } else {
+                                observableTransactions.remove(removedTransaction);
+                            }
+                        });
 
                         // this will force the running balance to recalculate
                         refreshTable();
@@ -715,6 +826,14 @@ abstract class RegisterTableController {
                         final Transaction addedTransaction = event.getObject(MessageProperty.TRANSACTION);
 
                         JavaFXUtils.runLater(() -> {
+                            if (loading) {  // restart so the new transaction is included in order
+                                loadTable();
+                                return;
+                            }
+
+                            if (!filterPredicate.test(addedTransaction)) {
+                                return;
+                            }
 
                             final int index = Collections.binarySearch(observableTransactions, addedTransaction,
                                     tableView.getComparator());
@@ -730,6 +849,36 @@ abstract class RegisterTableController {
                             refreshTable();
                         });
 
+                        break;
+                    case TRANSACTION_MODIFY:
+                        final Transaction modifiedTransaction = event.getObject(MessageProperty.TRANSACTION);
+
+                        JavaFXUtils.runLater(() -> {
+                            if (modifiedTransaction == null || loading) {
+                                // a reconciled state filter may now include or exclude some of the transactions
+                                if (reconciledStateFilterComboBox.getValue() != ReconciledStateEnum.ALL) {
+                                    loadTable();
+                                } else {
+                                    tableView.refresh();
+                                }
+                                return;
+                            }
+
+                            // the transaction was changed in place, add or remove it if the filter result changed
+                            if (!filterPredicate.test(modifiedTransaction)) {
+                                observableTransactions.remove(modifiedTransaction);
+                            } else if (!observableTransactions.contains(modifiedTransaction)) {
+                                final int index = Collections.binarySearch(observableTransactions,
+                                        modifiedTransaction, tableView.getComparator());
+
+                                if (index < 0) {
+                                    observableTransactions.add(-index - 1, modifiedTransaction);
+                                }
+                            }
+
+                            tableView.refresh();
+                        });
+
                         break;
                     default:
                 }
@@ -0,0 +1,127 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.uifx.views.register;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import jgnash.engine.Account;
+import jgnash.engine.Transaction;
+
+/**
+ * Running balance of a displayed list of transactions.
+ * <p>
+ * Balances are kept as a prefix sum that is extended on demand.  A change to the list discards the balances from the
+ * first changed position onward, and a sort discards all of them, so each balance is summed once per change instead
+ * of once per displayed cell.
+ *
+ * @author Craig Cavanaugh
+ */
+final class RunningBalance implements ListChangeListener<Transaction> {
+
+    private final ObservableList<Transaction> transactions;
+
+    private final ObservableValue<Account> account;
+
+    /**
+     * Balances for the leading transactions of the list.
+     */
+    private final List<BigDecimal> balances = new ArrayList<>();
+
+    /**
+     * Last known position of each transaction.  Only valid if within the calculated balances and the transaction is
+     * still found at the position.
+     */
+    private final Map<Transaction, Integer> positions = new HashMap<>();
+
+    RunningBalance(final ObservableList<Transaction> transactions, final ObservableValue<Account> account) {
+        this.transactions = transactions;
+        this.account = account;
+
+        transactions.addListener(this);
+        account.addListener((observable, oldValue, newValue) -> clear());
+    }
+
+    /**
+     * Returns the balance of the list up to and including a transaction.
+     *
+     * @param transaction transaction to return the balance for
+     * @return the balance or zero if the transaction is not in the list
+     */
+    synchronized BigDecimal getBalanceAt(final Transaction transaction) {
+        final Integer position = positions.get(transaction);
+
+        if (position != null && position < balances.size() && transactions.get(position) == transaction) {
+            return balances.get(position);
+        }
+
+        final Account account = this.account.getValue();
+
+        if (account != null) {
+            BigDecimal balance = balances.isEmpty() ? BigDecimal.ZERO : balances.get(balances.size() - 1);
+
+            for (int i = balances.size(); i < transactions.size(); i++) {
+                final Transaction t = transactions.get(i);
+
+                balance = balance.add(t.getAmount(account));
+
+                balances.add(balance);
+                positions.put(t, i);
+
+                if (t == transaction) {
+                    return balance;
+                }
+            }
+        }
+
+        return BigDecimal.ZERO;
+    }
+
+    private synchronized void clear() {
+        balances.clear();
+        positions.clear();
+    }
+
+    private void truncate(final int size) {
+        if (size < balances.size()) {
+            balances.subList(size, balances.size()).clear();
+        }
+    }
+
+    @Override
+    public synchronized void onChanged(final Change<? extends Transaction> c) {
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                clear();
+            } else {
+                truncate(c.getFrom());
+
+                for (final Transaction transaction : c.getRemoved()) {
+                    positions.remove(transaction);
+                }
+            }
+        }
+    }
+}
@@ -20,12 +20,12 @@ package jgnash.uifx.views.register.reconcile;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -70,8 +70,6 @@ import jgnash.uifx.util.JavaFXUtils;
 import jgnash.uifx.util.TableViewManager;
 import jgnash.uifx.views.AccountBalanceDisplayManager;
 import jgnash.uifx.views.register.RegisterFactory;
-import jgnash.util.NotNull;
-import jgnash.util.Nullable;
 
 /**
  * Account reconcile dialog.
@@ -141,9 +139,20 @@ public class ReconcileDialogController implements MessageListener {
 
     private NumberFormat numberFormat;
 
-    private final SimpleBooleanProperty reconciled = new SimpleBooleanProperty(false);
+    private final Map<Transaction, RecTransaction> recTransactionMap = new HashMap<>();
+
+    /**
+     * Sum of the cleared transactions that increase the balance.  Adjusted as each reconciled state changes instead of
+     * summing every transaction.  Only accessed on the application thread.
+     */
+    private BigDecimal increaseTotal = BigDecimal.ZERO;
+
+    /**
+     * Sum of the cleared transactions that decrease the balance.  Only accessed on the application thread.
+     */
+    private BigDecimal decreaseTotal = BigDecimal.ZERO;
 
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
+    private final SimpleBooleanProperty reconciled = new SimpleBooleanProperty(false);
 
     @SuppressWarnings("FieldCanBeLocal")
     private ChangeListener<Number> widthListener;
@@ -216,9 +225,15 @@ public class ReconcileDialogController implements MessageListener {
         decreaseTableViewManager.setColumnWeightFactory(getColumnWeightFactory());
         decreaseTableViewManager.setPreferenceKeyFactory(() -> DECREASE_KEY);
 
-        transactions.addAll(account.getSortedTransactionList().stream().filter(this::reconcilable)
-                .map(transaction -> new RecTransaction(transaction, transaction.getReconciled(account)))
-                .collect(Collectors.toList()));
+        final List<RecTransaction> recTransactions = new ArrayList<>();
+
+        for (final Transaction transaction : account.getSortedTransactionList()) {
+            if (reconcilable(transaction)) {
+                recTransactions.add(createRecTransaction(transaction));
+            }
+        }
+
+        transactions.addAll(recTransactions);
 
         configureTableView(increaseTableView, increaseTableViewManager);
         configureTableView(decreaseTableView, decreaseTableViewManager);
@@ -257,13 +272,15 @@ public class ReconcileDialogController implements MessageListener {
 
     @FXML
     private void handleFinishLaterAction() {
+        final List<RecTransaction> recTransactions = new ArrayList<>(transactions);
+
         final Task<Void> commitTask = new Task<>() {
             @Override
             protected Void call() {
                 updateMessage(resources.getString("Message.PleaseWait"));
                 updateProgress(-1, Long.MAX_VALUE);
 
-                ReconcileManager.reconcileTransactions(account, transactions, ReconciledState.CLEARED);
+                ReconcileManager.reconcileTransactions(account, recTransactions, ReconciledState.CLEARED);
                 return null;
             }
         };
@@ -277,6 +294,7 @@ public class ReconcileDialogController implements MessageListener {
 
     @FXML
     private void handleFinishAction() {
+        final List<RecTransaction> recTransactions = new ArrayList<>(transactions);
 
         final Task<Void> commitTask = new Task<>() {
             @Override
@@ -284,7 +302,7 @@ public class ReconcileDialogController implements MessageListener {
                 updateMessage(resources.getString("Message.PleaseWait"));
                 updateProgress(-1, Long.MAX_VALUE);
 
-                ReconcileManager.reconcileTransactions(account, transactions, ReconciledState.RECONCILED);
+                ReconcileManager.reconcileTransactions(account, recTransactions, ReconciledState.RECONCILED);
                 ReconcileManager.setAccountDateAttribute(account, Account.RECONCILE_LAST_SUCCESS_DATE, closingDate);
                 return null;
             }
@@ -299,62 +317,90 @@ public class ReconcileDialogController implements MessageListener {
 
     private void setReconciledState(final List<RecTransaction> transactionList, final ReconciledState reconciledState,
                                     final TableView<RecTransaction> tableView) {
-        readWriteLock.readLock().lock();
-        try {
-            for (final RecTransaction recTransaction : transactionList) {
-                recTransaction.setReconciledState(reconciledState);
-            }
-            tableView.refresh();
-            updateCalculatedValues();
-        } finally {
-            readWriteLock.readLock().unlock();
+        for (final RecTransaction recTransaction : transactionList) {
+            setReconciledState(recTransaction, reconciledState);
         }
+        tableView.refresh();
+        updateCalculatedValues();
     }
 
-    private void updateCalculatedValues() {
-        new Thread(() -> {
+    /**
+     * Changes the reconciled state of a transaction and adjusts the cleared totals by its amount if needed.
+     *
+     * @param recTransaction  transaction to change
+     * @param reconciledState new reconciled state
+     */
+    private void setReconciledState(final RecTransaction recTransaction, final ReconciledState reconciledState) {
+        final boolean wasCleared = recTransaction.getReconciledState() != ReconciledState.NOT_RECONCILED;
 
-            final BigDecimal increaseAmount = getReconciledTotal(increaseList);
-            final BigDecimal decreaseAmount = getReconciledTotal(decreaseList);
+        recTransaction.setReconciledState(reconciledState);
 
-            JavaFXUtils.runLater(() -> {
-                increaseTotalLabel.setText(numberFormat.format(increaseAmount));
-                decreaseTotalLabel.setText(numberFormat.format(decreaseAmount));
-            });
+        if (wasCleared != (reconciledState != ReconciledState.NOT_RECONCILED)) {
+            adjustTotals(recTransaction, !wasCleared);
+        }
+    }
 
-            final BigDecimal reconciledBalance = increaseAmount.add(decreaseAmount).add(openingBalance);
+    /**
+     * Adds or subtracts the amount of a transaction to or from the cleared totals.
+     *
+     * @param recTransaction transaction to adjust the totals for
+     * @param add            {@code true} to add the amount, {@code false} to subtract it
+     */
+    private void adjustTotals(final RecTransaction recTransaction, final boolean add) {
+        final BigDecimal amount = recTransaction.getAmount(account);
+        final BigDecimal delta = add ? amount : amount.negate();
+
+        if (amount.signum() >= 0) {
+            increaseTotal = increaseTotal.add(delta);
+        } else {
+            decreaseTotal = decreaseTotal.add(delta);
+        }
+    }
 
-            JavaFXUtils.runLater(() -> reconciledBalanceLabel
-                    .setText(numberFormat.format(reconciledBalance)));
+    private RecTransaction createRecTransaction(final Transaction transaction) {
+        final RecTransaction recTransaction = new RecTransaction(transaction, transaction.getReconciled(account));
 
-            // need to round of the values for difference to work (investment accounts)
-            final int scale = account.getCurrencyNode().getScale();
+        recTransactionMap.put(transaction, recTransaction);
 
-            final BigDecimal difference = endingBalance.subtract(reconciledBalance).abs()
-                    .setScale(scale, MathConstants.roundingMode);
+        if (recTransaction.getReconciledState() != ReconciledState.NOT_RECONCILED) {
+            adjustTotals(recTransaction, true);
+        }
 
-            JavaFXUtils.runLater(() -> differenceLabel.setText(numberFormat.format(difference)));
+        return recTransaction;
+    }
+
+    private void removeRecTransaction(final RecTransaction recTransaction) {
+        recTransactionMap.remove(recTransaction.getTransaction());
 
-            reconciled.set(difference.compareTo(BigDecimal.ZERO) == 0);
-        }).start();
+        if (recTransaction.getReconciledState() != ReconciledState.NOT_RECONCILED) {
+            adjustTotals(recTransaction, false);
+        }
+
+        transactions.remove(recTransaction);
     }
 
-    private BigDecimal getReconciledTotal(final List<RecTransaction> list) {
-        BigDecimal sum = BigDecimal.ZERO;
+    private void updateCalculatedValues() {
+        final BigDecimal increaseAmount
+                = AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), increaseTotal);
+        final BigDecimal decreaseAmount
+                = AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), decreaseTotal);
 
-        readWriteLock.readLock().lock();
+        increaseTotalLabel.setText(numberFormat.format(increaseAmount));
+        decreaseTotalLabel.setText(numberFormat.format(decreaseAmount));
 
-        try {
-            for (final RecTransaction t : list) {
-                if (t.getReconciledState() != ReconciledState.NOT_RECONCILED) {
-                    sum = sum.add(t.getAmount(account));
-                }
-            }
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
+        final BigDecimal reconciledBalance = increaseAmount.add(decreaseAmount).add(openingBalance);
+
+        reconciledBalanceLabel.setText(numberFormat.format(reconciledBalance));
+
+        // need to round of the values for difference to work (investment accounts)
+        final int scale = account.getCurrencyNode().getScale();
+
+        final BigDecimal difference = endingBalance.subtract(reconciledBalance).abs()
+                .setScale(scale, MathConstants.roundingMode);
 
-        return AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), sum);
+        differenceLabel.setText(numberFormat.format(difference));
+
+        reconciled.set(difference.compareTo(BigDecimal.ZERO) == 0);
     }
 
     private void configureTableView(final TableView<RecTransaction> tableView, final TableViewManager<RecTransaction> tableViewManager) {
@@ -406,22 +452,6 @@ public class ReconcileDialogController implements MessageListener {
         return DateUtils.before(t.getLocalDate(), closingDate) && t.getReconciled(account) != ReconciledState.RECONCILED;
     }
 
-    @Nullable
-    private synchronized RecTransaction findTransaction(@NotNull final Transaction t) {
-        readWriteLock.readLock().lock();
-
-        try {
-            for (final RecTransaction tran : transactions) {
-                if (tran.getTransaction() == t) {
-                    return tran;
-                }
-            }
-            return null;
-        } finally {
-            readWriteLock.readLock().unlock();
-        }
-    }
-
     @Override
     public void messagePosted(final Message message) {
         if (account != null && account.equals(message.getObject(MessageProperty.ACCOUNT))) {
@@ -430,30 +460,48 @@ public class ReconcileDialogController implements MessageListener {
             if (transaction != null) {
                 switch (message.getEvent()) {
                     case TRANSACTION_REMOVE:
-                        final RecTransaction trans = findTransaction(transaction);
+                        JavaFXUtils.runLater(() -> {
+                            final RecTransaction trans = recTransactionMap.get(transaction);
 
-                        if (trans != null) {
-                            readWriteLock.writeLock().lock();
-                            try {
-                                transactions.removeAll(trans);
+                            if (trans != null) {
+                                removeRecTransaction(trans);
                                 updateCalculatedValues();
-                            } finally {
-                                readWriteLock.writeLock().unlock();
                             }
-                        }
+                        });
                         break;
                     case TRANSACTION_ADD:
                         if (reconcilable(transaction)) {
-                            readWriteLock.writeLock().lock();
-                            try {
-                                transactions.add(new RecTransaction(transaction, transaction.getReconciled(account)));
+                            JavaFXUtils.runLater(() -> {
+                                if (recTransactionMap.containsKey(transaction)) {
+                                    return;
+                                }
+
+                                transactions.add(createRecTransaction(transaction));
                                 FXCollections.sort(transactions);
                                 updateCalculatedValues();
-                            } finally {
-                                readWriteLock.writeLock().unlock();
-                            }
+                            });
                         }
                         break;
+                    case TRANSACTION_MODIFY:
+                        JavaFXUtils.runLater(() -> {
+                            final RecTransaction trans = recTransactionMap.get(transaction);
+
+                            if (trans != null) {
+                                if (reconcilable(transaction)) {
+                                    setReconciledState(trans, transaction.getReconciled(account));
+                                } else {
+                                    removeRecTransaction(trans);
+                                }
+                            } else if (reconcilable(transaction)) {
+                                transactions.add(createRecTransaction(transaction));
+                                FXCollections.sort(transactions);
+                            }
+
+                            increaseTableView.refresh();
+                            decreaseTableView.refresh();
+                            updateCalculatedValues();
+                        });
+                        break;
                     default:
                         break;
                 }
@@ -496,9 +544,9 @@ public class ReconcileDialogController implements MessageListener {
                             final RecTransaction oldValue, final RecTransaction newValue) {
             if (newValue != null) {
                 if (newValue.getReconciledState() == ReconciledState.RECONCILED) {
-                    newValue.setReconciledState(ReconciledState.NOT_RECONCILED);
+                    setReconciledState(newValue, ReconciledState.NOT_RECONCILED);
                 } else {
-                    newValue.setReconciledState(ReconciledState.RECONCILED);
+                    setReconciledState(newValue, ReconciledState.RECONCILED);
                 }
                 tableView.refresh();
                 JavaFXUtils.runLater(() -> tableView.getSelectionModel().clearSelection());
@@ -23,7 +23,6 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.ResourceBundle;
 
 import javafx.beans.property.SimpleBooleanProperty;
@@ -55,9 +54,6 @@ import jgnash.convert.importat.ImportUtils;
 import jgnash.engine.Account;
 import jgnash.engine.AccountType;
 import jgnash.engine.CurrencyNode;
-import jgnash.engine.Engine;
-import jgnash.engine.EngineFactory;
-import jgnash.engine.Transaction;
 import jgnash.engine.TransactionType;
 import jgnash.resource.util.ResourceUtils;
 import jgnash.resource.util.TextResource;
@@ -366,17 +362,7 @@ public class ImportPageTwoController extends AbstractWizardPaneController<Import
             GenericImport.matchTransactions(list, baseAccount);
 
             // classify the transactions
-            if (Options.globalBayesProperty().get()) {
-                final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
-                Objects.requireNonNull(engine);
-
-                final List<Transaction> transactions = engine.getTransactions();
-                transactions.sort(null);
-
-                BayesImportClassifier.classifyTransactions(list, transactions, baseAccount);
-            } else {
-                BayesImportClassifier.classifyTransactions(list, baseAccount.getSortedTransactionList(), baseAccount);
-            }
+            BayesImportClassifier.classifyTransactions(list, baseAccount, Options.globalBayesProperty().get());
 
             // override the classifier if an account has been specified already
             for (final ImportTransaction importTransaction : list) {
@@ -0,0 +1,77 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.uifx.control.autocomplete;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit test for the auto complete prefix tree
+ */
+class PrefixTreeTest {
+
+    @Test
+    void testFirst() {
+        final PrefixTree tree = new PrefixTree(false);
+
+        tree.add("Grocery");
+        tree.add("Gas");
+        tree.add("Garage");
+        tree.add("Gas Station");
+
+        assertEquals("Garage", tree.first("G"));
+        assertEquals("Gas", tree.first("Gas"));
+        assertEquals("Gas Station", tree.first("Gas "));
+        assertEquals("Grocery", tree.first("Gr"));
+        assertNull(tree.first("g"));
+        assertNull(tree.first("Gasoline"));
+
+        tree.clear();
+        assertNull(tree.first("G"));
+    }
+
+    @Test
+    void testBest() {
+        final PrefixTree tree = new PrefixTree(false);
+
+        tree.add("Payee 1");
+        tree.add("Payee 2");
+        tree.add("Payee 3");
+
+        // most recent wins when used equally
+        assertEquals("Payee 3", tree.best("Pay"));
+
+        tree.add("Payee 2");
+        assertEquals("Payee 2", tree.best("Pay"));
+        assertEquals("Payee 1", tree.best("Payee 1"));
+    }
+
+    @Test
+    void testIgnoreCase() {
+        final PrefixTree tree = new PrefixTree(true);
+
+        tree.add("Hardware");
+        tree.add("hardware");
+
+        assertEquals("hardware", tree.first("HARD"));
+        assertEquals("hardware", tree.best("Ha"));
+        assertNull(tree.best("soft"));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.uifx.views.register;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.DefaultCurrencies;
+import jgnash.engine.Transaction;
+import jgnash.engine.TransactionFactory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit test for the register running balance
+ */
+class RunningBalanceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2020, 1, 1);
+
+    private final Account account = new Account(AccountType.BANK, DefaultCurrencies.buildCustomNode("USD"));
+
+    private Transaction createTransaction(final int amount, final int day) {
+        return TransactionFactory.generateSingleEntryTransaction(account, BigDecimal.valueOf(amount),
+                DATE.plusDays(day), "memo", "payee", "");
+    }
+
+    @Test
+    void testRunningBalance() {
+        final ObservableList<Transaction> transactions = FXCollections.observableArrayList();
+        final SortedList<Transaction> sortedList = new SortedList<>(transactions);
+
+        final RunningBalance runningBalance = new RunningBalance(sortedList, new SimpleObjectProperty<>(account));
+
+        final Transaction t1 = createTransaction(10, 1);
+        final Transaction t2 = createTransaction(20, 2);
+        final Transaction t3 = createTransaction(30, 3);
+
+        transactions.addAll(t1, t2, t3);
+
+        assertEquals(0, BigDecimal.valueOf(60).compareTo(runningBalance.getBalanceAt(t3)));
+        assertEquals(0, BigDecimal.valueOf(10).compareTo(runningBalance.getBalanceAt(t1)));
+
+        // insert ahead of cached balances
+        final Transaction t0 = createTransaction(5, 0);
+        transactions.add(0, t0);
+
+        assertEquals(0, BigDecimal.valueOf(35).compareTo(runningBalance.getBalanceAt(t2)));
+        assertEquals(0, BigDecimal.valueOf(65).compareTo(runningBalance.getBalanceAt(t3)));
+
+        transactions.remove(t1);
+
+        assertEquals(0, BigDecimal.valueOf(55).compareTo(runningBalance.getBalanceAt(t3)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(runningBalance.getBalanceAt(t1)));
+
+        // reverse the sort order
+        sortedList.setComparator(Comparator.<Transaction>naturalOrder().reversed());
+
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(runningBalance.getBalanceAt(t3)));
+        assertEquals(0, BigDecimal.valueOf(55).compareTo(runningBalance.getBalanceAt(t0)));
+    }
+}
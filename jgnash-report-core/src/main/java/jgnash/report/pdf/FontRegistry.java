@@ -100,8 +100,8 @@ public class FontRegistry {
 
     private static void registerFonts() {
 
-        if (!registrationStarted.get()) {
-            registrationStarted.set(true);
+        // reports may be generated concurrently, only the first caller starts registration
+        if (registrationStarted.compareAndSet(false, true)) {
 
             final Thread thread = new Thread(() -> {
                 lock.lock();
@@ -110,7 +110,7 @@ public class FontRegistry {
                     FontRegistry.registerFontDirectories();
 
                     registrationComplete.set(true);
-                    isComplete.signal();
+                    isComplete.signalAll();
 
                     Logger.getLogger(FontRegistry.class.getName()).info("Font registration is complete");
                 } finally {
@@ -0,0 +1,36 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report.pdf;
+
+/**
+ * Listener for the pages of a streaming {@link Report}.
+ *
+ * @author Craig Cavanaugh
+ */
+@FunctionalInterface
+public interface PageListener {
+
+    /**
+     * Called by the thread laying out the report after a page and its footer have been written.  The page may be
+     * rendered from within this call.
+     *
+     * @param pageIndex index of the completed page
+     * @param pageCount total number of pages the report will have
+     */
+    void pageCompleted(int pageIndex, int pageCount);
+}
@@ -45,9 +45,8 @@ import jgnash.resource.util.ResourceUtils;
 import jgnash.text.NumericFormats;
 import jgnash.time.DateUtils;
 import jgnash.util.NotNull;
+import jgnash.util.Nullable;
 
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -71,6 +70,11 @@ import static jgnash.util.LogUtil.logSevere;
  * <p>
  * This class is abstract to force isolation of Preferences through simple extension of the class
  * <p>
+ * A streaming report keeps the document in a scratch file and completes each page, including the page footer, as
+ * soon as it has been laid out.  A {@link PageListener} is notified of each completed page so a viewer may display
+ * the first pages of a large report while the remaining pages are generated.  A streaming report holds a single table
+ * so the page count is known before the footers are written.
+ * <p>
  *
  * @author Craig Cavanaugh
  */
@@ -113,8 +117,29 @@ public abstract class Report implements AutoCloseable {
 
     private boolean forceGroupPagination = false;
 
+    private final boolean streaming;
+
+    private PageListener pageListener;
+
+    /**
+     * The number of leading pages that have a page footer.
+     */
+    private int footerPageCount = 0;
+
     public Report() {
-        this.pdfDocument = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MEMORY_USAGE));
+        this(false);
+    }
+
+    /**
+     * Creates a report.
+     *
+     * @param streaming {@code true} if pages should be completed and written to a scratch file as they are laid out
+     */
+    protected Report(final boolean streaming) {
+        this.streaming = streaming;
+
+        this.pdfDocument = new PDDocument(streaming ? MemoryUsageSetting.setupTempFileOnly()
+                                                  : MemoryUsageSetting.setupMixed(MAX_MEMORY_USAGE));
 
         setTableFont(loadFont(ReportFactory.getMonoFont(), pdfDocument));
         setHeaderFont(loadFont(ReportFactory.getHeaderFont(), pdfDocument));
@@ -131,6 +156,26 @@ public abstract class Report implements AutoCloseable {
         for (PDPage pdPage : pdfDocument.getPages()) {
             pdfDocument.removePage(pdPage);
         }
+
+        footerPageCount = 0;
+    }
+
+    /**
+     * Returns true if this is a streaming report.
+     *
+     * @return {@code true} if pages are completed as they are laid out
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets the listener to be notified as pages of a streaming report are completed.
+     *
+     * @param pageListener page listener, may be {@code null}
+     */
+    public void setPageListener(@Nullable final PageListener pageListener) {
+        this.pageListener = pageListener;
     }
 
     private static PDFont loadFont(final String name, final PDDocument document) {
@@ -263,14 +308,46 @@ public abstract class Report implements AutoCloseable {
         return ResourceUtils.getString("Word.Subtotal");
     }
 
+    /**
+     * Adds a table to the report.  A streaming report completes its page footers while laying out the table, so it may
+     * only contain a single table until it is cleared.
+     *
+     * @param reportModel model of the table
+     * @throws IOException thrown if the pages can not be written
+     * @throws IllegalStateException thrown if a streaming report already contains a table
+     */
     public void addTable(final AbstractReportTableModel reportModel) throws IOException {
+        if (isStreaming() && getPageCount() > 0) {
+            throw new IllegalStateException("A streaming report supports a single table");
+        }
+
+        final float[] columnWidths = getColumnWidths(reportModel);
+
+        // a streaming report must know the final page count to complete the page footers while laying out
+        final int pageCount = isStreaming() ? layoutTable(reportModel, columnWidths, false, 0) : 0;
+
+        layoutTable(reportModel, columnWidths, true, pageCount);
+    }
+
+    /**
+     * Lays out a table.  A layout pass that does not draw is used to determine the number of pages required.
+     *
+     * @param reportModel  report model
+     * @param columnWidths column widths
+     * @param draw         {@code false} if the pages should only be counted
+     * @param pageCount    final page count of a streaming report, zero otherwise
+     * @return the number of pages used by the table
+     * @throws IOException IO exception
+     */
+    private int layoutTable(final AbstractReportTableModel reportModel, final float[] columnWidths, final boolean draw,
+                            final int pageCount) throws IOException {
 
         final String title = reportModel.getTitle();
         final String subTitle = reportModel.getSubTitle();
 
-        boolean titleWritten = false;
+        final String timeStamp = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).format(LocalDateTime.now());
 
-        final float[] columnWidths = getColumnWidths(reportModel);
+        boolean titleWritten = false;
 
         final Set<GroupInfo> groupInfoSet = GroupInfo.getGroups(reportModel);
 
@@ -279,69 +356,114 @@ public abstract class Report implements AutoCloseable {
 
         float docY = getTopMargin();   // start at top of the page with the margin
 
-        PDPage page = createPage(); // create the first page
+        int pages = 1;
+
+        PDPage page = draw ? createPage() : null; // create the first page
 
         for (final GroupInfo groupInfo : groupInfoSet) {
 
-            int row = 0;  // tracks the last written row
+            final int[] rows = groupInfo.getRows();
 
-            while (row < reportModel.getRowCount()) {
+            int row = 0;  // tracks the last written row of the group
+
+            while (row < rows.length) {
 
                 if (docY > imageableBottom || isForceGroupPagination()) {    // if near the bottom of the page
                     docY = getTopMargin();   // start at top of the page with the margin
-                    page = createPage();
+                    pages++;
+
+                    if (draw) {
+                        completePage(pageCount, timeStamp);
+                        page = createPage();
+                    }
                 }
 
-                try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page,
-                        PDPageContentStream.AppendMode.APPEND, false)) {
+                // add the table title if its not been added
+                final boolean addTitle = title != null && !title.isEmpty() && row == 0 && !titleWritten;
 
-                    // add the table title if its not been added
-                    if (title != null && !title.isEmpty() && row == 0 && !titleWritten) {
-                        docY = addReportTitle(contentStream, title, subTitle, docY);
+                // add the group subtitle if needed
+                final boolean addGroupTitle = groupInfoSet.size() > 1;
 
-                        titleWritten = true;
-                    }
+                final float titleY = addTitle ? getReportTitleEnd(docY, subTitle) : docY;
+                final float sectionY = addGroupTitle ? getTableTitleEnd(titleY) : titleY;
 
-                    // add the group subtitle if needed
-                    if (groupInfoSet.size() > 1) {
-                        docY = addTableTitle(contentStream, groupInfo.group, docY);
-                    }
+                // write a section of the table and save the last row written for next page if needed
+                final int count = Math.min(getSectionCapacity(sectionY), rows.length - row);
 
-                    // write a section of the table and save the last row written for next page if needed
-                    final Pair<Integer, Float> pair
-                            = addTableSection(reportModel, groupInfo.group, contentStream, row, columnWidths, docY);
+                if (draw) {
+                    try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page,
+                            PDPageContentStream.AppendMode.APPEND, false)) {
 
-                    row = pair.getLeft();
-                    docY = pair.getRight();
+                        if (addTitle) {
+                            addReportTitle(contentStream, title, subTitle, docY);
+                        }
 
-                } catch (final IOException e) {
-                    logSevere(Report.class, e);
-                    throw (e);
+                        if (addGroupTitle) {
+                            addTableTitle(contentStream, groupInfo.group, titleY);
+                        }
+
+                        addTableSection(reportModel, rows, row, count, contentStream, columnWidths, sectionY);
+                    } catch (final IOException e) {
+                        logSevere(Report.class, e);
+                        throw (e);
+                    }
                 }
 
+                titleWritten |= addTitle;
+                row += count;
+                docY = getSectionEnd(sectionY, count);
+
                 // check to see if this table has summation information and add a summation footer
-                if (groupInfo.hasSummation() && row == reportModel.getRowCount()) {
+                if (groupInfo.hasSummation() && row == rows.length) {
 
                     // TODO, make sure the end of the page has not been reached
-                    try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page,
-                            PDPageContentStream.AppendMode.APPEND, false)) {
-                        docY = addTableFooter(reportModel, groupInfo, contentStream, columnWidths, docY);
-                        docY += getBaseFontSize();  // add some padding
-                    } catch (final IOException e) {
-                        logSevere(Report.class, e);
-                        throw (e);
+                    if (draw) {
+                        try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page,
+                                PDPageContentStream.AppendMode.APPEND, false)) {
+                            addTableFooter(reportModel, groupInfo, contentStream, columnWidths, docY);
+                        } catch (final IOException e) {
+                            logSevere(Report.class, e);
+                            throw (e);
+                        }
                     }
+
+                    docY = getTableFooterEnd(docY) + getBaseFontSize();  // add some padding
                 }
             }
         }
 
-        if (reportModel.hasGlobalSummary()) {
-            try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page,
-                    PDPageContentStream.AppendMode.APPEND, false)) {
-                addGlobalFooter(reportModel, contentStream, columnWidths, docY);
-            } catch (final IOException e) {
-                logSevere(Report.class, e);
-                throw (e);
+        if (draw) {
+            if (reportModel.hasGlobalSummary()) {
+                try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page,
+                        PDPageContentStream.AppendMode.APPEND, false)) {
+                    addGlobalFooter(reportModel, contentStream, columnWidths, docY);
+                } catch (final IOException e) {
+                    logSevere(Report.class, e);
+                    throw (e);
+                }
+            }
+
+            completePage(pageCount, timeStamp);
+        }
+
+        return pages;
+    }
+
+    /**
+     * Completes the last page of a streaming report by adding the page footer and notifying the page listener.
+     *
+     * @param pageCount final page count, zero if the report is not streaming
+     * @param timeStamp time stamp for the page footer
+     */
+    private void completePage(final int pageCount, final String timeStamp) {
+        if (pageCount > 0) {
+            final int pageIndex = getPageCount() - 1;
+
+            addPageFooter(pageIndex, pageCount, timeStamp);
+            footerPageCount = pageIndex + 1;
+
+            if (pageListener != null) {
+                pageListener.pageCompleted(pageIndex, pageCount);
             }
         }
     }
@@ -360,22 +482,18 @@ public abstract class Report implements AutoCloseable {
      * Writes a table section to the report.
      *
      * @param reportModel   report model
-     * @param group         report group
+     * @param rows          model rows of the group
+     * @param startRow      index of the first group row to write
+     * @param rowsWritten   number of rows to write
      * @param contentStream PDF content stream
-     * @param startRow      starting row
      * @param columnWidths  column widths
      * @param yStart        start location from top of the page
-     * @return returns the last reported row of the group and yDoc location
      * @throws IOException IO exception
      */
     @SuppressWarnings("SuspiciousNameCombination")
-    private Pair<Integer, Float> addTableSection(final AbstractReportTableModel reportModel, @NotNull final String group,
-                                                 final PDPageContentStream contentStream, final int startRow, float[] columnWidths,
-                                                 float yStart) throws IOException {
-
-        Objects.requireNonNull(group);
-
-        int rowsWritten = 0;    // the return value of the number of rows written
+    private void addTableSection(final AbstractReportTableModel reportModel, @NotNull final int[] rows,
+                                 final int startRow, final int rowsWritten, final PDPageContentStream contentStream,
+                                 float[] columnWidths, float yStart) throws IOException {
 
         // establish start location, use half the row height as the vertical margin between title and table
         final float yTop = (float) getPageFormat().getHeight() - getTableRowHeight() / 2 - yStart;
@@ -413,46 +531,35 @@ public abstract class Report implements AutoCloseable {
         contentStream.setFont(getTableFont(), getBaseFontSize());
         contentStream.setNonStrokingColor(Color.BLACK);
 
-        int row = startRow;
-
-        final float bottomMargin = getBottomMargin();
-
-        while (yPos > bottomMargin + getTableRowHeight() && row < reportModel.getRowCount()) {
-
-            final String rowGroup = reportModel.getGroup(row);
+        for (int r = startRow; r < startRow + rowsWritten; r++) {
+            final int row = rows[r];
 
-            if (group.equals(rowGroup)) {
-
-                xPos = getLeftMargin() + getCellPadding();
-                yPos -= getTableRowHeight();
-
-                for (int i = 0; i < reportModel.getColumnCount(); i++) {
+            xPos = getLeftMargin() + getCellPadding();
+            yPos -= getTableRowHeight();
 
-                    if (reportModel.isColumnVisible(i)) {
+            for (int i = 0; i < reportModel.getColumnCount(); i++) {
 
-                        final Object value = reportModel.getValueAt(row, i);
+                if (reportModel.isColumnVisible(i)) {
 
-                        if (value != null) {
-                            float shift = 0;
-                            float availWidth = columnWidths[i] - getCellPadding() * 2;
+                    final Object value = reportModel.getValueAt(row, i);
 
-                            final String text = truncateText(formatValue(reportModel.getValueAt(row, i), i, reportModel), availWidth,
-                                    getTableFont(), getBaseFontSize());
+                    if (value != null) {
+                        float shift = 0;
+                        float availWidth = columnWidths[i] - getCellPadding() * 2;
 
-                            if (rightAlign(i, reportModel)) {
-                                shift = availWidth - getStringWidth(text, getTableFont(), getBaseFontSize());
-                            }
+                        final String text = truncateText(formatValue(value, i, reportModel), availWidth,
+                                getTableFont(), getBaseFontSize());
 
-                            drawText(contentStream, xPos + shift, yPos, text);
+                        if (rightAlign(i, reportModel)) {
+                            shift = availWidth - getStringWidth(text, getTableFont(), getBaseFontSize());
                         }
 
-                        xPos += columnWidths[i];
+                        drawText(contentStream, xPos + shift, yPos, text);
                     }
-                }
 
-                rowsWritten++;
+                    xPos += columnWidths[i];
+                }
             }
-            row++;
         }
 
         // add row lines
@@ -477,11 +584,41 @@ public abstract class Report implements AutoCloseable {
 
         // end of last column
         drawLine(contentStream, xPos, yPos, xPos, yPos - getTableRowHeight() * (rowsWritten + 1));
+    }
+
+    /**
+     * Returns the number of table rows that fit on the page below a table header.
+     *
+     * @param yStart start location of the table section from top of the page
+     * @return number of rows
+     */
+    private int getSectionCapacity(final float yStart) {
+        final float yTop = (float) getPageFormat().getHeight() - getTableRowHeight() / 2 - yStart;
+        final float bottomMargin = getBottomMargin();
+
+        float yPos = yTop - getTableRowHeight() + getRowTextBaselineOffset();
 
-        float yDoc = (float) getPageFormat().getHeight() - (yPos - getTableRowHeight() * (rowsWritten + 1));
+        int capacity = 0;
 
-        // return the row and docY position
-        return new ImmutablePair<>(row, yDoc);
+        while (yPos > bottomMargin + getTableRowHeight()) {
+            yPos -= getTableRowHeight();
+            capacity++;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Returns the document position after a table section.
+     *
+     * @param yStart start location of the table section from top of the page
+     * @param rows   number of rows in the section
+     * @return document y position
+     */
+    private float getSectionEnd(final float yStart, final int rows) {
+        final float yTop = (float) getPageFormat().getHeight() - getTableRowHeight() / 2 - yStart;
+
+        return (float) getPageFormat().getHeight() - (yTop - getTableRowHeight() * (rows + 1));
     }
 
     /**
@@ -509,7 +646,7 @@ public abstract class Report implements AutoCloseable {
                                  final PDPageContentStream contentStream, float[] columnWidths,
                                  float yStart) throws IOException {
 
-        float yDoc = yStart + getTableRowHeight();
+        float yDoc = getTableFooterEnd(yStart);
 
         // add the footer background
         contentStream.setNonStrokingColor(footerBackGround);
@@ -571,6 +708,10 @@ public abstract class Report implements AutoCloseable {
         return yDoc;
     }
 
+    private float getTableFooterEnd(final float yStart) {
+        return yStart + getTableRowHeight();
+    }
+
     /**
      * Writes a table footer to the report.
      *
@@ -729,7 +870,7 @@ public abstract class Report implements AutoCloseable {
     private float addTableTitle(final PDPageContentStream contentStream, final String title, final float yStart)
             throws IOException {
 
-        float docY = yStart + getBaseFontSize() * 1.5f;  // add for font height
+        float docY = getTableTitleEnd(yStart);
         float xPos = getLeftMargin();
 
         contentStream.setFont(getHeaderFont(), getBaseFontSize() * 1.5f);
@@ -738,6 +879,10 @@ public abstract class Report implements AutoCloseable {
         return docY;    // returns new y document position
     }
 
+    private float getTableTitleEnd(final float yStart) {
+        return yStart + getBaseFontSize() * 1.5f;  // add for font height
+    }
+
     /**
      * Adds a Title and subtitle to the document and returns the height consumed
      *
@@ -770,26 +915,58 @@ public abstract class Report implements AutoCloseable {
         return docY;
     }
 
+    /**
+     * Returns the document position after the report title and subtitle.
+     *
+     * @param yStart   start from the top of the page
+     * @param subTitle subtitle, may be empty
+     * @return document y position
+     */
+    private float getReportTitleEnd(final float yStart, final String subTitle) {
+        float docY = yStart + getBaseFontSize();
+
+        if (subTitle != null && subTitle.length() > 0) {
+            docY += getFooterFontSize() * 1.5f;
+            docY += getFooterFontSize() * 2.0f;
+        }
+
+        return docY;
+    }
+
+    /**
+     * Adds the page footer to each page that does not have one.  Pages of a streaming report receive their footer
+     * as they are completed.
+     *
+     * @throws IOException IO exception
+     */
     public void addFooter() throws IOException {
 
         final String timeStamp = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT).format(LocalDateTime.now());
 
         final int pageCount = pdfDocument.getNumberOfPages();
-        float yStart = getBottomMargin() * 2 / 3;
 
-        for (int i = 0; i < pageCount; i++) {
-            final PDPage page = pdfDocument.getPage(i);
-            final String pageText = MessageFormat.format(rb.getString("Pattern.Pages"), i + 1, pageCount);
+        for (int i = footerPageCount; i < pageCount; i++) {
+            addPageFooter(i, pageCount, timeStamp);
+        }
+
+        footerPageCount = pageCount;
+    }
+
+    private void addPageFooter(final int pageIndex, final int pageCount, final String timeStamp) {
+        final float yStart = getBottomMargin() * 2 / 3;
+
+        final PDPage page = pdfDocument.getPage(pageIndex);
+
+        try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page, PDPageContentStream.AppendMode.APPEND, true)) {
+            final String pageText = MessageFormat.format(rb.getString("Pattern.Pages"), pageIndex + 1, pageCount);
             final float width = getStringWidth(pageText, getFooterFont(), getFooterFontSize());
 
-            try (final PDPageContentStream contentStream = new PDPageContentStream(pdfDocument, page, PDPageContentStream.AppendMode.APPEND, true)) {
-                contentStream.setFont(getFooterFont(), getFooterFontSize());
+            contentStream.setFont(getFooterFont(), getFooterFontSize());
 
-                drawText(contentStream, getLeftMargin(), yStart, timeStamp);
-                drawText(contentStream, (float) getPageFormat().getWidth() - getRightMargin() - width, yStart, pageText);
-            } catch (final IOException e) {
-                logSevere(Report.class, e);
-            }
+            drawText(contentStream, getLeftMargin(), yStart, timeStamp);
+            drawText(contentStream, (float) getPageFormat().getWidth() - getRightMargin() - width, yStart, pageText);
+        } catch (final IOException e) {
+            logSevere(Report.class, e);
         }
     }
 
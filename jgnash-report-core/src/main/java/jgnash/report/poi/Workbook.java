@@ -49,7 +49,7 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.WorkbookUtil;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import static jgnash.report.poi.StyleFactory.DEFAULT_HEIGHT;
 import static jgnash.report.poi.StyleFactory.GROUP_HEIGHT;
@@ -59,6 +59,9 @@ import static jgnash.report.poi.StyleFactory.TITLE_HEIGHT;
 
 /**
  * Exports a {@code AbstractReportTableModel} to a spreadsheet using POI
+ * <p>
+ * xlsx files are written with a streaming workbook that only keeps a window of rows in memory.  Column widths are
+ * estimated from the column prototype values instead of measuring every cell.
  *
  * TODO: Cross tabulation formulas
  *
@@ -66,6 +69,16 @@ import static jgnash.report.poi.StyleFactory.TITLE_HEIGHT;
  */
 public class Workbook {
 
+    /**
+     * Number of rows kept in memory when streaming a xlsx file
+     */
+    private static final int ROW_ACCESS_WINDOW = 200;
+
+    /**
+     * Maximum column width allowed by Excel in units of 1/256th of a character width
+     */
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
     private Workbook() {
         // utility class
     }
@@ -78,7 +91,12 @@ public class Workbook {
 
         final String extension = FileUtils.getFileExtension(file.getAbsolutePath());
 
-        try (final org.apache.poi.ss.usermodel.Workbook wb = extension.equals("xlsx") ? new XSSFWorkbook() : new HSSFWorkbook()) {
+        try (final org.apache.poi.ss.usermodel.Workbook wb = extension.equals("xlsx")
+                ? new SXSSFWorkbook(ROW_ACCESS_WINDOW) : new HSSFWorkbook()) {
+
+            if (wb instanceof SXSSFWorkbook) {
+                ((SXSSFWorkbook) wb).setCompressTempFiles(true);
+            }
 
             final Map<Style, CellStyle> styleMap = buildStyleMap(wb, reportModel.getCurrencyNode());
 
@@ -103,12 +121,11 @@ public class Workbook {
             }
 
 
-            // autosize the columns
+            // size the columns
             int col = 0;
             for (int c = 0; c < reportModel.getColumnCount(); c++) {
                 if (reportModel.isColumnVisible(c)) {
-                    sheet.autoSizeColumn(col);
-                    sheet.setColumnWidth(col, sheet.getColumnWidth(col) + 10);
+                    sheet.setColumnWidth(col, getColumnWidth(reportModel, c));
 
                     col++;
                 }
@@ -119,7 +136,7 @@ public class Workbook {
             // Save the file
             final String filename;
 
-            if (wb instanceof XSSFWorkbook) {
+            if (wb instanceof SXSSFWorkbook) {
                 filename = FileUtils.stripFileExtension(file.getAbsolutePath()) + ".xlsx";
             } else {
                 filename = FileUtils.stripFileExtension(file.getAbsolutePath()) + ".xls";
@@ -129,6 +146,10 @@ public class Workbook {
                 wb.write(out);
             } catch (final Exception e) {
                 logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            } finally {
+                if (wb instanceof SXSSFWorkbook) {
+                    ((SXSSFWorkbook) wb).dispose();   // remove the temporary files
+                }
             }
 
         } catch (final IOException e) {
@@ -136,6 +157,25 @@ public class Workbook {
         }
     }
 
+    /**
+     * Estimates the width of a column from the longest value and the column header.
+     *
+     * @param reportModel report model
+     * @param column      model column
+     * @return width in units of 1/256th of a character width
+     */
+    private static int getColumnWidth(@NotNull final AbstractReportTableModel reportModel, final int column) {
+        int length = Math.max(reportModel.getColumnPrototypeValueAt(column).length(),
+                reportModel.getColumnName(column).length());
+
+        if (column == 0) {  // column zero is assumed to be a total descriptor
+            length = Math.max(length, Math.max(reportModel.getGroupFooterLabel().length(),
+                    reportModel.getGrandTotalLegend().length()));
+        }
+
+        return Math.min((length + 2) * 256, MAX_COLUMN_WIDTH);
+    }
+
     private static int addReportHeader(@NotNull final AbstractReportTableModel reportModel,
                                        @NotNull final Map<Style, CellStyle> styleMap,
                                        @NotNull final org.apache.poi.ss.usermodel.Workbook wb, @NotNull final Sheet s,
@@ -221,23 +261,19 @@ public class Workbook {
         sheetRow++;
 
         // add the groups rows
-        for (int tableRow = 0; tableRow < reportModel.getRowCount(); tableRow++) {
-            final String rowGroup = reportModel.getGroup(tableRow);
-
+        for (final int tableRow : groupInfo.getRows()) {
             col = 0;
 
-            if (group.equals(rowGroup)) {
-                row = s.createRow(sheetRow);   // new row is needed
-                row.setHeightInPoints(DEFAULT_HEIGHT + MARGIN);
+            row = s.createRow(sheetRow);   // new row is needed
+            row.setHeightInPoints(DEFAULT_HEIGHT + MARGIN);
 
-                for (int tableCol = 0; tableCol < reportModel.getColumnCount(); tableCol++) {
-                    if (reportModel.isColumnVisible(tableCol)) {
-                        setCellValue(reportModel, styleMap, wb, row, col, tableRow, tableCol);
-                        col++;
-                    }
+            for (int tableCol = 0; tableCol < reportModel.getColumnCount(); tableCol++) {
+                if (reportModel.isColumnVisible(tableCol)) {
+                    setCellValue(reportModel, styleMap, wb, row, col, tableRow, tableCol);
+                    col++;
                 }
-                sheetRow++;
             }
+            sheetRow++;
         }
 
         // add the group footer if needed
@@ -290,7 +326,9 @@ public class Workbook {
                                      @NotNull final org.apache.poi.ss.usermodel.Workbook wb, @NotNull final Row row, final int wbCol,
                                      final int tableRow, final int tableColumn) {
 
-        if (reportModel.getValueAt(tableRow, tableColumn) != null) {
+        final Object value = reportModel.getValueAt(tableRow, tableColumn);
+
+        if (value != null) {
             final ColumnStyle columnStyle = reportModel.getColumnStyle(tableColumn);
 
             switch (columnStyle) {
@@ -301,31 +339,31 @@ public class Workbook {
                 case AMOUNT_SUM: {
                     Cell cell = row.createCell(wbCol, CellType.NUMERIC);
                     cell.setCellStyle(styleMap.get(Style.AMOUNT));
-                    cell.setCellValue(((BigDecimal) reportModel.getValueAt(tableRow, tableColumn)).doubleValue());
+                    cell.setCellValue(((BigDecimal) value).doubleValue());
                 }
                 break;
                 case PERCENTAGE: {
                     Cell cell = row.createCell(wbCol, CellType.NUMERIC);
                     cell.setCellStyle(styleMap.get(Style.PERCENTAGE));
-                    cell.setCellValue(((BigDecimal) reportModel.getValueAt(tableRow, tableColumn)).doubleValue());
+                    cell.setCellValue(((BigDecimal) value).doubleValue());
                 }
                 break;
                 case QUANTITY: {
                     Cell cell = row.createCell(wbCol, CellType.NUMERIC);
                     cell.setCellStyle(styleMap.get(Style.QUANTITY));
-                    cell.setCellValue(((BigDecimal) reportModel.getValueAt(tableRow, tableColumn)).doubleValue());
+                    cell.setCellValue(((BigDecimal) value).doubleValue());
                 }
                 break;
                 case SHORT_DATE: {
                     Cell cell = row.createCell(wbCol, CellType.STRING);
                     cell.setCellStyle(styleMap.get(Style.SHORT_DATE));
-                    cell.setCellValue(DateUtils.asDate((LocalDate) reportModel.getValueAt(tableRow, tableColumn)));
+                    cell.setCellValue(DateUtils.asDate((LocalDate) value));
                 }
                 break;
                 case TIMESTAMP: {
                     Cell cell = row.createCell(wbCol, CellType.STRING);
                     cell.setCellStyle(styleMap.get(Style.TIMESTAMP));
-                    cell.setCellValue(DateUtils.asDate((LocalDateTime) reportModel.getValueAt(tableRow, tableColumn)));
+                    cell.setCellValue(DateUtils.asDate((LocalDateTime) value));
                 }
                 break;
                 case STRING:
@@ -334,7 +372,7 @@ public class Workbook {
 
                     Cell cell = row.createCell(wbCol);
                     cell.setCellStyle(styleMap.get(Style.DEFAULT));
-                    cell.setCellValue(createHelper.createRichTextString(reportModel.getValueAt(tableRow, tableColumn).toString()));
+                    cell.setCellValue(createHelper.createRichTextString(value.toString()));
                 }
             }
         }
@@ -15,7 +15,7 @@
  *  You should have received a copy of the GNU General Public License
  *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package jgnash.uifx.report;
+package jgnash.report.reports;
 
 import java.math.BigDecimal;
 import java.text.MessageFormat;
@@ -23,8 +23,8 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,6 +40,8 @@ import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
 import jgnash.engine.MathConstants;
+import jgnash.engine.PeriodBalances;
+import jgnash.report.PeriodBalanceEngine;
 import jgnash.report.pdf.Report;
 import jgnash.report.table.AbstractReportTableModel;
 import jgnash.report.table.ColumnStyle;
@@ -104,11 +106,11 @@ public abstract class AbstractSumByTypeReport extends Report {
         return reportPeriod;
     }
 
-    void setReportPeriod(final Period reportPeriod) {
+    public void setReportPeriod(final Period reportPeriod) {
         this.reportPeriod = reportPeriod;
     }
 
-    void setSortOrder(@NotNull final SortOrder sortOrder) {
+    public void setSortOrder(@NotNull final SortOrder sortOrder) {
         this.sortOrder = sortOrder;
     }
 
@@ -116,8 +118,8 @@ public abstract class AbstractSumByTypeReport extends Report {
         this.title = title;
     }
 
-    ReportModel createReportModel(final LocalDate startDate, final LocalDate endDate,
-                                  final boolean hideZeroBalanceAccounts) {
+    public ReportModel createReportModel(final LocalDate startDate, final LocalDate endDate,
+                                         final boolean hideZeroBalanceAccounts) {
 
         percentileMap.clear();
 
@@ -139,41 +141,20 @@ public abstract class AbstractSumByTypeReport extends Report {
             accounts.addAll(getAccountList(AccountType.getAccountTypes(group)));
         }
 
+        // balances for all periods are calculated once and shared by the zero balance test, sorting and the model
+        final Map<Account, PeriodBalances> balanceMap = getPeriodBalances(accounts, baseCurrency);
+
         // remove any account that will report a zero balance for all periods
         if (hideZeroBalanceAccounts) {
-            final Iterator<Account> i = accounts.iterator();
-
-            while (i.hasNext()) {
-                final Account account = i.next();
-                boolean remove = true;
-
-                if (runningTotal) {
-                    for (final LocalDate date : startDates) {
-                        if (account.getBalance(date).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }
-
-                    for (final LocalDate date : endDates) {
-                        if (account.getBalance(date).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }
+            accounts.removeIf(account -> balanceMap.get(account).isZero(runningTotal));
+        }
 
+        // sorting and percentages use the balance over the selected dates, which may differ from the report periods
+        final Map<Account, BigDecimal> totalMap = new HashMap<>();
 
-                } else {
-                    for (int j = 0; j < startDates.size(); j++) {
-                        if (account.getBalance(startDates.get(j), endDates.get(j)).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }
-                }
-                if (remove) {
-                    i.remove();
-                }
+        if (sortOrder == SortOrder.BY_BALANCE || addPercentileColumn) {
+            for (final Account account : accounts) {
+                totalMap.put(account, account.getBalance(startDate, endDate, baseCurrency));
             }
         }
 
@@ -182,7 +163,7 @@ public abstract class AbstractSumByTypeReport extends Report {
                 accounts.sort(showFullAccountPath ? Comparators.getAccountByPathName() : Comparators.getAccountByName());
                 break;
             case BY_BALANCE:
-                accounts.sort(Comparators.getAccountByBalance(startDate, endDate, baseCurrency, true));
+                accounts.sort(Comparator.comparing(totalMap::get));
                 break;
             default:
                 accounts.sort(Comparators.getAccountByName());
@@ -196,7 +177,7 @@ public abstract class AbstractSumByTypeReport extends Report {
                 BigDecimal groupTotal = BigDecimal.ZERO;
                 for (final Account a : accounts) {
                     if (a.getAccountType().getAccountGroup() == group) {
-                        groupTotal = groupTotal.add(a.getBalance(startDate, endDate, baseCurrency));
+                        groupTotal = groupTotal.add(totalMap.get(a));
                     }
                 }
 
@@ -204,14 +185,14 @@ public abstract class AbstractSumByTypeReport extends Report {
                 for (final Account a : accounts) {
                     if (a.getAccountType().getAccountGroup() == group) {
 
-                        BigDecimal sum = a.getBalance(startDate, endDate, baseCurrency);
+                        BigDecimal sum = totalMap.get(a);
                         percentileMap.put(a, sum.divide(groupTotal, MathConstants.mathContext));
                     }
                 }
             }
         }
 
-        final ReportModel model = new ReportModel(baseCurrency);
+        final ReportModel model = new ReportModel(baseCurrency, balanceMap);
         model.addAccounts(accounts);
 
         return model;
@@ -277,6 +258,17 @@ public abstract class AbstractSumByTypeReport extends Report {
         }
     }
 
+    /**
+     * Calculates the balances of accounts for the current report periods.
+     *
+     * @param accounts     accounts to calculate
+     * @param baseCurrency currency to report in
+     * @return map of accounts to their balances
+     */
+    Map<Account, PeriodBalances> getPeriodBalances(final Collection<Account> accounts, final CurrencyNode baseCurrency) {
+        return PeriodBalanceEngine.calculate(accounts, startDates, endDates, baseCurrency);
+    }
+
     private static List<Account> getAccountList(final Set<AccountType> types) {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
@@ -285,15 +277,15 @@ public abstract class AbstractSumByTypeReport extends Report {
                 filter(a -> types.contains(a.getAccountType())).distinct().sorted().collect(Collectors.toList());
     }
 
-    void setRunningTotal(final boolean runningTotal) {
+    public void setRunningTotal(final boolean runningTotal) {
         this.runningTotal = runningTotal;
     }
 
-    void setAddCrossTabColumn(final boolean addCrossTabColumn) {
+    public void setAddCrossTabColumn(final boolean addCrossTabColumn) {
         this.addCrossTabColumn = addCrossTabColumn;
     }
 
-    void setAddPercentileColumn(final boolean addPercentileColumn) {
+    public void setAddPercentileColumn(final boolean addPercentileColumn) {
         this.addPercentileColumn = addPercentileColumn;
     }
 
@@ -301,20 +293,23 @@ public abstract class AbstractSumByTypeReport extends Report {
         return showFullAccountPath;
     }
 
-    void setShowFullAccountPath(boolean showFullAccountPath) {
+    public void setShowFullAccountPath(boolean showFullAccountPath) {
         this.showFullAccountPath = showFullAccountPath;
     }
 
-    protected class ReportModel extends AbstractReportTableModel {
+    public class ReportModel extends AbstractReportTableModel {
 
         private final List<Row<?>> rowList = new ArrayList<>();
 
         private final CurrencyNode baseCurrency;
 
+        private final Map<Account, PeriodBalances> balanceMap;
+
         private final ResourceBundle rb = ResourceUtils.getBundle();
 
-        ReportModel(final CurrencyNode currency) {
+        ReportModel(final CurrencyNode currency, final Map<Account, PeriodBalances> balanceMap) {
             this.baseCurrency = currency;
+            this.balanceMap = balanceMap;
         }
 
         @Override
@@ -357,10 +352,15 @@ public abstract class AbstractSumByTypeReport extends Report {
          */
         void addRow(final Row<?> row) {
             rowList.add(row);
+            fireModelChanged();
         }
 
         void addAccount(final Account account) {
-            rowList.add(new AccountRow(account));
+            final PeriodBalances balances = balanceMap.computeIfAbsent(account,
+                    a -> a.getPeriodBalances(startDates, endDates, baseCurrency));
+
+            rowList.add(new AccountRow(account, balances));
+            fireModelChanged();
         }
 
         @Override
@@ -464,8 +464,11 @@ public abstract class AbstractSumByTypeReport extends Report {
 
         private class AccountRow extends Row<Account> {
 
-            AccountRow(final Account account) {
+            private final PeriodBalances balances;
+
+            AccountRow(final Account account, final PeriodBalances balances) {
                 super(account);
+                this.balances = balances;
             }
 
             @Override
@@ -491,11 +494,10 @@ public abstract class AbstractSumByTypeReport extends Report {
                     return getValue().getAccountType().getAccountGroup().toString();
                 } else if (columnIndex > 0 && columnIndex <= startDates.size()) {
                     if (runningTotal) {
-                        return getValue().getBalance(endDates.get(columnIndex - 1), getCurrencyNode());
+                        return balances.getEndBalance(columnIndex - 1);
                     }
 
-                    return getValue().getBalance(startDates.get(columnIndex - 1), endDates.get(columnIndex - 1),
-                            getCurrencyNode()).negate();
+                    return balances.getPeriodBalance(columnIndex - 1).negate();
                 }
 
                 return null;
@@ -15,21 +15,17 @@
  *  You should have received a copy of the GNU General Public License
  *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package jgnash.uifx.report;
+package jgnash.report.reports;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 
 import jgnash.engine.Account;
 import jgnash.engine.AccountGroup;
@@ -46,7 +42,6 @@ import jgnash.report.table.ColumnStyle;
 import jgnash.report.table.Row;
 import jgnash.resource.util.ResourceUtils;
 import jgnash.time.DateUtils;
-import jgnash.uifx.views.register.RegisterFactory;
 import jgnash.util.Nullable;
 
 /**
@@ -56,22 +51,41 @@ import jgnash.util.Nullable;
  */
 public class AccountRegisterReport extends Report {
 
-    AccountRegisterReport() {
+    static {
+        ReportPreferences.migrate(AccountRegisterReport.class);
+    }
+
+    public AccountRegisterReport() {
+        super(true);    // registers can be thousands of pages long
         setForceGroupPagination(false);
     }
 
+    /**
+     * Creates a report model for an account register.
+     *
+     * @param account         account to report on
+     * @param startDate       first date to include
+     * @param endDate         last date to include
+     * @param showSplits      {@code true} if the entries of split transactions should be listed
+     * @param memoFilter      memo filter, may be empty
+     * @param payeeFilter     payee filter, may be empty
+     * @param showTimeStamp   {@code true} if the timestamp column should be visible
+     * @param accountingTerms {@code true} if accounting terms should be used for column names
+     * @return report model
+     */
     public static AbstractReportTableModel createReportModel(final Account account, final LocalDate startDate,
-                                                      final LocalDate endDate, final boolean showSplits,
-                                                      final String memoFilter, final String payeeFilter,
-                                                      final boolean showTimeStamp) {
+                                                             final LocalDate endDate, final boolean showSplits,
+                                                             final String memoFilter, final String payeeFilter,
+                                                             final boolean showTimeStamp,
+                                                             final boolean accountingTerms) {
 
         if (account.getAccountType().getAccountGroup() == AccountGroup.INVEST) {
             return new AccountRegisterReport.InvestmentAccountReportModel(account, startDate, endDate, memoFilter,
-                    showTimeStamp);
+                    showTimeStamp, accountingTerms);
         }
 
         return new AccountRegisterReport.AccountReportModel(account, showSplits, startDate, endDate, memoFilter,
-                payeeFilter, showTimeStamp);
+                payeeFilter, showTimeStamp, accountingTerms);
 
     }
 
@@ -87,11 +101,13 @@ public class AccountRegisterReport extends Report {
 
         private final Account account;
 
-        private final ObservableList<Row<Transaction>> transactionRows = FXCollections.observableArrayList();
+        private final List<Row<Transaction>> transactionRows = new ArrayList<>();
 
-        private final FilteredList<Row<Transaction>> filteredList = new FilteredList<>(transactionRows);
+        private final Predicate<Row<Transaction>> filter;
 
-        private String[] columnNames = RegisterFactory.getColumnNames(AccountType.BANK);
+        private final boolean accountingTerms;
+
+        private String[] columnNames;
 
         private final boolean showTimestamp;
 
@@ -101,17 +117,20 @@ public class AccountRegisterReport extends Report {
 
         AccountReportModel(@Nullable final Account account, final boolean showSplits, final LocalDate startDate,
                            final LocalDate endDate, final String memoFilter, final String payeeFilter,
-                           final boolean showTimestamp) {
+                           final boolean showTimestamp, final boolean accountingTerms) {
             this.account = account;
             this.showSplits = showSplits;
+            this.accountingTerms = accountingTerms;
 
             sumAmounts = (memoFilter != null && !memoFilter.isEmpty())
                     || (payeeFilter != null && !payeeFilter.isEmpty());
 
-            filteredList.setPredicate(new TransactionAfterDatePredicate(startDate)
+            columnNames = RegisterColumnNames.getColumnNames(AccountType.BANK, accountingTerms);
+
+            filter = new TransactionAfterDatePredicate(startDate)
                     .and(new TransactionBeforeDatePredicate(endDate))
                     .and(new MemoPredicate(memoFilter))
-                    .and(new PayeePredicate(payeeFilter)));
+                    .and(new PayeePredicate(payeeFilter));
 
             this.showTimestamp = showTimestamp;
 
@@ -176,22 +195,31 @@ public class AccountRegisterReport extends Report {
         private void loadAccount() {
             if (account != null) {
                 if (sumAmounts) {   // dump the running total column as it does not make sense when filtering
-                    final String[] base = RegisterFactory.getColumnNames(account.getAccountType());
+                    final String[] base = RegisterColumnNames.getColumnNames(account.getAccountType(), accountingTerms);
                     columnNames = Arrays.copyOfRange(base, 0, base.length - 1);
                 } else {
-                    columnNames = RegisterFactory.getColumnNames(account.getAccountType());
+                    columnNames = RegisterColumnNames.getColumnNames(account.getAccountType(), accountingTerms);
                 }
 
+                BigDecimal balance = BigDecimal.ZERO;   // running balance of all transactions, filtered or not
+
                 for (final Transaction transaction : account.getSortedTransactionList()) {
+                    balance = balance.add(transaction.getAmount(account));
+
+                    final TransactionRow row = new TransactionRow(transaction, -1, balance);
+
+                    if (!filter.test(row)) {    // split entries share the filter result of the transaction
+                        continue;
+                    }
+
+                    transactionRows.add(row);
+
                     if (showSplits && transaction.getTransactionType() == TransactionType.SPLITENTRY
                             && transaction.getCommonAccount() == account) {
-                        transactionRows.add(new TransactionRow(transaction, -1));
                         List<TransactionEntry> transactionEntries = transaction.getTransactionEntries();
                         for (int i = 0; i < transactionEntries.size(); i++) {
-                            transactionRows.add(new TransactionRow(transaction, i));
+                            transactionRows.add(new TransactionRow(transaction, i, balance));
                         }
-                    } else {
-                        transactionRows.add(new TransactionRow(transaction, -1));
                     }
                 }
             }
@@ -217,7 +245,7 @@ public class AccountRegisterReport extends Report {
 
         @Override
         public int getRowCount() {
-            return filteredList.size();
+            return transactionRows.size();
         }
 
         @Override
@@ -261,17 +289,20 @@ public class AccountRegisterReport extends Report {
 
         @Override
         public Object getValueAt(final int rowIndex, final int columnIndex) {
-            return filteredList.get(rowIndex).getValueAt(columnIndex);
+            return transactionRows.get(rowIndex).getValueAt(columnIndex);
         }
 
         private class TransactionRow extends Row<Transaction> {
             private final BigDecimal amount;
             private final int signum;
             private final TransactionEntry transactionEntry;
+            private final BigDecimal balance;
 
-            TransactionRow(final Transaction transaction, final int entry) {
+            TransactionRow(final Transaction transaction, final int entry, final BigDecimal balance) {
                 super(transaction);
 
+                this.balance = balance;
+
                 if (entry >= 0) {
                     transactionEntry = transaction.getTransactionEntries().get(entry);
                     amount = transactionEntry.getAmount(account);
@@ -331,7 +362,7 @@ public class AccountRegisterReport extends Report {
                             }
                             return null;
                         case 9:
-                            return account.getBalanceAt(transaction);
+                            return balance;
                         default:
                             return null;
                     }
@@ -371,11 +402,13 @@ public class AccountRegisterReport extends Report {
 
         private final Account account;
 
-        private final ObservableList<Row<Transaction>> transactionRows = FXCollections.observableArrayList();
+        private final List<Row<Transaction>> transactionRows = new ArrayList<>();
 
-        private final FilteredList<Row<Transaction>> filteredList = new FilteredList<>(transactionRows);
+        private final Predicate<Row<Transaction>> filter;
 
-        private String[] columnNames = RegisterFactory.getColumnNames(AccountType.INVEST);
+        private final boolean accountingTerms;
+
+        private String[] columnNames;
 
         private static final ColumnStyle[] columnStyles = new ColumnStyle[]{ColumnStyle.SHORT_DATE, ColumnStyle.TIMESTAMP,
                 ColumnStyle.STRING, ColumnStyle.STRING, ColumnStyle.STRING, ColumnStyle.STRING, ColumnStyle.SHORT_AMOUNT,
@@ -384,12 +417,16 @@ public class AccountRegisterReport extends Report {
         private final boolean showTimestamp;
 
         InvestmentAccountReportModel(@Nullable final Account account, final LocalDate startDate,
-                                     final LocalDate endDate, final String memoFilter, final boolean showTimestamp) {
+                                     final LocalDate endDate, final String memoFilter, final boolean showTimestamp,
+                                     final boolean accountingTerms) {
             this.account = account;
+            this.accountingTerms = accountingTerms;
+
+            columnNames = RegisterColumnNames.getColumnNames(AccountType.INVEST, accountingTerms);
 
-            filteredList.setPredicate(new TransactionAfterDatePredicate(startDate)
+            filter = new TransactionAfterDatePredicate(startDate)
                     .and(new TransactionBeforeDatePredicate(endDate))
-                    .and(new MemoPredicate(memoFilter)));
+                    .and(new MemoPredicate(memoFilter));
 
             this.showTimestamp = showTimestamp;
 
@@ -433,10 +470,15 @@ public class AccountRegisterReport extends Report {
 
         private void loadAccount() {
             if (account != null) {
-                columnNames = RegisterFactory.getColumnNames(account.getAccountType());
+                columnNames = RegisterColumnNames.getColumnNames(account.getAccountType(), accountingTerms);
 
-                transactionRows.addAll(account.getSortedTransactionList().stream()
-                        .map(TransactionRow::new).collect(Collectors.toList()));
+                for (final Transaction transaction : account.getSortedTransactionList()) {
+                    final TransactionRow row = new TransactionRow(transaction);
+
+                    if (filter.test(row)) {
+                        transactionRows.add(row);
+                    }
+                }
             }
         }
 
@@ -452,7 +494,7 @@ public class AccountRegisterReport extends Report {
 
         @Override
         public int getRowCount() {
-            return filteredList.size();
+            return transactionRows.size();
         }
 
         @Override
@@ -484,7 +526,7 @@ public class AccountRegisterReport extends Report {
 
         @Override
         public Object getValueAt(final int rowIndex, final int columnIndex) {
-            return filteredList.get(rowIndex).getValueAt(columnIndex);
+            return transactionRows.get(rowIndex).getValueAt(columnIndex);
         }
 
         private class TransactionRow extends Row<Transaction> {
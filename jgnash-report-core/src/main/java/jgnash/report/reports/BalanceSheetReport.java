@@ -15,7 +15,7 @@
  *  You should have received a copy of the GNU General Public License
  *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package jgnash.uifx.report;
+package jgnash.report.reports;
 
 
 import jgnash.engine.Account;
@@ -23,12 +23,14 @@ import jgnash.engine.AccountGroup;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.engine.PeriodBalances;
 import jgnash.report.table.Row;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -38,7 +40,11 @@ import java.util.Objects;
  */
 public class BalanceSheetReport extends AbstractSumByTypeReport {
 
-    BalanceSheetReport() {
+    static {
+        ReportPreferences.migrate(BalanceSheetReport.class);
+    }
+
+    public BalanceSheetReport() {
         super();
 
         setRunningTotal(false);
@@ -47,7 +53,7 @@ public class BalanceSheetReport extends AbstractSumByTypeReport {
     }
 
     @Override
-    protected ReportModel createReportModel(final LocalDate startDate, final LocalDate endDate, final boolean hideZeroBalanceAccounts) {
+    public ReportModel createReportModel(final LocalDate startDate, final LocalDate endDate, final boolean hideZeroBalanceAccounts) {
         ReportModel model = super.createReportModel(startDate, endDate, hideZeroBalanceAccounts);
 
 
@@ -85,6 +91,11 @@ public class BalanceSheetReport extends AbstractSumByTypeReport {
      */
     private class RetainedEarningsRow extends Row<Void> {
 
+        /**
+         * Retained profit or loss for each period, calculated once.
+         */
+        private BigDecimal[] retainedProfitLoss;
+
         RetainedEarningsRow() {
             super(null);
         }
@@ -100,7 +111,7 @@ public class BalanceSheetReport extends AbstractSumByTypeReport {
             } else if (columnIndex == getColumnCount() - 1) { // group column
                 return AccountGroup.EQUITY.toString();
             } else if (columnIndex > 0 && columnIndex <= startDates.size()) {
-                return getRetainedProfitLoss(startDates.get(columnIndex - 1), endDates.get(columnIndex - 1));
+                return getRetainedProfitLoss()[columnIndex - 1];
             }
 
             return null;
@@ -111,29 +122,36 @@ public class BalanceSheetReport extends AbstractSumByTypeReport {
         }
 
         /**
-         * Returns the retained profit or loss for the given period.
+         * Returns the retained profit or loss for each period.
          *
-         * @param startDate Start date for the period
-         * @param endDate End date for the period
-         * @return the profit or loss for the period
+         * @return the profit or loss for the periods
          */
-        private BigDecimal getRetainedProfitLoss(final LocalDate startDate, final LocalDate endDate) {
-            BigDecimal profitLoss = BigDecimal.ZERO;
+        private synchronized BigDecimal[] getRetainedProfitLoss() {
+            if (retainedProfitLoss == null) {
+                final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
+                Objects.requireNonNull(engine);
 
-            final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
-            Objects.requireNonNull(engine);
+                final CurrencyNode baseCurrency = engine.getDefaultCurrency();
 
-            final CurrencyNode baseCurrency = engine.getDefaultCurrency();
+                final List<Account> accounts = new ArrayList<>(engine.getExpenseAccountList());
+                accounts.addAll(engine.getIncomeAccountList());
 
-            for (final Account account : engine.getExpenseAccountList()) {
-                profitLoss = profitLoss.add(account.getBalance(startDate, endDate, baseCurrency));
-            }
+                final Map<Account, PeriodBalances> balanceMap = getPeriodBalances(accounts, baseCurrency);
+
+                retainedProfitLoss = new BigDecimal[startDates.size()];
+
+                for (int i = 0; i < retainedProfitLoss.length; i++) {
+                    BigDecimal profitLoss = BigDecimal.ZERO;
+
+                    for (final PeriodBalances balances : balanceMap.values()) {
+                        profitLoss = profitLoss.add(balances.getPeriodBalance(i));
+                    }
 
-            for (final Account account : engine.getIncomeAccountList()) {
-                profitLoss = profitLoss.add(account.getBalance(startDate, endDate, baseCurrency));
+                    retainedProfitLoss[i] = profitLoss.negate();
+                }
             }
 
-            return profitLoss.negate();
+            return retainedProfitLoss;
         }
     }
 
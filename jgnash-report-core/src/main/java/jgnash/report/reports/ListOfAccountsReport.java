@@ -1,4 +1,4 @@
-package jgnash.uifx.report;
+package jgnash.report.reports;
 
 import java.math.BigDecimal;
 import java.text.MessageFormat;
@@ -23,6 +23,10 @@ import jgnash.util.NotNull;
  */
 public class ListOfAccountsReport extends Report {
 
+    static {
+        ReportPreferences.migrate(ListOfAccountsReport.class);
+    }
+
     private static final String SPACE = " ";
 
     private static final int INDENT = 2;
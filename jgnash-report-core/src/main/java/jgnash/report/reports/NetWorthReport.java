@@ -15,7 +15,7 @@
  *  You should have received a copy of the GNU General Public License
  *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package jgnash.uifx.report;
+package jgnash.report.reports;
 
 import jgnash.engine.AccountGroup;
 
@@ -29,7 +29,11 @@ import java.util.List;
  */
 public class NetWorthReport extends AbstractSumByTypeReport {
 
-    NetWorthReport() {
+    static {
+        ReportPreferences.migrate(NetWorthReport.class);
+    }
+
+    public NetWorthReport() {
         super();
 
         setRunningTotal(true);
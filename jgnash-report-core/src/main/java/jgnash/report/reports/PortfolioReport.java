@@ -15,7 +15,7 @@
  *  You should have received a copy of the GNU General Public License
  *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
  */
-package jgnash.uifx.report;
+package jgnash.report.reports;
 
 import java.math.BigDecimal;
 import java.text.MessageFormat;
@@ -44,19 +44,23 @@ import jgnash.util.NotNull;
  */
 public class PortfolioReport extends Report {
 
+    static {
+        ReportPreferences.migrate(PortfolioReport.class);
+    }
+
     private static final int COLUMN_COUNT = 12;
 
-    PortfolioReport() {
+    public PortfolioReport() {
         super();
 
         setForceGroupPagination(false);
     }
 
-    static int getColumnCount() {
+    public static int getColumnCount() {
         return COLUMN_COUNT;
     }
 
-    static String getColumnName(final int columnIndex) {
+    public static String getColumnName(final int columnIndex) {
         switch (columnIndex) {
             case 0:
                 return rb.getString("Column.Security");
@@ -87,10 +91,10 @@ public class PortfolioReport extends Report {
         }
     }
 
-    static AbstractReportTableModel createReportModel(final Account account, final LocalDate startDate,
-                                                      final LocalDate endDate, final boolean recursive,
-                                                      final boolean longNames,
-                                                      final Function<String, Boolean> columnVisibilityFunction) {
+    public static AbstractReportTableModel createReportModel(final Account account, final LocalDate startDate,
+                                                             final LocalDate endDate, final boolean recursive,
+                                                             final boolean longNames,
+                                                             final Function<String, Boolean> columnVisibilityFunction) {
 
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
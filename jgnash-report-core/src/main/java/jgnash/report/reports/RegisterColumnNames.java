@@ -0,0 +1,149 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report.reports;
+
+import java.util.ResourceBundle;
+
+import jgnash.engine.AccountGroup;
+import jgnash.engine.AccountType;
+import jgnash.resource.util.ResourceUtils;
+import jgnash.util.NotNull;
+
+/**
+ * Column names for account registers and register reports.
+ *
+ * @author Craig Cavanaugh
+ */
+public final class RegisterColumnNames {
+
+    private static final ResourceBundle rb = ResourceUtils.getBundle();
+
+    private static final String COLUMN_DATE = "Column.Date";
+    private static final String COLUMN_NUM = "Column.Num";
+    private static final String COLUMN_PAYEE = "Column.Payee";
+    private static final String COLUMN_MEMO = "Column.Memo";
+    private static final String COLUMN_ACCOUNT = "Column.Account";
+    private static final String COLUMN_CLR = "Column.Clr";
+    private static final String COLUMN_DEPOSIT = "Column.Deposit";
+    private static final String COLUMN_WITHDRAWAL = "Column.Withdrawal";
+    private static final String COLUMN_BALANCE = "Column.Balance";
+    private static final String COLUMN_INCREASE = "Column.Increase";
+    private static final String COLUMN_DECREASE = "Column.Decrease";
+    private static final String COLUMN_CHARGE = "Column.Charge";
+    private static final String COLUMN_DEBIT = "Column.Debit";
+    private static final String COLUMN_CREDIT = "Column.Credit";
+    private static final String COLUMN_REBATE = "Column.Rebate";
+    private static final String COLUMN_EXPENSE = "Column.Expense";
+    private static final String COLUMN_INCOME = "Column.Income";
+    private static final String COLUMN_RECEIVE = "Column.Receive";
+    private static final String COLUMN_SPEND = "Column.Spend";
+    private static final String COLUMN_PAYMENT = "Column.Payment";
+    private static final String COLUMN_ACTION = "Column.Action";
+    private static final String COLUMN_INVESTMENT = "Column.Investment";
+    private static final String COLUMN_PRICE = "Column.Price";
+    private static final String COLUMN_TIMESTAMP = "Column.Timestamp";
+    private static final String COLUMN_TOTAL = "Column.Total";
+    private static final String COLUMN_QUANTITY = "Column.Quantity";
+
+    private static final String[] BANK_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP),
+            rb.getString(COLUMN_NUM), rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO),
+            rb.getString(COLUMN_ACCOUNT), rb.getString(COLUMN_CLR), rb.getString(COLUMN_DEPOSIT),
+            rb.getString(COLUMN_WITHDRAWAL), rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] GENERIC_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_INCREASE), rb.getString(COLUMN_DECREASE),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] CASH_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_RECEIVE), rb.getString(COLUMN_SPEND),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] EXPENSE_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_EXPENSE), rb.getString(COLUMN_REBATE),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] INCOME_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_CHARGE), rb.getString(COLUMN_INCOME),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] CREDIT_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_PAYMENT), rb.getString(COLUMN_CHARGE),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] EQUITY_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_DECREASE), rb.getString(COLUMN_INCREASE),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] LIABILITY_NAMES = EQUITY_NAMES;
+
+    private static final String[] ACCOUNTING_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_NUM),
+            rb.getString(COLUMN_PAYEE), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_ACCOUNT),
+            rb.getString(COLUMN_CLR), rb.getString(COLUMN_DEBIT), rb.getString(COLUMN_CREDIT),
+            rb.getString(COLUMN_BALANCE) };
+
+    private static final String[] INVESTMENT_NAMES = { rb.getString(COLUMN_DATE), rb.getString(COLUMN_TIMESTAMP), rb.getString(COLUMN_ACTION),
+            rb.getString(COLUMN_INVESTMENT), rb.getString(COLUMN_MEMO), rb.getString(COLUMN_CLR),
+            rb.getString(COLUMN_QUANTITY), rb.getString(COLUMN_PRICE), rb.getString(COLUMN_TOTAL) };
+
+    private RegisterColumnNames() {
+        // Utility class
+    }
+
+    /**
+     * Returns the register column names for an account type.
+     *
+     * @param accountType     {@code AccountType} to return column names for
+     * @param accountingTerms {@code true} if accounting terms should be used
+     * @return column names, the returned array must not be modified
+     */
+    public static String[] getColumnNames(@NotNull final AccountType accountType, final boolean accountingTerms) {
+        String[] names; // reference to the correct column names
+
+        if (accountingTerms) {
+            names = ACCOUNTING_NAMES;
+        } else {
+            if (accountType == AccountType.CREDIT) {
+                names = CREDIT_NAMES;
+            } else if (accountType == AccountType.EXPENSE) {
+                names = EXPENSE_NAMES;
+            } else if (accountType == AccountType.INCOME) {
+                names = INCOME_NAMES;
+            } else if (accountType == AccountType.CASH) {
+                names = CASH_NAMES;
+            } else if (accountType == AccountType.EQUITY) {
+                names = EQUITY_NAMES;
+            } else if (accountType == AccountType.LIABILITY) {
+                names = LIABILITY_NAMES;
+            } else if (accountType.getAccountGroup() == AccountGroup.ASSET) {
+                names = BANK_NAMES;
+            } else if (accountType.getAccountGroup() == AccountGroup.INVEST) {
+                names = INVESTMENT_NAMES;
+            } else {
+                names = GENERIC_NAMES;
+            }
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report.reports;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jgnash.engine.Account;
+import jgnash.engine.AccountGroup;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.report.pdf.Report;
+import jgnash.report.poi.Workbook;
+import jgnash.report.table.AbstractReportTableModel;
+import jgnash.resource.util.ResourceUtils;
+import jgnash.time.Period;
+import jgnash.util.DefaultDaemonThreadFactory;
+import jgnash.util.NotNull;
+import jgnash.util.Nullable;
+
+/**
+ * Generates reports without a user interface.  Each report is built and written by a pool of worker threads so a set
+ * of PDF and spreadsheet reports can be produced from the default engine in parallel.
+ * <p>
+ * {@link #main(String[])} boots a database read only, writes the requested reports and exits.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ReportGenerator {
+
+    private static final Logger logger = Logger.getLogger(ReportGenerator.class.getName());
+
+    public enum ReportType {
+        PROFIT_LOSS("ProfitLoss", false),
+        BALANCE_SHEET("BalanceSheet", false),
+        NET_WORTH("NetWorth", false),
+        LIST_OF_ACCOUNTS("ListOfAccounts", false),
+        PORTFOLIO("Portfolio", true),
+        ACCOUNT_REGISTER("AccountRegister", true);
+
+        private final String fileName;
+
+        private final boolean accountRequired;
+
+        ReportType(final String fileName, final boolean accountRequired) {
+            this.fileName = fileName;
+            this.accountRequired = accountRequired;
+        }
+
+        public boolean isAccountRequired() {
+            return accountRequired;
+        }
+    }
+
+    public enum Format {
+        PDF(".pdf"),
+        XLSX(".xlsx");
+
+        private final String extension;
+
+        Format(final String extension) {
+            this.extension = extension;
+        }
+    }
+
+    private final List<Request> requests = new ArrayList<>();
+
+    private final Set<String> fileNames = new HashSet<>();
+
+    private final Set<Format> formats = EnumSet.allOf(Format.class);
+
+    private final int parallelism;
+
+    private LocalDate startDate = LocalDate.now().withDayOfYear(1);
+
+    private LocalDate endDate = LocalDate.now();
+
+    private Period reportPeriod = Period.MONTHLY;
+
+    private boolean hideZeroBalanceAccounts = true;
+
+    private boolean accountingTerms = false;
+
+    public ReportGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ReportGenerator(final int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public void setDateRange(@NotNull final LocalDate startDate, @NotNull final LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("The end date is before the start date");
+        }
+
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public void setReportPeriod(@NotNull final Period reportPeriod) {
+        this.reportPeriod = Objects.requireNonNull(reportPeriod);
+    }
+
+    public void setHideZeroBalanceAccounts(final boolean hideZeroBalanceAccounts) {
+        this.hideZeroBalanceAccounts = hideZeroBalanceAccounts;
+    }
+
+    public void setAccountingTerms(final boolean accountingTerms) {
+        this.accountingTerms = accountingTerms;
+    }
+
+    /**
+     * Sets the file formats each report is written in.
+     *
+     * @param formats formats to write, must not be empty
+     */
+    public void setFormats(@NotNull final Set<Format> formats) {
+        if (formats.isEmpty()) {
+            throw new IllegalArgumentException("At least one format is required");
+        }
+
+        this.formats.clear();
+        this.formats.addAll(formats);
+    }
+
+    /**
+     * Adds a report that covers the whole file.
+     *
+     * @param reportType type of report
+     */
+    public void addReport(@NotNull final ReportType reportType) {
+        if (reportType.isAccountRequired()) {
+            throw new IllegalArgumentException(reportType + " requires an account");
+        }
+
+        requests.add(new Request(reportType, null, getUniqueFileName(reportType.fileName)));
+    }
+
+    /**
+     * Adds a report for a single account.
+     *
+     * @param reportType type of report
+     * @param account    account to report on
+     */
+    public void addReport(@NotNull final ReportType reportType, @NotNull final Account account) {
+        if (!reportType.isAccountRequired()) {
+            throw new IllegalArgumentException(reportType + " does not report on an account");
+        }
+
+        if (reportType == ReportType.PORTFOLIO && account.getAccountType().getAccountGroup() != AccountGroup.INVEST) {
+            throw new IllegalArgumentException(account.getName() + " is not an investment account");
+        }
+
+        final String fileName = reportType.fileName + "-" + account.getName().replaceAll("[^\\p{Alnum}]+", "_");
+
+        requests.add(new Request(reportType, Objects.requireNonNull(account), getUniqueFileName(fileName)));
+    }
+
+    /**
+     * Returns a file name not used by an earlier report.  Accounts may share a name, so a counter is appended to
+     * repeats.  Names are compared without case for case insensitive file systems.
+     *
+     * @param fileName base file name
+     * @return unique file name
+     */
+    private String getUniqueFileName(final String fileName) {
+        String uniqueName = fileName;
+
+        for (int i = 2; !fileNames.add(uniqueName.toLowerCase(Locale.ROOT)); i++) {
+            uniqueName = fileName + "-" + i;
+        }
+
+        return uniqueName;
+    }
+
+    /**
+     * Generates all added reports in parallel.
+     *
+     * @param directory directory to write the reports to
+     * @return the result for each report in the order added
+     * @throws IOException thrown if the directory can not be created
+     */
+    public List<Result> generate(@NotNull final Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        final List<Result> results = new ArrayList<>(requests.size());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+                new DefaultDaemonThreadFactory("Report Generator Executor"));
+
+        try {
+            final List<Future<Result>> futures = new ArrayList<>(requests.size());
+
+            for (final Request request : requests) {
+                futures.add(executorService.submit(() -> generate(request, directory)));
+            }
+
+            for (final Future<Result> future : futures) {
+                results.add(future.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (final ExecutionException e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            return Collections.emptyList();
+        } finally {
+            executorService.shutdown();
+        }
+
+        return results;
+    }
+
+    private Result generate(final Request request, final Path directory) {
+        final Result result = new Result(request.getFileName());
+
+        try (final Report report = createReport(request.reportType)) {
+            final AbstractReportTableModel model = createReportModel(report, request);
+
+            if (formats.contains(Format.PDF)) {
+                final Path path = directory.resolve(request.getFileName() + Format.PDF.extension);
+
+                report.addTable(model);
+
+                if (request.reportType != ReportType.LIST_OF_ACCOUNTS) {
+                    report.addFooter();
+                }
+
+                report.saveToFile(path);
+                result.paths.add(path);
+            }
+
+            if (formats.contains(Format.XLSX)) {
+                final Path path = directory.resolve(request.getFileName() + Format.XLSX.extension);
+
+                Workbook.export(model, path.toFile());
+
+                if (!Files.exists(path)) {
+                    throw new IOException("Unable to write: " + path);
+                }
+
+                result.paths.add(path);
+            }
+        } catch (final Exception e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            result.error = e.getLocalizedMessage() != null ? e.getLocalizedMessage() : e.toString();
+        }
+
+        return result;
+    }
+
+    private static Report createReport(final ReportType reportType) {
+        switch (reportType) {
+            case PROFIT_LOSS:
+                final ProfitLossReport profitLossReport = new ProfitLossReport();
+                profitLossReport.setTitle(ResourceUtils.getString("Title.ProfitLoss"));
+                return profitLossReport;
+            case BALANCE_SHEET:
+                final BalanceSheetReport balanceSheetReport = new BalanceSheetReport();
+                balanceSheetReport.setTitle(ResourceUtils.getString("Title.BalanceSheet"));
+                return balanceSheetReport;
+            case NET_WORTH:
+                final NetWorthReport netWorthReport = new NetWorthReport();
+                netWorthReport.setTitle(ResourceUtils.getString("Word.NetWorth"));
+                return netWorthReport;
+            case LIST_OF_ACCOUNTS:
+                return new ListOfAccountsReport();
+            case PORTFOLIO:
+                return new PortfolioReport();
+            case ACCOUNT_REGISTER:
+                return new AccountRegisterReport();
+            default:
+                throw new IllegalArgumentException(reportType.name());
+        }
+    }
+
+    private AbstractReportTableModel createReportModel(final Report report, final Request request) {
+        switch (request.reportType) {
+            case PROFIT_LOSS:
+            case BALANCE_SHEET:
+            case NET_WORTH:
+                final AbstractSumByTypeReport sumByTypeReport = (AbstractSumByTypeReport) report;
+                sumByTypeReport.setReportPeriod(reportPeriod);
+
+                return sumByTypeReport.createReportModel(startDate, endDate, hideZeroBalanceAccounts);
+            case LIST_OF_ACCOUNTS:
+                final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
+                Objects.requireNonNull(engine);
+
+                return new ListOfAccountsReport.AccountListModel(engine.getAccountList(), engine.getDefaultCurrency());
+            case PORTFOLIO:
+                return PortfolioReport.createReportModel(request.account, startDate, endDate, true, false,
+                        column -> true);
+            case ACCOUNT_REGISTER:
+                return AccountRegisterReport.createReportModel(request.account, startDate, endDate, false, "", "",
+                        false, accountingTerms);
+            default:
+                throw new IllegalArgumentException(request.reportType.name());
+        }
+    }
+
+    private static class Request {
+
+        final ReportType reportType;
+
+        final Account account;
+
+        final String fileName;
+
+        Request(final ReportType reportType, @Nullable final Account account, final String fileName) {
+            this.reportType = reportType;
+            this.account = account;
+            this.fileName = fileName;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+    }
+
+    /**
+     * The outcome of generating a report.
+     */
+    public static class Result {
+
+        private final String name;
+
+        private final List<Path> paths = new ArrayList<>();
+
+        private String error;
+
+        Result(final String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the files written for the report.
+         *
+         * @return written files
+         */
+        public List<Path> getPaths() {
+            return Collections.unmodifiableList(paths);
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            if (error != null) {
+                return name + ": " + error;
+            }
+
+            return name + ": " + paths;
+        }
+    }
+
+    public static void main(final String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReportGenerator <data file> [-password <password>] [-out <directory>] "
+                    + "[-start <yyyy-mm-dd>] [-end <yyyy-mm-dd>] [-period <period>] [-format <pdf|xlsx>]... "
+                    + "[-portfolio <account name>]... [-register <account name>]... [report type]...");
+            System.exit(1);
+        }
+
+        // reports are rendered with AWT fonts and images, a display is not required
+        System.setProperty("java.awt.headless", "true");
+
+        char[] password = EngineFactory.EMPTY_PASSWORD;
+        Path directory = Paths.get("").toAbsolutePath();
+
+        final ReportGenerator generator = new ReportGenerator();
+
+        LocalDate startDate = generator.startDate;
+        LocalDate endDate = generator.endDate;
+
+        final Set<Format> formats = EnumSet.noneOf(Format.class);
+        final List<ReportType> reportTypes = new ArrayList<>();
+        final List<String> portfolioAccounts = new ArrayList<>();
+        final List<String> registerAccounts = new ArrayList<>();
+
+        try {
+            for (int i = 1; i < args.length; i++) {
+                if ("-password".equals(args[i]) && i + 1 < args.length) {
+                    password = args[++i].toCharArray();
+                } else if ("-out".equals(args[i]) && i + 1 < args.length) {
+                    directory = Paths.get(args[++i]);
+                } else if ("-start".equals(args[i]) && i + 1 < args.length) {
+                    startDate = LocalDate.parse(args[++i]);
+                } else if ("-end".equals(args[i]) && i + 1 < args.length) {
+                    endDate = LocalDate.parse(args[++i]);
+                } else if ("-period".equals(args[i]) && i + 1 < args.length) {
+                    generator.setReportPeriod(Period.valueOf(args[++i].toUpperCase(Locale.ROOT)));
+                } else if ("-format".equals(args[i]) && i + 1 < args.length) {
+                    formats.add(Format.valueOf(args[++i].toUpperCase(Locale.ROOT)));
+                } else if ("-portfolio".equals(args[i]) && i + 1 < args.length) {
+                    portfolioAccounts.add(args[++i]);
+                } else if ("-register".equals(args[i]) && i + 1 < args.length) {
+                    registerAccounts.add(args[++i]);
+                } else {
+                    reportTypes.add(ReportType.valueOf(args[i].toUpperCase(Locale.ROOT)));
+                }
+            }
+
+            generator.setDateRange(startDate, endDate);
+        } catch (final IllegalArgumentException | DateTimeParseException e) {
+            System.err.println(e.getLocalizedMessage());
+            System.exit(1);
+        }
+
+        if (!formats.isEmpty()) {
+            generator.setFormats(formats);
+        }
+
+        if (reportTypes.isEmpty() && portfolioAccounts.isEmpty() && registerAccounts.isEmpty()) {
+            reportTypes.add(ReportType.PROFIT_LOSS);
+            reportTypes.add(ReportType.BALANCE_SHEET);
+            reportTypes.add(ReportType.NET_WORTH);
+            reportTypes.add(ReportType.LIST_OF_ACCOUNTS);
+        }
+
+        Engine engine = null;
+
+        try {
+            engine = EngineFactory.bootLocalEngineReadOnly(args[0], EngineFactory.DEFAULT, password);
+        } catch (final IOException e) {
+            System.err.println(e.getLocalizedMessage());
+        }
+
+        if (engine == null) {
+            System.err.println("Unable to open: " + args[0]);
+            System.exit(1);
+        }
+
+        int status = 0;
+
+        try {
+            for (final ReportType reportType : reportTypes) {
+                generator.addReport(reportType);
+            }
+
+            for (final String name : portfolioAccounts) {
+                generator.addReport(ReportType.PORTFOLIO, getAccount(engine, name));
+            }
+
+            for (final String name : registerAccounts) {
+                generator.addReport(ReportType.ACCOUNT_REGISTER, getAccount(engine, name));
+            }
+
+            for (final Result result : generator.generate(directory)) {
+                System.out.println(result);
+
+                if (result.getError() != null) {
+                    status = 1;
+                }
+            }
+        } catch (final IllegalArgumentException | IOException e) {
+            System.err.println(e.getLocalizedMessage());
+            status = 1;
+        }
+
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+        System.exit(status);
+    }
+
+    private static Account getAccount(final Engine engine, final String name) {
+        final Account account = engine.getAccountByName(name);
+
+        if (account == null) {
+            throw new IllegalArgumentException("Unknown account: " + name);
+        }
+
+        return account;
+    }
+}
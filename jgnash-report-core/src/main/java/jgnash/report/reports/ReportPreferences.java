@@ -0,0 +1,86 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report.reports;
+
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+import jgnash.report.pdf.Report;
+
+import static jgnash.util.LogUtil.logSevere;
+
+/**
+ * Carries report preferences over from the package the reports were moved from.
+ * <p>
+ * {@link Report#getPreferences()} is keyed by the class package, so the font size and page format saved by earlier
+ * releases would otherwise be lost.
+ *
+ * @author Craig Cavanaugh
+ */
+final class ReportPreferences {
+
+    private static final String LEGACY_PATH = "/jgnash/uifx/report";
+
+    private ReportPreferences() {
+        // Utility class
+    }
+
+    /**
+     * Moves the legacy preferences of a report to its current node.  Nothing is done if the legacy node does not
+     * exist or the current node has already been written to.  Must be called before the report is first created.
+     *
+     * @param reportClass report class
+     */
+    static synchronized void migrate(final Class<? extends Report> reportClass) {
+        try {
+            final Preferences legacyPackage = Preferences.userRoot().node(LEGACY_PATH);
+
+            if (!legacyPackage.nodeExists(reportClass.getSimpleName())) {
+                return;
+            }
+
+            final Preferences legacy = legacyPackage.node(reportClass.getSimpleName());
+            final Preferences preferences = Preferences.userNodeForPackage(reportClass)
+                                                    .node(reportClass.getSimpleName());
+
+            if (preferences.keys().length == 0 && preferences.childrenNames().length == 0) {
+                copy(legacy, preferences);
+                preferences.flush();
+            }
+
+            legacy.removeNode();
+            legacyPackage.flush();
+        } catch (final BackingStoreException | IllegalStateException e) {
+            logSevere(ReportPreferences.class, e);
+        }
+    }
+
+    private static void copy(final Preferences source, final Preferences target) throws BackingStoreException {
+        for (final String key : source.keys()) {
+            final String value = source.get(key, null);
+
+            if (value != null) {
+                target.put(key, value);
+            }
+        }
+
+        for (final String child : source.childrenNames()) {
+            copy(source.node(child), target.node(child));
+        }
+    }
+}
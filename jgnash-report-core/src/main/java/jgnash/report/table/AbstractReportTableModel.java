@@ -31,13 +31,21 @@ import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 /**
  * Base Report model class
  * <p>
  * The report must contain a minimum of one group defined by {@code ColumnStyle.GROUP_NO_HEADER} or
  * {@code ColumnStyle.GROUP}.  If a group is not defined/assigned, all rows will be grouped together.
+ * <p>
+ * Group membership, group sums and global sums are computed with a single pass over the rows the first time they
+ * are needed and cached.  Models that change after they have been rendered must call {@link #fireModelChanged()}.
  *
  * @author Craig Cavanaugh
  */
@@ -48,6 +56,31 @@ public abstract class AbstractReportTableModel {
      */
     public static final String DEFAULT_GROUP = "_default_";
 
+    /**
+     * Cached aggregates, null if the model has changed.
+     */
+    private volatile Aggregates aggregates;
+
+    /**
+     * Discards the cached groups, sums and prototype values.  Subclasses must call this when the values of the
+     * model change.
+     */
+    protected void fireModelChanged() {
+        aggregates = null;
+    }
+
+    private Aggregates getAggregates() {
+        Aggregates result = aggregates;
+
+        // a change in size is always detected
+        if (result == null || result.rowCount != getRowCount() || result.columnCount != getColumnCount()) {
+            result = new Aggregates(this);
+            aggregates = result;
+        }
+
+        return result;
+    }
+
     public abstract CurrencyNode getCurrencyNode();
 
     /**
@@ -158,15 +191,16 @@ public abstract class AbstractReportTableModel {
     }
 
     public String getGroup(final int row) {
-        String group = DEFAULT_GROUP;   // default group if row is not assigned
-
-        for (int i = 0; i < getColumnCount(); i++) {
-            if (getColumnStyle(i) == ColumnStyle.GROUP || getColumnStyle(i) == ColumnStyle.GROUP_NO_HEADER) {
-                group = getValueAt(row, i).toString();
-            }
-        }
+        return getAggregates().rowGroups[row];
+    }
 
-        return group;
+    /**
+     * Returns the groups of the report and the summation of each group.
+     *
+     * @return sorted groups
+     */
+    SortedSet<GroupInfo> getGroupInfos() {
+        return getAggregates().groups;
     }
 
     @NotNull
@@ -250,16 +284,7 @@ public abstract class AbstractReportTableModel {
     }
 
     public BigDecimal getGlobalSum(final int columnIndex) {
-        BigDecimal sum = BigDecimal.ZERO;
-
-        if (getColumnClass(columnIndex).isAssignableFrom(BigDecimal.class)) {
-
-            for (int i = 0; i < getRowCount(); i++) {
-                sum = sum.add((BigDecimal) getValueAt(i, columnIndex));
-            }
-        }
-
-        return sum;
+        return getAggregates().globalSums[columnIndex];
     }
 
     /**
@@ -287,6 +312,19 @@ public abstract class AbstractReportTableModel {
      * @return String representing the longest value
      */
     public String getColumnPrototypeValueAt(final int columnIndex) {
+        final Aggregates cache = getAggregates();
+
+        String prototype = cache.prototypes[columnIndex];
+
+        if (prototype == null) {
+            prototype = computeColumnPrototypeValue(columnIndex, cache);
+            cache.prototypes[columnIndex] = prototype;
+        }
+
+        return prototype;
+    }
+
+    private String computeColumnPrototypeValue(final int columnIndex, final Aggregates cache) {
 
         final int groupColumn = getGroupColumn();
 
@@ -297,9 +335,6 @@ public abstract class AbstractReportTableModel {
             // does the column need to be summed
             boolean sum = isColumnSummed(columnIndex);
 
-            // mapping to sum groups
-            final HashMap<String, BigDecimal> groupMap = new HashMap<>();
-
             // number format to use
             NumberFormat nf;
 
@@ -315,8 +350,6 @@ public abstract class AbstractReportTableModel {
                     break;
             }
 
-            BigDecimal total = BigDecimal.ZERO; // end total
-
             for (int i = 0; i < getRowCount(); i++) {
                 final BigDecimal value = (BigDecimal) getValueAt(i, columnIndex);
 
@@ -328,37 +361,32 @@ public abstract class AbstractReportTableModel {
                     if (prototype.length() > longest.length()) {
                         longest = prototype;
                     }
-
-                    if (sum) {
-                        total = total.add(value); // global value
-                    }
-
-                    if (groupColumn >= 0) {
-                        final String group = (String) getValueAt(i, groupColumn);
-                        final BigDecimal o = groupMap.get(group);
-
-                        groupMap.put(group, o != null ? o.add(value) : value);
-                    }
                 }
             }
 
             if (sum) {
-                if (nf.format(total).length() > longest.length()) { // look at column total
-                    longest = nf.format(total);
+                final String total = nf.format(cache.globalSums[columnIndex]);
+
+                if (total.length() > longest.length()) { // look at column total
+                    longest = total;
                 }
 
-                for (final BigDecimal value : groupMap.values()) {
-                    if (nf.format(value).length() > longest.length()) { // look at group totals
-                        longest = nf.format(value);
+                if (groupColumn >= 0) {
+                    for (final GroupInfo groupInfo : cache.groups) {
+                        final String groupTotal = nf.format(groupInfo.getValue(columnIndex));
+
+                        if (groupTotal.length() > longest.length()) { // look at group totals
+                            longest = groupTotal;
+                        }
                     }
                 }
             }
 
             if (isColumnGloballySummed(columnIndex)) {
-                final BigDecimal globalSum = getGlobalSum(columnIndex);
+                final String globalSum = nf.format(cache.globalSums[columnIndex]);
 
-                if (nf.format(globalSum).length() > longest.length()) { // look at group totals
-                    longest = nf.format(globalSum);
+                if (globalSum.length() > longest.length()) { // look at group totals
+                    longest = globalSum;
                 }
             }
 
@@ -408,4 +436,117 @@ public abstract class AbstractReportTableModel {
 
         return longest;
     }
+
+    /**
+     * Values computed with a single pass over the rows of a model.
+     */
+    private static class Aggregates {
+
+        final int rowCount;
+
+        final int columnCount;
+
+        final String[] rowGroups;
+
+        final BigDecimal[] globalSums;
+
+        final SortedSet<GroupInfo> groups;
+
+        /**
+         * Lazily computed column prototype values.
+         */
+        final String[] prototypes;
+
+        Aggregates(final AbstractReportTableModel model) {
+            rowCount = model.getRowCount();
+            columnCount = model.getColumnCount();
+
+            rowGroups = new String[rowCount];
+            globalSums = new BigDecimal[columnCount];
+            prototypes = new String[columnCount];
+
+            Arrays.fill(globalSums, BigDecimal.ZERO);
+
+            // resolve the column properties once
+            final boolean[] groupColumns = new boolean[columnCount];
+            final boolean[] globalSumColumns = new boolean[columnCount];
+            final boolean[] groupSumColumns = new boolean[columnCount];
+
+            for (int c = 0; c < columnCount; c++) {
+                final ColumnStyle columnStyle = model.getColumnStyle(c);
+
+                groupColumns[c] = columnStyle == ColumnStyle.GROUP || columnStyle == ColumnStyle.GROUP_NO_HEADER;
+                globalSumColumns[c] = model.getColumnClass(c).isAssignableFrom(BigDecimal.class);
+                groupSumColumns[c] = model.getColumnClass(c) == BigDecimal.class
+                        && (columnStyle == ColumnStyle.AMOUNT_SUM || columnStyle == ColumnStyle.BALANCE_WITH_SUM
+                        || columnStyle == ColumnStyle.BALANCE_WITH_SUM_AND_GLOBAL);
+            }
+
+            final Map<String, GroupInfo> groupInfoMap = new HashMap<>();
+            final Map<String, int[]> groupRows = new HashMap<>();
+            final Map<String, Integer> groupRowCounts = new HashMap<>();
+
+            for (int r = 0; r < rowCount; r++) {
+                String group = DEFAULT_GROUP;   // default group if row is not assigned
+
+                for (int c = 0; c < columnCount; c++) {
+                    if (groupColumns[c]) {
+                        group = model.getValueAt(r, c).toString();
+                        groupInfoMap.computeIfAbsent(group, GroupInfo::new);
+                    }
+                }
+
+                rowGroups[r] = group;
+
+                GroupInfo groupInfo = groupInfoMap.get(group);
+
+                if (groupInfo == null) {    // create a default group for tables that do not specify one
+                    groupInfo = new GroupInfo(group);
+                    groupInfoMap.put(group, groupInfo);
+                }
+
+                // track the rows of each group
+                final int count = groupRowCounts.merge(group, 1, Integer::sum);
+                int[] rows = groupRows.computeIfAbsent(group, k -> new int[16]);
+
+                if (count > rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                    groupRows.put(group, rows);
+                }
+
+                rows[count - 1] = r;
+
+                for (int c = 0; c < columnCount; c++) {
+                    if (globalSumColumns[c] || groupSumColumns[c]) {
+                        final Object value = model.getValueAt(r, c);
+
+                        if (value instanceof BigDecimal) {
+                            if (globalSumColumns[c]) {
+                                globalSums[c] = globalSums[c].add((BigDecimal) value);
+                            }
+
+                            if (groupSumColumns[c]) {
+                                groupInfo.addValue(c, (BigDecimal) value);
+                            }
+                        }
+                    }
+                }
+            }
+
+            // create a default group for tables that do not specify one
+            if (groupInfoMap.isEmpty()) {
+                groupInfoMap.put(DEFAULT_GROUP, new GroupInfo(DEFAULT_GROUP));
+            }
+
+            for (final GroupInfo groupInfo : groupInfoMap.values()) {
+                final int[] rows = groupRows.get(groupInfo.group);
+
+                if (rows != null) {
+                    groupInfo.setRows(Arrays.copyOf(rows, groupRowCounts.get(groupInfo.group)));
+                }
+            }
+
+            groups = Collections.unmodifiableSortedSet(new TreeSet<>(groupInfoMap.values()));
+        }
+    }
 }
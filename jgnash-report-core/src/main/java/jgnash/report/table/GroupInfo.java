@@ -26,8 +26,6 @@ import java.util.TreeSet;
 
 import jgnash.util.NotNull;
 
-import static jgnash.report.table.AbstractReportTableModel.DEFAULT_GROUP;
-
 /**
  * Used to create Groups within a report
  *
@@ -47,50 +45,45 @@ public class GroupInfo implements Comparable<GroupInfo> {
 
     private boolean hasSummation = false;
 
-    private GroupInfo(@NotNull final String group) {
+    private int[] rows = new int[0];
+
+    GroupInfo(@NotNull final String group) {
         Objects.requireNonNull(group);
 
         this.group = group;
     }
 
+    /**
+     * Returns the groups of a report.  The groups and summations are cached by the model.
+     *
+     * @param tableModel report model
+     * @return sorted groups
+     */
     public static Set<GroupInfo> getGroups(final AbstractReportTableModel tableModel) {
-        final Map<String, GroupInfo> groupInfoMap = new HashMap<>();
-
-        for (int c = 0; c < tableModel.getColumnCount(); c++) {
-            final ColumnStyle columnStyle = tableModel.getColumnStyle(c);
-
-            if (columnStyle == ColumnStyle.GROUP || columnStyle == ColumnStyle.GROUP_NO_HEADER) {
-                for (int r = 0; r < tableModel.getRowCount(); r++) {
-                   groupInfoMap.computeIfAbsent(tableModel.getValueAt(r, c).toString(), GroupInfo::new);
-                }
-            }
-        }
+        return new TreeSet<>(tableModel.getGroupInfos());
+    }
 
-        // create a default group for tables that do not specify one
-        if (groupInfoMap.isEmpty()) {
-            final GroupInfo groupInfo = new GroupInfo(DEFAULT_GROUP);
-            groupInfoMap.put(DEFAULT_GROUP, groupInfo);
-        }
+    /**
+     * Returns the model rows belonging to the group in ascending order.
+     *
+     * @return row indexes
+     */
+    @NotNull
+    public int[] getRows() {
+        return rows.clone();
+    }
 
-        // perform summation
-        for (int r = 0; r < tableModel.getRowCount(); r++) {
-            final GroupInfo groupInfo = groupInfoMap.get(tableModel.getGroup(r));
-
-            for (int c = 0; c < tableModel.getColumnCount(); c++) {
-                if (tableModel.getColumnClass(c) == BigDecimal.class) {
-                    switch (tableModel.getColumnStyle(c)) {
-                        case AMOUNT_SUM:
-                        case BALANCE_WITH_SUM:
-                        case BALANCE_WITH_SUM_AND_GLOBAL:
-                            groupInfo.addValue(c, (BigDecimal) tableModel.getValueAt(r, c));
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
+    /**
+     * Returns the number of rows belonging to the group.
+     *
+     * @return row count
+     */
+    public int getRowCount() {
+        return rows.length;
+    }
 
-        return new TreeSet<>(groupInfoMap.values());
+    void setRows(@NotNull final int[] rows) {
+        this.rows = rows;
     }
 
     @Override
@@ -106,7 +99,7 @@ public class GroupInfo implements Comparable<GroupInfo> {
         return false;
     }
 
-    private void addValue(final int column, final BigDecimal value) {
+    void addValue(final int column, final BigDecimal value) {
         if (value != null) {    // protect against a null / filtered value
             summationMap.put(column, getValue(column).add(value));
             hasSummation = true;
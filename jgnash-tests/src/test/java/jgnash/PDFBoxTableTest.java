@@ -25,6 +25,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 
@@ -120,7 +122,7 @@ class PDFBoxTableTest {
             report.setEllipsis("…");
 
             assertEquals(1, GroupInfo.getGroups(new BasicTestReport()).size());
-            //assertEquals(80, ((GroupInfo) GroupInfo.getGroups(new BasicTestReport()).toArray()[0]).rows);
+            assertEquals(80, GroupInfo.getGroups(new BasicTestReport()).iterator().next().getRowCount());
 
             report.addTable(new BasicTestReport());
             report.addFooter();
@@ -177,6 +179,7 @@ class PDFBoxTableTest {
             report.setEllipsis("…");
 
             assertEquals(2, GroupInfo.getGroups(new CrossTabTestReport()).size());
+            assertEquals(80, GroupInfo.getGroups(new CrossTabTestReport()).stream().mapToInt(GroupInfo::getRowCount).sum());
 
             report.addTable(new CrossTabTestReport());
             report.addFooter();
@@ -206,6 +209,36 @@ class PDFBoxTableTest {
         }
     }
 
+    private static class StreamingReport extends Report {
+        StreamingReport() {
+            super(true);
+        }
+    }
+
+    @Test
+    void streamingReportTest() throws IOException {
+        try (final Report report = new StreamingReport()) {
+            final List<Integer> pageCounts = new ArrayList<>();
+
+            report.setPageListener((pageIndex, pageCount) -> {
+                assertEquals(pageCounts.size(), pageIndex);    // pages are completed in order
+                pageCounts.add(pageCount);
+            });
+
+            report.addTable(new BasicTestReport());
+            report.addFooter();
+
+            assertTrue(report.isStreaming());
+            assertTrue(report.getPageCount() > 1);
+            assertEquals(report.getPageCount(), pageCounts.size());
+
+            // the page count is known before the first page is completed
+            for (final int pageCount : pageCounts) {
+                assertEquals(report.getPageCount(), pageCount);
+            }
+        }
+    }
+
     private static class BasicTestReport extends AbstractReportTableModel {
 
         private static final String COLUMN_DATE = "Column.Date";
@@ -35,4 +35,23 @@ class BayesClassifierTest {
         assertEquals("Grocery", classifier.classify("Fish and chips"));
         assertEquals("default",  classifier.classify("flowers and shrubs"));
     }
+
+    @Test
+    void testUntrain() {
+        BayesClassifier<String> classifier = new BayesClassifier<>("default");
+
+        classifier.train("Gasoline oil washer fluid brakes lights transmission auto", "Auto");
+        classifier.train("groceries bacon fish burger milk chips", "Grocery");
+        classifier.train("oil chips", "Snacks");
+
+        assertEquals("Snacks", classifier.classify("oil chips"));
+
+        classifier.untrain("oil chips", "Snacks");
+
+        assertEquals("Auto", classifier.classify("Oil and washer fluid"));
+        assertEquals("Grocery", classifier.classify("Fish and chips"));
+
+        classifier.untrain("groceries bacon fish burger milk chips", "Grocery");
+        assertEquals("Auto", classifier.classify("Fish and chips"));
+    }
 }
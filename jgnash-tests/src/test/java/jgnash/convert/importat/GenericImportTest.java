@@ -0,0 +1,212 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.convert.importat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.Account;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.Transaction;
+import jgnash.engine.TransactionFactory;
+import jgnash.time.DateUtils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests duplicate matching of imported transactions.
+ */
+class GenericImportTest extends AbstractEngineTest {
+
+    private static final LocalDate DATE = LocalDate.of(2020, 3, 10);
+
+    private static final String[] AMOUNTS = {"10", "10.0", "10.00", "10.001", "5.00", "-2.5", "-2.50", "7", "0",
+            "0.00"};
+
+    private static final String[] NUMBERS = {null, "", "101", "102"};
+
+    private static final String[] FITIDS = {null, "", "F1", "F2"};
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("genericImportTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    private void addTransaction(final String amount, final LocalDate date, final String number, final String fitid) {
+        final BigDecimal value = new BigDecimal(amount);
+
+        // the credit account receives the amount
+        final Transaction transaction = value.signum() >= 0
+                ? TransactionFactory.generateDoubleEntryTransaction(usdBankAccount, checkingAccount, value, date,
+                "memo", "payee", number)
+                : TransactionFactory.generateDoubleEntryTransaction(checkingAccount, usdBankAccount, value.negate(),
+                date, "memo", "payee", number);
+
+        transaction.setFitid(fitid);
+
+        assertTrue(e.addTransaction(transaction));
+    }
+
+    private void addTransactions() {
+        addTransaction("10.00", DATE, "101", "F1");
+        addTransaction("5", DATE.plusDays(10), "", null);
+        addTransaction("-2.50", DATE.plusDays(20), "", "F2");
+        addTransaction("10.00", DATE.minusDays(30), "", null);    // added out of date order
+    }
+
+    private static ImportTransaction createImportTransaction(final String amount, final LocalDate datePosted,
+                                                             final LocalDate dateUser, final String number,
+                                                             final String fitid) {
+        final ImportTransaction transaction = new ImportTransaction();
+
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDatePosted(datePosted);
+        transaction.setDateUser(dateUser);
+        transaction.setCheckNumber(number);
+        transaction.setFITID(fitid);
+
+        return transaction;
+    }
+
+    private ImportState match(final String amount, final LocalDate datePosted, final LocalDate dateUser,
+                              final String number, final String fitid) {
+        final ImportTransaction transaction = createImportTransaction(amount, datePosted, dateUser, number, fitid);
+
+        GenericImport.matchTransactions(List.of(transaction), usdBankAccount);
+
+        return transaction.getState();
+    }
+
+    @Test
+    void testMatchEdges() {
+        addTransactions();
+
+        // posted date window is 3 days inclusive
+        assertEquals(ImportState.EQUAL, match("10", DATE.plusDays(3), null, null, null));
+        assertEquals(ImportState.EQUAL, match("10", DATE.minusDays(3), null, null, null));
+        assertEquals(ImportState.NEW, match("10", DATE.plusDays(4), null, null, null));
+        assertEquals(ImportState.NEW, match("10", DATE.minusDays(4), null, null, null));
+
+        // user date window is 1 day inclusive and replaces the posted date window
+        assertEquals(ImportState.EQUAL, match("10", DATE.plusDays(2), DATE.plusDays(1), null, null));
+        assertEquals(ImportState.NEW, match("10", DATE, DATE.plusDays(2), null, null));
+
+        // comparably equal amounts match regardless of scale
+        assertEquals(ImportState.EQUAL, match("10.000", DATE, null, null, null));
+        assertEquals(ImportState.EQUAL, match("-2.5", DATE.plusDays(20), null, null, null));
+        assertEquals(ImportState.NEW, match("10.001", DATE, null, null, null));
+        assertEquals(ImportState.NEW, match("-10", DATE, null, null, null));
+
+        // check numbers and FITIDs match outside of the date window only for the same amount
+        assertEquals(ImportState.EQUAL, match("10", DATE.plusDays(100), null, "101", null));
+        assertEquals(ImportState.EQUAL, match("-2.50", DATE.plusDays(100), null, null, "F2"));
+        assertEquals(ImportState.NEW, match("5", DATE.plusDays(100), null, "101", "F1"));
+        assertEquals(ImportState.NEW, match("5", DATE.plusDays(100), null, "", ""));
+    }
+
+    @Test
+    void testMatchesPreviousImplementation() {
+        addTransactions();
+
+        final Random random = new Random(42);
+
+        final List<ImportTransaction> transactions = new ArrayList<>();
+        final List<ImportTransaction> expected = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            final String amount = AMOUNTS[random.nextInt(AMOUNTS.length)];
+            final LocalDate datePosted = DATE.plusDays(random.nextInt(70) - 40);
+            final LocalDate dateUser = random.nextBoolean() ? null : datePosted.plusDays(random.nextInt(7) - 3);
+            final String number = NUMBERS[random.nextInt(NUMBERS.length)];
+            final String fitid = FITIDS[random.nextInt(FITIDS.length)];
+
+            transactions.add(createImportTransaction(amount, datePosted, dateUser, number, fitid));
+            expected.add(createImportTransaction(amount, datePosted, dateUser, number, fitid));
+        }
+
+        GenericImport.matchTransactions(transactions, usdBankAccount);
+        matchTransactions(expected, usdBankAccount);
+
+        int equal = 0;
+
+        for (int i = 0; i < transactions.size(); i++) {
+            assertEquals(expected.get(i).getState(), transactions.get(i).getState(), "Transaction " + i);
+
+            if (transactions.get(i).getState() == ImportState.EQUAL) {
+                equal++;
+            }
+        }
+
+        // both outcomes are covered
+        assertTrue(equal > 0 && equal < transactions.size());
+    }
+
+    /**
+     * The matching rules before the existing transactions were indexed.
+     */
+    private static void matchTransactions(final List<? extends ImportTransaction> list, final Account baseAccount) {
+        for (final ImportTransaction importTransaction : list) {
+            for (final Transaction tran : baseAccount.getSortedTransactionList()) {
+                if (tran.getAmount(baseAccount).compareTo(importTransaction.getAmount()) == 0) {
+                    final LocalDate startDate;
+                    final LocalDate endDate;
+
+                    if ((importTransaction.getDateUser() != null)) {
+                        startDate = importTransaction.getDateUser().minusDays(1);
+                        endDate = importTransaction.getDateUser().plusDays(1);
+                    } else {
+                        startDate = importTransaction.getDatePosted().minusDays(3);
+                        endDate = importTransaction.getDatePosted().plusDays(3);
+                    }
+
+                    if (DateUtils.after(tran.getLocalDate(), startDate) && DateUtils.before(tran.getLocalDate(), endDate)) {
+                        importTransaction.setState(ImportState.EQUAL);
+                        break;
+                    }
+
+                    final String checkNumber = importTransaction.getCheckNumber();
+                    if (checkNumber != null && !checkNumber.isEmpty() && tran.getNumber().equals(checkNumber)) {
+                        importTransaction.setState(ImportState.EQUAL);
+                        break;
+                    }
+
+                    final String id = importTransaction.getFITID();
+                    if (id != null && !id.isEmpty() && tran.getFitid() != null && tran.getFitid().equals(id)) {
+                        importTransaction.setState(ImportState.EQUAL);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.convert.importat;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the multi-file import pipeline.
+ */
+class ImportPipelineTest extends AbstractEngineTest {
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("importPipelineTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    private static Path getResource(final String name) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(ImportPipelineTest.class.getResource(name)).toURI());
+    }
+
+    @Test
+    void testImportFiles() throws Exception {
+        final Path ofx = getResource("/bank1.ofx");
+
+        // an overlapping statement
+        final Path copy = Files.createTempFile("pipeline", ".ofx");
+        Files.copy(ofx, copy, StandardCopyOption.REPLACE_EXISTING);
+
+        final List<ImportPipeline.Stage> stages = Collections.synchronizedList(new ArrayList<>());
+
+        final ImportPipeline pipeline = new ImportPipeline(2);
+        pipeline.setProgressListener((stage, path, workDone, max) -> stages.add(stage));
+
+        final List<ImportPipeline.Result> results = pipeline.importFiles(Arrays.asList(ofx, copy,
+                getResource("/bank1.qif"), getResource("/jgnash-logo.png")), usdBankAccount);
+
+        Files.delete(copy);
+
+        assertEquals(4, results.size());
+
+        assertEquals(usdBankAccount, results.get(0).getAccount());
+        assertEquals(4, results.get(0).getImportedCount());
+        assertEquals(0, results.get(1).getImportedCount());
+        assertEquals(6, results.get(2).getImportedCount());
+
+        assertNull(results.get(3).getAccount());
+        assertNotNull(results.get(3).getError());
+
+        assertEquals(10, usdBankAccount.getTransactionCount());
+
+        // every file is reported once for each stage, except the failed file
+        assertEquals(4 + 3 + 4, stages.size());
+    }
+
+    @Test
+    void testFailedParser() throws Exception {
+        final ImportPipeline pipeline = new ImportPipeline(2);
+
+        // errors are not caught by the parse stage
+        pipeline.addParser(path -> path.toString().endsWith(".png"), path -> {
+            throw new AssertionError("Broken parser");
+        });
+
+        final List<ImportPipeline.Result> results = pipeline.importFiles(Arrays.asList(getResource("/bank1.ofx"),
+                getResource("/jgnash-logo.png")), usdBankAccount);
+
+        assertEquals(2, results.size());
+
+        assertEquals(4, results.get(0).getImportedCount());
+        assertNull(results.get(0).getError());
+
+        assertNull(results.get(1).getAccount());
+        assertEquals("Broken parser", results.get(1).getError());
+
+        assertEquals(4, usdBankAccount.getTransactionCount());
+    }
+}
@@ -19,11 +19,14 @@ package jgnash.convert.importat.ofx;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -47,4 +50,15 @@ class OfxConvertTest {
        
         assertTrue(true);
     }
+
+    @Test
+    void convertMissingEndTags() throws IOException {
+        final String sgml = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX>\n<STMTTRN>\n<TRNTYPE>DEBIT\n<NAME>A & B\n<MEMO>\n"
+                + "<FITID>1</FITID>\n</STMTTRN>\n</OFX>\n";
+
+        try (InputStream stream = new ByteArrayInputStream(sgml.getBytes(StandardCharsets.UTF_8))) {
+            assertEquals("<OFX><STMTTRN><TRNTYPE>DEBIT</TRNTYPE><NAME>A &amp; B</NAME><MEMO></MEMO>"
+                    + "<FITID>1</FITID></STMTTRN></OFX>", OfxV1ToV2.convertToXML(stream));
+        }
+    }
 }
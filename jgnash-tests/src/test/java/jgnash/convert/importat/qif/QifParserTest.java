@@ -0,0 +1,143 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.convert.importat.qif;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import jgnash.convert.importat.DateFormat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the streaming QIF parser.
+ */
+class QifParserTest {
+
+    private static final String FULL_FILE = "!Type:Cat\nNAuto\nE\n^\nNSalary\nI\n^\n"
+            + "!Option:AutoSwitch\n!Account\nNChecking\nTBank\n^\nNSavings\nTBank\n^\n!Clear:AutoSwitch\n"
+            + "!Account\nNChecking\nTBank\n^\n!Type:Bank\n"
+            + "D13/01/2020\nT-10.00\nPGas\nLAuto\n^\n"
+            + "D02/01/2020\nT-30.00\nSAuto\nEfuel\n$-10.00\nS[Savings]\nEtransfer\n$-20.00\n^\n"
+            + "!Type:Memorized\nKC\nPGas\n^\n"
+            + "!Account\nNSavings\nTBank\n^\n!Type:Bank\nD02/01/2020\nT20.00\nL[Checking]\nMtransfer\n^\n";
+
+    @Test
+    void testFullFile() throws IOException {
+        final List<String> categories = new ArrayList<>();
+        final List<String> accounts = new ArrayList<>();
+        final List<QifTransaction> transactions = new ArrayList<>();
+        final List<String> transactionAccounts = new ArrayList<>();
+
+        new QifParser(DateFormat.US).parse(new StringReader(FULL_FILE), new QifHandler() {
+            @Override
+            public void category(final QifCategory category) {
+                categories.add(category.name + category.type);
+            }
+
+            @Override
+            public void account(final QifAccount account) {
+                accounts.add(account.name);
+            }
+
+            @Override
+            public void transaction(final QifAccount account, final QifTransaction transaction) {
+                transactions.add(transaction);
+                transactionAccounts.add(account.name);
+            }
+        });
+
+        assertEquals(List.of("AutoE", "SalaryI"), categories);
+        assertEquals(List.of("Checking", "Savings", "Checking", "Savings"), accounts);
+        assertEquals(List.of("Checking", "Checking", "Savings"), transactionAccounts);
+
+        assertEquals(0, transactions.get(0).splits.size());
+        assertEquals(2, transactions.get(1).splits.size());
+        assertEquals("transfer", transactions.get(1).splits.get(1).memo);
+        assertEquals("[Savings]", transactions.get(1).splits.get(1).category);
+
+        // dates are left for the consumer once the date format is known
+        assertNull(transactions.get(0).getDatePosted());
+        assertEquals(DateFormat.EU, QifTransaction.determineDateFormat(transactions));
+    }
+
+    @Test
+    void testStatement() throws IOException {
+        final List<QifAccount> accounts = new ArrayList<>();
+        final List<QifTransaction> transactions = new ArrayList<>();
+
+        new QifParser(DateFormat.US).parse(new StringReader("!Type:CCard\nD02/22/11\nT30.00\n^\nD03/03/11\nT-140.00\n^\n"),
+                new QifHandler() {
+                    @Override
+                    public void account(final QifAccount account) {
+                        accounts.add(account);
+                    }
+
+                    @Override
+                    public void transaction(final QifAccount account, final QifTransaction transaction) {
+                        transactions.add(transaction);
+                    }
+                });
+
+        assertEquals(1, accounts.size());
+        assertNull(accounts.get(0).name);
+        assertEquals(2, transactions.size());
+    }
+
+    @Test
+    void testInvestmentStatement() throws IOException {
+        final String statement = "!Type:Invst\nD02/22/11\nNBuy\nYACME\nQ10\nT100.00\n^\n";
+
+        final List<QifTransaction> transactions = new ArrayList<>();
+
+        new QifParser(DateFormat.US).parse(new StringReader(statement), new QifHandler() {
+            @Override
+            public void transaction(final QifAccount account, final QifTransaction transaction) {
+                transactions.add(transaction);
+            }
+        });
+
+        assertEquals(1, transactions.size());
+        assertEquals("ACME", transactions.get(0).security);
+
+        // a bank statement parse treats investment transactions as bank transactions
+        final Path file = Files.createTempFile("statement", ".qif");
+
+        try {
+            Files.write(file, statement.getBytes(StandardCharsets.UTF_8));
+
+            final QifParser parser = new QifParser(DateFormat.US);
+
+            assertTrue(parser.parsePartialFile(file.toFile()));
+            assertEquals(1, parser.getBank().getTransactions().size());
+            assertNull(parser.getBank().getTransactions().get(0).security);
+            assertEquals("Buy", parser.getBank().getTransactions().get(0).getCheckNumber());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
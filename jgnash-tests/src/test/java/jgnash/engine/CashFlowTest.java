@@ -24,6 +24,7 @@ import java.time.Month;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * 
@@ -77,4 +78,28 @@ class CashFlowTest {
         assertEquals(Double.NaN, irr);
     }
 
+    @Test
+    void testIrregularIRR() {
+        CashFlow cashFlow = new CashFlow();
+
+        LocalDate today = LocalDate.now();
+        cashFlow.add(today, BigDecimal.valueOf(-1000));
+        cashFlow.add(today.plusDays(3), BigDecimal.valueOf(10));
+        cashFlow.add(today.plusDays(400), BigDecimal.valueOf(5));
+
+        double irr = cashFlow.internalRateOfReturn();
+        assertEquals(-0.99197, irr, 1.e-5);
+    }
+
+    @Test
+    void testZeroNPV() {
+        CashFlow cashFlow = new CashFlow();
+
+        // the net present value is zero for every rate, so there is no solution
+        LocalDate today = LocalDate.now();
+        cashFlow.add(today, BigDecimal.valueOf(-100));
+        cashFlow.add(today, BigDecimal.valueOf(100));
+
+        assertTrue(Double.isNaN(cashFlow.internalRateOfReturn()));
+    }
 }
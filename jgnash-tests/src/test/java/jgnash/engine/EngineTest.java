@@ -27,8 +27,10 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -610,6 +612,48 @@ public abstract class EngineTest {
     }
 
 
+    @Test
+    void testBulkSecurityHistory() {
+        SecurityNode securityNode = new SecurityNode(e.getDefaultCurrency());
+        securityNode.setSymbol("BULK");
+        assertTrue(e.addSecurity(securityNode));
+
+        final LocalDate startDate = LocalDate.of(2019, Month.JANUARY, 1);
+
+        SecurityHistoryNode history = new SecurityHistoryNode();
+        history.setDate(startDate.plusDays(5));
+        history.setPrice(BigDecimal.ONE);
+        assertTrue(e.addSecurityHistory(securityNode, history));
+
+        final List<SecurityHistoryNode> historyNodes = new ArrayList<>();
+
+        // unsorted and overlapping the existing history
+        for (int i = 9; i >= 0; i--) {
+            history = new SecurityHistoryNode();
+            history.setDate(startDate.plusDays(i));
+            history.setPrice(BigDecimal.TEN);
+            historyNodes.add(history);
+        }
+
+        assertTrue(e.addSecurityHistory(securityNode, historyNodes));
+
+        final List<SecurityHistoryNode> result = securityNode.getHistoryNodes();
+        assertEquals(10, result.size());
+
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(startDate.plusDays(i), result.get(i).getLocalDate());
+            assertEquals(BigDecimal.TEN, result.get(i).getPrice());   // existing node was replaced
+        }
+
+        // close and reopen to force check for persistence
+        closeEngine();
+        e = EngineFactory.bootLocalEngine(testFile, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD);
+
+        securityNode = e.getSecurity("BULK");
+        assertNotNull(securityNode);
+        assertEquals(10, securityNode.getHistoryNodes().size());
+    }
+
     @Test
     void testSecurityHistory() {
         BigDecimal securityPrice1 = new BigDecimal("2.00");
@@ -1061,8 +1105,10 @@ public abstract class EngineTest {
             assertEquals(transaction.getReconciled(a), ReconciledState.NOT_RECONCILED);
         }
 
+        final List<Transaction> originalTransactions = e.getTransactions();
+
         for (final Transaction transaction : e.getTransactions()) {
-            e.setTransactionReconciled(transaction, a, ReconciledState.CLEARED);
+            assertTrue(e.setTransactionReconciled(transaction, a, ReconciledState.CLEARED));
         }
 
         for (final Transaction transaction : e.getTransactions()) {
@@ -1070,13 +1116,22 @@ public abstract class EngineTest {
         }
 
         for (final Transaction transaction : e.getTransactions()) {
-            e.setTransactionReconciled(transaction, a, ReconciledState.RECONCILED);
+            assertTrue(e.setTransactionReconciled(transaction, a, ReconciledState.RECONCILED));
         }
 
         for (final Transaction transaction : e.getTransactions()) {
             assertEquals(transaction.getReconciled(a), ReconciledState.RECONCILED);
         }
 
+        // the transactions are changed in place instead of being replaced
+        assertEquals(originalTransactions.size(), a.getTransactionCount());
+        assertTrue(originalTransactions.containsAll(a.getSortedTransactionList()));
+
+        // locked accounts may not be changed
+        a.setLocked(true);
+        assertFalse(e.setTransactionReconciled(originalTransactions.get(0), a, ReconciledState.NOT_RECONCILED));
+        assertEquals(ReconciledState.RECONCILED, originalTransactions.get(0).getReconciled(a));
+        a.setLocked(false);
 
         for (int i = 2; i >= 0; i--) {
             List<Transaction> transactions = e.getTransactions();
@@ -1092,6 +1147,47 @@ public abstract class EngineTest {
         assertEquals(0, a.getTransactionCount());
     }
 
+    @Test
+    void testSetTransactionsReconciled() {
+        final String ACCOUNT_NAME = "testAccount";
+
+        Account a = new Account(AccountType.BANK, e.getDefaultCurrency());
+        a.setName(ACCOUNT_NAME);
+
+        e.addAccount(e.getRootAccount(), a);
+
+        final Map<Transaction, ReconciledState> states = new HashMap<>();
+
+        for (int i = 0; i < 3; i++) {
+            final Transaction transaction = TransactionFactory.generateSingleEntryTransaction(a, BigDecimal.TEN,
+                    LocalDate.now(), "memo", "payee", Integer.toString(i));
+
+            assertTrue(e.addTransaction(transaction));
+
+            states.put(transaction, i < 2 ? ReconciledState.RECONCILED : ReconciledState.CLEARED);
+        }
+
+        assertEquals(0, a.getReconciledBalance().compareTo(BigDecimal.ZERO));
+
+        assertTrue(e.setTransactionsReconciled(a, states));
+
+        // the transactions are changed in place
+        for (final Map.Entry<Transaction, ReconciledState> entry : states.entrySet()) {
+            assertEquals(entry.getValue(), entry.getKey().getReconciled(a));
+        }
+
+        assertEquals(3, a.getTransactionCount());
+        assertEquals(0, a.getReconciledBalance().compareTo(new BigDecimal("20")));
+
+        // close and reopen to force check for persistence
+        closeEngine();
+        e = EngineFactory.bootLocalEngine(testFile, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD);
+
+        a = e.getAccountByName(ACCOUNT_NAME);
+        assertEquals(3, a.getTransactionCount());
+        assertEquals(0, a.getReconciledBalance().compareTo(new BigDecimal("20")));
+    }
+
     @Test
     void testGetTransactionsWithAttachments() {
         final String ACCOUNT_NAME = "testAccount";
@@ -0,0 +1,96 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import jgnash.report.PeriodBalanceEngine;
+import jgnash.time.DateUtils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests single pass period balances against the individual balance methods.
+ */
+class PeriodBalancesTest extends AbstractEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2019, 1, 1);
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("periodBalancesTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    @Test
+    void testPeriodBalances() {
+        for (int i = 0; i < 90; i++) {
+            final Transaction transaction = TransactionFactory.generateDoubleEntryTransaction(usdBankAccount,
+                    incomeAccount, BigDecimal.valueOf(i * 10 + 1, 2), START.minusDays(20).plusDays(i * 5),
+                    "memo", "payee", "");
+
+            assertTrue(e.addTransaction(transaction));
+        }
+
+        final List<LocalDate> startDates = DateUtils.getFirstDayOfTheMonths(START, START.plusMonths(12));
+        final List<LocalDate> endDates = DateUtils.getLastDayOfTheMonths(START, START.plusMonths(12));
+
+        final CurrencyNode currency = e.getDefaultCurrency();
+
+        final Map<Account, PeriodBalances> balanceMap = PeriodBalanceEngine.calculate(
+                List.of(usdBankAccount, incomeAccount, checkingAccount), startDates, endDates, currency);
+
+        for (final Account account : List.of(usdBankAccount, incomeAccount)) {
+            final PeriodBalances balances = balanceMap.get(account);
+
+            assertEquals(startDates.size(), balances.getPeriodCount());
+            assertFalse(balances.isZero(true));
+            assertFalse(balances.isZero(false));
+
+            for (int i = 0; i < startDates.size(); i++) {
+                assertEquals(0, account.getBalance(startDates.get(i)).compareTo(balances.getStartBalance(i)));
+                assertEquals(0, account.getBalance(endDates.get(i), currency).compareTo(balances.getEndBalance(i)));
+                assertEquals(0, account.getBalance(startDates.get(i), endDates.get(i), currency)
+                        .compareTo(balances.getPeriodBalance(i)));
+            }
+
+            assertEquals(0, account.getBalance(startDates.get(0), endDates.get(endDates.size() - 1))
+                    .compareTo(balances.getTotal()));
+        }
+
+        assertTrue(balanceMap.get(checkingAccount).isZero(true));
+        assertTrue(balanceMap.get(checkingAccount).isZero(false));
+
+        // no periods
+        final List<LocalDate> empty = Collections.emptyList();
+        assertEquals(0, usdBankAccount.getPeriodBalances(empty, empty, currency).getPeriodCount());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests committing the selections of the reconcile dialog.
+ */
+class ReconcileManagerTest extends AbstractEngineTest {
+
+    private Transaction toggledOn;
+
+    private Transaction untouchedCleared;
+
+    private Transaction toggledOff;
+
+    private Transaction untouched;
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("reconcileManagerTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    private List<RecTransaction> createSelections() {
+        toggledOn = addTransaction("1");
+        untouchedCleared = addTransaction("2");
+        toggledOff = addTransaction("3");
+        untouched = addTransaction("4");
+
+        assertTrue(e.setTransactionReconciled(untouchedCleared, usdBankAccount, ReconciledState.CLEARED));
+        assertTrue(e.setTransactionReconciled(toggledOff, usdBankAccount, ReconciledState.CLEARED));
+
+        // the selections made in the dialog
+        final List<RecTransaction> list = new ArrayList<>();
+        list.add(new RecTransaction(toggledOn, ReconciledState.RECONCILED));
+        list.add(new RecTransaction(untouchedCleared, ReconciledState.CLEARED));
+        list.add(new RecTransaction(toggledOff, ReconciledState.NOT_RECONCILED));
+        list.add(new RecTransaction(untouched, ReconciledState.NOT_RECONCILED));
+
+        return list;
+    }
+
+    private Transaction addTransaction(final String number) {
+        final Transaction transaction = TransactionFactory.generateSingleEntryTransaction(usdBankAccount,
+                BigDecimal.TEN, LocalDate.now(), "memo", "payee", number);
+
+        assertTrue(e.addTransaction(transaction));
+
+        return transaction;
+    }
+
+    @Test
+    void testFinish() {
+        ReconcileManager.reconcileTransactions(usdBankAccount, createSelections(), ReconciledState.RECONCILED);
+
+        assertEquals(ReconciledState.RECONCILED, toggledOn.getReconciled(usdBankAccount));
+        assertEquals(ReconciledState.RECONCILED, untouchedCleared.getReconciled(usdBankAccount));
+        assertEquals(ReconciledState.NOT_RECONCILED, toggledOff.getReconciled(usdBankAccount));
+        assertEquals(ReconciledState.NOT_RECONCILED, untouched.getReconciled(usdBankAccount));
+
+        assertEquals(0, usdBankAccount.getReconciledBalance().compareTo(new BigDecimal("20")));
+    }
+
+    @Test
+    void testFinishLater() {
+        ReconcileManager.reconcileTransactions(usdBankAccount, createSelections(), ReconciledState.CLEARED);
+
+        assertEquals(ReconciledState.CLEARED, toggledOn.getReconciled(usdBankAccount));
+        assertEquals(ReconciledState.CLEARED, untouchedCleared.getReconciled(usdBankAccount));
+        assertEquals(ReconciledState.NOT_RECONCILED, toggledOff.getReconciled(usdBankAccount));
+        assertEquals(ReconciledState.NOT_RECONCILED, untouched.getReconciled(usdBankAccount));
+
+        assertEquals(0, usdBankAccount.getReconciledBalance().compareTo(BigDecimal.ZERO));
+    }
+}
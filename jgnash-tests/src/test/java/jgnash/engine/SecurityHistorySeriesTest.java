@@ -0,0 +1,89 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the columnar security history storage.
+ */
+class SecurityHistorySeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2019, 1, 1);
+
+    @Test
+    void testMergeAndLookup() {
+        final SecurityHistorySeries series = new SecurityHistorySeries();
+
+        series.put(new SecurityHistoryNode(START.plusDays(10), BigDecimal.TEN, 100, BigDecimal.TEN, BigDecimal.TEN));
+
+        final List<SecurityHistoryNode> nodes = new ArrayList<>();
+        nodes.add(new SecurityHistoryNode(START.plusDays(20), BigDecimal.ONE, 1, null, null));
+        nodes.add(new SecurityHistoryNode(START, new BigDecimal("1.25"), 2, null, null));
+        nodes.add(new SecurityHistoryNode(START.plusDays(10), new BigDecimal("11.00"), 3, null, null));
+
+        series.merge(nodes);
+
+        assertEquals(3, series.size());
+        assertEquals(START, series.getLocalDate(0));
+        assertEquals(new BigDecimal("11.00"), series.getPrice(1));   // replaced and scale is preserved
+        assertEquals(1, series.floorIndex(START.plusDays(15)));
+        assertEquals(-1, series.floorIndex(START.minusDays(1)));
+        assertEquals(-1, series.indexOf(START.plusDays(15)));
+
+        assertTrue(series.remove(START.plusDays(10)));
+        assertFalse(series.remove(START.plusDays(10)));
+        assertEquals(2, series.size());
+    }
+
+    @Test
+    void testEncodeDecode() {
+        final SecurityHistorySeries series = new SecurityHistorySeries();
+
+        for (int i = 0; i < 1000; i++) {
+            series.put(new SecurityHistoryNode(START.plusDays(i), BigDecimal.valueOf(1000 + i % 17, 2),
+                    1000L * i, BigDecimal.valueOf(1100 - i, 2), BigDecimal.valueOf(-i, 4)));
+        }
+
+        final SecurityHistorySeries decoded = SecurityHistorySeries.decode(series.encode());
+
+        assertEquals(series.size(), decoded.size());
+
+        for (int i = 0; i < series.size(); i++) {
+            final SecurityHistoryNode expected = series.getNode(i);
+            final SecurityHistoryNode actual = decoded.getNode(i);
+
+            assertEquals(expected.getLocalDate(), actual.getLocalDate());
+            assertEquals(expected.getPrice(), actual.getPrice());
+            assertEquals(expected.getHigh(), actual.getHigh());
+            assertEquals(expected.getLow(), actual.getLow());
+            assertEquals(expected.getVolume(), actual.getVolume());
+        }
+
+        assertEquals(0, SecurityHistorySeries.decode(null).size());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests invalidation of cached tree balances.
+ *
+ * @author Craig Cavanaugh
+ */
+class TreeBalanceCacheTest extends AbstractEngineTest {
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("treeBalanceTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    @Test
+    void testTransactionInvalidation() {
+        final Account child = new Account(AccountType.BANK, e.getDefaultCurrency());
+        child.setName("Child");
+        assertTrue(e.addAccount(usdBankAccount, child));
+
+        final Account grandChild = new Account(AccountType.BANK, e.getDefaultCurrency());
+        grandChild.setName("Grand Child");
+        assertTrue(e.addAccount(child, grandChild));
+
+        assertEquals(0, usdBankAccount.getTreeBalance().compareTo(BigDecimal.ZERO));
+
+        final Transaction transaction = TransactionFactory.generateSingleEntryTransaction(grandChild, BigDecimal.TEN,
+                LocalDate.now(), "memo", "payee", "");
+
+        assertTrue(e.addTransaction(transaction));
+
+        assertEquals(0, usdBankAccount.getTreeBalance().compareTo(BigDecimal.TEN));
+        assertEquals(0, child.getTreeBalance().compareTo(BigDecimal.TEN));
+        assertEquals(0, usdBankAccount.getTreeBalance(LocalDate.now(), e.getDefaultCurrency())
+                .compareTo(BigDecimal.TEN));
+        assertEquals(0, usdBankAccount.getReconciledTreeBalance().compareTo(BigDecimal.ZERO));
+
+        e.setTransactionReconciled(transaction, grandChild, ReconciledState.RECONCILED);
+
+        assertEquals(0, usdBankAccount.getReconciledTreeBalance().compareTo(BigDecimal.TEN));
+
+        assertTrue(e.removeTransaction(e.getTransactionByUuid(transaction.getUuid())));
+
+        assertEquals(0, usdBankAccount.getTreeBalance().compareTo(BigDecimal.ZERO));
+        assertEquals(0, usdBankAccount.getTreeBalance(LocalDate.now(), e.getDefaultCurrency())
+                .compareTo(BigDecimal.ZERO));
+        assertEquals(0, usdBankAccount.getReconciledTreeBalance().compareTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    void testExchangeRateInvalidation() {
+        final CurrencyNode cadCurrency = e.getCurrency("CAD");
+
+        final Account child = new Account(AccountType.BANK, cadCurrency);
+        child.setName("CAD Child");
+        assertTrue(e.addAccount(usdBankAccount, child));
+
+        e.setExchangeRate(e.getDefaultCurrency(), cadCurrency, BigDecimal.ONE);
+
+        assertTrue(e.addTransaction(TransactionFactory.generateSingleEntryTransaction(child, BigDecimal.TEN,
+                LocalDate.now(), "memo", "payee", "")));
+
+        final BigDecimal balance = usdBankAccount.getTreeBalance();
+        assertEquals(0, balance.compareTo(BigDecimal.TEN));
+
+        e.setExchangeRate(e.getDefaultCurrency(), cadCurrency, new BigDecimal("2"));
+
+        assertNotEquals(0, usdBankAccount.getTreeBalance().compareTo(balance));
+    }
+}
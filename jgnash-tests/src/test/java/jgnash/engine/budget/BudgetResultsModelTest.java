@@ -0,0 +1,103 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.budget;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.TransactionFactory;
+import jgnash.time.Period;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests cached budget results against the account balances.
+ */
+class BudgetResultsModelTest extends AbstractEngineTest {
+
+    private static final int YEAR = 2020;
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("budgetResultsModelTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    private static void assertChanges(final BudgetResultsModel model, final Account account) {
+        for (final BudgetPeriodDescriptor descriptor : model.getDescriptorList()) {
+            final BigDecimal balance = account.getBalance(descriptor.getStartDate(), descriptor.getEndDate());
+
+            assertEquals(0, balance.compareTo(model.getResults(descriptor, account).getChange()),
+                    descriptor.getStartDate().toString());
+        }
+    }
+
+    @Test
+    void testCachedChanges() {
+        final CurrencyNode currency = e.getDefaultCurrency();
+
+        final Account account = new Account(AccountType.EXPENSE, currency);
+        account.setName("Budget Expense");
+        assertTrue(e.addAccount(e.getRootAccount(), account));
+
+        for (int i = 0; i < 24; i++) {
+            assertTrue(e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(account, usdBankAccount,
+                    BigDecimal.valueOf(10 + i), LocalDate.of(YEAR, 1, 1).plusDays(i * 15), "memo", "payee", "")));
+        }
+
+        final Budget budget = new Budget();
+        budget.setName("Budget");
+        budget.setBudgetPeriod(Period.MONTHLY);
+        assertTrue(e.addBudget(budget));
+
+        final BudgetResultsModel model = new BudgetResultsModel(budget, YEAR, currency, false);
+
+        // populates the cache
+        assertChanges(model, account);
+
+        final List<BudgetPeriodDescriptor> descriptors = model.getDescriptorList();
+        final BudgetPeriodDescriptor descriptor = descriptors.get(3);
+
+        final BigDecimal change = model.getResults(descriptor, account).getChange();
+
+        // the TRANSACTION_ADD message must invalidate the cached results
+        assertTrue(e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(account, usdBankAccount,
+                BigDecimal.valueOf(100), descriptor.getStartDate().plusDays(2), "memo", "payee", "")));
+
+        assertEquals(0, change.add(BigDecimal.valueOf(100)).compareTo(model.getResults(descriptor, account)
+                .getChange()));
+
+        assertChanges(model, account);
+    }
+}
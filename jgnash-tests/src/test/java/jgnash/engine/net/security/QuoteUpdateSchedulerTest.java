@@ -0,0 +1,145 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.net.security;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.QuoteSource;
+import jgnash.engine.SecurityHistoryEvent;
+import jgnash.engine.SecurityHistoryNode;
+import jgnash.engine.SecurityNode;
+import jgnash.net.security.QuoteUpdateScheduler;
+import jgnash.net.security.SecurityParser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the concurrent quote update scheduler with a stub parser.
+ */
+class QuoteUpdateSchedulerTest extends AbstractEngineTest {
+
+    private static final int CONCURRENCY = 3;
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("quote-test.bxds").getAbsolutePath();
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.BINARY_XSTREAM);
+    }
+
+    @Test
+    void testConcurrentUpdate() {
+        final List<SecurityNode> securities = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            final SecurityNode securityNode = new SecurityNode(e.getDefaultCurrency());
+            securityNode.setSymbol("SYM" + i);
+            securityNode.setScale((byte) 2);
+            securityNode.setQuoteSource(QuoteSource.YAHOO);
+
+            assertTrue(e.addSecurity(securityNode));
+            securities.add(securityNode);
+        }
+
+        final StubParser parser = new StubParser();
+
+        final QuoteUpdateScheduler scheduler = new QuoteUpdateScheduler(source -> parser, CONCURRENCY, 0, 1);
+
+        try {
+            assertTrue(scheduler.updateSecurities(e, securities));
+        } finally {
+            scheduler.shutdown();
+        }
+
+        // one failure per security is retried
+        assertEquals(securities.size() * 2, parser.requests.get());
+        assertTrue(parser.maxActive.get() <= CONCURRENCY);
+
+        for (final SecurityNode securityNode : securities) {
+            assertEquals(2, securityNode.getHistoryNodes().size());
+        }
+    }
+
+    private static class StubParser implements SecurityParser {
+
+        final AtomicInteger requests = new AtomicInteger();
+
+        final AtomicInteger active = new AtomicInteger();
+
+        final AtomicInteger maxActive = new AtomicInteger();
+
+        final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void setTokenSupplier(final Supplier<String> supplier) {
+            // not needed
+        }
+
+        @Override
+        public List<SecurityHistoryNode> retrieveHistoricalPrice(final SecurityNode securityNode,
+                                                                 final LocalDate startDate, final LocalDate endDate)
+                throws IOException {
+
+            requests.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);    // simulated network latency
+            } catch (final InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+
+            if (failed.add(securityNode.getSymbol())) {
+                throw new IOException("Simulated network failure");
+            }
+
+            final List<SecurityHistoryNode> nodes = new ArrayList<>();
+            nodes.add(new SecurityHistoryNode(startDate, BigDecimal.TEN, 100, BigDecimal.TEN, BigDecimal.TEN));
+            nodes.add(new SecurityHistoryNode(endDate, BigDecimal.ONE, 100, BigDecimal.ONE, BigDecimal.ONE));
+
+            return nodes;
+        }
+
+        @Override
+        public Set<SecurityHistoryEvent> retrieveHistoricalEvents(final SecurityNode securityNode,
+                                                                  final LocalDate endDate) {
+            return Collections.emptySet();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.PeriodBalances;
+import jgnash.engine.Transaction;
+import jgnash.engine.TransactionFactory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests cached chart series against the individual balance methods.
+ */
+class ChartDataServiceTest extends AbstractEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2019, 1, 1);
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("chartDataServiceTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    @Test
+    void testChartData() {
+        final CurrencyNode currency = e.getDefaultCurrency();
+
+        final Account expenseAccount = new Account(AccountType.EXPENSE, currency);
+        expenseAccount.setName("Parent");
+        assertTrue(e.addAccount(e.getRootAccount(), expenseAccount));
+
+        final Account childAccount = new Account(AccountType.EXPENSE, currency);
+        childAccount.setName("Child");
+        assertTrue(e.addAccount(expenseAccount, childAccount));
+
+        for (int i = 0; i < 60; i++) {
+            final Account account = i % 2 == 0 ? expenseAccount : childAccount;
+
+            final Transaction transaction = TransactionFactory.generateDoubleEntryTransaction(account,
+                    usdBankAccount, BigDecimal.valueOf(i * 10 + 1, 2), START.plusDays(i * 6), "memo",
+                    "payee " + i % 3, "");
+
+            assertTrue(e.addTransaction(transaction));
+        }
+
+        final List<ReportPeriodUtils.Descriptor> descriptors = ReportPeriodUtils.getDescriptors(ReportPeriod.MONTHLY,
+                START, START.plusMonths(12));
+
+        final ChartDataService service = ChartDataService.getInstance();
+
+        final PeriodBalances balances = service.getPeriodBalances(expenseAccount, descriptors, currency, false);
+        final PeriodBalances treeBalances = service.getPeriodBalances(expenseAccount, descriptors, currency, true);
+
+        for (int i = 0; i < descriptors.size(); i++) {
+            final LocalDate startDate = descriptors.get(i).getStartDate();
+            final LocalDate endDate = descriptors.get(i).getEndDate();
+
+            assertEquals(0, expenseAccount.getBalance(endDate).compareTo(balances.getEndBalance(i)));
+            assertEquals(0, expenseAccount.getBalance(startDate, endDate).compareTo(balances.getPeriodBalance(i)));
+
+            assertEquals(0, expenseAccount.getTreeBalance(endDate, currency)
+                    .compareTo(treeBalances.getEndBalance(i)));
+            assertEquals(0, expenseAccount.getTreeBalance(startDate, endDate, currency)
+                    .compareTo(treeBalances.getPeriodBalance(i)));
+        }
+
+        final LocalDate endDate = START.plusMonths(6);
+
+        final Map<String, BigDecimal> payeeTotals = service.getPayeeTotals(expenseAccount, START, endDate, currency);
+
+        assertEquals(3, payeeTotals.size());
+
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (final BigDecimal amount : payeeTotals.values()) {
+            total = total.add(amount);
+        }
+
+        assertEquals(0, expenseAccount.getTreeBalance(START, endDate, currency).compareTo(total));
+    }
+
+    @Test
+    void testCachedSeriesUpdated() {
+        final CurrencyNode currency = e.getDefaultCurrency();
+
+        final Account expenseAccount = new Account(AccountType.EXPENSE, currency);
+        expenseAccount.setName("Expense");
+        assertTrue(e.addAccount(e.getRootAccount(), expenseAccount));
+
+        for (int i = 0; i < 24; i++) {
+            assertTrue(e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(expenseAccount,
+                    usdBankAccount, BigDecimal.TEN, START.plusDays(i * 15), "memo", "payee", "")));
+        }
+
+        final ChartDataService service = ChartDataService.getInstance();
+
+        final List<ReportPeriodUtils.Descriptor> descriptors = ReportPeriodUtils.getDescriptors(ReportPeriod.MONTHLY,
+                START, START.plusMonths(6));
+
+        // overlaps the cached periods
+        final List<ReportPeriodUtils.Descriptor> shiftedDescriptors =
+                ReportPeriodUtils.getDescriptors(ReportPeriod.MONTHLY, START.plusMonths(3), START.plusMonths(9));
+
+        final LocalDate endDate = START.plusMonths(6).minusDays(1);
+
+        service.getPeriodBalances(expenseAccount, descriptors, currency, false);
+
+        final BigDecimal payeeTotal = service.getPayeeTotals(expenseAccount, START, endDate, currency).get("payee");
+        assertEquals(0, expenseAccount.getBalance(START, endDate).compareTo(payeeTotal));
+
+        // a new transaction after the series have been cached
+        assertTrue(e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(expenseAccount,
+                usdBankAccount, BigDecimal.ONE, START.plusMonths(4).plusDays(3), "memo", "payee", "")));
+
+        assertBalances(expenseAccount, descriptors, service.getPeriodBalances(expenseAccount, descriptors, currency,
+                false));
+        assertBalances(expenseAccount, shiftedDescriptors, service.getPeriodBalances(expenseAccount,
+                shiftedDescriptors, currency, false));
+
+        assertEquals(0, payeeTotal.add(BigDecimal.ONE).compareTo(service.getPayeeTotals(expenseAccount, START,
+                endDate, currency).get("payee")));
+
+        final LocalDate shiftedStart = START.plusDays(10);
+
+        assertEquals(0, expenseAccount.getBalance(shiftedStart, endDate).compareTo(
+                service.getPayeeTotals(expenseAccount, shiftedStart, endDate, currency).get("payee")));
+    }
+
+    private static void assertBalances(final Account account, final List<ReportPeriodUtils.Descriptor> descriptors,
+                                       final PeriodBalances balances) {
+        assertEquals(descriptors.size(), balances.getPeriodCount());
+
+        for (int i = 0; i < descriptors.size(); i++) {
+            final LocalDate startDate = descriptors.get(i).getStartDate();
+            final LocalDate endDate = descriptors.get(i).getEndDate();
+
+            assertEquals(0, account.getBalance(endDate).compareTo(balances.getEndBalance(i)));
+            assertEquals(0, account.getBalance(startDate, endDate).compareTo(balances.getPeriodBalance(i)));
+        }
+
+        final LocalDate startDate = descriptors.get(0).getStartDate();
+        final LocalDate endDate = descriptors.get(descriptors.size() - 1).getEndDate();
+
+        assertEquals(0, account.getBalance(startDate, endDate).compareTo(balances.getTotal()));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2020 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report.reports;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.Transaction;
+import jgnash.engine.TransactionFactory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests headless report generation.
+ */
+class ReportGeneratorTest extends AbstractEngineTest {
+
+    private static final LocalDate START = LocalDate.of(2019, 1, 1);
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.createFile("reportGeneratorTest.xml").getAbsolutePath();
+
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+    }
+
+    private void addTransactions() {
+        for (int i = 0; i < 40; i++) {
+            final Transaction transaction = TransactionFactory.generateDoubleEntryTransaction(usdBankAccount,
+                    e.getIncomeAccountList().get(0), BigDecimal.valueOf(i * 10 + 1, 2), START.plusDays(i * 5), "memo",
+                    "payee", "");
+
+            assertTrue(e.addTransaction(transaction));
+        }
+    }
+
+    @Test
+    void testGenerate() throws IOException {
+        addTransactions();
+
+        final Path directory = testFolder.createDirectory("reports").toPath();
+
+        final ReportGenerator generator = new ReportGenerator(4);
+        generator.setDateRange(START, START.plusMonths(6));
+
+        generator.addReport(ReportGenerator.ReportType.PROFIT_LOSS);
+        generator.addReport(ReportGenerator.ReportType.NET_WORTH);
+        generator.addReport(ReportGenerator.ReportType.LIST_OF_ACCOUNTS);
+        generator.addReport(ReportGenerator.ReportType.ACCOUNT_REGISTER, usdBankAccount);
+
+        final List<ReportGenerator.Result> results = generator.generate(directory);
+
+        assertEquals(4, results.size());
+
+        for (final ReportGenerator.Result result : results) {
+            assertNull(result.getError());
+            assertEquals(2, result.getPaths().size());
+
+            for (final Path path : result.getPaths()) {
+                assertTrue(Files.size(path) > 0);
+            }
+        }
+    }
+
+    @Test
+    void testSameAccountNames() throws IOException {
+        final Account account = new Account(AccountType.BANK, e.getDefaultCurrency());
+        account.setName(usdBankAccount.getName());
+        assertTrue(e.addAccount(e.getRootAccount(), account));
+
+        final Path directory = testFolder.createDirectory("sameNames").toPath();
+
+        final ReportGenerator generator = new ReportGenerator(2);
+        generator.setFormats(Set.of(ReportGenerator.Format.XLSX));
+
+        generator.addReport(ReportGenerator.ReportType.ACCOUNT_REGISTER, usdBankAccount);
+        generator.addReport(ReportGenerator.ReportType.ACCOUNT_REGISTER, account);
+
+        final List<ReportGenerator.Result> results = generator.generate(directory);
+
+        final Set<Path> paths = new HashSet<>();
+
+        for (final ReportGenerator.Result result : results) {
+            assertNull(result.getError());
+            paths.addAll(result.getPaths());
+        }
+
+        // each account is written to its own file
+        assertEquals(2, paths.size());
+    }
+
+    @Test
+    void testReadOnlyBoot() throws IOException {
+        addTransactions();
+
+        final int count = e.getTransactions().size();
+
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+
+        Engine engine = EngineFactory.bootLocalEngineReadOnly(database, EngineFactory.DEFAULT,
+                EngineFactory.EMPTY_PASSWORD);
+
+        assertNotNull(engine);
+        assertEquals(count, engine.getTransactions().size());
+
+        // changes are made to the private copy only
+        assertTrue(engine.addTransaction(TransactionFactory.generateDoubleEntryTransaction(
+                engine.getAccountByUuid(usdBankAccount.getUuid()), engine.getIncomeAccountList().get(0),
+                BigDecimal.ONE, START, "memo", "payee", "")));
+
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+
+        engine = EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD);
+        assertNotNull(engine);
+        assertEquals(count, engine.getTransactions().size());
+    }
+}